@@ -0,0 +1,155 @@
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.StringJoiner;
+import FileStorage.TextScheduleFormat;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * Compares the time taken to save a large synthetic schedule cycle with the <code>indexOf</code>-based writer which <code>TextScheduleFormat</code> replaced against <code>TextScheduleFormat.write</code>.
+ * <p>
+ * Usage: <code>java SaveBenchmark [persons] [activities] [skip-legacy]</code>
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class SaveBenchmark
+{
+   // class variables
+   private static final int ACTIVITIES_PER_PERSON = 3;
+   private static final int DAYS = 5;
+   private static final int DEFAULT_ACTIVITIES = 6000;
+   private static final int DEFAULT_PERSONS = 100000;
+   private static final int PERIODS_PER_DAY = 8;
+   private static final int RUNS = 3;
+
+   /*
+      helper methods
+   */
+
+   private static Cycle makeCycle(int numberOfPersons, int numberOfActivities)
+   {
+      Random random = new Random(0);
+
+      ArrayList<Person> person = new ArrayList<Person>();
+      for (int i = 0; i < numberOfPersons; i++) person.add(new Person("First" + i, "P" + i, "Last" + i, "Role" + (i % 7)));
+
+      ArrayList<Activity> activity = new ArrayList<Activity>();
+      for (int i = 0; i < numberOfActivities; i++) activity.add(new Activity("A" + i, "Type" + (i % 11)));
+      for (Person personElement : person)
+      {
+         for (int i = 0; i < ACTIVITIES_PER_PERSON; i++) activity.get(random.nextInt(numberOfActivities)).getPerson().add(personElement);
+      }
+
+      ArrayList<Period> period = new ArrayList<Period>();
+      ArrayList<Day> day = new ArrayList<Day>();
+      for (int i = 0; i < DAYS; i++)
+      {
+         Day dayElement = new Day("D" + i, LocalTime.of(8, 0));
+         day.add(dayElement);
+         for (int j = 0; j < PERIODS_PER_DAY; j++)
+         {
+            Period periodElement = new Period(Duration.ofMinutes(50), "D" + i + "P" + j);
+            period.add(periodElement);
+            dayElement.getPeriod().add(periodElement);
+            for (int k = j; k < numberOfActivities; k += PERIODS_PER_DAY) periodElement.getActivity().add(activity.get(k));
+         }
+      }
+
+      return new Cycle(activity, day, period, person);
+   }
+
+   private static long time(Cycle cycle, boolean isLegacy) throws IOException
+   {
+      long best = Long.MAX_VALUE;
+      for (int i = 0; i < RUNS; i++)
+      {
+         long start = System.nanoTime();
+         if (isLegacy) writeLegacy(Writer.nullWriter(), cycle);
+         else TextScheduleFormat.write(Writer.nullWriter(), cycle);
+         best = Math.min(best, System.nanoTime() - start);
+      }
+
+      return best;
+   }
+
+   private static void writeLegacy(Writer writer, Cycle cycle) throws IOException
+   {
+      writer.write(String.valueOf(cycle.getDay().size()) + System.lineSeparator());
+      for (Day dayElement : cycle.getDay())
+      {
+         StringJoiner periodList = new StringJoiner(TextScheduleFormat.LIST_SEPARATOR);
+         for (Period periodElement : dayElement.getPeriod()) periodList.add(String.valueOf(cycle.getPeriod().indexOf(periodElement)));
+         writer.write(String.join(TextScheduleFormat.FIELDS_SEPARATOR, dayElement.getIdentifier(), String.valueOf(dayElement.getStartTime().getHour()), String.valueOf(dayElement.getStartTime().getMinute()), periodList.toString()) + System.lineSeparator());
+      }
+
+      writer.write(String.valueOf(cycle.getPeriod().size()) + System.lineSeparator());
+      for (Period periodElement : cycle.getPeriod())
+      {
+         StringJoiner activityList = new StringJoiner(TextScheduleFormat.LIST_SEPARATOR);
+         for (Activity activityElement : periodElement.getActivity()) activityList.add(String.valueOf(cycle.getActivity().indexOf(activityElement)));
+         writer.write(String.join(TextScheduleFormat.FIELDS_SEPARATOR, periodElement.getIdentifier(), String.valueOf(periodElement.getDuration().toMinutes()), activityList.toString()) + System.lineSeparator());
+      }
+
+      writer.write(String.valueOf(cycle.getActivity().size()) + System.lineSeparator());
+      for (Activity activityElement : cycle.getActivity())
+      {
+         StringJoiner personList = new StringJoiner(TextScheduleFormat.LIST_SEPARATOR);
+         for (Person personElement : activityElement.getPerson()) personList.add(String.valueOf(cycle.getPerson().indexOf(personElement)));
+         writer.write(String.join(TextScheduleFormat.FIELDS_SEPARATOR, activityElement.getIdentifier(), activityElement.getType(), personList.toString()) + System.lineSeparator());
+      }
+
+      writer.write(String.valueOf(cycle.getPerson().size()) + System.lineSeparator());
+      for (Person personElement : cycle.getPerson())
+      {
+         writer.write(String.join(TextScheduleFormat.FIELDS_SEPARATOR, personElement.getIdentifier(), personElement.getFirstName(), personElement.getLastName(), personElement.getRole()) + System.lineSeparator());
+      }
+   }
+
+   /*
+      main method
+   */
+
+   /**
+    * Runs the benchmark.
+    *
+    * @param argument the number of persons, the number of activities and "skip-legacy" to skip timing the <code>indexOf</code>-based writer (all optional)
+    * @throws IOException never, as all output is discarded
+    */
+   public static void main(String[] argument) throws IOException
+   {
+      int numberOfPersons = argument.length > 0 ? Integer.parseInt(argument[0]) : DEFAULT_PERSONS;
+      int numberOfActivities = argument.length > 1 ? Integer.parseInt(argument[1]) : DEFAULT_ACTIVITIES;
+      boolean skipLegacy = argument.length > 2 && argument[2].equals("skip-legacy");
+
+      Cycle cycle = makeCycle(numberOfPersons, numberOfActivities);
+      System.out.println("Synthetic schedule: " + numberOfPersons + " persons, " + numberOfActivities + " activities, " + (DAYS * PERIODS_PER_DAY) + " periods");
+
+      StringWriter legacyOutput = new StringWriter();
+      StringWriter indexedOutput = new StringWriter();
+      TextScheduleFormat.write(indexedOutput, cycle);
+      if (!skipLegacy)
+      {
+         writeLegacy(legacyOutput, cycle);
+         if (!legacyOutput.toString().equals(indexedOutput.toString())) throw new IllegalStateException("Writers produced different output.");
+      }
+
+      long indexed = time(cycle, false);
+      System.out.println("OrdinalIndex writer: " + (indexed / 1000000) + " ms");
+
+      if (!skipLegacy)
+      {
+         long legacy = time(cycle, true);
+         System.out.println("indexOf writer:      " + (legacy / 1000000) + " ms");
+         System.out.println("Speedup:             " + String.format("%.1f", (double) legacy / indexed) + "x");
+      }
+   }
+}
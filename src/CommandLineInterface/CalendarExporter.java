@@ -0,0 +1,351 @@
+package CommandLineInterface;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import FileStorage.ScheduleCodecRegistry;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Timetable;
+
+/**
+ * A command-line program which writes the timetable of every person of a schedule file as an iCalendar (<code>.ics</code>) file, either one file for each person or one combined feed.
+ * The days of the schedule cycle are mapped onto the dates of a range in turn, skipping the days of the week on which there is no schedule (the weekend by default),
+ * and each period in which a person takes part in an activity becomes an event starting at the time at which the period starts on that day.
+ * <p>
+ * Timetables are rendered in parallel by tasks of a bounded number of timetables each, and written out as they are rendered, so memory use does not grow with the number of persons.
+ * Times are floating local times (without a time zone), as the schedule cycle has none.
+ * <p>
+ * Usage: <code>java -cp ScheduleManager.jar CommandLineInterface.CalendarExporter &lt;schedule file&gt; &lt;output directory or .ics file&gt; &lt;first date&gt; &lt;last date&gt; [days of week]</code>
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class CalendarExporter
+{
+   // class variables
+   /**
+    * Number of timetables rendered by each parallel task.
+    */
+   public static final int TIMETABLES_PER_TASK = 64;
+
+   /**
+    * Days of the week on which the schedule cycle takes place by default.
+    */
+   public static final EnumSet<DayOfWeek> DEFAULT_DAYS_OF_WEEK = EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY);
+
+   private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+   private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+   private static final String FILE_EXTENSION = ".ics";
+   private static final String LINE_SEPARATOR = "\r\n";
+   private static final int MAXIMUM_LINE_LENGTH = 75;
+   private static final String PRODUCT_IDENTIFIER = "-//Shazz Amin//Schedule Manager//EN";
+
+   // instance fields
+   private LocalDate[] date;
+   private int[] dayOfDate;
+   private String timestamp;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs an exporter which maps the days of a schedule cycle onto the specified range of dates.
+    *
+    * @param numberOfDays the number of days of the schedule cycle<br><i>pre-condition:</i> must be positive
+    * @param firstDate the date on which the first day of the schedule cycle takes place<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param lastDate the last date on which a day of the schedule cycle can take place<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param daysOfWeek the days of the week on which the schedule cycle takes place<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public CalendarExporter(int numberOfDays, LocalDate firstDate, LocalDate lastDate, EnumSet<DayOfWeek> daysOfWeek)
+   {
+      ArrayList<LocalDate> scheduledDate = new ArrayList<LocalDate>();
+      for (LocalDate current = firstDate; !current.isAfter(lastDate); current = current.plusDays(1))
+      {
+         if (daysOfWeek.contains(current.getDayOfWeek())) scheduledDate.add(current);
+      }
+
+      date = scheduledDate.toArray(new LocalDate[scheduledDate.size()]);
+      dayOfDate = new int[date.length];
+      for (int i = 0; i < date.length; i++) dayOfDate[i] = i % numberOfDays;
+      timestamp = DATE_TIME_FORMAT.format(LocalDateTime.now(ZoneOffset.UTC)) + "Z";
+   }
+
+   /*
+      helper methods
+   */
+
+   private static String escapeText(String value)
+   {
+      return value.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\r\n", "\\n").replace("\n", "\\n").replace("\r", "\\n");
+   }
+
+   /**
+    * Writes each of the specified timetables as its own iCalendar file in the specified directory, in parallel.
+    *
+    * @param timetable the timetables to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param directory the directory in which the files are to be written<br><i>pre-condition:</i> cannot be <code>null</code>, must exist
+    * @throws IOException if a file cannot be written
+    */
+   public void export(final List<Timetable> timetable, final File directory) throws IOException
+   {
+      ArrayList<ForkJoinTask<Void>> exportTask = new ArrayList<ForkJoinTask<Void>>();
+      for (int i = 0; i < timetable.size(); i += TIMETABLES_PER_TASK)
+      {
+         final int from = i;
+         final int to = Math.min(i + TIMETABLES_PER_TASK, timetable.size());
+         exportTask.add(ForkJoinPool.commonPool().submit(
+            new Callable<Void>()
+            {
+               public Void call() throws IOException
+               {
+                  for (int j = from; j < to; j++)
+                  {
+                     Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(new File(directory, TimetableExporter.fileNameOf(timetable.get(j), j, FILE_EXTENSION))), StandardCharsets.UTF_8));
+                     try
+                     {
+                        writeCalendarStart(writer, timetable.get(j).getPerson().toString());
+                        writeEvents(writer, timetable.get(j), j, false);
+                        writeCalendarEnd(writer);
+                     }
+                     finally
+                     {
+                        writer.close();
+                     }
+                  }
+                  return null;
+               }
+            }
+         ));
+      }
+
+      join(exportTask);
+   }
+
+   /**
+    * Writes all of the specified timetables to the specified output stream as one combined iCalendar feed, in which the summary of each event starts with its person.
+    * Timetables are rendered in parallel, with at most twice as many tasks in flight as there are threads in the common <code>ForkJoinPool</code>,
+    * and written out in order as soon as they are rendered.
+    *
+    * @param timetable the timetables to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param output the output stream to which the feed is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the output stream fails
+    */
+   public void exportCombined(final List<Timetable> timetable, OutputStream output) throws IOException
+   {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+      writeCalendarStart(writer, "Schedule");
+      writer.flush();
+
+      int maximumTasks = 2 * ForkJoinPool.getCommonPoolParallelism();
+      ArrayDeque<ForkJoinTask<byte[]>> renderTask = new ArrayDeque<ForkJoinTask<byte[]>>();
+      for (int i = 0; i < timetable.size() || !renderTask.isEmpty(); i += TIMETABLES_PER_TASK)
+      {
+         if (renderTask.size() == maximumTasks || (i >= timetable.size() && !renderTask.isEmpty())) output.write(join(renderTask.poll()));
+         if (i >= timetable.size()) continue;
+
+         final int from = i;
+         final int to = Math.min(i + TIMETABLES_PER_TASK, timetable.size());
+         renderTask.add(ForkJoinPool.commonPool().submit(
+            new Callable<byte[]>()
+            {
+               public byte[] call() throws IOException
+               {
+                  ByteArrayOutputStream rendered = new ByteArrayOutputStream();
+                  Writer renderWriter = new OutputStreamWriter(rendered, StandardCharsets.UTF_8);
+                  for (int j = from; j < to; j++) writeEvents(renderWriter, timetable.get(j), j, true);
+                  renderWriter.flush();
+
+                  return rendered.toByteArray();
+               }
+            }
+         ));
+      }
+
+      writeCalendarEnd(writer);
+      writer.flush();
+   }
+
+   /**
+    * Returns the number of dates on which a day of the schedule cycle takes place.
+    *
+    * @return the number of dates on which a day of the schedule cycle takes place
+    */
+   public int getNumberOfDates()
+   {
+      return date.length;
+   }
+
+   private static void join(List<ForkJoinTask<Void>> task) throws IOException
+   {
+      for (ForkJoinTask<Void> element : task) join(element);
+   }
+
+   private static <V> V join(ForkJoinTask<V> task) throws IOException
+   {
+      try
+      {
+         return task.get();
+      }
+      catch (Exception exception)
+      {
+         if (exception.getCause() instanceof IOException) throw (IOException) exception.getCause();
+         throw new IOException("Failed to write calendars.", exception);
+      }
+   }
+
+   private static EnumSet<DayOfWeek> parseDaysOfWeek(String value)
+   {
+      EnumSet<DayOfWeek> daysOfWeek = EnumSet.noneOf(DayOfWeek.class);
+      for (String name : value.split(","))
+      {
+         for (DayOfWeek dayOfWeek : DayOfWeek.values())
+         {
+            if (name.trim().length() >= 3 && dayOfWeek.name().startsWith(name.trim().toUpperCase())) daysOfWeek.add(dayOfWeek);
+         }
+      }
+      if (daysOfWeek.isEmpty()) throw new IllegalArgumentException("No days of the week in " + value + ".");
+
+      return daysOfWeek;
+   }
+
+   private static void writeCalendarEnd(Writer writer) throws IOException
+   {
+      writeLine(writer, "END:VCALENDAR");
+   }
+
+   private static void writeCalendarStart(Writer writer, String name) throws IOException
+   {
+      writeLine(writer, "BEGIN:VCALENDAR");
+      writeLine(writer, "VERSION:2.0");
+      writeLine(writer, "PRODID:" + PRODUCT_IDENTIFIER);
+      writeLine(writer, "CALSCALE:GREGORIAN");
+      writeLine(writer, "X-WR-CALNAME:" + escapeText(name));
+   }
+
+   private void writeEvents(Writer writer, Timetable timetable, int position, boolean isCombined) throws IOException
+   {
+      String summaryPrefix = isCombined ? escapeText(timetable.getPerson().toString()) + ": " : "";
+      for (int i = 0; i < date.length; i++)
+      {
+         int day = dayOfDate[i];
+         for (int j = 0; j < timetable.getDay().get(day).getPeriod().size(); j++)
+         {
+            Activity periodActivity = timetable.getActivity(day, j);
+            if (periodActivity == null) continue;
+
+            LocalDateTime startTime = date[i].atTime(timetable.getStartTime(day, j));
+            LocalDateTime endTime = date[i].atTime(timetable.getEndTime(day, j));
+            if (endTime.isBefore(startTime)) endTime = endTime.plusDays(1);
+
+            writeLine(writer, "BEGIN:VEVENT");
+            writeLine(writer, "UID:" + (position + 1) + "-" + DATE_FORMAT.format(date[i]) + "-" + (j + 1) + "@schedulemanager");
+            writeLine(writer, "DTSTAMP:" + timestamp);
+            writeLine(writer, "DTSTART:" + DATE_TIME_FORMAT.format(startTime));
+            writeLine(writer, "DTEND:" + DATE_TIME_FORMAT.format(endTime));
+            writeLine(writer, "SUMMARY:" + summaryPrefix + escapeText(periodActivity.toString()));
+            writeLine(writer, "DESCRIPTION:" + escapeText("Day " + timetable.getDay().get(day).getIdentifier() + "\nPeriod " + timetable.getDay().get(day).getPeriod().get(j).getIdentifier()));
+            writeLine(writer, "END:VEVENT");
+         }
+      }
+   }
+
+   // writes a content line, folding it so that no line is longer than 75 octets (without splitting a character)
+   private static void writeLine(Writer writer, String line) throws IOException
+   {
+      int octets = 0;
+      for (int i = 0; i < line.length(); i++)
+      {
+         char character = line.charAt(i);
+         int characterOctets = character < 0x80 ? 1 : character < 0x800 ? 2 : Character.isHighSurrogate(character) ? 4 : 3;
+         if (octets + characterOctets > MAXIMUM_LINE_LENGTH)
+         {
+            writer.write(LINE_SEPARATOR);
+            writer.write(' ');
+            octets = 1;
+         }
+
+         writer.write(character);
+         if (Character.isHighSurrogate(character) && i + 1 < line.length()) writer.write(line.charAt(++i));
+         octets += characterOctets;
+      }
+      writer.write(LINE_SEPARATOR);
+   }
+
+   /*
+      main method
+   */
+
+   /**
+    * Writes the timetable of every person of a schedule file as iCalendar files.
+    *
+    * @param argument the schedule file, the directory in which a file for each person is to be written (or the file to which a combined feed is to be written, if it ends with <code>.ics</code>),
+    *    the first and last dates (as <code>yyyy-mm-dd</code>) and optionally the days of the week on which the schedule cycle takes place (such as <code>mon,tue,wed,thu,fri</code>)
+    */
+   public static void main(String[] argument)
+   {
+      if (argument.length < 4 || argument.length > 5)
+      {
+         System.err.println("Usage: java -cp ScheduleManager.jar CommandLineInterface.CalendarExporter <schedule file> <output directory or .ics file> <first date> <last date> [days of week]");
+         System.exit(2);
+      }
+
+      File file = new File(argument[0]);
+      File output = new File(argument[1]);
+
+      try
+      {
+         long startTime = System.nanoTime();
+         EnumSet<DayOfWeek> daysOfWeek = argument.length == 5 ? parseDaysOfWeek(argument[4]) : DEFAULT_DAYS_OF_WEEK;
+         Cycle cycle = ScheduleCodecRegistry.detect(file).read(file);
+         if (cycle.getDay().isEmpty()) throw new IOException("The schedule has no days.");
+
+         CalendarExporter exporter = new CalendarExporter(cycle.getDay().size(), LocalDate.parse(argument[2]), LocalDate.parse(argument[3]), daysOfWeek);
+         ArrayList<Timetable> timetable = Timetable.ofAll(cycle);
+
+         if (output.getName().endsWith(FILE_EXTENSION))
+         {
+            OutputStream stream = new FileOutputStream(output);
+            try
+            {
+               exporter.exportCombined(timetable, stream);
+            }
+            finally
+            {
+               stream.close();
+            }
+         }
+         else
+         {
+            if (!output.isDirectory() && !output.mkdirs()) throw new IOException("Cannot create directory " + output + ".");
+            exporter.export(timetable, output);
+         }
+
+         System.out.println("Wrote the calendars of " + timetable.size() + " persons over " + exporter.getNumberOfDates() + " dates to " + output + " in " + (System.nanoTime() - startTime) / 1000000 + " ms.");
+      }
+      catch (Exception exception)
+      {
+         System.err.println("Failed to export calendars: " + exception.getMessage());
+         System.exit(1);
+      }
+   }
+}
@@ -0,0 +1,100 @@
+package CommandLineInterface;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import FileStorage.ColumnarCycle;
+import FileStorage.JsonScheduleFormat;
+import FileStorage.ScheduleCodec;
+import FileStorage.ScheduleCodecRegistry;
+import FileStorage.ScheduleFormat;
+import FileStorage.ScheduleSnapshot;
+import Schedule.Cycle;
+
+/**
+ * A command-line program which converts schedule files to JSON documents (see <code>JsonScheduleFormat</code>) and back, without any graphical user interface.
+ * The direction is chosen by the extension of the input: a <code>.json</code> input is converted to a schedule file, and anything else to a JSON document.
+ * <p>
+ * Usage: <code>java -cp ScheduleManager.jar CommandLineInterface.JsonConverter &lt;input file&gt; &lt;output file&gt; [text|binary|compressed]</code>
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class JsonConverter
+{
+   /*
+      constructors
+   */
+
+   private JsonConverter() { }
+
+   /*
+      main method
+   */
+
+   /**
+    * Converts a schedule file to a JSON document, or a JSON document to a schedule file.
+    *
+    * @param argument the input file, the output file and optionally the format of the schedule file to write (<code>text</code>, the default, <code>binary</code> or <code>compressed</code>)
+    */
+   public static void main(String[] argument)
+   {
+      if (argument.length < 2 || argument.length > 3 || (argument.length == 3 && ScheduleCodecRegistry.forDescription(argument[2]) == null))
+      {
+         System.err.println("Usage: java -cp ScheduleManager.jar CommandLineInterface.JsonConverter <input file> <output file> [text|binary|compressed]");
+         System.exit(2);
+      }
+
+      File input = new File(argument[0]);
+      File output = new File(argument[1]);
+      boolean isToJson = !input.getName().endsWith("." + JsonScheduleFormat.FILE_EXTENSION);
+
+      try
+      {
+         long startTime = System.nanoTime();
+         if (isToJson)
+         {
+            ScheduleSnapshot snapshot = ColumnarCycle.read(input).toSnapshot();
+            Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(output), StandardCharsets.UTF_8));
+            try
+            {
+               JsonScheduleFormat.write(writer, snapshot);
+            }
+            finally
+            {
+               writer.close();
+            }
+         }
+         else
+         {
+            Cycle cycle;
+            Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(input), StandardCharsets.UTF_8));
+            try
+            {
+               cycle = JsonScheduleFormat.read(reader);
+            }
+            finally
+            {
+               reader.close();
+            }
+
+            ScheduleCodec format = argument.length == 3 ? ScheduleCodecRegistry.forDescription(argument[2]) : ScheduleFormat.TEXT;
+            format.write(output, new ScheduleSnapshot(cycle), false);
+         }
+
+         System.out.println("Converted " + input + " to " + output + " in " + (System.nanoTime() - startTime) / 1000000 + " ms.");
+      }
+      catch (Exception exception)
+      {
+         System.err.println("Failed to convert " + input + ": " + exception.getMessage());
+         System.exit(1);
+      }
+   }
+}
@@ -0,0 +1,75 @@
+package CommandLineInterface;
+
+import java.io.File;
+import FileStorage.ScheduleCodec;
+import FileStorage.ScheduleCodecRegistry;
+import FileStorage.ScheduleFormat;
+import FileStorage.ScheduleSnapshot;
+import FileStorage.ScheduleValidator;
+import FileStorage.ValidationReport;
+
+/**
+ * A command-line program which checks the integrity of a schedule file (see <code>ScheduleValidator</code>) and prints every problem found, without any graphical user interface.
+ * If an output file is specified and the file can be recovered, it is rewritten there without its broken references, in the same format.
+ * <p>
+ * Usage: <code>java -cp ScheduleManager.jar CommandLineInterface.ScheduleChecker &lt;schedule file&gt; [repaired file]</code>
+ * <br>The exit status is <code>0</code> if no errors were found (or they were repaired), and <code>1</code> otherwise.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ScheduleChecker
+{
+   /*
+      constructors
+   */
+
+   private ScheduleChecker() { }
+
+   /*
+      main method
+   */
+
+   /**
+    * Checks a schedule file, and optionally writes it without its broken references.
+    *
+    * @param argument the schedule file and optionally the file to which it is to be written without its broken references
+    */
+   public static void main(String[] argument)
+   {
+      if (argument.length < 1 || argument.length > 2)
+      {
+         System.err.println("Usage: java -cp ScheduleManager.jar CommandLineInterface.ScheduleChecker <schedule file> [repaired file]");
+         System.exit(2);
+      }
+
+      File input = new File(argument[0]);
+      try
+      {
+         ScheduleCodec codec = ScheduleCodecRegistry.detect(input);
+         if (!(codec instanceof ScheduleFormat))
+         {
+            System.err.println("Only schedule files in the built-in formats can be checked.");
+            System.exit(2);
+         }
+
+         long startTime = System.nanoTime();
+         ValidationReport report = ScheduleValidator.validate(input);
+         System.out.println("Checked " + input + " in " + (System.nanoTime() - startTime) / 1000000 + " ms: " + report);
+
+         if (argument.length == 2 && report.isRecoverable())
+         {
+            File output = new File(argument[1]);
+            codec.write(output, new ScheduleSnapshot(ScheduleValidator.readTolerantly(input)), false);
+            System.out.println("Wrote " + output + " without the broken references.");
+            return;
+         }
+         if (report.hasErrors()) System.exit(1);
+      }
+      catch (Exception exception)
+      {
+         System.err.println("Failed to check " + input + ": " + exception.getMessage());
+         System.exit(1);
+      }
+   }
+}
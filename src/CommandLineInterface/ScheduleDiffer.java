@@ -0,0 +1,85 @@
+package CommandLineInterface;
+
+import java.io.File;
+import FileStorage.ScheduleCodec;
+import FileStorage.ScheduleCodecRegistry;
+import FileStorage.ScheduleDiff;
+import FileStorage.ScheduleMerge;
+import FileStorage.ScheduleSnapshot;
+import Schedule.Cycle;
+
+/**
+ * A command-line program which compares two schedule files (see <code>ScheduleDiff</code>), or merges two copies of a schedule file which were both edited from a common base (see <code>ScheduleMerge</code>),
+ * without any graphical user interface.
+ * <p>
+ * Usage: <code>java -cp ScheduleManager.jar CommandLineInterface.ScheduleDiffer &lt;older file&gt; &lt;newer file&gt;</code>
+ * <br>or: <code>java -cp ScheduleManager.jar CommandLineInterface.ScheduleDiffer &lt;base file&gt; &lt;our file&gt; &lt;their file&gt; &lt;output file&gt;</code>
+ * <br>The exit status is <code>0</code> if the files are the same (or were merged without conflicts), and <code>1</code> otherwise.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ScheduleDiffer
+{
+   /*
+      constructors
+   */
+
+   private ScheduleDiffer() { }
+
+   /*
+      helper methods
+   */
+
+   private static Cycle read(File file) throws Exception
+   {
+      return ScheduleCodecRegistry.detect(file).read(file);
+   }
+
+   /*
+      main method
+   */
+
+   /**
+    * Prints the differences between two schedule files, or merges two schedule files into an output file in the format of ours.
+    *
+    * @param argument the older and newer files, or the base file, our file, their file and the output file
+    */
+   public static void main(String[] argument)
+   {
+      if (argument.length != 2 && argument.length != 4)
+      {
+         System.err.println("Usage: java -cp ScheduleManager.jar CommandLineInterface.ScheduleDiffer <older file> <newer file>");
+         System.err.println("   or: java -cp ScheduleManager.jar CommandLineInterface.ScheduleDiffer <base file> <our file> <their file> <output file>");
+         System.exit(2);
+      }
+
+      try
+      {
+         long startTime = System.nanoTime();
+         if (argument.length == 2)
+         {
+            ScheduleDiff diff = ScheduleDiff.compare(read(new File(argument[0])), read(new File(argument[1])));
+            System.out.print(diff);
+            System.err.println(diff.getChanges().size() + " changes found in " + (System.nanoTime() - startTime) / 1000000 + " ms.");
+            if (!diff.isEmpty()) System.exit(1);
+            return;
+         }
+
+         File ourFile = new File(argument[1]);
+         ScheduleCodec format = ScheduleCodecRegistry.detect(ourFile);
+         ScheduleMerge merge = ScheduleMerge.merge(read(new File(argument[0])), format.read(ourFile), read(new File(argument[2])));
+         File output = new File(argument[3]);
+         format.write(output, new ScheduleSnapshot(merge.getCycle()), false);
+
+         System.out.print(merge);
+         System.err.println("Merged into " + output + " with " + merge.getConflicts().size() + " conflicts in " + (System.nanoTime() - startTime) / 1000000 + " ms.");
+         if (merge.hasConflicts()) System.exit(1);
+      }
+      catch (Exception exception)
+      {
+         System.err.println("Failed to compare schedule files: " + exception.getMessage());
+         System.exit(2);
+      }
+   }
+}
@@ -0,0 +1,172 @@
+package CommandLineInterface;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import FileStorage.ScheduleView;
+import Schedule.Activity;
+import Schedule.Day;
+import Schedule.Entity;
+import Schedule.EntityRegistry;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * A command-line program which answers lookups against a schedule file without any graphical user interface, decoding only what each lookup needs (see <code>ScheduleView</code>).
+ * Entities are named by identifier (the first one, if several have the same identifier), and answers are printed one per line with tab-separated fields.
+ * <ul>
+ * <li><code>members &lt;activity&gt;</code> prints the identifier, first name, last name and role of each person taking part in the activity.</li>
+ * <li><code>at &lt;person&gt; &lt;day&gt; &lt;HH:mm&gt;</code> prints the activity and type in which the person takes part at that time of the day, with the period and its start and end times.</li>
+ * <li><code>activities &lt;period&gt; [type]</code> prints the identifier and type of each activity of the period (only of the specified type, if any).</li>
+ * </ul>
+ * If no lookup is given, lookups are read from standard input, one per line (with fields separated by tabs), and their answers are followed by an empty line.
+ * <p>
+ * Usage: <code>java -cp ScheduleManager.jar CommandLineInterface.ScheduleQuery &lt;schedule file&gt; [lookup]</code>
+ * <br>The exit status is <code>0</code> if every lookup was answered, and <code>1</code> if any names an entity which does not exist.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ScheduleQuery
+{
+   // class variables
+   /*
+    * Registries of the sections of the view, so that each lookup by identifier takes constant time once its section is registered.
+    */
+   private static final IdentityHashMap<List<?>, EntityRegistry<?>> REGISTRY = new IdentityHashMap<List<?>, EntityRegistry<?>>();
+   private static final String SEPARATOR = "\t";
+
+   /*
+      constructors
+   */
+
+   private ScheduleQuery() { }
+
+   /*
+      helper methods
+   */
+
+   private static boolean answer(ScheduleView view, List<String> lookup)
+   {
+      if (lookup.size() >= 2 && lookup.size() <= 3 && lookup.get(0).equals("activities"))
+      {
+         Period period = find(view.getPeriod(), lookup.get(1), "period");
+         if (period == null) return false;
+
+         for (Activity activity : view.getActivityOf(period))
+         {
+            if (lookup.size() == 2 || activity.getType().equals(lookup.get(2))) System.out.println(activity.getIdentifier() + SEPARATOR + activity.getType());
+         }
+         return true;
+      }
+      if (lookup.size() == 4 && lookup.get(0).equals("at"))
+      {
+         Person person = find(view.getPerson(), lookup.get(1), "person");
+         Day day = find(view.getDay(), lookup.get(2), "day");
+         if (person == null || day == null) return false;
+
+         LocalTime time = LocalTime.parse(lookup.get(3));
+         LocalTime startTime = day.getStartTime();
+         for (Period period : day.getPeriod())
+         {
+            LocalTime endTime = startTime.plus(period.getDuration());
+            if (!time.isBefore(startTime) && time.isBefore(endTime))
+            {
+               Activity activity = view.getActivity(person, day, period);
+               if (activity != null) System.out.println(activity.getIdentifier() + SEPARATOR + activity.getType() + SEPARATOR + period.getIdentifier() + SEPARATOR + startTime + SEPARATOR + endTime);
+               return true;
+            }
+            startTime = endTime;
+         }
+         return true;
+      }
+      if (lookup.size() == 2 && lookup.get(0).equals("members"))
+      {
+         Activity activity = find(view.getActivity(), lookup.get(1), "activity");
+         if (activity == null) return false;
+
+         for (Person person : view.getPersonOf(activity)) System.out.println(person.getIdentifier() + SEPARATOR + person.getFirstName() + SEPARATOR + person.getLastName() + SEPARATOR + person.getRole());
+         return true;
+      }
+
+      throw new IllegalArgumentException("Unknown lookup: " + String.join(" ", lookup));
+   }
+
+   @SuppressWarnings("unchecked")
+   private static <E extends Entity> E find(List<E> list, String identifier, String sectionName)
+   {
+      EntityRegistry<E> listRegistry = (EntityRegistry<E>) REGISTRY.get(list);
+      if (listRegistry == null)
+      {
+         listRegistry = new EntityRegistry<E>(list);
+         REGISTRY.put(list, listRegistry);
+      }
+
+      E element = listRegistry.get(identifier);
+      if (element == null) System.err.println("No " + sectionName + " has the identifier " + identifier + ".");
+      return element;
+   }
+
+   /*
+      main method
+   */
+
+   /**
+    * Answers lookups against a schedule file.
+    *
+    * @param argument the schedule file, optionally followed by one lookup
+    */
+   public static void main(String[] argument)
+   {
+      if (argument.length < 1)
+      {
+         System.err.println("Usage: java -cp ScheduleManager.jar CommandLineInterface.ScheduleQuery <schedule file> [members <activity> | at <person> <day> <HH:mm> | activities <period> [type]]");
+         System.exit(2);
+      }
+
+      try
+      {
+         ScheduleView view = ScheduleView.open(new File(argument[0]));
+         if (argument.length > 1)
+         {
+            if (!answer(view, Arrays.asList(argument).subList(1, argument.length))) System.exit(1);
+            return;
+         }
+
+         boolean didAnswerAll = true;
+         BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
+         for (String line = reader.readLine(); line != null; line = reader.readLine())
+         {
+            if (line.isEmpty()) continue;
+
+            try
+            {
+               didAnswerAll &= answer(view, new ArrayList<String>(Arrays.asList(line.split(SEPARATOR, -1))));
+            }
+            catch (RuntimeException exception)
+            {
+               System.err.println(exception.getMessage());
+               didAnswerAll = false;
+            }
+            System.out.println();
+            System.out.flush();
+         }
+         if (!didAnswerAll) System.exit(1);
+      }
+      catch (IllegalArgumentException exception)
+      {
+         System.err.println(exception.getMessage());
+         System.exit(2);
+      }
+      catch (Exception exception)
+      {
+         System.err.println("Failed to look up in " + argument[0] + ": " + exception.getMessage());
+         System.exit(1);
+      }
+   }
+}
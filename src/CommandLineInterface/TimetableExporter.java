@@ -0,0 +1,242 @@
+package CommandLineInterface;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import FileStorage.ColumnarCycle;
+import Schedule.Activity;
+import Schedule.Day;
+import Schedule.Timetable;
+
+/**
+ * A command-line program which writes the timetable of every person of a schedule file to its own text or CSV file, without any graphical user interface
+ * (so that it can be run on headless machines).
+ * The timetables are the same as those generated one at a time by the graphical user interface, and are written in parallel.
+ * The schedule file is read into columns (see <code>ColumnarCycle</code>) and each timetable is constructed from them as it is written, so the schedule cycle is never linked as a whole.
+ * <p>
+ * Usage: <code>java -cp ScheduleManager.jar CommandLineInterface.TimetableExporter &lt;schedule file&gt; &lt;output directory&gt; [text|csv]</code>
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class TimetableExporter
+{
+   // class variables
+   /**
+    * Number of timetables written by each parallel task.
+    */
+   public static final int TIMETABLES_PER_TASK = 256;
+
+   private static final String CSV_HEADER = "Day,Start,End,Period,Activity";
+   private static final int MAXIMUM_FILE_NAME_LENGTH = 64;
+
+   /*
+      constructors
+   */
+
+   private TimetableExporter() { }
+
+   /*
+      helper methods
+   */
+
+   private static String escapeCsv(String value)
+   {
+      if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1 && value.indexOf('\r') == -1) return value;
+
+      return "\"" + value.replace("\"", "\"\"") + "\"";
+   }
+
+   /**
+    * Writes each of the specified timetables to its own file in the specified directory, in parallel.
+    * The files are named after the position and identifier of each person, so that persons with the same identifier do not overwrite each other.
+    *
+    * @param timetable the timetables to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param directory the directory in which the files are to be written<br><i>pre-condition:</i> cannot be <code>null</code>, must exist
+    * @param isCsv whether the timetables are to be written as CSV (instead of text)
+    * @throws IOException if a file cannot be written
+    */
+   public static void export(final List<Timetable> timetable, final File directory, final boolean isCsv) throws IOException
+   {
+      ArrayList<ForkJoinTask<Void>> exportTask = new ArrayList<ForkJoinTask<Void>>();
+      for (int i = 0; i < timetable.size(); i += TIMETABLES_PER_TASK)
+      {
+         final int from = i;
+         final int to = Math.min(i + TIMETABLES_PER_TASK, timetable.size());
+         exportTask.add(ForkJoinPool.commonPool().submit(
+            new Callable<Void>()
+            {
+               public Void call() throws IOException
+               {
+                  for (int j = from; j < to; j++)
+                  {
+                     Timetable personTimetable = timetable.get(j);
+                     export(personTimetable, new File(directory, fileNameOf(personTimetable, j, isCsv ? ".csv" : ".txt")), isCsv);
+                  }
+                  return null;
+               }
+            }
+         ));
+      }
+
+      try
+      {
+         for (ForkJoinTask<Void> task : exportTask) task.get();
+      }
+      catch (Exception exception)
+      {
+         if (exception.getCause() instanceof IOException) throw (IOException) exception.getCause();
+         throw new IOException("Failed to write timetables.", exception);
+      }
+   }
+
+   /**
+    * Writes the specified timetable to the specified file.
+    *
+    * @param timetable the timetable to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param file the file to which the timetable is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isCsv whether the timetable is to be written as CSV (instead of text)
+    * @throws IOException if the file cannot be written
+    */
+   public static void export(Timetable timetable, File file, boolean isCsv) throws IOException
+   {
+      Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8));
+      try
+      {
+         if (isCsv) writeCsv(writer, timetable);
+         else writeText(writer, timetable);
+      }
+      finally
+      {
+         writer.close();
+      }
+   }
+
+   /**
+    * Returns the name of the file to which the specified timetable is written, made up of the position and identifier of its person.
+    *
+    * @param timetable the timetable<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param position the position of the person among all persons
+    * @param extension the file extension (including the dot)<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the name of the file to which the timetable is written
+    */
+   static String fileNameOf(Timetable timetable, int position, String extension)
+   {
+      String identifier = timetable.getPerson().getIdentifier().replaceAll("[^A-Za-z0-9._-]", "_");
+      if (identifier.length() > MAXIMUM_FILE_NAME_LENGTH) identifier = identifier.substring(0, MAXIMUM_FILE_NAME_LENGTH);
+
+      return (position + 1) + "-" + identifier + extension;
+   }
+
+   /**
+    * Writes the specified timetable as CSV, with one row for each period of each day.
+    *
+    * @param writer the writer to which the timetable is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param timetable the timetable to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the writer fails
+    */
+   public static void writeCsv(Writer writer, Timetable timetable) throws IOException
+   {
+      writer.write(CSV_HEADER);
+      writer.write('\n');
+
+      ArrayList<Day> day = timetable.getDay();
+      for (int i = 0; i < day.size(); i++)
+      {
+         for (int j = 0; j < day.get(i).getPeriod().size(); j++)
+         {
+            Activity periodActivity = timetable.getActivity(i, j);
+            writer.write(escapeCsv(day.get(i).toString()) + "," + timetable.getStartTime(i, j) + "," + timetable.getEndTime(i, j) + ","
+               + escapeCsv(day.get(i).getPeriod().get(j).getIdentifier()) + "," + (periodActivity != null ? escapeCsv(periodActivity.toString()) : ""));
+            writer.write('\n');
+         }
+      }
+   }
+
+   /**
+    * Writes the specified timetable as text, laid out in the same way as the timetables generated by the graphical user interface.
+    *
+    * @param writer the writer to which the timetable is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param timetable the timetable to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the writer fails
+    */
+   public static void writeText(Writer writer, Timetable timetable) throws IOException
+   {
+      writer.write(timetable.getPerson().toString());
+      writer.write('\n');
+
+      ArrayList<Day> day = timetable.getDay();
+      for (int i = 0; i < day.size(); i++)
+      {
+         writer.write('\n');
+         writer.write("Day " + day.get(i));
+         writer.write('\n');
+         for (int j = 0; j < day.get(i).getPeriod().size(); j++)
+         {
+            Activity periodActivity = timetable.getActivity(i, j);
+            writer.write("[" + timetable.getStartTime(i, j) + " -> " + timetable.getEndTime(i, j) + "] Period " + day.get(i).getPeriod().get(j).getIdentifier() + ": " + (periodActivity != null ? periodActivity : ""));
+            writer.write('\n');
+         }
+      }
+   }
+
+   /*
+      main method
+   */
+
+   /**
+    * Writes the timetable of every person of a schedule file to its own file.
+    *
+    * @param argument the schedule file, the directory in which the timetables are to be written and optionally their format (<code>text</code>, the default, or <code>csv</code>)
+    */
+   public static void main(String[] argument)
+   {
+      if (argument.length < 2 || argument.length > 3 || (argument.length == 3 && !argument[2].equals("text") && !argument[2].equals("csv")))
+      {
+         System.err.println("Usage: java -cp ScheduleManager.jar CommandLineInterface.TimetableExporter <schedule file> <output directory> [text|csv]");
+         System.exit(2);
+      }
+
+      File file = new File(argument[0]);
+      File directory = new File(argument[1]);
+      boolean isCsv = argument.length == 3 && argument[2].equals("csv");
+
+      try
+      {
+         long startTime = System.nanoTime();
+         final ColumnarCycle cycle = ColumnarCycle.read(file);
+         List<Timetable> timetable = new AbstractList<Timetable>()
+         {
+            public Timetable get(int index)
+            {
+               return cycle.getTimetable(index);
+            }
+
+            public int size()
+            {
+               return cycle.getPersonCount();
+            }
+         };
+
+         if (!directory.isDirectory() && !directory.mkdirs()) throw new IOException("Cannot create directory " + directory + ".");
+         export(timetable, directory, isCsv);
+
+         System.out.println("Wrote " + timetable.size() + " timetables to " + directory + " in " + (System.nanoTime() - startTime) / 1000000 + " ms.");
+      }
+      catch (Exception exception)
+      {
+         System.err.println("Failed to export timetables: " + exception.getMessage());
+         System.exit(1);
+      }
+   }
+}
@@ -0,0 +1,183 @@
+package FileStorage;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A file which is replaced as a whole, so that it is never left partially written.
+ * New contents are written to a temporary file in the same directory, forced to the storage device and then renamed over the file (atomically, where supported),
+ * after which the directory is forced too (where supported), so that the rename also survives a crash.
+ * The temporary file is created as any new file would be and is given the permissions of the file it replaces, so replacing a file does not change who can read it.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class AtomicFile
+{
+   // instance fields
+   private FileChannel channel;
+   private File file;
+   private CheckedOutputStream output;
+   private File temporaryFile;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs an atomic file for the specified file.
+    *
+    * @param file the file which is to be replaced<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public AtomicFile(File file)
+   {
+      this.file = file;
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the file which is to be replaced.
+    *
+    * @return the file which is to be replaced
+    */
+   public File getFile()
+   {
+      return file;
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Abandons the new contents, leaving the file as it was.
+    */
+   public void abort()
+   {
+      try
+      {
+         if (output != null) output.close();
+      }
+      catch (IOException exception) { }
+
+      try
+      {
+         if (channel != null) channel.close();
+      }
+      catch (IOException exception) { }
+
+      if (temporaryFile != null) temporaryFile.delete();
+      channel = null;
+      output = null;
+      temporaryFile = null;
+   }
+
+   /**
+    * Replaces the file with the new contents.
+    *
+    * @throws IOException if the file cannot be replaced (in which case it is left as it was)
+    */
+   public void commit() throws IOException
+   {
+      try
+      {
+         Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+      }
+      catch (AtomicMoveNotSupportedException exception)
+      {
+         Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      }
+      finally
+      {
+         abort();
+      }
+
+      forceDirectory(file.getAbsoluteFile().getParentFile());
+   }
+
+   // gives the temporary file the permissions of the file which it is to replace, where the file system has them
+   private void copyPermissions() throws IOException
+   {
+      if (!file.exists()) return;
+
+      try
+      {
+         Files.setPosixFilePermissions(temporaryFile.toPath(), Files.getPosixFilePermissions(file.toPath()));
+      }
+      catch (UnsupportedOperationException exception) { }
+   }
+
+   /**
+    * Finishes writing the new contents by forcing them to the storage device, without yet replacing the file.
+    *
+    * @return the CRC-32 checksum of the new contents
+    * @throws IOException if the new contents cannot be written
+    */
+   public long finishWrite() throws IOException
+   {
+      output.flush();
+      channel.force(true);
+      output.close();
+
+      return output.getChecksum().getValue();
+   }
+
+   // forces the entries of the specified directory to the storage device, where directories can be opened (they cannot on some platforms, where renames are durable anyway)
+   private static void forceDirectory(File directory)
+   {
+      try
+      {
+         FileChannel directoryChannel = FileChannel.open(directory.toPath(), StandardOpenOption.READ);
+         try
+         {
+            directoryChannel.force(true);
+         }
+         finally
+         {
+            directoryChannel.close();
+         }
+      }
+      catch (IOException exception) { }
+   }
+
+   /**
+    * Starts writing new contents for the file.
+    *
+    * @return the output stream to which the new contents are to be written
+    * @throws IOException if the temporary file cannot be created
+    */
+   public OutputStream startWrite() throws IOException
+   {
+      abort();
+
+      // File.createTempFile would make the file readable only by its owner, so a new name is chosen until a file with it can be created as any other file would be
+      while (channel == null)
+      {
+         temporaryFile = new File(file.getAbsoluteFile().getParentFile(), file.getName() + "." + Long.toUnsignedString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+         try
+         {
+            channel = FileChannel.open(temporaryFile.toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+         }
+         catch (FileAlreadyExistsException exception) { }
+      }
+      output = new CheckedOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)), new CRC32());
+      copyPermissions();
+
+      return output;
+   }
+}
@@ -0,0 +1,715 @@
+package FileStorage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * The versioned binary format in which schedule cycles can be stored.
+ * <p>
+ * A file starts with a header (magic number, version and number of sections) followed by a table giving the identifier, offset and length of each section.
+ * Entity sections (days, periods, activities and persons) start with their own string table followed by fixed-width records referring to strings by their index within it.
+ * Link sections (the periods of each day, the activities of each period and the persons of each activity) are fixed-width integer reference arrays
+ * consisting of the number of rows, the offset of each row and the ordinals which the rows refer to.
+ * A file can also have an optional person slot section in the same layout, giving the (day, period, activity) ordinals of every slot of each person,
+ * so that one person's schedule can be looked up without decoding the links between the other sections (see <code>PersonScheduleIndex</code>).
+ * Readers skip sections which they do not know.
+ * Files are read through a <code>MappedByteBuffer</code> so that references are resolved straight from the mapped file, and sections can be decoded independently of each other.
+ * All integers are big-endian.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class BinaryScheduleFormat
+{
+   // class variables
+   /**
+    * Magic number with which every binary schedule file starts ("SCDL").
+    */
+   public static final int MAGIC = 0x5343444C;
+
+   /**
+    * Version of the binary format written by this class.
+    */
+   public static final int VERSION = 2;
+
+   /**
+    * Section identifier of the days section.
+    */
+   public static final int DAY_SECTION = 1;
+
+   /**
+    * Section identifier of the periods section.
+    */
+   public static final int PERIOD_SECTION = 2;
+
+   /**
+    * Section identifier of the activities section.
+    */
+   public static final int ACTIVITY_SECTION = 3;
+
+   /**
+    * Section identifier of the persons section.
+    */
+   public static final int PERSON_SECTION = 4;
+
+   /**
+    * Section identifier of the section linking each day to its periods.
+    */
+   public static final int DAY_PERIOD_SECTION = 5;
+
+   /**
+    * Section identifier of the section linking each period to its activities.
+    */
+   public static final int PERIOD_ACTIVITY_SECTION = 6;
+
+   /**
+    * Section identifier of the section linking each activity to its persons.
+    */
+   public static final int ACTIVITY_PERSON_SECTION = 7;
+
+   /**
+    * Section identifier of the optional section giving the (day, period, activity) ordinals of every slot of each person.
+    */
+   public static final int PERSON_SLOT_SECTION = 8;
+
+   /**
+    * Number of ordinals making up each slot in the person slot section (day, period and activity).
+    */
+   public static final int SLOT_LENGTH = 3;
+
+   private static final int HEADER_LENGTH = 12;
+   private static final int MINUTES_PER_HOUR = 60;
+   private static final int SECTION_ENTRY_LENGTH = 12;
+
+   /*
+      constructors
+   */
+
+   private BinaryScheduleFormat() { }
+
+   /*
+      helper methods
+   */
+
+   private static byte[] encodeEntities(int count, String[][] stringField, int[][] intField) throws IOException
+   {
+      StringTable strings = new StringTable();
+      int fields = stringField.length + intField.length;
+      int[] record = new int[count * fields];
+      for (int i = 0; i < count; i++)
+      {
+         for (int j = 0; j < stringField.length; j++) record[i * fields + j] = strings.indexOf(stringField[j][i]);
+         for (int j = 0; j < intField.length; j++) record[i * fields + stringField.length + j] = intField[j][i];
+      }
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream data = new DataOutputStream(bytes);
+
+      data.writeInt(count);
+      strings.writeTo(data);
+      for (int field : record) data.writeInt(field);
+
+      data.flush();
+      return bytes.toByteArray();
+   }
+
+   private static byte[] encodePersonSlots(ScheduleSnapshot snapshot)
+   {
+      ReferenceTable dayPeriod = snapshot.getDayPeriod();
+      ReferenceTable periodActivity = snapshot.getPeriodActivity();
+      ReferenceTable activityPerson = snapshot.getActivityPerson();
+      int rows = snapshot.getPersonIdentifier().length;
+
+      // the first pass counts the slots of each person, so that the second pass can place each slot straight into its row
+      int[] rowEnd = new int[rows + 1];
+      int[] rowPosition = null;
+      int[] slot = null;
+      for (int pass = 0; pass < 2; pass++)
+      {
+         for (int day = 0; day < dayPeriod.getRowCount(); day++)
+         {
+            for (int i = dayPeriod.getRowStart(day); i < dayPeriod.getRowEnd(day); i++)
+            {
+               int period = dayPeriod.get(i);
+               for (int j = periodActivity.getRowStart(period); j < periodActivity.getRowEnd(period); j++)
+               {
+                  int activity = periodActivity.get(j);
+                  for (int k = activityPerson.getRowStart(activity); k < activityPerson.getRowEnd(activity); k++)
+                  {
+                     int person = activityPerson.get(k);
+                     if (pass == 0)
+                     {
+                        rowEnd[person + 1] += SLOT_LENGTH;
+                     }
+                     else
+                     {
+                        int position = rowPosition[person];
+                        slot[position] = day;
+                        slot[position + 1] = period;
+                        slot[position + 2] = activity;
+                        rowPosition[person] += SLOT_LENGTH;
+                     }
+                  }
+               }
+            }
+         }
+
+         if (pass == 0)
+         {
+            for (int i = 0; i < rows; i++) rowEnd[i + 1] += rowEnd[i];
+            rowPosition = Arrays.copyOf(rowEnd, rows);
+            slot = new int[rowEnd[rows]];
+         }
+      }
+
+      ByteBuffer section = ByteBuffer.allocate((1 + rowEnd.length + slot.length) * 4);
+      section.putInt(rows);
+      section.asIntBuffer().put(rowEnd).put(slot);
+      return section.array();
+   }
+
+   private static byte[] encodeReferences(ReferenceTable table) throws IOException
+   {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      DataOutputStream data = new DataOutputStream(bytes);
+
+      int rows = table.getRowCount();
+      data.writeInt(rows);
+      data.writeInt(0);
+      for (int i = 0; i < rows; i++) data.writeInt(table.getRowEnd(i));
+      for (int i = 0; i < (rows > 0 ? table.getRowEnd(rows - 1) : 0); i++) data.writeInt(table.get(i));
+
+      data.flush();
+      return bytes.toByteArray();
+   }
+
+   private static byte[] encodeSection(ScheduleSnapshot snapshot, int sectionIdentifier) throws IOException
+   {
+      switch (sectionIdentifier)
+      {
+         case DAY_SECTION:
+            return encodeEntities(snapshot.getDayIdentifier().length, new String[][]{snapshot.getDayIdentifier()}, new int[][]{snapshot.getDayStartTime()});
+
+         case PERIOD_SECTION:
+            long[] periodDuration = snapshot.getPeriodDuration();
+            int[] periodDurationField = new int[periodDuration.length];
+            for (int i = 0; i < periodDuration.length; i++) periodDurationField[i] = (int) periodDuration[i];
+            return encodeEntities(periodDuration.length, new String[][]{snapshot.getPeriodIdentifier()}, new int[][]{periodDurationField});
+
+         case ACTIVITY_SECTION:
+            return encodeEntities(snapshot.getActivityIdentifier().length, new String[][]{snapshot.getActivityIdentifier(), snapshot.getActivityType()}, new int[0][]);
+
+         case PERSON_SECTION:
+            return encodeEntities(snapshot.getPersonIdentifier().length, new String[][]{snapshot.getPersonIdentifier(), snapshot.getPersonFirstName(), snapshot.getPersonLastName(), snapshot.getPersonRole()}, new int[0][]);
+
+         case DAY_PERIOD_SECTION:
+            return encodeReferences(snapshot.getDayPeriod());
+
+         case PERIOD_ACTIVITY_SECTION:
+            return encodeReferences(snapshot.getPeriodActivity());
+
+         case ACTIVITY_PERSON_SECTION:
+            return encodeReferences(snapshot.getActivityPerson());
+
+         default:
+            return encodePersonSlots(snapshot);
+      }
+   }
+
+   /**
+    * Encodes each section of the specified snapshot in this format.
+    * Sections which were already encoded for a previous snapshot in which they had not changed since are reused instead of being encoded again.
+    *
+    * @param snapshot the snapshot to encode<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isIndexed whether the optional person slot section is to be encoded as well
+    * @return the encoded sections (indexed by section identifier, with <code>null</code> for sections which are not encoded)
+    * @throws IOException if a section cannot be encoded
+    */
+   static byte[][] encodeSections(ScheduleSnapshot snapshot, boolean isIndexed) throws IOException
+   {
+      byte[][] section = new byte[PERSON_SLOT_SECTION + 1][];
+      for (int i = 1; i <= (isIndexed ? PERSON_SLOT_SECTION : ACTIVITY_PERSON_SECTION); i++)
+      {
+         ScheduleSnapshot.EncodedSection encodedSection = snapshot.getEncodedSection(i);
+         section[i] = encodedSection.getSection();
+         if (section[i] == null)
+         {
+            section[i] = encodeSection(snapshot, i);
+            encodedSection.setSection(section[i]);
+         }
+      }
+
+      return section;
+   }
+
+   static void linkActivities(ByteBuffer buffer, int position, ArrayList<Activity> activity, ArrayList<Person> person)
+   {
+      int rows = buffer.getInt(position);
+      int values = position + 8 + rows * 4;
+      for (int i = 0; i < rows; i++)
+      {
+         int from = buffer.getInt(position + 4 + i * 4);
+         int to = buffer.getInt(position + 8 + i * 4);
+
+         ArrayList<Person> personList = new ArrayList<Person>(to - from);
+         for (int j = from; j < to; j++) personList.add(person.get(buffer.getInt(values + j * 4)));
+         activity.get(i).setPerson(personList);
+      }
+   }
+
+   static void linkDays(ByteBuffer buffer, int position, ArrayList<Day> day, ArrayList<Period> period)
+   {
+      int rows = buffer.getInt(position);
+      int values = position + 8 + rows * 4;
+      for (int i = 0; i < rows; i++)
+      {
+         int from = buffer.getInt(position + 4 + i * 4);
+         int to = buffer.getInt(position + 8 + i * 4);
+
+         ArrayList<Period> periodList = new ArrayList<Period>(to - from);
+         for (int j = from; j < to; j++) periodList.add(period.get(buffer.getInt(values + j * 4)));
+         day.get(i).setPeriod(periodList);
+      }
+   }
+
+   static void linkPeriods(ByteBuffer buffer, int position, ArrayList<Period> period, ArrayList<Activity> activity)
+   {
+      int rows = buffer.getInt(position);
+      int values = position + 8 + rows * 4;
+      for (int i = 0; i < rows; i++)
+      {
+         int from = buffer.getInt(position + 4 + i * 4);
+         int to = buffer.getInt(position + 8 + i * 4);
+
+         ArrayList<Activity> activityList = new ArrayList<Activity>(to - from);
+         for (int j = from; j < to; j++) activityList.add(activity.get(buffer.getInt(values + j * 4)));
+         period.get(i).setActivity(activityList);
+      }
+   }
+
+   /**
+    * Returns whether the specified header starts with the magic number of this format.
+    *
+    * @param header the first bytes of a file
+    * @param length the number of valid bytes in the header
+    * @return <code>true</code> if the header starts with the magic number of this format; <code>false</code> otherwise
+    */
+   public static boolean matches(byte[] header, int length)
+   {
+      return length >= 4 && ByteBuffer.wrap(header, 0, 4).getInt() == MAGIC;
+   }
+
+   /**
+    * Reads a schedule cycle from the specified file by mapping it into memory.
+    *
+    * @param file the file from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isParallel whether the sections are to be decoded in parallel (as per <code>read(ByteBuffer, boolean)</code>)
+    * @return the schedule cycle which was read
+    * @throws IOException if the file cannot be read or is not in this format
+    * @throws RuntimeException if the contents of the file are malformed
+    */
+   public static Cycle read(File file, boolean isParallel) throws IOException
+   {
+      FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+      try
+      {
+         return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), isParallel);
+      }
+      finally
+      {
+         channel.close();
+      }
+   }
+
+   /**
+    * Reads a schedule cycle from the specified buffer.
+    * If decoding in parallel, each entity section and then each link section is decoded by its own task in the common <code>ForkJoinPool</code>.
+    *
+    * @param buffer the buffer holding a whole file in this format<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isParallel whether the sections are to be decoded in parallel
+    * @return the schedule cycle which was read
+    * @throws IOException if the buffer is not in this format
+    * @throws RuntimeException if the contents of the buffer are malformed
+    */
+   public static Cycle read(ByteBuffer buffer, boolean isParallel) throws IOException
+   {
+      return read(buffer, readSectionOffsets(buffer), isParallel);
+   }
+
+   /**
+    * Reads a schedule cycle from sections in this format held in the specified buffer at the specified offsets (used by containers which lay the sections out themselves).
+    *
+    * @param buffer the buffer holding the sections<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param sectionOffset the offset within the buffer of each section (indexed by section identifier)<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isParallel whether the sections are to be decoded in parallel (as per <code>read(ByteBuffer, boolean)</code>)
+    * @return the schedule cycle which was read
+    * @throws RuntimeException if the contents of the sections are malformed
+    */
+   static Cycle read(final ByteBuffer buffer, final int[] sectionOffset, boolean isParallel)
+   {
+      if (!isParallel)
+      {
+         ArrayList<Day> day = readDays(buffer, sectionOffset[DAY_SECTION]);
+         ArrayList<Period> period = readPeriods(buffer, sectionOffset[PERIOD_SECTION]);
+         ArrayList<Activity> activity = readActivities(buffer, sectionOffset[ACTIVITY_SECTION]);
+         ArrayList<Person> person = readPersons(buffer, sectionOffset[PERSON_SECTION]);
+
+         linkDays(buffer, sectionOffset[DAY_PERIOD_SECTION], day, period);
+         linkPeriods(buffer, sectionOffset[PERIOD_ACTIVITY_SECTION], period, activity);
+         linkActivities(buffer, sectionOffset[ACTIVITY_PERSON_SECTION], activity, person);
+
+         return new Cycle(activity, day, period, person);
+      }
+
+      ForkJoinPool pool = ForkJoinPool.commonPool();
+      ForkJoinTask<ArrayList<Day>> dayTask = pool.submit(
+         new Callable<ArrayList<Day>>()
+         {
+            public ArrayList<Day> call()
+            {
+               return readDays(buffer, sectionOffset[DAY_SECTION]);
+            }
+         }
+      );
+      ForkJoinTask<ArrayList<Period>> periodTask = pool.submit(
+         new Callable<ArrayList<Period>>()
+         {
+            public ArrayList<Period> call()
+            {
+               return readPeriods(buffer, sectionOffset[PERIOD_SECTION]);
+            }
+         }
+      );
+      ForkJoinTask<ArrayList<Activity>> activityTask = pool.submit(
+         new Callable<ArrayList<Activity>>()
+         {
+            public ArrayList<Activity> call()
+            {
+               return readActivities(buffer, sectionOffset[ACTIVITY_SECTION]);
+            }
+         }
+      );
+      final ArrayList<Person> person = readPersons(buffer, sectionOffset[PERSON_SECTION]);
+      final ArrayList<Day> day = dayTask.join();
+      final ArrayList<Period> period = periodTask.join();
+      final ArrayList<Activity> activity = activityTask.join();
+
+      ForkJoinTask<?> dayLinkTask = pool.submit(
+         new Runnable()
+         {
+            public void run()
+            {
+               linkDays(buffer, sectionOffset[DAY_PERIOD_SECTION], day, period);
+            }
+         }
+      );
+      ForkJoinTask<?> periodLinkTask = pool.submit(
+         new Runnable()
+         {
+            public void run()
+            {
+               linkPeriods(buffer, sectionOffset[PERIOD_ACTIVITY_SECTION], period, activity);
+            }
+         }
+      );
+      linkActivities(buffer, sectionOffset[ACTIVITY_PERSON_SECTION], activity, person);
+      dayLinkTask.join();
+      periodLinkTask.join();
+
+      return new Cycle(activity, day, period, person);
+   }
+
+   static ArrayList<Activity> readActivities(ByteBuffer buffer, int position)
+   {
+      int count = buffer.getInt(position);
+      String[] strings = readStrings(buffer, position + 4);
+      int records = position + 4 + stringTableLength(buffer, position + 4);
+
+      ArrayList<Activity> activity = new ArrayList<Activity>(count);
+      for (int i = 0; i < count; i++) activity.add(new Activity(strings[buffer.getInt(records + i * 8)], strings[buffer.getInt(records + i * 8 + 4)]));
+
+      return activity;
+   }
+
+   static ArrayList<Day> readDays(ByteBuffer buffer, int position)
+   {
+      int count = buffer.getInt(position);
+      String[] strings = readStrings(buffer, position + 4);
+      int records = position + 4 + stringTableLength(buffer, position + 4);
+
+      ArrayList<Day> day = new ArrayList<Day>(count);
+      for (int i = 0; i < count; i++)
+      {
+         int startMinute = buffer.getInt(records + i * 8 + 4);
+         day.add(new Day(strings[buffer.getInt(records + i * 8)], LocalTime.of(startMinute / MINUTES_PER_HOUR, startMinute % MINUTES_PER_HOUR)));
+      }
+
+      return day;
+   }
+
+   /**
+    * Returns a schedule cycle read from the specified file in this format, of which only the days and periods are decoded straight away.
+    * The file stays mapped until the rest of the schedule cycle is materialized.
+    *
+    * @param file the file from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the schedule cycle which was read
+    * @throws IOException if the file cannot be read or is not in this format
+    * @throws RuntimeException if the contents of the day and period sections are malformed
+    */
+   public static LazyCycle readLazily(File file) throws IOException
+   {
+      FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+      try
+      {
+         ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+         return new LazyCycle(buffer, readSectionOffsets(buffer));
+      }
+      finally
+      {
+         channel.close();
+      }
+   }
+
+   static ArrayList<Period> readPeriods(ByteBuffer buffer, int position)
+   {
+      int count = buffer.getInt(position);
+      String[] strings = readStrings(buffer, position + 4);
+      int records = position + 4 + stringTableLength(buffer, position + 4);
+
+      ArrayList<Period> period = new ArrayList<Period>(count);
+      for (int i = 0; i < count; i++) period.add(new Period(Duration.ofMinutes(buffer.getInt(records + i * 8 + 4)), strings[buffer.getInt(records + i * 8)]));
+
+      return period;
+   }
+
+   static ArrayList<Person> readPersons(ByteBuffer buffer, int position)
+   {
+      int count = buffer.getInt(position);
+      String[] strings = readStrings(buffer, position + 4);
+      int records = position + 4 + stringTableLength(buffer, position + 4);
+
+      ArrayList<Person> person = new ArrayList<Person>(count);
+      for (int i = 0; i < count; i++)
+      {
+         int record = records + i * 16;
+         person.add(new Person(strings[buffer.getInt(record + 4)], strings[buffer.getInt(record)], strings[buffer.getInt(record + 8)], strings[buffer.getInt(record + 12)]));
+      }
+
+      return person;
+   }
+
+   static ReferenceTable readReferences(ByteBuffer buffer, int position)
+   {
+      int rows = buffer.getInt(position);
+      int values = position + 8 + rows * 4;
+
+      ReferenceTable table = new ReferenceTable(rows, buffer.getInt(position + 4 + rows * 4));
+      for (int i = 0; i < rows; i++)
+      {
+         int from = buffer.getInt(position + 4 + i * 4);
+         int to = buffer.getInt(position + 8 + i * 4);
+         for (int j = from; j < to; j++) table.add(buffer.getInt(values + j * 4));
+         table.endRow();
+      }
+
+      return table;
+   }
+
+   /**
+    * Reads the offset of each section from the section table of the specified buffer.
+    *
+    * @param buffer the buffer holding a whole file in this format<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the offset within the buffer of each section (indexed by section identifier, with <code>-1</code> for the person slot section if the file does not have it)
+    * @throws IOException if the buffer is not in this format or is missing a section
+    */
+   static int[] readSectionOffsets(ByteBuffer buffer) throws IOException
+   {
+      if (buffer.getInt(0) != MAGIC) throw new IOException("Not a binary schedule file.");
+      if (buffer.getInt(4) != VERSION) throw new IOException("Unsupported binary schedule file version " + buffer.getInt(4) + ".");
+
+      int[] sectionOffset = new int[PERSON_SLOT_SECTION + 1];
+      Arrays.fill(sectionOffset, -1);
+      int numberOfSections = buffer.getInt(8);
+      for (int i = 0; i < numberOfSections; i++)
+      {
+         int entry = HEADER_LENGTH + i * SECTION_ENTRY_LENGTH;
+         int sectionIdentifier = buffer.getInt(entry);
+         if (sectionIdentifier > 0 && sectionIdentifier < sectionOffset.length) sectionOffset[sectionIdentifier] = buffer.getInt(entry + 4);
+      }
+      for (int i = 1; i <= ACTIVITY_PERSON_SECTION; i++)
+      {
+         if (sectionOffset[i] < 0) throw new IOException("Missing section " + i + ".");
+      }
+
+      return sectionOffset;
+   }
+
+   static String[] readStrings(ByteBuffer buffer, int position)
+   {
+      int count = buffer.getInt(position);
+      int bytes = position + 8 + count * 4;
+
+      String[] strings = new String[count];
+      ByteBuffer view = buffer.duplicate();
+      byte[] scratch = new byte[0];
+      for (int i = 0; i < count; i++)
+      {
+         int from = buffer.getInt(position + 4 + i * 4);
+         int length = buffer.getInt(position + 8 + i * 4) - from;
+         if (scratch.length < length) scratch = new byte[Math.max(length, scratch.length * 2)];
+
+         view.position(bytes + from);
+         view.get(scratch, 0, length);
+         strings[i] = new String(scratch, 0, length, StandardCharsets.UTF_8);
+      }
+
+      return strings;
+   }
+
+   /**
+    * Reads the sections held in the specified buffer at the specified offsets without linking them, so that their references can be checked first.
+    *
+    * @param buffer the buffer holding the sections<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param sectionOffset the offset within the buffer of each section (indexed by section identifier)<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the unlinked schedule cycle which was read
+    * @throws RuntimeException if the contents of the sections are malformed
+    */
+   static UnlinkedCycle readUnlinked(ByteBuffer buffer, int[] sectionOffset)
+   {
+      return new UnlinkedCycle(readActivities(buffer, sectionOffset[ACTIVITY_SECTION]), readReferences(buffer, sectionOffset[ACTIVITY_PERSON_SECTION]),
+         readDays(buffer, sectionOffset[DAY_SECTION]), readReferences(buffer, sectionOffset[DAY_PERIOD_SECTION]),
+         readPeriods(buffer, sectionOffset[PERIOD_SECTION]), readReferences(buffer, sectionOffset[PERIOD_ACTIVITY_SECTION]), readPersons(buffer, sectionOffset[PERSON_SECTION]));
+   }
+
+   static int stringTableLength(ByteBuffer buffer, int position)
+   {
+      int count = buffer.getInt(position);
+      return 8 + count * 4 + buffer.getInt(position + 4 + count * 4);
+   }
+
+   /**
+    * Writes the specified schedule cycle to the specified output stream.
+    *
+    * @param output the output stream to which the schedule cycle is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param cycle the schedule cycle to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the output stream fails
+    */
+   public static void write(OutputStream output, Cycle cycle) throws IOException
+   {
+      write(output, new ScheduleSnapshot(cycle));
+   }
+
+   /**
+    * Writes the specified snapshot of a schedule cycle to the specified output stream.
+    *
+    * @param output the output stream to which the snapshot is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param snapshot the snapshot to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the output stream fails
+    */
+   public static void write(OutputStream output, ScheduleSnapshot snapshot) throws IOException
+   {
+      write(output, snapshot, false);
+   }
+
+   /**
+    * Writes the specified snapshot of a schedule cycle to the specified output stream, optionally with the person slot section.
+    *
+    * @param output the output stream to which the snapshot is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param snapshot the snapshot to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isIndexed whether the person slot section is to be written as well
+    * @throws IOException if the output stream fails
+    */
+   public static void write(OutputStream output, ScheduleSnapshot snapshot, boolean isIndexed) throws IOException
+   {
+      byte[][] section = encodeSections(snapshot, isIndexed);
+      int numberOfSections = isIndexed ? PERSON_SLOT_SECTION : ACTIVITY_PERSON_SECTION;
+
+      DataOutputStream data = new DataOutputStream(output);
+      data.writeInt(MAGIC);
+      data.writeInt(VERSION);
+      data.writeInt(numberOfSections);
+
+      int offset = HEADER_LENGTH + numberOfSections * SECTION_ENTRY_LENGTH;
+      for (int i = 1; i <= numberOfSections; i++)
+      {
+         data.writeInt(i);
+         data.writeInt(offset);
+         data.writeInt(section[i].length);
+         offset += section[i].length;
+      }
+      for (int i = 1; i <= numberOfSections; i++) data.write(section[i]);
+
+      data.flush();
+   }
+
+   /*
+      inner classes
+   */
+
+   private static class StringTable
+   {
+      // instance fields
+      private HashMap<String, Integer> index;
+      private ArrayList<byte[]> string;
+
+      /*
+         constructors
+      */
+
+      public StringTable()
+      {
+         index = new HashMap<String, Integer>();
+         string = new ArrayList<byte[]>();
+      }
+
+      /*
+         helper methods
+      */
+
+      public int indexOf(String value)
+      {
+         Integer existing = index.get(value);
+         if (existing != null) return existing;
+
+         index.put(value, string.size());
+         string.add(value.getBytes(StandardCharsets.UTF_8));
+         return string.size() - 1;
+      }
+
+      public void writeTo(DataOutputStream data) throws IOException
+      {
+         data.writeInt(string.size());
+         int offset = 0;
+         data.writeInt(offset);
+         for (byte[] value : string)
+         {
+            offset += value.length;
+            data.writeInt(offset);
+         }
+         for (byte[] value : string) data.write(value);
+      }
+   }
+}
@@ -0,0 +1,657 @@
+package FileStorage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+import Schedule.Timetable;
+
+/**
+ * A read-only schedule cycle held section by section in parallel arrays of primitives, for rosters too large to hold as one linked object per entity (see <code>Cycle</code>).
+ * Every identifier, type, name and role is held once in a shared string table and referred to by its ordinal in it; the durations of periods are held as <code>int</code> minutes,
+ * the start times of days as <code>short</code> minutes of the day, and the links between sections as <code>ReferenceTable</code>s of ordinals, as in a binary schedule file.
+ * <br>
+ * Entities are named by their ordinal within their section. <code>getDay</code>, <code>getPeriod</code>, <code>getActivity</code> and <code>getPerson</code> construct the entity of one ordinal the first time it is asked for
+ * and keep it, so every call for the same ordinal of the same columnar cycle returns the same entity, and two of its entities are equal exactly when they are of the same section and ordinal
+ * (entities of different columnar cycles are never equal, even for the same ordinal). The entities kept are not linked, except that each day has its periods.
+ * <code>getTimetable</code> constructs the timetable of one person from these entities, <code>toCycle</code> constructs the whole linked schedule cycle from entities of its own, and <code>toSnapshot</code> lets any codec write it.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ColumnarCycle
+{
+   // class variables
+   private static final int MINUTES_PER_HOUR = 60;
+
+   // instance fields
+   private Activity[] activityEntity;
+   private int[] activityIdentifier;
+   private ReferenceTable activityPerson;
+   private int[] activityType;
+   private Day[] dayEntity;
+   private int[] dayIdentifier;
+   private ReferenceTable dayPeriod;
+   private short[] dayStartMinute;
+   private ReferenceTable periodActivity;
+   private int[] periodDuration;
+   private Period[] periodEntity;
+   private int[] periodIdentifier;
+   private ReferenceTable personActivity;
+   private Person[] personEntity;
+   private int[] personFirstName;
+   private int[] personIdentifier;
+   private int[] personLastName;
+   private int[] personRole;
+   private String[] string;
+
+   /*
+      constructors
+   */
+
+   private ColumnarCycle() { }
+
+   /**
+    * Constructs a columnar schedule cycle with the contents of the specified snapshot.
+    *
+    * @param snapshot the snapshot of the schedule cycle<br><i>pre-condition:</i> cannot be <code>null</code>, and cannot refer to entities which are not in the schedule cycle
+    */
+   public ColumnarCycle(ScheduleSnapshot snapshot)
+   {
+      StringTable strings = new StringTable();
+      activityIdentifier = strings.ordinalsOf(snapshot.getActivityIdentifier());
+      activityType = strings.ordinalsOf(snapshot.getActivityType());
+      dayIdentifier = strings.ordinalsOf(snapshot.getDayIdentifier());
+      periodIdentifier = strings.ordinalsOf(snapshot.getPeriodIdentifier());
+      personFirstName = strings.ordinalsOf(snapshot.getPersonFirstName());
+      personIdentifier = strings.ordinalsOf(snapshot.getPersonIdentifier());
+      personLastName = strings.ordinalsOf(snapshot.getPersonLastName());
+      personRole = strings.ordinalsOf(snapshot.getPersonRole());
+      string = strings.toArray();
+
+      int[] dayStartTime = snapshot.getDayStartTime();
+      dayStartMinute = new short[dayStartTime.length];
+      for (int i = 0; i < dayStartTime.length; i++) dayStartMinute[i] = (short) dayStartTime[i];
+      long[] periodDuration = snapshot.getPeriodDuration();
+      this.periodDuration = new int[periodDuration.length];
+      for (int i = 0; i < periodDuration.length; i++) this.periodDuration[i] = (int) periodDuration[i];
+
+      activityPerson = snapshot.getActivityPerson();
+      dayPeriod = snapshot.getDayPeriod();
+      periodActivity = snapshot.getPeriodActivity();
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the activity with the specified ordinal, which takes part in no period and has no persons.
+    *
+    * @param activity the ordinal of the activity<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getActivityCount()</code>
+    * @return the activity, which is the same each time it is returned
+    */
+   public synchronized Activity getActivity(int activity)
+   {
+      if (activityEntity == null) activityEntity = new Activity[getActivityCount()];
+      if (activityEntity[activity] == null) activityEntity[activity] = newActivity(activity);
+
+      return activityEntity[activity];
+   }
+
+   /**
+    * Returns the ordinal of the activity in which the specified person takes part during the specified period.
+    *
+    * @param person the ordinal of the person<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getPersonCount()</code>
+    * @param period the ordinal of the period<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getPeriodCount()</code>
+    * @return the ordinal of the first activity of the period in which the person takes part, or <code>OrdinalIndex.MISSING</code> if the person takes part in none
+    */
+   public int getActivity(int person, int period)
+   {
+      ReferenceTable activityOfPerson = getPersonActivity();
+      for (int i = periodActivity.getRowStart(period); i < periodActivity.getRowEnd(period); i++)
+      {
+         for (int j = activityOfPerson.getRowStart(person); j < activityOfPerson.getRowEnd(person); j++)
+         {
+            if (periodActivity.get(i) == activityOfPerson.get(j)) return periodActivity.get(i);
+         }
+      }
+
+      return OrdinalIndex.MISSING;
+   }
+
+   /**
+    * Returns the number of activities.
+    *
+    * @return the number of activities
+    */
+   public int getActivityCount()
+   {
+      return activityIdentifier.length;
+   }
+
+   /**
+    * Returns the identifier of the activity with the specified ordinal.
+    *
+    * @param activity the ordinal of the activity<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getActivityCount()</code>
+    * @return the identifier of the activity
+    */
+   public String getActivityIdentifier(int activity)
+   {
+      return string[activityIdentifier[activity]];
+   }
+
+   /**
+    * Returns the ordinals of the persons participating in each activity.
+    *
+    * @return the ordinals of the persons participating in each activity (one row per activity)
+    */
+   public ReferenceTable getActivityPerson()
+   {
+      return activityPerson;
+   }
+
+   /**
+    * Returns the type of the activity with the specified ordinal.
+    *
+    * @param activity the ordinal of the activity<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getActivityCount()</code>
+    * @return the type of the activity
+    */
+   public String getActivityType(int activity)
+   {
+      return string[activityType[activity]];
+   }
+
+   /**
+    * Returns the day with the specified ordinal, which has its periods (as returned by <code>getPeriod</code>).
+    *
+    * @param day the ordinal of the day<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getDayCount()</code>
+    * @return the day, which is the same each time it is returned
+    */
+   public synchronized Day getDay(int day)
+   {
+      if (dayEntity == null) dayEntity = new Day[getDayCount()];
+      if (dayEntity[day] == null)
+      {
+         ArrayList<Period> period = new ArrayList<Period>(dayPeriod.getRowEnd(day) - dayPeriod.getRowStart(day));
+         for (int i = dayPeriod.getRowStart(day); i < dayPeriod.getRowEnd(day); i++) period.add(getPeriod(dayPeriod.get(i)));
+         dayEntity[day] = newDay(day);
+         dayEntity[day].setPeriod(period);
+      }
+
+      return dayEntity[day];
+   }
+
+   /**
+    * Returns the number of days.
+    *
+    * @return the number of days
+    */
+   public int getDayCount()
+   {
+      return dayIdentifier.length;
+   }
+
+   /**
+    * Returns the identifier of the day with the specified ordinal.
+    *
+    * @param day the ordinal of the day<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getDayCount()</code>
+    * @return the identifier of the day
+    */
+   public String getDayIdentifier(int day)
+   {
+      return string[dayIdentifier[day]];
+   }
+
+   /**
+    * Returns the ordinals of the periods taking place on each day.
+    *
+    * @return the ordinals of the periods taking place on each day (one row per day, in the order that the periods take place)
+    */
+   public ReferenceTable getDayPeriod()
+   {
+      return dayPeriod;
+   }
+
+   /**
+    * Returns the time at which the day with the specified ordinal starts.
+    *
+    * @param day the ordinal of the day<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getDayCount()</code>
+    * @return the time at which the day starts, in minutes since midnight
+    */
+   public int getDayStartMinute(int day)
+   {
+      return dayStartMinute[day];
+   }
+
+   /**
+    * Returns the period with the specified ordinal, which has no activities.
+    *
+    * @param period the ordinal of the period<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getPeriodCount()</code>
+    * @return the period, which is the same each time it is returned
+    */
+   public synchronized Period getPeriod(int period)
+   {
+      if (periodEntity == null) periodEntity = new Period[getPeriodCount()];
+      if (periodEntity[period] == null) periodEntity[period] = newPeriod(period);
+
+      return periodEntity[period];
+   }
+
+   /**
+    * Returns the ordinals of the activities taking place during each period.
+    *
+    * @return the ordinals of the activities taking place during each period (one row per period)
+    */
+   public ReferenceTable getPeriodActivity()
+   {
+      return periodActivity;
+   }
+
+   /**
+    * Returns the number of periods.
+    *
+    * @return the number of periods
+    */
+   public int getPeriodCount()
+   {
+      return periodIdentifier.length;
+   }
+
+   /**
+    * Returns the duration of the period with the specified ordinal.
+    *
+    * @param period the ordinal of the period<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getPeriodCount()</code>
+    * @return the duration of the period, in minutes
+    */
+   public int getPeriodDuration(int period)
+   {
+      return periodDuration[period];
+   }
+
+   /**
+    * Returns the identifier of the period with the specified ordinal.
+    *
+    * @param period the ordinal of the period<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getPeriodCount()</code>
+    * @return the identifier of the period
+    */
+   public String getPeriodIdentifier(int period)
+   {
+      return string[periodIdentifier[period]];
+   }
+
+   /**
+    * Returns the person with the specified ordinal, who takes part in no activity.
+    *
+    * @param person the ordinal of the person<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getPersonCount()</code>
+    * @return the person, who is the same each time they are returned
+    */
+   public synchronized Person getPerson(int person)
+   {
+      if (personEntity == null) personEntity = new Person[getPersonCount()];
+      if (personEntity[person] == null) personEntity[person] = newPerson(person);
+
+      return personEntity[person];
+   }
+
+   /**
+    * Returns the ordinals of the activities in which each person takes part, which are found the first time they are needed.
+    *
+    * @return the ordinals of the activities in which each person takes part (one row per person, in the order of the activities)
+    */
+   public synchronized ReferenceTable getPersonActivity()
+   {
+      if (personActivity != null) return personActivity;
+
+      // the activities of each person are counted first, so that the rows can be filled in order of activity without growing
+      int[] rowStart = new int[getPersonCount() + 1];
+      for (int i = 0; i < activityPerson.getRowCount(); i++)
+      {
+         for (int j = activityPerson.getRowStart(i); j < activityPerson.getRowEnd(i); j++) rowStart[activityPerson.get(j) + 1]++;
+      }
+      for (int i = 0; i < getPersonCount(); i++) rowStart[i + 1] += rowStart[i];
+
+      int[] value = new int[rowStart[getPersonCount()]];
+      int[] next = rowStart.clone();
+      for (int i = 0; i < activityPerson.getRowCount(); i++)
+      {
+         for (int j = activityPerson.getRowStart(i); j < activityPerson.getRowEnd(i); j++) value[next[activityPerson.get(j)]++] = i;
+      }
+
+      personActivity = new ReferenceTable(getPersonCount(), value.length);
+      for (int i = 0; i < getPersonCount(); i++)
+      {
+         for (int j = rowStart[i]; j < rowStart[i + 1]; j++) personActivity.add(value[j]);
+         personActivity.endRow();
+      }
+
+      return personActivity;
+   }
+
+   /**
+    * Returns the number of persons.
+    *
+    * @return the number of persons
+    */
+   public int getPersonCount()
+   {
+      return personIdentifier.length;
+   }
+
+   /**
+    * Returns the first name of the person with the specified ordinal.
+    *
+    * @param person the ordinal of the person<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getPersonCount()</code>
+    * @return the first name of the person
+    */
+   public String getPersonFirstName(int person)
+   {
+      return string[personFirstName[person]];
+   }
+
+   /**
+    * Returns the identifier of the person with the specified ordinal.
+    *
+    * @param person the ordinal of the person<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getPersonCount()</code>
+    * @return the identifier of the person
+    */
+   public String getPersonIdentifier(int person)
+   {
+      return string[personIdentifier[person]];
+   }
+
+   /**
+    * Returns the last name of the person with the specified ordinal.
+    *
+    * @param person the ordinal of the person<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getPersonCount()</code>
+    * @return the last name of the person
+    */
+   public String getPersonLastName(int person)
+   {
+      return string[personLastName[person]];
+   }
+
+   /**
+    * Returns the role of the person with the specified ordinal.
+    *
+    * @param person the ordinal of the person<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getPersonCount()</code>
+    * @return the role of the person
+    */
+   public String getPersonRole(int person)
+   {
+      return string[personRole[person]];
+   }
+
+   /**
+    * Constructs the timetable of the person with the specified ordinal from the columns, without linking any entities.
+    * If the person takes part in more than one activity during a period, the one with the lowest ordinal is used (as by <code>Timetable</code>, which uses the one which comes first in the list of all activities).
+    *
+    * @param person the ordinal of the person<br><i>pre-condition:</i> must be at least <code>0</code> and less than <code>getPersonCount()</code>
+    * @return the timetable of the person, made up of the entities returned by <code>getDay</code>, <code>getActivity</code> and <code>getPerson</code>
+    */
+   public Timetable getTimetable(int person)
+   {
+      // the activities of the person are marked, so that the activity of each period is found in one pass over the period instead of one pass for each activity of the person
+      ReferenceTable activityOfPerson = getPersonActivity();
+      boolean[] isTakenPart = new boolean[getActivityCount()];
+      for (int i = activityOfPerson.getRowStart(person); i < activityOfPerson.getRowEnd(person); i++) isTakenPart[activityOfPerson.get(i)] = true;
+
+      Activity[] activityOfPeriod = new Activity[getPeriodCount()];
+      for (int i = 0; i < getPeriodCount(); i++)
+      {
+         int activity = getActivityCount();
+         for (int j = periodActivity.getRowStart(i); j < periodActivity.getRowEnd(i); j++)
+         {
+            if (isTakenPart[periodActivity.get(j)]) activity = Math.min(activity, periodActivity.get(j));
+         }
+         if (activity < getActivityCount()) activityOfPeriod[i] = getActivity(activity);
+      }
+
+      ArrayList<Day> day = new ArrayList<Day>(getDayCount());
+      Activity[][] dayActivity = new Activity[getDayCount()][];
+      for (int i = 0; i < getDayCount(); i++)
+      {
+         day.add(getDay(i));
+         dayActivity[i] = new Activity[dayPeriod.getRowEnd(i) - dayPeriod.getRowStart(i)];
+         for (int j = 0; j < dayActivity[i].length; j++) dayActivity[i][j] = activityOfPeriod[dayPeriod.get(dayPeriod.getRowStart(i) + j)];
+      }
+
+      return new Timetable(getPerson(person), day, dayActivity);
+   }
+
+   /**
+    * Constructs the whole schedule cycle, with one new linked entity for each ordinal of each section (separate from the entities returned by <code>getDay</code>, <code>getPeriod</code>, <code>getActivity</code> and <code>getPerson</code>).
+    *
+    * @return the schedule cycle
+    */
+   public Cycle toCycle()
+   {
+      ArrayList<Activity> activity = new ArrayList<Activity>(getActivityCount());
+      for (int i = 0; i < getActivityCount(); i++) activity.add(newActivity(i));
+      ArrayList<Day> day = new ArrayList<Day>(getDayCount());
+      for (int i = 0; i < getDayCount(); i++) day.add(newDay(i));
+      ArrayList<Period> period = new ArrayList<Period>(getPeriodCount());
+      for (int i = 0; i < getPeriodCount(); i++) period.add(newPeriod(i));
+      ArrayList<Person> person = new ArrayList<Person>(getPersonCount());
+      for (int i = 0; i < getPersonCount(); i++) person.add(newPerson(i));
+
+      for (int i = 0; i < day.size(); i++) day.get(i).setPeriod(rowOf(dayPeriod, i, period));
+      for (int i = 0; i < period.size(); i++) period.get(i).setActivity(rowOf(periodActivity, i, activity));
+      for (int i = 0; i < activity.size(); i++) activity.get(i).setPerson(rowOf(activityPerson, i, person));
+
+      return new Cycle(activity, day, period, person);
+   }
+
+   /**
+    * Returns a snapshot of this schedule cycle, so that it can be written by any codec without constructing its entities.
+    *
+    * @return the snapshot of this schedule cycle
+    */
+   public ScheduleSnapshot toSnapshot()
+   {
+      int[] dayStartTime = new int[dayStartMinute.length];
+      for (int i = 0; i < dayStartTime.length; i++) dayStartTime[i] = dayStartMinute[i];
+      long[] periodDuration = new long[this.periodDuration.length];
+      for (int i = 0; i < periodDuration.length; i++) periodDuration[i] = this.periodDuration[i];
+
+      return new ScheduleSnapshot(stringsOf(activityIdentifier), activityPerson, stringsOf(activityType), stringsOf(dayIdentifier), dayPeriod, dayStartTime,
+         periodActivity, periodDuration, stringsOf(periodIdentifier), stringsOf(personFirstName), stringsOf(personIdentifier), stringsOf(personLastName), stringsOf(personRole));
+   }
+
+   /*
+      helper methods
+   */
+
+   private static void checkReferences(ReferenceTable table, int rows, int values, String sectionName)
+   {
+      if (table.getRowCount() != rows) throw new IndexOutOfBoundsException("The " + sectionName + " section has " + table.getRowCount() + " rows instead of " + rows + ".");
+
+      int references = rows == 0 ? 0 : table.getRowEnd(rows - 1);
+      for (int i = 0; i < references; i++)
+      {
+         if (table.get(i) < 0 || table.get(i) >= values) throw new IndexOutOfBoundsException("The " + sectionName + " section refers to ordinal " + table.get(i) + " of " + values + ".");
+      }
+   }
+
+   /**
+    * Reads a columnar schedule cycle from the specified file, by the fastest way available for its codec.
+    * Binary and compressed files are decoded straight into columns; files of other codecs are read as a schedule cycle first.
+    *
+    * @param file the schedule file<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the columnar schedule cycle which was read
+    * @throws IOException if the file cannot be read
+    * @throws RuntimeException if the contents of the file are malformed
+    */
+   public static ColumnarCycle read(File file) throws IOException
+   {
+      ScheduleCodec codec = ScheduleCodecRegistry.detect(file);
+      if (codec == ScheduleFormat.BINARY)
+      {
+         FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+         try
+         {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer, BinaryScheduleFormat.readSectionOffsets(buffer));
+         }
+         finally
+         {
+            channel.close();
+         }
+      }
+      if (codec == ScheduleFormat.COMPRESSED)
+      {
+         int[] sectionOffset = new int[BinaryScheduleFormat.PERSON_SLOT_SECTION + 1];
+         ByteBuffer buffer = CompressedScheduleFormat.inflateSections(Files.readAllBytes(file.toPath()), sectionOffset, true);
+         return read(buffer, sectionOffset);
+      }
+
+      return new ColumnarCycle(new ScheduleSnapshot(codec.read(file)));
+   }
+
+   private static ColumnarCycle read(ByteBuffer buffer, int[] sectionOffset)
+   {
+      StringTable strings = new StringTable();
+      ColumnarCycle cycle = new ColumnarCycle();
+
+      int[][] activity = readRecords(buffer, sectionOffset[BinaryScheduleFormat.ACTIVITY_SECTION], 2, 2, strings);
+      cycle.activityIdentifier = activity[0];
+      cycle.activityType = activity[1];
+
+      int[][] day = readRecords(buffer, sectionOffset[BinaryScheduleFormat.DAY_SECTION], 2, 1, strings);
+      cycle.dayIdentifier = day[0];
+      cycle.dayStartMinute = new short[day[1].length];
+      for (int i = 0; i < day[1].length; i++) cycle.dayStartMinute[i] = (short) day[1][i];
+
+      int[][] period = readRecords(buffer, sectionOffset[BinaryScheduleFormat.PERIOD_SECTION], 2, 1, strings);
+      cycle.periodIdentifier = period[0];
+      cycle.periodDuration = period[1];
+
+      int[][] person = readRecords(buffer, sectionOffset[BinaryScheduleFormat.PERSON_SECTION], 4, 4, strings);
+      cycle.personIdentifier = person[0];
+      cycle.personFirstName = person[1];
+      cycle.personLastName = person[2];
+      cycle.personRole = person[3];
+
+      cycle.string = strings.toArray();
+
+      cycle.activityPerson = BinaryScheduleFormat.readReferences(buffer, sectionOffset[BinaryScheduleFormat.ACTIVITY_PERSON_SECTION]);
+      checkReferences(cycle.activityPerson, cycle.getActivityCount(), cycle.getPersonCount(), "activity person");
+      cycle.dayPeriod = BinaryScheduleFormat.readReferences(buffer, sectionOffset[BinaryScheduleFormat.DAY_PERIOD_SECTION]);
+      checkReferences(cycle.dayPeriod, cycle.getDayCount(), cycle.getPeriodCount(), "day period");
+      cycle.periodActivity = BinaryScheduleFormat.readReferences(buffer, sectionOffset[BinaryScheduleFormat.PERIOD_ACTIVITY_SECTION]);
+      checkReferences(cycle.periodActivity, cycle.getPeriodCount(), cycle.getActivityCount(), "period activity");
+
+      return cycle;
+   }
+
+   // reads the records of an entity section as one column per field, replacing the string fields (which come first in each record) by their ordinals in the specified string table
+   private static int[][] readRecords(ByteBuffer buffer, int position, int fields, int stringFields, StringTable strings)
+   {
+      int count = buffer.getInt(position);
+      String[] sectionString = BinaryScheduleFormat.readStrings(buffer, position + 4);
+      int[] ordinal = strings.ordinalsOf(sectionString);
+      int records = position + 4 + BinaryScheduleFormat.stringTableLength(buffer, position + 4);
+
+      int[][] column = new int[fields][count];
+      for (int i = 0; i < count; i++)
+      {
+         for (int j = 0; j < fields; j++)
+         {
+            int value = buffer.getInt(records + (i * fields + j) * 4);
+            column[j][i] = j < stringFields ? ordinal[value] : value;
+         }
+      }
+
+      return column;
+   }
+
+   private Activity newActivity(int activity)
+   {
+      return new Activity(string[activityIdentifier[activity]], string[activityType[activity]]);
+   }
+
+   private Day newDay(int day)
+   {
+      return new Day(string[dayIdentifier[day]], LocalTime.of(dayStartMinute[day] / MINUTES_PER_HOUR, dayStartMinute[day] % MINUTES_PER_HOUR));
+   }
+
+   private Period newPeriod(int period)
+   {
+      return new Period(Duration.ofMinutes(periodDuration[period]), string[periodIdentifier[period]]);
+   }
+
+   private Person newPerson(int person)
+   {
+      return new Person(string[personFirstName[person]], string[personIdentifier[person]], string[personLastName[person]], string[personRole[person]]);
+   }
+
+   private static <E> ArrayList<E> rowOf(ReferenceTable table, int row, ArrayList<E> section)
+   {
+      ArrayList<E> element = new ArrayList<E>(table.getRowEnd(row) - table.getRowStart(row));
+      for (int i = table.getRowStart(row); i < table.getRowEnd(row); i++) element.add(section.get(table.get(i)));
+
+      return element;
+   }
+
+   private String[] stringsOf(int[] column)
+   {
+      String[] value = new String[column.length];
+      for (int i = 0; i < column.length; i++) value[i] = string[column[i]];
+
+      return value;
+   }
+
+   /*
+      inner classes
+   */
+
+   // the distinct strings of a schedule cycle, each given the ordinal at which it was first added
+   private static class StringTable
+   {
+      // instance fields
+      private HashMap<String, Integer> ordinal = new HashMap<String, Integer>();
+      private ArrayList<String> string = new ArrayList<String>();
+
+      /*
+         accessors
+      */
+
+      public String[] toArray()
+      {
+         return string.toArray(new String[string.size()]);
+      }
+
+      /*
+         mutators
+      */
+
+      public int[] ordinalsOf(String[] value)
+      {
+         int[] valueOrdinal = new int[value.length];
+         for (int i = 0; i < value.length; i++)
+         {
+            Integer stringOrdinal = ordinal.get(value[i]);
+            if (stringOrdinal == null)
+            {
+               stringOrdinal = string.size();
+               ordinal.put(value[i], stringOrdinal);
+               string.add(value[i]);
+            }
+            valueOrdinal[i] = stringOrdinal;
+         }
+
+         return valueOrdinal;
+      }
+   }
+}
@@ -0,0 +1,332 @@
+package FileStorage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import Schedule.Cycle;
+
+/**
+ * The compressed container format in which schedule cycles can be stored.
+ * <p>
+ * A file starts with a header (magic number, version and number of blocks) followed by a table giving the section identifier, offset, compressed length and uncompressed length of each block.
+ * Each block holds one section of <code>BinaryScheduleFormat</code> compressed on its own with <code>Deflater</code>,
+ * so that blocks can be inflated in parallel, and blocks of sections which are not needed (or not known) can be skipped without inflating them.
+ * All integers are big-endian.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class CompressedScheduleFormat
+{
+   // class variables
+   /**
+    * Magic number with which every compressed schedule file starts ("SCDZ").
+    */
+   public static final int MAGIC = 0x5343445A;
+
+   /**
+    * Version of the compressed format written by this class.
+    */
+   public static final int VERSION = 1;
+
+   private static final int BLOCK_ENTRY_LENGTH = 16;
+   private static final int BUFFER_SIZE = 1 << 16;
+   private static final int HEADER_LENGTH = 12;
+
+   /*
+      constructors
+   */
+
+   private CompressedScheduleFormat() { }
+
+   /*
+      helper methods
+   */
+
+   private static byte[] deflate(byte[] section)
+   {
+      Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+      try
+      {
+         deflater.setInput(section);
+         deflater.finish();
+
+         ByteArrayOutputStream block = new ByteArrayOutputStream(section.length / 4 + 64);
+         byte[] buffer = new byte[BUFFER_SIZE];
+         while (!deflater.finished()) block.write(buffer, 0, deflater.deflate(buffer));
+
+         return block.toByteArray();
+      }
+      finally
+      {
+         deflater.end();
+      }
+   }
+
+   private static void inflate(byte[] container, int blockOffset, int blockLength, byte[] section, int sectionOffset, int sectionLength) throws DataFormatException
+   {
+      Inflater inflater = new Inflater();
+      try
+      {
+         inflater.setInput(container, blockOffset, blockLength);
+
+         int length = 0;
+         while (length < sectionLength)
+         {
+            int inflated = inflater.inflate(section, sectionOffset + length, sectionLength - length);
+            if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) throw new DataFormatException("Block of section is shorter than its length.");
+            length += inflated;
+         }
+
+         // inflating past the end of the block checks its checksum
+         if (!inflater.finished() && (inflater.inflate(new byte[1]) != 0 || !inflater.finished())) throw new DataFormatException("Block of section is longer than its length.");
+      }
+      finally
+      {
+         inflater.end();
+      }
+   }
+
+   /**
+    * Inflates the blocks of the sections of <code>BinaryScheduleFormat</code> next to each other into one buffer, filling in the offset of each section within it.
+    *
+    * @param container the whole contents of a file in this format<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param sectionOffset the array in which the offset of each section is to be filled in (indexed by section identifier, with <code>-1</code> for the person slot section if the file does not have it)<br><i>pre-condition:</i> cannot be <code>null</code>, must have room for the person slot section
+    * @param isParallel whether the blocks are to be inflated in parallel
+    * @return the buffer holding the inflated sections
+    * @throws IOException if the contents are not in this format, or a block is malformed
+    */
+   static ByteBuffer inflateSections(final byte[] container, final int[] sectionOffset, boolean isParallel) throws IOException
+   {
+      ByteBuffer buffer = ByteBuffer.wrap(container);
+      if (container.length < HEADER_LENGTH || buffer.getInt(0) != MAGIC) throw new IOException("Not a compressed schedule file.");
+      if (buffer.getInt(4) != VERSION) throw new IOException("Unsupported compressed schedule file version " + buffer.getInt(4) + ".");
+
+      final int[] blockOffset = new int[BinaryScheduleFormat.PERSON_SLOT_SECTION + 1];
+      final int[] blockLength = new int[blockOffset.length];
+      final int[] sectionLength = new int[blockOffset.length];
+      int numberOfBlocks = buffer.getInt(8);
+      for (int i = 0; i < numberOfBlocks; i++)
+      {
+         int entry = HEADER_LENGTH + i * BLOCK_ENTRY_LENGTH;
+         int sectionIdentifier = buffer.getInt(entry);
+         if (sectionIdentifier <= 0 || sectionIdentifier >= blockOffset.length) continue;
+
+         blockOffset[sectionIdentifier] = buffer.getInt(entry + 4);
+         blockLength[sectionIdentifier] = buffer.getInt(entry + 8);
+         sectionLength[sectionIdentifier] = buffer.getInt(entry + 12);
+      }
+
+      int length = 0;
+      for (int i = 1; i < blockOffset.length; i++)
+      {
+         if (blockOffset[i] == 0 && i <= BinaryScheduleFormat.ACTIVITY_PERSON_SECTION) throw new IOException("Missing section " + i + ".");
+         sectionOffset[i] = blockOffset[i] != 0 ? length : -1;
+         length += sectionLength[i];
+      }
+
+      final byte[] section = new byte[length];
+      try
+      {
+         if (isParallel)
+         {
+            ForkJoinTask<?>[] inflateTask = new ForkJoinTask<?>[blockOffset.length];
+            for (int i = 1; i < blockOffset.length; i++)
+            {
+               if (sectionOffset[i] < 0) continue;
+
+               final int sectionIdentifier = i;
+               inflateTask[i] = ForkJoinPool.commonPool().submit(
+                  new Callable<Void>()
+                  {
+                     public Void call() throws DataFormatException
+                     {
+                        inflate(container, blockOffset[sectionIdentifier], blockLength[sectionIdentifier], section, sectionOffset[sectionIdentifier], sectionLength[sectionIdentifier]);
+                        return null;
+                     }
+                  }
+               );
+            }
+            for (int i = 1; i < blockOffset.length; i++)
+            {
+               if (inflateTask[i] != null) inflateTask[i].join();
+            }
+         }
+         else
+         {
+            for (int i = 1; i < blockOffset.length; i++)
+            {
+               if (sectionOffset[i] >= 0) inflate(container, blockOffset[i], blockLength[i], section, sectionOffset[i], sectionLength[i]);
+            }
+         }
+      }
+      catch (DataFormatException exception)
+      {
+         throw new IOException("Malformed block of section.", exception);
+      }
+
+      return ByteBuffer.wrap(section);
+   }
+
+   /**
+    * Returns whether the specified header starts with the magic number of this format.
+    *
+    * @param header the first bytes of a file
+    * @param length the number of valid bytes in the header
+    * @return <code>true</code> if the header starts with the magic number of this format; <code>false</code> otherwise
+    */
+   public static boolean matches(byte[] header, int length)
+   {
+      return length >= 4 && ByteBuffer.wrap(header, 0, 4).getInt() == MAGIC;
+   }
+
+   /**
+    * Reads a schedule cycle from the specified file in this format.
+    *
+    * @param file the file from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isParallel whether the blocks are to be inflated, and the sections decoded, in parallel
+    * @return the schedule cycle which was read
+    * @throws IOException if the file cannot be read or is not in this format
+    * @throws RuntimeException if the contents of the file are malformed
+    */
+   public static Cycle read(File file, boolean isParallel) throws IOException
+   {
+      return read(Files.readAllBytes(file.toPath()), isParallel);
+   }
+
+   /**
+    * Reads a schedule cycle from the specified contents of a file in this format.
+    * The blocks of the sections of <code>BinaryScheduleFormat</code> are inflated next to each other into one buffer, from which the sections are decoded as usual.
+    * If inflating in parallel, each block is inflated by its own task in the common <code>ForkJoinPool</code>.
+    *
+    * @param container the whole contents of a file in this format<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isParallel whether the blocks are to be inflated, and the sections decoded, in parallel
+    * @return the schedule cycle which was read
+    * @throws IOException if the contents are not in this format
+    * @throws RuntimeException if the contents are malformed
+    */
+   public static Cycle read(byte[] container, boolean isParallel) throws IOException
+   {
+      int[] sectionOffset = new int[BinaryScheduleFormat.PERSON_SLOT_SECTION + 1];
+      ByteBuffer section = inflateSections(container, sectionOffset, isParallel);
+
+      return BinaryScheduleFormat.read(section, sectionOffset, isParallel);
+   }
+
+   /**
+    * Returns a schedule cycle read from the specified file in this format, of which only the days and periods are decoded straight away.
+    * All blocks are inflated straight away, but the rest of the schedule cycle is decoded only when it is materialized.
+    *
+    * @param file the file from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isParallel whether the blocks are to be inflated in parallel
+    * @return the schedule cycle which was read
+    * @throws IOException if the file cannot be read or is not in this format
+    * @throws RuntimeException if the contents of the file are malformed
+    */
+   public static LazyCycle readLazily(File file, boolean isParallel) throws IOException
+   {
+      int[] sectionOffset = new int[BinaryScheduleFormat.PERSON_SLOT_SECTION + 1];
+      ByteBuffer section = inflateSections(Files.readAllBytes(file.toPath()), sectionOffset, isParallel);
+
+      return new LazyCycle(section, sectionOffset);
+   }
+
+   /**
+    * Writes the specified snapshot of a schedule cycle to the specified output stream in this format.
+    *
+    * @param output the output stream to which the snapshot is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param snapshot the snapshot to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the output stream fails
+    */
+   public static void write(OutputStream output, ScheduleSnapshot snapshot) throws IOException
+   {
+      write(output, snapshot, false);
+   }
+
+   /**
+    * Writes the specified snapshot of a schedule cycle to the specified output stream in this format, optionally with the person slot section of <code>BinaryScheduleFormat</code>.
+    * Large snapshots have their sections compressed in parallel, if more than one processor is available.
+    *
+    * @param output the output stream to which the snapshot is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param snapshot the snapshot to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isIndexed whether the person slot section is to be written as well
+    * @throws IOException if the output stream fails
+    */
+   public static void write(OutputStream output, final ScheduleSnapshot snapshot, boolean isIndexed) throws IOException
+   {
+      final byte[][] section = Arrays.copyOf(BinaryScheduleFormat.encodeSections(snapshot, isIndexed), isIndexed ? BinaryScheduleFormat.PERSON_SLOT_SECTION + 1 : BinaryScheduleFormat.ACTIVITY_PERSON_SECTION + 1);
+      final byte[][] block = new byte[section.length][];
+
+      // blocks which were already compressed for a previous snapshot in which the section had not changed since are reused
+      long length = 0;
+      for (int i = 1; i < section.length; i++)
+      {
+         block[i] = snapshot.getEncodedSection(i).getBlock();
+         if (block[i] == null) length += section[i].length;
+      }
+
+      if (length >= ScheduleFormat.PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1)
+      {
+         ForkJoinTask<?>[] deflateTask = new ForkJoinTask<?>[section.length];
+         for (int i = 1; i < section.length; i++)
+         {
+            if (block[i] != null) continue;
+
+            final int sectionIdentifier = i;
+            deflateTask[i] = ForkJoinPool.commonPool().submit(
+               new Runnable()
+               {
+                  public void run()
+                  {
+                     block[sectionIdentifier] = deflate(section[sectionIdentifier]);
+                     snapshot.getEncodedSection(sectionIdentifier).setBlock(block[sectionIdentifier]);
+                  }
+               }
+            );
+         }
+         for (int i = 1; i < section.length; i++)
+         {
+            if (deflateTask[i] != null) deflateTask[i].join();
+         }
+      }
+      else
+      {
+         for (int i = 1; i < section.length; i++)
+         {
+            if (block[i] != null) continue;
+
+            block[i] = deflate(section[i]);
+            snapshot.getEncodedSection(i).setBlock(block[i]);
+         }
+      }
+
+      DataOutputStream data = new DataOutputStream(output);
+      data.writeInt(MAGIC);
+      data.writeInt(VERSION);
+      data.writeInt(section.length - 1);
+
+      int offset = HEADER_LENGTH + (section.length - 1) * BLOCK_ENTRY_LENGTH;
+      for (int i = 1; i < section.length; i++)
+      {
+         data.writeInt(i);
+         data.writeInt(offset);
+         data.writeInt(block[i].length);
+         data.writeInt(section[i].length);
+         offset += block[i].length;
+      }
+      for (int i = 1; i < section.length; i++) data.write(block[i]);
+
+      data.flush();
+   }
+}
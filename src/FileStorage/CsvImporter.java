@@ -0,0 +1,240 @@
+package FileStorage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import Schedule.Activity;
+import Schedule.Person;
+
+/**
+ * An importer of persons, and of the activities in which they take part, from CSV (comma-separated values) files.
+ * Rows are read one at a time, so only the persons which are imported are kept in memory, however large the file is.
+ * <br>
+ * Existing persons and activities are looked up by their identifiers through a hash index, so each row takes constant time.
+ * A person whose identifier is already known (from the schedule or from an earlier row) is not imported again.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class CsvImporter
+{
+   // class variables
+   /**
+    * Header of a file of memberships, in which each row is the identifier of an activity followed by the identifier of a person taking part in it.
+    */
+   public static final String MEMBERSHIP_HEADER = "Activity,Person";
+
+   /**
+    * Header of a file of persons, in which each row is the identifier, first name, last name and role of a person.
+    */
+   public static final String PERSON_HEADER = "Identifier,First name,Last name,Role";
+
+   private static final int END_OF_STREAM = -1;
+
+   // instance fields
+   private HashMap<String, Activity> activityIndex;
+   private char[] buffer;
+   private int bufferLength;
+   private int bufferPosition;
+   private HashSet<Activity> changedActivity;
+   private StringBuilder field;
+   private HashMap<String, Person> personIndex;
+   private int skippedRows;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs an importer into a schedule with the specified activities and persons.
+    * If several activities or persons have the same identifier, the first one is used.
+    *
+    * @param activity the activities of the schedule<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param person the persons of the schedule<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public CsvImporter(List<Activity> activity, List<Person> person)
+   {
+      activityIndex = new HashMap<String, Activity>(activity.size() * 2);
+      for (Activity activityElement : activity) activityIndex.putIfAbsent(activityElement.getIdentifier(), activityElement);
+
+      personIndex = new HashMap<String, Person>(person.size() * 2);
+      for (Person personElement : person) personIndex.putIfAbsent(personElement.getIdentifier(), personElement);
+
+      buffer = new char[1 << 16];
+      changedActivity = new HashSet<Activity>();
+      field = new StringBuilder();
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the activities to which persons have been added by <code>readMemberships</code>, including those added before it failed.
+    *
+    * @return the activities to which persons have been added
+    */
+   public HashSet<Activity> getChangedActivity()
+   {
+      return changedActivity;
+   }
+
+   /**
+    * Returns the number of rows which have been skipped, because they were duplicates, were missing an identifier or referred to an unknown activity or person.
+    *
+    * @return the number of rows which have been skipped
+    */
+   public int getSkippedRows()
+   {
+      return skippedRows;
+   }
+
+   /*
+      helper methods
+   */
+
+   private static boolean isHeader(ArrayList<String> row, String header)
+   {
+      return String.join(",", row).trim().equalsIgnoreCase(header);
+   }
+
+   private int read(Reader reader) throws IOException
+   {
+      if (bufferPosition == bufferLength)
+      {
+         bufferLength = reader.read(buffer, 0, buffer.length);
+         bufferPosition = 0;
+         if (bufferLength <= 0)
+         {
+            bufferLength = 0;
+            return END_OF_STREAM;
+         }
+      }
+
+      return buffer[bufferPosition++];
+   }
+
+   /**
+    * Reads memberships from the specified reader, adding each person to the activity they take part in.
+    * A header row (as per <code>MEMBERSHIP_HEADER</code>) is skipped; persons imported by <code>readPersons</code> of this importer can be referred to.
+    *
+    * @param reader the reader from which the memberships are to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the number of memberships which were added
+    * @throws IOException if the reader fails
+    */
+   public int readMemberships(Reader reader) throws IOException
+   {
+      int added = 0;
+      ArrayList<String> row = new ArrayList<String>();
+      for (boolean isFirstRow = true; readRow(reader, row); isFirstRow = false)
+      {
+         if (isFirstRow && isHeader(row, MEMBERSHIP_HEADER)) continue;
+
+         Activity rowActivity = row.size() >= 2 ? activityIndex.get(row.get(0)) : null;
+         Person rowPerson = row.size() >= 2 ? personIndex.get(row.get(1)) : null;
+         if (rowActivity == null || rowPerson == null || !rowActivity.getPerson().add(rowPerson))
+         {
+            skippedRows++;
+            continue;
+         }
+
+         changedActivity.add(rowActivity);
+         added++;
+      }
+
+      return added;
+   }
+
+   /**
+    * Reads persons from the specified reader.
+    * A header row (as per <code>PERSON_HEADER</code>) is skipped, as are rows whose identifier is empty or already known; missing names and roles are left empty.
+    *
+    * @param reader the reader from which the persons are to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the persons which were imported (in the order of their rows), which are to be added to the schedule
+    * @throws IOException if the reader fails
+    */
+   public ArrayList<Person> readPersons(Reader reader) throws IOException
+   {
+      ArrayList<Person> imported = new ArrayList<Person>();
+      ArrayList<String> row = new ArrayList<String>();
+      for (boolean isFirstRow = true; readRow(reader, row); isFirstRow = false)
+      {
+         if (isFirstRow && isHeader(row, PERSON_HEADER)) continue;
+
+         String identifier = row.get(0);
+         if (identifier.isEmpty() || personIndex.containsKey(identifier))
+         {
+            skippedRows++;
+            continue;
+         }
+
+         Person rowPerson = new Person(row.size() > 1 ? row.get(1) : null, identifier, row.size() > 2 ? row.get(2) : null, row.size() > 3 ? row.get(3) : null);
+         personIndex.put(identifier, rowPerson);
+         imported.add(rowPerson);
+      }
+
+      return imported;
+   }
+
+   // reads the next non-blank row (as per RFC 4180, where quoted fields can contain commas, quotes and line breaks) into the specified list, returning false at the end of the stream
+   private boolean readRow(Reader reader, ArrayList<String> row) throws IOException
+   {
+      row.clear();
+      field.setLength(0);
+
+      boolean isQuoted = false;
+      boolean wasQuoted = false;
+      int character = read(reader);
+      while (true)
+      {
+         if (character == END_OF_STREAM)
+         {
+            if (row.isEmpty() && field.length() == 0 && !wasQuoted) return false;
+
+            row.add(field.toString());
+            return true;
+         }
+
+         if (isQuoted)
+         {
+            if (character == '"')
+            {
+               character = read(reader);
+               if (character != '"')
+               {
+                  isQuoted = false;
+                  continue;
+               }
+            }
+            field.append((char) character);
+         }
+         else if (character == '"' && field.length() == 0)
+         {
+            isQuoted = wasQuoted = true;
+         }
+         else if (character == ',')
+         {
+            row.add(field.toString());
+            field.setLength(0);
+            wasQuoted = false;
+         }
+         else if (character == '\n' || character == '\r')
+         {
+            if (!row.isEmpty() || field.length() > 0 || wasQuoted)
+            {
+               row.add(field.toString());
+               return true;
+            }
+         }
+         else
+         {
+            field.append((char) character);
+         }
+
+         character = read(reader);
+      }
+   }
+}
@@ -0,0 +1,436 @@
+package FileStorage;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * A single modification of a schedule cycle, described by the section and ordinals of the entities it affects, so that it can be recorded and later applied again.
+ * The fields of an entity are described as strings in the same order as in <code>TextScheduleFormat</code>.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class Edit
+{
+   // class variables
+   /**
+    * Kind of an edit which appends a new entity to its section.
+    */
+   public static final int CREATE = 1;
+
+   /**
+    * Kind of an edit which changes the fields of an entity.
+    */
+   public static final int EDIT = 2;
+
+   /**
+    * Kind of an edit which deletes an entity from its section and from everywhere it is referred to.
+    */
+   public static final int DELETE = 3;
+
+   /**
+    * Kind of an edit which adds an entity to an entity of the previous section (a period to a day, an activity to a period or a person to an activity).
+    */
+   public static final int ADD_TO = 4;
+
+   /**
+    * Kind of an edit which removes an entity from an entity of the previous section.
+    */
+   public static final int REMOVE_FROM = 5;
+
+   /**
+    * Kind of an edit which swaps two days, or two periods of a day.
+    */
+   public static final int SWAP = 6;
+
+   /**
+    * Section of days.
+    */
+   public static final int DAY = BinaryScheduleFormat.DAY_SECTION;
+
+   /**
+    * Section of periods.
+    */
+   public static final int PERIOD = BinaryScheduleFormat.PERIOD_SECTION;
+
+   /**
+    * Section of activities.
+    */
+   public static final int ACTIVITY = BinaryScheduleFormat.ACTIVITY_SECTION;
+
+   /**
+    * Section of persons.
+    */
+   public static final int PERSON = BinaryScheduleFormat.PERSON_SECTION;
+
+   // instance fields
+   private String[] field;
+   private int index;
+   private int kind;
+   private int otherIndex;
+   private int parentIndex;
+   private int section;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs an edit.
+    *
+    * @param kind the kind of this edit
+    * @param section the section of the entity which this edit affects
+    * @param parentIndex the ordinal of the entity of the previous section (for <code>ADD_TO</code> and <code>REMOVE_FROM</code>) or of the day whose periods are swapped (for <code>SWAP</code> of periods); <code>-1</code> otherwise
+    * @param index the ordinal of the entity which this edit affects
+    * @param otherIndex the position with which the entity is swapped (for <code>SWAP</code>); <code>-1</code> otherwise
+    * @param field the new fields of the entity (for <code>CREATE</code> and <code>EDIT</code>); <code>null</code> otherwise
+    */
+   public Edit(int kind, int section, int parentIndex, int index, int otherIndex, String[] field)
+   {
+      this.field = field;
+      this.index = index;
+      this.kind = kind;
+      this.otherIndex = otherIndex;
+      this.parentIndex = parentIndex;
+      this.section = section;
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the sections of a <code>ScheduleSnapshot</code> which this edit changes.
+    *
+    * @return the sections which this edit changes (a bit <code>1 &lt;&lt; id</code> for each section id of <code>BinaryScheduleFormat</code>)
+    */
+   public int getChangedSections()
+   {
+      // the section linking each section to the next one, and the section linking the previous section to each section
+      int ownLinks = section == PERSON ? 0 : 1 << (section + BinaryScheduleFormat.DAY_PERIOD_SECTION - DAY);
+      int previousLinks = section == DAY ? 0 : 1 << (section + BinaryScheduleFormat.DAY_PERIOD_SECTION - PERIOD);
+
+      switch (kind)
+      {
+         case CREATE:
+            return 1 << section | ownLinks;
+
+         case EDIT:
+            return 1 << section;
+
+         case DELETE:
+            return 1 << section | ownLinks | previousLinks;
+
+         case SWAP:
+            return section == DAY ? 1 << section | ownLinks : previousLinks;
+
+         default:
+            return previousLinks;
+      }
+   }
+
+   /**
+    * Returns the new fields of the entity which this edit affects.
+    *
+    * @return the new fields of the entity (for <code>CREATE</code> and <code>EDIT</code>); <code>null</code> otherwise
+    */
+   public String[] getField()
+   {
+      return field;
+   }
+
+   /**
+    * Returns the ordinal of the entity which this edit affects (or, for <code>SWAP</code>, the first of the swapped positions).
+    *
+    * @return the ordinal of the entity which this edit affects
+    */
+   public int getIndex()
+   {
+      return index;
+   }
+
+   /**
+    * Returns the kind of this edit.
+    *
+    * @return the kind of this edit
+    */
+   public int getKind()
+   {
+      return kind;
+   }
+
+   /**
+    * Returns the position with which the entity is swapped.
+    *
+    * @return the position with which the entity is swapped (for <code>SWAP</code>); <code>-1</code> otherwise
+    */
+   public int getOtherIndex()
+   {
+      return otherIndex;
+   }
+
+   /**
+    * Returns the ordinal of the entity of the previous section which this edit affects.
+    *
+    * @return the ordinal of the entity of the previous section (for <code>ADD_TO</code>, <code>REMOVE_FROM</code> and <code>SWAP</code> of periods); <code>-1</code> otherwise
+    */
+   public int getParentIndex()
+   {
+      return parentIndex;
+   }
+
+   /**
+    * Returns the section of the entity which this edit affects.
+    *
+    * @return the section of the entity which this edit affects
+    */
+   public int getSection()
+   {
+      return section;
+   }
+
+   /*
+      helper methods
+   */
+
+   @SuppressWarnings("unchecked")
+   static <E> void addTo(ArrayList<E> list, Object entity)
+   {
+      list.add((E) entity);
+   }
+
+   /**
+    * Constructs an edit which adds an entity to an entity of the previous section.
+    *
+    * @param section the section of the entity which is added
+    * @param parentIndex the ordinal of the entity of the previous section to which it is added
+    * @param index the ordinal of the entity which is added
+    * @return the edit
+    */
+   public static Edit addedTo(int section, int parentIndex, int index)
+   {
+      return new Edit(ADD_TO, section, parentIndex, index, -1, null);
+   }
+
+   /**
+    * Applies this edit to the specified schedule cycle, in the same way as the schedule cycle was modified when this edit was made.
+    *
+    * @param cycle the schedule cycle to which this edit is to be applied<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws RuntimeException if this edit does not apply to the schedule cycle
+    */
+   public void apply(Cycle cycle)
+   {
+      ArrayList<?> list = listOf(cycle, section);
+
+      switch (kind)
+      {
+         case CREATE:
+            Object entity = newEntity(section);
+            setFields(entity, field);
+            addTo(list, entity);
+            break;
+
+         case EDIT:
+            setFields(list.get(index), field);
+            break;
+
+         case DELETE:
+            Object deleted = list.remove(index);
+            if (section == DAY)
+            {
+               ((Day) deleted).getPeriod().clear();
+            }
+            else if (section == PERIOD)
+            {
+               for (Day dayElement : new ArrayList<Day>(((Period) deleted).getDay())) dayElement.getPeriod().removeAll(Collections.singleton(deleted));
+               ((Period) deleted).getActivity().clear();
+            }
+            else if (section == ACTIVITY)
+            {
+               for (Period periodElement : new ArrayList<Period>(((Activity) deleted).getPeriod())) periodElement.getActivity().remove(deleted);
+               ((Activity) deleted).getPerson().clear();
+            }
+            else if (section == PERSON)
+            {
+               for (Activity activityElement : new ArrayList<Activity>(((Person) deleted).getActivity())) activityElement.getPerson().remove(deleted);
+            }
+            break;
+
+         case ADD_TO:
+            if (section == PERIOD) cycle.getDay().get(parentIndex).getPeriod().add(cycle.getPeriod().get(index));
+            else if (section == ACTIVITY) cycle.getPeriod().get(parentIndex).getActivity().add(cycle.getActivity().get(index));
+            else if (section == PERSON) cycle.getActivity().get(parentIndex).getPerson().add(cycle.getPerson().get(index));
+            else throw new IllegalArgumentException("Days cannot be added to anything.");
+            break;
+
+         case REMOVE_FROM:
+            if (section == PERIOD) cycle.getDay().get(parentIndex).getPeriod().remove(cycle.getPeriod().get(index));
+            else if (section == ACTIVITY) cycle.getPeriod().get(parentIndex).getActivity().remove(cycle.getActivity().get(index));
+            else if (section == PERSON) cycle.getActivity().get(parentIndex).getPerson().remove(cycle.getPerson().get(index));
+            else throw new IllegalArgumentException("Days cannot be removed from anything.");
+            break;
+
+         case SWAP:
+            if (section == DAY) Collections.swap(cycle.getDay(), index, otherIndex);
+            else if (section == PERIOD) Collections.swap(cycle.getDay().get(parentIndex).getPeriod(), index, otherIndex);
+            else throw new IllegalArgumentException("Only days and periods can be swapped.");
+            break;
+
+         default:
+            throw new IllegalArgumentException("Unknown kind of edit " + kind + ".");
+      }
+   }
+
+   /**
+    * Constructs an edit which appends a new entity to its section.
+    *
+    * @param section the section of the entity
+    * @param index the ordinal of the entity within its section after it has been appended
+    * @param entity the entity<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the edit
+    */
+   public static Edit created(int section, int index, Object entity)
+   {
+      return new Edit(CREATE, section, -1, index, -1, fieldsOf(entity));
+   }
+
+   /**
+    * Constructs an edit which deletes an entity from its section and from everywhere it is referred to.
+    *
+    * @param section the section of the entity
+    * @param index the ordinal of the entity within its section before it was deleted
+    * @return the edit
+    */
+   public static Edit deleted(int section, int index)
+   {
+      return new Edit(DELETE, section, -1, index, -1, null);
+   }
+
+   /**
+    * Constructs an edit which changes the fields of an entity to its current fields.
+    *
+    * @param section the section of the entity
+    * @param index the ordinal of the entity within its section
+    * @param entity the entity<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the edit
+    */
+   public static Edit edited(int section, int index, Object entity)
+   {
+      return new Edit(EDIT, section, -1, index, -1, fieldsOf(entity));
+   }
+
+   /**
+    * Returns the fields of the specified entity.
+    *
+    * @param entity a <code>Day</code>, <code>Period</code>, <code>Activity</code> or <code>Person</code><br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the fields of the specified entity (in the same order as in <code>TextScheduleFormat</code>)
+    */
+   public static String[] fieldsOf(Object entity)
+   {
+      if (entity instanceof Day)
+      {
+         Day day = (Day) entity;
+         return new String[]{day.getIdentifier(), String.valueOf(day.getStartTime().getHour()), String.valueOf(day.getStartTime().getMinute())};
+      }
+      if (entity instanceof Period)
+      {
+         Period period = (Period) entity;
+         return new String[]{period.getIdentifier(), String.valueOf(period.getDuration().toMinutes())};
+      }
+      if (entity instanceof Activity)
+      {
+         Activity activity = (Activity) entity;
+         return new String[]{activity.getIdentifier(), activity.getType()};
+      }
+
+      Person person = (Person) entity;
+      return new String[]{person.getIdentifier(), person.getFirstName(), person.getLastName(), person.getRole()};
+   }
+
+   /**
+    * Returns the list of all entities of the specified section of the specified schedule cycle.
+    *
+    * @param cycle the schedule cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param section the section
+    * @return the list of all entities of the specified section
+    */
+   public static ArrayList<?> listOf(Cycle cycle, int section)
+   {
+      if (section == DAY) return cycle.getDay();
+      if (section == PERIOD) return cycle.getPeriod();
+      if (section == ACTIVITY) return cycle.getActivity();
+      if (section == PERSON) return cycle.getPerson();
+
+      throw new IllegalArgumentException("Unknown section " + section + ".");
+   }
+
+   static Object newEntity(int section)
+   {
+      if (section == DAY) return new Day();
+      if (section == PERIOD) return new Period();
+      if (section == ACTIVITY) return new Activity();
+      if (section == PERSON) return new Person();
+
+      throw new IllegalArgumentException("Unknown section " + section + ".");
+   }
+
+   /**
+    * Constructs an edit which removes an entity from an entity of the previous section.
+    *
+    * @param section the section of the entity which is removed
+    * @param parentIndex the ordinal of the entity of the previous section from which it is removed
+    * @param index the ordinal of the entity which is removed
+    * @return the edit
+    */
+   public static Edit removedFrom(int section, int parentIndex, int index)
+   {
+      return new Edit(REMOVE_FROM, section, parentIndex, index, -1, null);
+   }
+
+   static void setFields(Object entity, String[] field)
+   {
+      if (entity instanceof Day)
+      {
+         ((Day) entity).setIdentifier(field[0]);
+         ((Day) entity).setStartTime(LocalTime.of(Integer.parseInt(field[1]), Integer.parseInt(field[2])));
+      }
+      else if (entity instanceof Period)
+      {
+         ((Period) entity).setIdentifier(field[0]);
+         ((Period) entity).setDuration(Duration.ofMinutes(Long.parseLong(field[1])));
+      }
+      else if (entity instanceof Activity)
+      {
+         ((Activity) entity).setIdentifier(field[0]);
+         ((Activity) entity).setType(field[1]);
+      }
+      else
+      {
+         ((Person) entity).setIdentifier(field[0]);
+         ((Person) entity).setFirstName(field[1]);
+         ((Person) entity).setLastName(field[2]);
+         ((Person) entity).setRole(field[3]);
+      }
+   }
+
+   /**
+    * Constructs an edit which swaps two days (if <code>parentIndex</code> is <code>-1</code>), or two periods of a day.
+    *
+    * @param section the section of the entities which are swapped
+    * @param parentIndex the ordinal of the day whose periods are swapped, or <code>-1</code> if days are swapped
+    * @param index the first of the swapped positions
+    * @param otherIndex the second of the swapped positions
+    * @return the edit
+    */
+   public static Edit swapped(int section, int parentIndex, int index, int otherIndex)
+   {
+      return new Edit(SWAP, section, parentIndex, index, otherIndex, null);
+   }
+}
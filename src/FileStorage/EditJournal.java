@@ -0,0 +1,433 @@
+package FileStorage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of the edits made to a schedule cycle since it was last written to its file in full, kept in a side file next to it.
+ * Saving appends a commit record instead of rewriting the file, so that it costs time proportional to the edits rather than to the schedule cycle.
+ * Once the journal grows large, it is compacted by writing the file in full again (which can be done in the background while edits are still being appended).
+ * <br>
+ * The journal starts with a header (magic number, version and CRC-32 checksum of the file to which it applies), followed by records (length, CRC-32 checksum and body).
+ * A torn record at the end of the journal (after a crash) is ignored, as are any edits after the last commit record unless they are recovered.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class EditJournal
+{
+   // class variables
+   /**
+    * Suffix appended to the path of a file to get the path of its journal.
+    */
+   public static final String FILE_SUFFIX = "-journal";
+
+   private static final int MAGIC = 0x5343444A;
+   private static final int VERSION = 1;
+   private static final int HEADER_LENGTH = 16;
+   private static final int RECORD_HEADER_LENGTH = 8;
+
+   private static final byte EDIT_RECORD = 1;
+   private static final byte COMMIT_RECORD = 2;
+   private static final byte COMPACTED_RECORD = 3;
+
+   private static final int CHECKSUM_BUFFER_SIZE = 1 << 16;
+
+   // instance fields
+   private ArrayList<Edit> committed;
+   private long committedLength;
+   private File file;
+   private RandomAccessFile journal;
+   private File journalFile;
+   private ArrayList<Edit> uncommitted;
+
+   /*
+      constructors
+   */
+
+   private EditJournal(File file, ArrayList<Edit> committed, ArrayList<Edit> uncommitted, long committedLength) throws IOException
+   {
+      this.committed = committed;
+      this.committedLength = committedLength;
+      this.file = file;
+      this.journalFile = getJournalFile(file);
+      this.journal = new RandomAccessFile(journalFile, "rw");
+      this.uncommitted = uncommitted;
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the committed edits which were in this journal when it was opened.
+    *
+    * @return the committed edits which were in this journal when it was opened (in the order in which they were made)
+    */
+   public ArrayList<Edit> getCommitted()
+   {
+      return committed;
+   }
+
+   /**
+    * Returns the file to which this journal applies.
+    *
+    * @return the file to which this journal applies
+    */
+   public File getFile()
+   {
+      return file;
+   }
+
+   /**
+    * Returns the journal file of the specified file.
+    *
+    * @param file the file whose journal file is to be returned<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the journal file of the specified file
+    */
+   public static File getJournalFile(File file)
+   {
+      return new File(file.getPath() + FILE_SUFFIX);
+   }
+
+   /**
+    * Returns the edits after the last commit which were in this journal when it was opened (which were made but never saved before a crash), unless they have since been discarded.
+    *
+    * @return the uncommitted edits which were in this journal when it was opened (in the order in which they were made), or an empty list if they have since been discarded
+    */
+   public ArrayList<Edit> getUncommitted()
+   {
+      return uncommitted;
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Appends the specified edit to this journal, without committing it.
+    *
+    * @param edit the edit to append<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the journal cannot be written
+    */
+   public synchronized void append(Edit edit) throws IOException
+   {
+      ByteArrayOutputStream body = new ByteArrayOutputStream();
+      DataOutputStream output = new DataOutputStream(body);
+
+      output.writeByte(EDIT_RECORD);
+      output.writeByte(edit.getKind());
+      output.writeByte(edit.getSection());
+      output.writeInt(edit.getParentIndex());
+      output.writeInt(edit.getIndex());
+      output.writeInt(edit.getOtherIndex());
+
+      String[] field = edit.getField();
+      output.writeInt(field == null ? -1 : field.length);
+      if (field != null)
+      {
+         for (String fieldElement : field)
+         {
+            byte[] bytes = fieldElement.getBytes(StandardCharsets.UTF_8);
+            output.writeInt(bytes.length);
+            output.write(bytes);
+         }
+      }
+
+      appendRecord(body.toByteArray());
+   }
+
+   private void appendRecord(byte[] body) throws IOException
+   {
+      CRC32 checksum = new CRC32();
+      checksum.update(body);
+
+      ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_LENGTH + body.length);
+      record.putInt(body.length);
+      record.putInt((int) checksum.getValue());
+      record.put(body);
+
+      journal.seek(journal.length());
+      journal.write(record.array());
+   }
+
+   /**
+    * Returns the CRC-32 checksum of the contents of the specified file.
+    *
+    * @param file the file whose checksum is to be returned<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the CRC-32 checksum of the contents of the specified file
+    * @throws IOException if the file cannot be read
+    */
+   public static long checksumOf(File file) throws IOException
+   {
+      CRC32 checksum = new CRC32();
+      byte[] buffer = new byte[CHECKSUM_BUFFER_SIZE];
+
+      InputStream input = new FileInputStream(file);
+      try
+      {
+         int read;
+         while ((read = input.read(buffer)) != -1) checksum.update(buffer, 0, read);
+      }
+      finally
+      {
+         input.close();
+      }
+
+      return checksum.getValue();
+   }
+
+   /**
+    * Closes this journal, leaving its file in place.
+    *
+    * @throws IOException if the journal cannot be closed
+    */
+   public synchronized void close() throws IOException
+   {
+      journal.close();
+   }
+
+   /**
+    * Commits all edits appended to this journal so far, forcing them to the storage device.
+    *
+    * @throws IOException if the journal cannot be written
+    */
+   public synchronized void commit() throws IOException
+   {
+      appendRecord(new byte[]{COMMIT_RECORD});
+      journal.getChannel().force(false);
+      committedLength = journal.length();
+   }
+
+   /**
+    * Writes the specified snapshot to the file in full, then removes the edits which it already includes from this journal.
+    * Edits can still be appended to this journal (from another thread) while the file is being written.
+    *
+    * @param format the format in which the file is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param snapshot the snapshot of the schedule cycle as of the end of the committed edits at <code>offset</code><br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param offset the length of this journal (as returned by <code>length</code>) right after the last edit included in the snapshot was committed
+    * @param isIndexed whether the file is to be written with an index of the slots of each person (as per <code>ScheduleCodec.write</code>)
+    * @throws IOException if the file or the journal cannot be written
+    */
+   public void compact(ScheduleCodec format, ScheduleSnapshot snapshot, long offset, boolean isIndexed) throws IOException
+   {
+      AtomicFile atomicFile = new AtomicFile(file);
+      try
+      {
+         format.write(atomicFile.startWrite(), snapshot, isIndexed);
+         long checksum = atomicFile.finishWrite();
+
+         synchronized (this)
+         {
+            // if the journal cannot be rebased after the file is replaced, this record tells open where the edits not included in the file start
+            ByteBuffer compacted = ByteBuffer.allocate(1 + 2 * Long.BYTES);
+            compacted.put(COMPACTED_RECORD);
+            compacted.putLong(checksum);
+            compacted.putLong(offset);
+            appendRecord(compacted.array());
+            journal.getChannel().force(false);
+
+            atomicFile.commit();
+
+            byte[] record = new byte[(int) (journal.length() - offset)];
+            journal.seek(offset);
+            journal.readFully(record);
+            journal.close();
+
+            ByteArrayOutputStream kept = new ByteArrayOutputStream(record.length);
+            ByteBuffer buffer = ByteBuffer.wrap(record);
+            for (int position = 0, end; (end = recordEnd(buffer, position)) != -1; position = end)
+            {
+               if (record[position + RECORD_HEADER_LENGTH] != COMPACTED_RECORD) kept.write(record, position, end - position);
+            }
+
+            writeJournal(journalFile, checksum, kept.toByteArray());
+            committedLength = HEADER_LENGTH + committedLength - offset;
+            journal = new RandomAccessFile(journalFile, "rw");
+         }
+      }
+      finally
+      {
+         atomicFile.abort();
+      }
+   }
+
+   /**
+    * Creates an empty journal for the specified file (replacing any existing journal), which applies to its current contents.
+    *
+    * @param file the file for which a journal is to be created<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param checksum the CRC-32 checksum of the current contents of the file (as returned by <code>checksumOf</code> or <code>ScheduleCodec.write</code>)
+    * @return the journal
+    * @throws IOException if the journal cannot be written
+    */
+   public static EditJournal create(File file, long checksum) throws IOException
+   {
+      writeJournal(getJournalFile(file), checksum, new byte[0]);
+
+      return new EditJournal(file, new ArrayList<Edit>(), new ArrayList<Edit>(), HEADER_LENGTH);
+   }
+
+   /**
+    * Removes all edits appended to this journal since the last commit.
+    *
+    * @throws IOException if the journal cannot be written
+    */
+   public synchronized void discardUncommitted() throws IOException
+   {
+      journal.setLength(committedLength);
+      uncommitted.clear();
+   }
+
+   /**
+    * Returns the length of this journal.
+    *
+    * @return the length (in bytes) of this journal
+    * @throws IOException if the journal cannot be read
+    */
+   public synchronized long length() throws IOException
+   {
+      return journal.length();
+   }
+
+   /**
+    * Opens the journal of the specified file and reads the edits in it.
+    * A torn record at the end of the journal is removed.
+    *
+    * @param file the file whose journal is to be opened<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the journal, or <code>null</code> if the file has no journal or its journal does not apply to the current contents of the file
+    * @throws IOException if the file or the journal cannot be read
+    * @throws RuntimeException if an edit in the journal is malformed
+    */
+   public static EditJournal open(File file) throws IOException
+   {
+      File journalFile = getJournalFile(file);
+      if (!journalFile.exists()) return null;
+
+      byte[] record = Files.readAllBytes(journalFile.toPath());
+      ByteBuffer buffer = ByteBuffer.wrap(record);
+      if (record.length < HEADER_LENGTH || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) return null;
+
+      long checksum = checksumOf(file);
+      int end = HEADER_LENGTH;
+      int start = buffer.getLong(8) == checksum ? HEADER_LENGTH : -1;
+      boolean hasCompacted = false;
+      for (int position = HEADER_LENGTH; recordEnd(buffer, position) != -1; position = end)
+      {
+         end = recordEnd(buffer, position);
+         if (record[position + RECORD_HEADER_LENGTH] == COMPACTED_RECORD)
+         {
+            hasCompacted = true;
+            if (buffer.getLong(position + RECORD_HEADER_LENGTH + 1) == checksum) start = (int) buffer.getLong(position + RECORD_HEADER_LENGTH + 9);
+         }
+      }
+      if (start == -1 || start > end) return null;
+
+      ArrayList<Edit> committed = new ArrayList<Edit>();
+      ArrayList<Edit> uncommitted = new ArrayList<Edit>();
+      ByteArrayOutputStream kept = new ByteArrayOutputStream(end - start);
+      long committedLength = HEADER_LENGTH;
+      for (int position = start; position < end; position = recordEnd(buffer, position))
+      {
+         byte type = record[position + RECORD_HEADER_LENGTH];
+         if (type == COMPACTED_RECORD) continue;
+
+         kept.write(record, position, recordEnd(buffer, position) - position);
+         if (type == EDIT_RECORD)
+         {
+            uncommitted.add(readEdit(buffer, position + RECORD_HEADER_LENGTH + 1));
+         }
+         else if (type == COMMIT_RECORD)
+         {
+            committed.addAll(uncommitted);
+            uncommitted.clear();
+            committedLength = HEADER_LENGTH + kept.size();
+         }
+      }
+
+      if (start != HEADER_LENGTH || hasCompacted)
+      {
+         writeJournal(journalFile, checksum, kept.toByteArray());
+      }
+      else if (end < record.length)
+      {
+         RandomAccessFile journal = new RandomAccessFile(journalFile, "rw");
+         try
+         {
+            journal.setLength(end);
+         }
+         finally
+         {
+            journal.close();
+         }
+      }
+
+      return new EditJournal(file, committed, uncommitted, committedLength);
+   }
+
+   private static Edit readEdit(ByteBuffer buffer, int position)
+   {
+      ByteBuffer body = buffer.duplicate().position(position);
+
+      int kind = body.get();
+      int section = body.get();
+      int parentIndex = body.getInt();
+      int index = body.getInt();
+      int otherIndex = body.getInt();
+
+      int fieldCount = body.getInt();
+      String[] field = fieldCount == -1 ? null : new String[fieldCount];
+      for (int i = 0; i < fieldCount; i++)
+      {
+         byte[] bytes = new byte[body.getInt()];
+         body.get(bytes);
+         field[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+
+      return new Edit(kind, section, parentIndex, index, otherIndex, field);
+   }
+
+   // returns the position right after the record at the specified position, or -1 if there is no complete and intact record there
+   private static int recordEnd(ByteBuffer buffer, int position)
+   {
+      if (buffer.limit() - position < RECORD_HEADER_LENGTH + 1) return -1;
+
+      int length = buffer.getInt(position);
+      if (length < 1 || length > buffer.limit() - position - RECORD_HEADER_LENGTH) return -1;
+
+      CRC32 checksum = new CRC32();
+      checksum.update(buffer.array(), buffer.arrayOffset() + position + RECORD_HEADER_LENGTH, length);
+      if ((int) checksum.getValue() != buffer.getInt(position + 4)) return -1;
+
+      return position + RECORD_HEADER_LENGTH + length;
+   }
+
+   private static void writeJournal(File journalFile, long checksum, byte[] record) throws IOException
+   {
+      AtomicFile atomicFile = new AtomicFile(journalFile);
+      try
+      {
+         DataOutputStream output = new DataOutputStream(atomicFile.startWrite());
+         output.writeInt(MAGIC);
+         output.writeInt(VERSION);
+         output.writeLong(checksum);
+         output.write(record);
+
+         atomicFile.finishWrite();
+         atomicFile.commit();
+      }
+      finally
+      {
+         atomicFile.abort();
+      }
+   }
+}
@@ -0,0 +1,618 @@
+package FileStorage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * The JSON format in which schedule cycles are exchanged with other programs.
+ * A document is an object with a list of records for each section (<code>days</code>, <code>periods</code>, <code>activities</code> and <code>persons</code>).
+ * Each record has an <code>id</code> by which other records refer to it: its identifier, followed by <code>#2</code>, <code>#3</code> and so on if an earlier record of its section has the same one.
+ * <br>
+ * Unlike the storage formats, records refer to each other by id rather than by ordinal, so records can be added, removed or reordered by other programs without breaking references.
+ * Records can refer to records which come later in the document, and unknown fields are ignored.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class JsonScheduleFormat
+{
+   // class variables
+   /**
+    * File extension of JSON documents.
+    */
+   public static final String FILE_EXTENSION = "json";
+
+   /**
+    * Version of the format which is written (documents of later versions cannot be read).
+    */
+   public static final int VERSION = 1;
+
+   private static final String ID_SEPARATOR = "#";
+   private static final int MINUTES_PER_HOUR = 60;
+
+   /*
+      constructors
+   */
+
+   private JsonScheduleFormat() { }
+
+   /*
+      helper methods
+   */
+
+   static String[] idsOf(String[] identifier)
+   {
+      String[] id = new String[identifier.length];
+      HashSet<String> used = new HashSet<String>(identifier.length * 2);
+      for (int i = 0; i < identifier.length; i++)
+      {
+         id[i] = identifier[i];
+         for (int occurrence = 2; !used.add(id[i]); occurrence++) id[i] = identifier[i] + ID_SEPARATOR + occurrence;
+      }
+
+      return id;
+   }
+
+   /**
+    * Reads a schedule cycle from the specified reader in one pass.
+    * The entity of each record is constructed as the record is read, and references are resolved once every record has been read,
+    * so that the entities of each section are constructed in the order of the document (which is the order in which sets of them iterate, as for the storage formats).
+    *
+    * @param reader the reader from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the schedule cycle which was read
+    * @throws IOException if the reader fails
+    * @throws RuntimeException if the document is malformed, has a later version or refers to a record which it does not have
+    */
+   public static Cycle read(Reader reader) throws IOException
+   {
+      Tokenizer tokenizer = new Tokenizer(reader);
+
+      RecordTable<Day> day = new RecordTable<Day>("day");
+      RecordTable<Period> period = new RecordTable<Period>("period");
+      RecordTable<Activity> activity = new RecordTable<Activity>("activity");
+      RecordTable<Person> person = new RecordTable<Person>("person");
+
+      tokenizer.expect('{');
+      for (boolean hasNext = tokenizer.startMembers('}'); hasNext; hasNext = tokenizer.nextMember('}'))
+      {
+         String name = tokenizer.name();
+         if (name.equals("version"))
+         {
+            long version = tokenizer.number();
+            if (version > VERSION) throw new IllegalArgumentException("Unsupported version " + version + ".");
+         }
+         else if (name.equals("days"))
+         {
+            tokenizer.expect('[');
+            for (boolean hasNextRecord = tokenizer.startMembers(']'); hasNextRecord; hasNextRecord = tokenizer.nextMember(']')) readDay(tokenizer, day);
+         }
+         else if (name.equals("periods"))
+         {
+            tokenizer.expect('[');
+            for (boolean hasNextRecord = tokenizer.startMembers(']'); hasNextRecord; hasNextRecord = tokenizer.nextMember(']')) readPeriod(tokenizer, period);
+         }
+         else if (name.equals("activities"))
+         {
+            tokenizer.expect('[');
+            for (boolean hasNextRecord = tokenizer.startMembers(']'); hasNextRecord; hasNextRecord = tokenizer.nextMember(']')) readActivity(tokenizer, activity);
+         }
+         else if (name.equals("persons"))
+         {
+            tokenizer.expect('[');
+            for (boolean hasNextRecord = tokenizer.startMembers(']'); hasNextRecord; hasNextRecord = tokenizer.nextMember(']')) readPerson(tokenizer, person);
+         }
+         else
+         {
+            tokenizer.skipValue();
+         }
+      }
+      tokenizer.expectEnd();
+
+      for (int i = 0; i < day.element.size(); i++) day.element.get(i).setPeriod(period.resolve(day.referenceId.get(i)));
+      for (int i = 0; i < period.element.size(); i++) period.element.get(i).setActivity(activity.resolve(period.referenceId.get(i)));
+      for (int i = 0; i < activity.element.size(); i++) activity.element.get(i).setPerson(person.resolve(activity.referenceId.get(i)));
+
+      return new Cycle(activity.element, day.element, period.element, person.element);
+   }
+
+   private static void readActivity(Tokenizer tokenizer, RecordTable<Activity> activity) throws IOException
+   {
+      String id = null;
+      String identifier = "";
+      String type = "";
+      ArrayList<String> personId = new ArrayList<String>();
+
+      tokenizer.expect('{');
+      for (boolean hasNext = tokenizer.startMembers('}'); hasNext; hasNext = tokenizer.nextMember('}'))
+      {
+         String name = tokenizer.name();
+         if (name.equals("id")) id = tokenizer.string();
+         else if (name.equals("identifier")) identifier = tokenizer.string();
+         else if (name.equals("type")) type = tokenizer.string();
+         else if (name.equals("persons")) readReferences(tokenizer, personId);
+         else tokenizer.skipValue();
+      }
+
+      activity.define(id, new Activity(identifier, type), personId);
+   }
+
+   private static void readDay(Tokenizer tokenizer, RecordTable<Day> day) throws IOException
+   {
+      String id = null;
+      String identifier = "";
+      LocalTime startTime = Day.DEFAULT_START_TIME;
+      ArrayList<String> periodId = new ArrayList<String>();
+
+      tokenizer.expect('{');
+      for (boolean hasNext = tokenizer.startMembers('}'); hasNext; hasNext = tokenizer.nextMember('}'))
+      {
+         String name = tokenizer.name();
+         if (name.equals("id")) id = tokenizer.string();
+         else if (name.equals("identifier")) identifier = tokenizer.string();
+         else if (name.equals("startTime")) startTime = LocalTime.parse(tokenizer.string());
+         else if (name.equals("periods")) readReferences(tokenizer, periodId);
+         else tokenizer.skipValue();
+      }
+
+      day.define(id, new Day(identifier, startTime), periodId);
+   }
+
+   private static void readPeriod(Tokenizer tokenizer, RecordTable<Period> period) throws IOException
+   {
+      String id = null;
+      String identifier = "";
+      Duration duration = Period.DEFAULT_DURATION;
+      ArrayList<String> activityId = new ArrayList<String>();
+
+      tokenizer.expect('{');
+      for (boolean hasNext = tokenizer.startMembers('}'); hasNext; hasNext = tokenizer.nextMember('}'))
+      {
+         String name = tokenizer.name();
+         if (name.equals("id")) id = tokenizer.string();
+         else if (name.equals("identifier")) identifier = tokenizer.string();
+         else if (name.equals("durationMinutes")) duration = Duration.ofMinutes(tokenizer.number());
+         else if (name.equals("activities")) readReferences(tokenizer, activityId);
+         else tokenizer.skipValue();
+      }
+
+      period.define(id, new Period(duration, identifier), activityId);
+   }
+
+   private static void readPerson(Tokenizer tokenizer, RecordTable<Person> person) throws IOException
+   {
+      String id = null;
+      String identifier = "";
+      String firstName = "";
+      String lastName = "";
+      String role = "";
+
+      tokenizer.expect('{');
+      for (boolean hasNext = tokenizer.startMembers('}'); hasNext; hasNext = tokenizer.nextMember('}'))
+      {
+         String name = tokenizer.name();
+         if (name.equals("id")) id = tokenizer.string();
+         else if (name.equals("identifier")) identifier = tokenizer.string();
+         else if (name.equals("firstName")) firstName = tokenizer.string();
+         else if (name.equals("lastName")) lastName = tokenizer.string();
+         else if (name.equals("role")) role = tokenizer.string();
+         else tokenizer.skipValue();
+      }
+
+      person.define(id, new Person(firstName, identifier, lastName, role), null);
+   }
+
+   private static void readReferences(Tokenizer tokenizer, ArrayList<String> referenceId) throws IOException
+   {
+      tokenizer.expect('[');
+      for (boolean hasNext = tokenizer.startMembers(']'); hasNext; hasNext = tokenizer.nextMember(']')) referenceId.add(tokenizer.string());
+   }
+
+   /**
+    * Writes the specified schedule cycle to the specified writer.
+    *
+    * @param writer the writer to which the schedule cycle is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param cycle the schedule cycle to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the writer fails
+    */
+   public static void write(Writer writer, Cycle cycle) throws IOException
+   {
+      write(writer, new ScheduleSnapshot(cycle));
+   }
+
+   /**
+    * Writes the specified snapshot of a schedule cycle to the specified writer, a token at a time and with one record per line.
+    *
+    * @param writer the writer to which the snapshot is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param snapshot the snapshot to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the writer fails
+    */
+   public static void write(Writer writer, ScheduleSnapshot snapshot) throws IOException
+   {
+      String[] dayId = idsOf(snapshot.getDayIdentifier());
+      String[] periodId = idsOf(snapshot.getPeriodIdentifier());
+      String[] activityId = idsOf(snapshot.getActivityIdentifier());
+      String[] personId = idsOf(snapshot.getPersonIdentifier());
+
+      writer.write("{\"version\":" + VERSION + ",\n\"days\":[");
+      for (int i = 0; i < dayId.length; i++)
+      {
+         writer.write(i == 0 ? "\n{\"id\":" : ",\n{\"id\":");
+         writeString(writer, dayId[i]);
+         writer.write(",\"identifier\":");
+         writeString(writer, snapshot.getDayIdentifier()[i]);
+         writer.write(",\"startTime\":");
+         writeString(writer, LocalTime.of(snapshot.getDayStartTime()[i] / MINUTES_PER_HOUR, snapshot.getDayStartTime()[i] % MINUTES_PER_HOUR).toString());
+         writer.write(",\"periods\":");
+         writeReferences(writer, snapshot.getDayPeriod(), i, periodId);
+         writer.write('}');
+      }
+
+      writer.write("],\n\"periods\":[");
+      for (int i = 0; i < periodId.length; i++)
+      {
+         writer.write(i == 0 ? "\n{\"id\":" : ",\n{\"id\":");
+         writeString(writer, periodId[i]);
+         writer.write(",\"identifier\":");
+         writeString(writer, snapshot.getPeriodIdentifier()[i]);
+         writer.write(",\"durationMinutes\":");
+         writer.write(String.valueOf(snapshot.getPeriodDuration()[i]));
+         writer.write(",\"activities\":");
+         writeReferences(writer, snapshot.getPeriodActivity(), i, activityId);
+         writer.write('}');
+      }
+
+      writer.write("],\n\"activities\":[");
+      for (int i = 0; i < activityId.length; i++)
+      {
+         writer.write(i == 0 ? "\n{\"id\":" : ",\n{\"id\":");
+         writeString(writer, activityId[i]);
+         writer.write(",\"identifier\":");
+         writeString(writer, snapshot.getActivityIdentifier()[i]);
+         writer.write(",\"type\":");
+         writeString(writer, snapshot.getActivityType()[i]);
+         writer.write(",\"persons\":");
+         writeReferences(writer, snapshot.getActivityPerson(), i, personId);
+         writer.write('}');
+      }
+
+      writer.write("],\n\"persons\":[");
+      for (int i = 0; i < personId.length; i++)
+      {
+         writer.write(i == 0 ? "\n{\"id\":" : ",\n{\"id\":");
+         writeString(writer, personId[i]);
+         writer.write(",\"identifier\":");
+         writeString(writer, snapshot.getPersonIdentifier()[i]);
+         writer.write(",\"firstName\":");
+         writeString(writer, snapshot.getPersonFirstName()[i]);
+         writer.write(",\"lastName\":");
+         writeString(writer, snapshot.getPersonLastName()[i]);
+         writer.write(",\"role\":");
+         writeString(writer, snapshot.getPersonRole()[i]);
+         writer.write('}');
+      }
+
+      writer.write("]}\n");
+   }
+
+   private static void writeReferences(Writer writer, ReferenceTable table, int row, String[] id) throws IOException
+   {
+      writer.write('[');
+      for (int i = table.getRowStart(row); i < table.getRowEnd(row); i++)
+      {
+         if (i != table.getRowStart(row)) writer.write(',');
+         writeString(writer, id[table.get(i)]);
+      }
+      writer.write(']');
+   }
+
+   private static void writeString(Writer writer, String value) throws IOException
+   {
+      writer.write('"');
+
+      int unescaped = 0;
+      for (int i = 0; i < value.length(); i++)
+      {
+         char character = value.charAt(i);
+         if (character >= 0x20 && character != '"' && character != '\\') continue;
+
+         writer.write(value, unescaped, i - unescaped);
+         unescaped = i + 1;
+         if (character == '"') writer.write("\\\"");
+         else if (character == '\\') writer.write("\\\\");
+         else if (character == '\n') writer.write("\\n");
+         else if (character == '\r') writer.write("\\r");
+         else if (character == '\t') writer.write("\\t");
+         else writer.write(String.format("\\u%04x", (int) character));
+      }
+      writer.write(value, unescaped, value.length() - unescaped);
+
+      writer.write('"');
+   }
+
+   /*
+      inner classes
+   */
+
+   // the records of a section by id, with the ids of the records to which each refers, which are resolved once every record has been read
+   private static class RecordTable<E>
+   {
+      // instance fields
+      private ArrayList<E> element;
+      private String name;
+      private HashMap<String, E> record;
+      private ArrayList<ArrayList<String>> referenceId;
+
+      /*
+         constructors
+      */
+
+      public RecordTable(String name)
+      {
+         this.element = new ArrayList<E>();
+         this.name = name;
+         this.record = new HashMap<String, E>();
+         this.referenceId = new ArrayList<ArrayList<String>>();
+      }
+
+      /*
+         helper methods
+      */
+
+      public void define(String id, E defined, ArrayList<String> definedReferenceId)
+      {
+         if (id == null) throw new IllegalArgumentException("A " + name + " has no id.");
+         if (record.containsKey(id)) throw new IllegalArgumentException("More than one " + name + " has the id " + id + ".");
+
+         record.put(id, defined);
+         element.add(defined);
+         referenceId.add(definedReferenceId);
+      }
+
+      public ArrayList<E> resolve(ArrayList<String> id)
+      {
+         ArrayList<E> resolved = new ArrayList<E>(id.size());
+         for (String elementId : id)
+         {
+            E referenced = record.get(elementId);
+            if (referenced == null) throw new IllegalArgumentException("Reference to unknown " + name + " " + elementId + ".");
+            resolved.add(referenced);
+         }
+
+         return resolved;
+      }
+   }
+
+   private static class Tokenizer
+   {
+      // class variables
+      private static final int BUFFER_SIZE = 1 << 16;
+      private static final int END_OF_STREAM = -1;
+
+      // instance fields
+      private char[] buffer;
+      private int limit;
+      private int position;
+      private Reader reader;
+      private StringBuilder token;
+
+      /*
+         constructors
+      */
+
+      public Tokenizer(Reader reader)
+      {
+         this.buffer = new char[BUFFER_SIZE];
+         this.reader = reader;
+         this.token = new StringBuilder();
+      }
+
+      /*
+         helper methods
+      */
+
+      private static String describe(int character)
+      {
+         return character == END_OF_STREAM ? "end of file" : "'" + (char) character + "'";
+      }
+
+      public void expect(char expected) throws IOException
+      {
+         int character = nextSignificant();
+         if (character != expected) throw new IllegalArgumentException("Expected '" + expected + "' but found " + describe(character) + ".");
+      }
+
+      public void expectEnd() throws IOException
+      {
+         int character = nextSignificant();
+         if (character != END_OF_STREAM) throw new IllegalArgumentException("Unexpected " + describe(character) + " after the end of the document.");
+      }
+
+      public String name() throws IOException
+      {
+         String name = string();
+         expect(':');
+
+         return name;
+      }
+
+      private int next() throws IOException
+      {
+         if (position == limit)
+         {
+            if (reader == null) return END_OF_STREAM;
+
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0)
+            {
+               limit = 0;
+               reader = null;
+               return END_OF_STREAM;
+            }
+         }
+
+         return buffer[position++];
+      }
+
+      // returns whether there is another member of the object or array being read, after the separating comma or before the closing bracket
+      public boolean nextMember(char close) throws IOException
+      {
+         int character = nextSignificant();
+         if (character == ',') return true;
+         if (character == close) return false;
+         throw new IllegalArgumentException("Expected ',' or '" + close + "' but found " + describe(character) + ".");
+      }
+
+      private int nextSignificant() throws IOException
+      {
+         int character;
+         do
+         {
+            character = next();
+         }
+         while (character == ' ' || character == '\n' || character == '\r' || character == '\t');
+
+         return character;
+      }
+
+      public long number() throws IOException
+      {
+         return Long.parseLong(scalar());
+      }
+
+      private int peek() throws IOException
+      {
+         int character = next();
+         if (character != END_OF_STREAM) position--;
+
+         return character;
+      }
+
+      private int peekSignificant() throws IOException
+      {
+         int character = nextSignificant();
+         if (character != END_OF_STREAM) position--;
+
+         return character;
+      }
+
+      private static int requireHexDigit(int character)
+      {
+         if (character == END_OF_STREAM || Character.digit(character, 16) == -1) throw new IllegalArgumentException("Invalid unicode escape.");
+
+         return character;
+      }
+
+      // reads a number or a literal (true, false or null), which ends at the first character which cannot be part of it
+      private String scalar() throws IOException
+      {
+         token.setLength(0);
+         int character = peekSignificant();
+         while (character != END_OF_STREAM && (Character.isLetterOrDigit(character) || character == '-' || character == '+' || character == '.'))
+         {
+            token.append((char) next());
+            character = peek();
+         }
+         if (token.length() == 0) throw new IllegalArgumentException("Unexpected " + describe(character) + ".");
+
+         return token.toString();
+      }
+
+      public void skipValue() throws IOException
+      {
+         int character = peekSignificant();
+         if (character == '"')
+         {
+            string();
+         }
+         else if (character == '{' || character == '[')
+         {
+            char close = character == '{' ? '}' : ']';
+            next();
+            for (boolean hasNext = startMembers(close); hasNext; hasNext = nextMember(close))
+            {
+               if (close == '}') name();
+               skipValue();
+            }
+         }
+         else
+         {
+            scalar();
+         }
+      }
+
+      // returns whether the object or array being read has any members, consuming its closing bracket if not
+      public boolean startMembers(char close) throws IOException
+      {
+         if (peekSignificant() != close) return true;
+
+         next();
+         return false;
+      }
+
+      public String string() throws IOException
+      {
+         expect('"');
+
+         token.setLength(0);
+         while (true)
+         {
+            int character = next();
+            if (character == '"') return token.toString();
+            if (character == END_OF_STREAM) throw new IllegalArgumentException("Unterminated string.");
+
+            if (character == '\\')
+            {
+               character = next();
+               switch (character)
+               {
+                  case 'b':
+                     character = '\b';
+                     break;
+
+                  case 'f':
+                     character = '\f';
+                     break;
+
+                  case 'n':
+                     character = '\n';
+                     break;
+
+                  case 'r':
+                     character = '\r';
+                     break;
+
+                  case 't':
+                     character = '\t';
+                     break;
+
+                  case 'u':
+                     character = 0;
+                     for (int i = 0; i < 4; i++) character = character * 16 + Character.digit(requireHexDigit(next()), 16);
+                     break;
+
+                  case '"':
+                  case '\\':
+                  case '/':
+                     break;
+
+                  default:
+                     throw new IllegalArgumentException("Invalid escape " + describe(character) + ".");
+               }
+            }
+            token.append((char) character);
+         }
+      }
+   }
+}
@@ -0,0 +1,194 @@
+package FileStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+
+/**
+ * A schedule cycle keyed on the ids of its entities (their identifiers, with <code>#2</code>, <code>#3</code> and so on appended to repeated ones, as in <code>JsonScheduleFormat</code>),
+ * so that two schedule cycles can be joined on them in linear time (see <code>ScheduleDiff</code> and <code>ScheduleMerge</code>).
+ * The fields of each entity are kept as per <code>Edit.fieldsOf</code>, and its references as the ids of the entities it refers to:
+ * in order for the periods of a day, and in the order of their section otherwise.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+class KeyedCycle
+{
+   // class variables
+   private static final String[][] FIELD_NAME = {{}, {"identifier", "start hour", "start minute"}, {"identifier", "duration"}, {"identifier", "type"}, {"identifier", "first name", "last name", "role"}};
+   private static final String[] SECTION_NAME = {"", "day", "period", "activity", "person"};
+
+   // instance fields
+   private String[][][] field;
+   private String[][] id;
+   private ArrayList<HashMap<String, Integer>> ordinal;
+   private String[][][] reference;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs a keyed copy of the specified schedule cycle.
+    *
+    * @param cycle the schedule cycle to key<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public KeyedCycle(Cycle cycle)
+   {
+      field = new String[Edit.PERSON + 1][][];
+      id = new String[Edit.PERSON + 1][];
+      ordinal = new ArrayList<HashMap<String, Integer>>();
+      ordinal.add(null);
+      reference = new String[Edit.PERSON + 1][][];
+
+      for (int section = Edit.DAY; section <= Edit.PERSON; section++)
+      {
+         ArrayList<?> list = Edit.listOf(cycle, section);
+         field[section] = new String[list.size()][];
+         String[] identifier = new String[list.size()];
+         for (int i = 0; i < list.size(); i++)
+         {
+            field[section][i] = Edit.fieldsOf(list.get(i));
+            identifier[i] = field[section][i][0];
+         }
+
+         id[section] = JsonScheduleFormat.idsOf(identifier);
+         HashMap<String, Integer> sectionOrdinal = new HashMap<String, Integer>(list.size() * 2);
+         for (int i = 0; i < list.size(); i++) sectionOrdinal.put(id[section][i], i);
+         ordinal.add(sectionOrdinal);
+      }
+
+      // ids of the referred section are assigned above, so references are resolved once every section is keyed
+      for (int section = Edit.DAY; section < Edit.PERSON; section++)
+      {
+         ArrayList<?> list = Edit.listOf(cycle, section);
+         OrdinalIndex<Object> targetIndex = new OrdinalIndex<Object>(Edit.listOf(cycle, section + 1));
+         reference[section] = new String[list.size()][];
+         for (int i = 0; i < list.size(); i++)
+         {
+            Collection<?> referred = referencesOf(list.get(i));
+            int[] targetOrdinal = new int[referred.size()];
+            int count = 0;
+            for (Object referredElement : referred)
+            {
+               int referredOrdinal = targetIndex.getOrdinal(referredElement);
+               if (referredOrdinal != OrdinalIndex.MISSING) targetOrdinal[count++] = referredOrdinal;
+            }
+            if (section != Edit.DAY) Arrays.sort(targetOrdinal, 0, count);
+
+            reference[section][i] = new String[count];
+            for (int j = 0; j < count; j++) reference[section][i][j] = id[section + 1][targetOrdinal[j]];
+         }
+      }
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the fields of the specified record.
+    *
+    * @param section the section of the record
+    * @param record the ordinal of the record within its section
+    * @return the fields of the record (as per <code>Edit.fieldsOf</code>)
+    */
+   public String[] getField(int section, int record)
+   {
+      return field[section][record];
+   }
+
+   /**
+    * Returns the names of the fields of the records of the specified section, for reporting.
+    *
+    * @param section the section
+    * @return the names of the fields, in the order of <code>Edit.fieldsOf</code>
+    */
+   public static String[] getFieldNames(int section)
+   {
+      return FIELD_NAME[section];
+   }
+
+   /**
+    * Returns the id of the specified record.
+    *
+    * @param section the section of the record
+    * @param record the ordinal of the record within its section
+    * @return the id of the record
+    */
+   public String getId(int section, int record)
+   {
+      return id[section][record];
+   }
+
+   /**
+    * Returns the ordinal of the record with the specified id.
+    *
+    * @param section the section of the record
+    * @param recordId the id of the record
+    * @return the ordinal of the record within its section, or <code>-1</code> if the section has no record with the id
+    */
+   public int getOrdinal(int section, String recordId)
+   {
+      Integer recordOrdinal = ordinal.get(section).get(recordId);
+      return recordOrdinal != null ? recordOrdinal : -1;
+   }
+
+   /**
+    * Returns the number of records of the specified section.
+    *
+    * @param section the section
+    * @return the number of records of the section
+    */
+   public int getRecordCount(int section)
+   {
+      return id[section].length;
+   }
+
+   /**
+    * Returns the ids of the records of the next section which the specified record refers to.
+    *
+    * @param section the section of the record (not <code>Edit.PERSON</code>)
+    * @param record the ordinal of the record within its section
+    * @return the ids of the referred records
+    */
+   public String[] getReferences(int section, int record)
+   {
+      return reference[section][record];
+   }
+
+   /**
+    * Returns the name of the specified section, for reporting.
+    *
+    * @param section the section
+    * @return the name of a record of the section (e.g. <code>day</code>)
+    */
+   public static String getSectionName(int section)
+   {
+      return SECTION_NAME[section];
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Returns the entities of the next section which the specified entity refers to.
+    *
+    * @param entity a <code>Day</code>, <code>Period</code> or <code>Activity</code><br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the entities which the entity refers to (the list of periods of a day, and the sets of activities of a period and of persons of an activity)
+    */
+   public static Collection<?> referencesOf(Object entity)
+   {
+      if (entity instanceof Day) return ((Day) entity).getPeriod();
+      if (entity instanceof Period) return ((Period) entity).getActivity();
+
+      return ((Activity) entity).getPerson();
+   }
+}
@@ -0,0 +1,131 @@
+package FileStorage;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * A schedule cycle read from a file, of which only the days and periods (and the periods of each day) are decoded straight away.
+ * The activities and persons, and the activities of each period and persons of each activity, are only decoded when the schedule cycle is materialized,
+ * which can be done on another thread while the days and periods are already being used.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class LazyCycle
+{
+   // instance fields
+   private ByteBuffer buffer;
+   private Cycle cycle;
+   private ArrayList<Period> loadedPeriod;
+   private int[] sectionOffset;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs a lazy schedule cycle which is already materialized.
+    *
+    * @param cycle the schedule cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public LazyCycle(Cycle cycle)
+   {
+      this.cycle = cycle;
+   }
+
+   /**
+    * Constructs a lazy schedule cycle from sections of <code>BinaryScheduleFormat</code>, decoding the days and periods straight away.
+    *
+    * @param buffer the buffer holding the sections<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param sectionOffset the offset within the buffer of each section (indexed by section identifier)<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws RuntimeException if the contents of the day and period sections are malformed
+    */
+   LazyCycle(ByteBuffer buffer, int[] sectionOffset)
+   {
+      ArrayList<Day> day = BinaryScheduleFormat.readDays(buffer, sectionOffset[BinaryScheduleFormat.DAY_SECTION]);
+      ArrayList<Period> period = BinaryScheduleFormat.readPeriods(buffer, sectionOffset[BinaryScheduleFormat.PERIOD_SECTION]);
+      BinaryScheduleFormat.linkDays(buffer, sectionOffset[BinaryScheduleFormat.DAY_PERIOD_SECTION], day, period);
+
+      this.buffer = buffer;
+      this.cycle = new Cycle(new ArrayList<Activity>(), day, period, new ArrayList<Person>());
+      this.loadedPeriod = new ArrayList<Period>(period);
+      this.sectionOffset = sectionOffset;
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the whole schedule cycle, materializing it first if it is not yet materialized.
+    *
+    * @return the whole schedule cycle
+    * @throws RuntimeException if the contents of the remaining sections are malformed
+    */
+   public synchronized Cycle getCycle()
+   {
+      materialize();
+      return cycle;
+   }
+
+   /**
+    * Returns the days of the schedule cycle (which are available without materializing it).
+    *
+    * @return the days of the schedule cycle
+    */
+   public ArrayList<Day> getDay()
+   {
+      return cycle.getDay();
+   }
+
+   /**
+    * Returns the periods of the schedule cycle (which are available without materializing it, but have no activities until it is materialized).
+    *
+    * @return the periods of the schedule cycle
+    */
+   public ArrayList<Period> getPeriod()
+   {
+      return cycle.getPeriod();
+   }
+
+   /**
+    * Returns whether the schedule cycle has been materialized.
+    *
+    * @return <code>true</code> if the activities and persons have been decoded; <code>false</code> otherwise
+    */
+   public synchronized boolean isMaterialized()
+   {
+      return buffer == null;
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Decodes the activities and persons, the activities of each period and the persons of each activity, unless they have already been decoded.
+    * Periods which were removed from the schedule cycle in the meantime still get their activities, as the sections refer to the periods in the order in which they were read.
+    *
+    * @throws RuntimeException if the contents of the remaining sections are malformed
+    */
+   public synchronized void materialize()
+   {
+      if (buffer == null) return;
+
+      ArrayList<Activity> activity = BinaryScheduleFormat.readActivities(buffer, sectionOffset[BinaryScheduleFormat.ACTIVITY_SECTION]);
+      ArrayList<Person> person = BinaryScheduleFormat.readPersons(buffer, sectionOffset[BinaryScheduleFormat.PERSON_SECTION]);
+      BinaryScheduleFormat.linkPeriods(buffer, sectionOffset[BinaryScheduleFormat.PERIOD_ACTIVITY_SECTION], loadedPeriod, activity);
+      BinaryScheduleFormat.linkActivities(buffer, sectionOffset[BinaryScheduleFormat.ACTIVITY_PERSON_SECTION], activity, person);
+
+      cycle.setActivity(activity);
+      cycle.setPerson(person);
+      buffer = null;
+      loadedPeriod = null;
+      sectionOffset = null;
+   }
+}
@@ -0,0 +1,160 @@
+package FileStorage;
+
+import java.util.Arrays;
+import java.util.List;
+import Schedule.Entity;
+
+/**
+ * A mapping from the elements of a list to their ordinal (index) within it, keyed on identity rather than equality.
+ * Built once in linear time so that looking up the ordinal of an element is constant time instead of a linear <code>indexOf</code> scan.
+ * The ordinals of a list of entities of one class whose ids are close enough together (see <code>Entity</code>) are kept in an array indexed by id, and those of any other list in a hash table;
+ * either way, an element is only found if it is the very element at its ordinal, so an equal element which is not in the list is <code>MISSING</code>.
+ *
+ * @param <E> the type of the element which this index maps
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class OrdinalIndex<E>
+{
+   // class variables
+   /**
+    * Ordinal returned for an element which is not in the indexed list.
+    */
+   public static final int MISSING = -1;
+
+   /*
+    * Ids may be spread over at most this many times the number of elements before the hash table is used instead of an array.
+    */
+   private static final int MAXIMUM_SPREAD = 4;
+
+   // instance fields
+   private Object[] elementById;
+   private Class<?> entityClass;
+   private int firstId;
+   private Object[] key;
+   private int mask;
+   private int[] ordinal;
+   private int[] ordinalById;
+   private int size;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs an index of the ordinals of the elements of the specified list.
+    * If an element appears more than once, its first ordinal is used (as per <code>indexOf</code>).
+    *
+    * @param list the list to index<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public OrdinalIndex(List<? extends E> list)
+   {
+      size = list.size();
+      if (indexById(list)) return;
+
+      int capacity = Integer.highestOneBit(Math.max(size, 1) * 2) * 2;
+      key = new Object[capacity];
+      ordinal = new int[capacity];
+      mask = capacity - 1;
+
+      int i = 0;
+      for (E element : list)
+      {
+         if (element != null)
+         {
+            int slot = slotOf(element);
+            if (key[slot] == null)
+            {
+               key[slot] = element;
+               ordinal[slot] = i;
+            }
+         }
+         i++;
+      }
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the ordinal of the specified element within the indexed list.
+    *
+    * @param element the element whose ordinal is to be returned
+    * @return the ordinal of the specified element, or <code>MISSING</code> if it is not in the indexed list
+    */
+   public int getOrdinal(Object element)
+   {
+      if (element == null) return MISSING;
+      if (ordinalById != null)
+      {
+         if (element.getClass() != entityClass) return MISSING;
+
+         int id = ((Entity) element).getId();
+         return id >= firstId && id - firstId < ordinalById.length && elementById[id - firstId] == element ? ordinalById[id - firstId] : MISSING;
+      }
+
+      int slot = slotOf(element);
+      return key[slot] != null ? ordinal[slot] : MISSING;
+   }
+
+   /**
+    * Returns the number of elements in the indexed list.
+    *
+    * @return the number of elements in the indexed list
+    */
+   public int size()
+   {
+      return size;
+   }
+
+   /*
+      helper methods
+   */
+
+   // indexes the list by id if it is a list of entities of one class with ids close enough together, returning whether it was
+   private boolean indexById(List<? extends E> list)
+   {
+      if (list.isEmpty() || !(list.get(0) instanceof Entity)) return false;
+
+      Class<?> listClass = list.get(0).getClass();
+      int lastId = -1;
+      int listFirstId = Integer.MAX_VALUE;
+      for (E element : list)
+      {
+         if (element == null || element.getClass() != listClass) return false;
+
+         listFirstId = Math.min(listFirstId, ((Entity) element).getId());
+         lastId = Math.max(lastId, ((Entity) element).getId());
+      }
+      if ((long) lastId - listFirstId >= (long) size * MAXIMUM_SPREAD) return false;
+
+      entityClass = listClass;
+      firstId = listFirstId;
+      elementById = new Object[lastId - listFirstId + 1];
+      ordinalById = new int[lastId - listFirstId + 1];
+      Arrays.fill(ordinalById, MISSING);
+      int i = 0;
+      for (E element : list)
+      {
+         int idOrdinal = ((Entity) element).getId() - firstId;
+         if (ordinalById[idOrdinal] == MISSING)
+         {
+            elementById[idOrdinal] = element;
+            ordinalById[idOrdinal] = i;
+         }
+         i++;
+      }
+
+      return true;
+   }
+
+   private int slotOf(Object element)
+   {
+      int hash = System.identityHashCode(element);
+      int slot = (hash ^ (hash >>> 16)) & mask;
+      while (key[slot] != null && key[slot] != element) slot = (slot + 1) & mask;
+
+      return slot;
+   }
+}
@@ -0,0 +1,153 @@
+package FileStorage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import Schedule.Activity;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * A read-only view of a schedule file written with an index of the slots of each person, from which one person's schedule can be looked up
+ * without decoding the activities of each period and the persons of each activity.
+ * Only the days (with their periods), the activities and the persons are decoded; the slots of a person are read straight from the file when they are looked up.
+ * <br>
+ * The index reflects the file as it was last written in full, so edits which are only in the journal next to it are not included.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class PersonScheduleIndex
+{
+   // instance fields
+   private ArrayList<Activity> activity;
+   private ByteBuffer buffer;
+   private ArrayList<Day> day;
+   private OrdinalIndex<Day> dayIndex;
+   private OrdinalIndex<Period> periodIndex;
+   private ArrayList<Person> person;
+   private OrdinalIndex<Person> personIndex;
+   private int slotPosition;
+
+   /*
+      constructors
+   */
+
+   private PersonScheduleIndex(ByteBuffer buffer, int[] sectionOffset)
+   {
+      day = BinaryScheduleFormat.readDays(buffer, sectionOffset[BinaryScheduleFormat.DAY_SECTION]);
+      ArrayList<Period> period = BinaryScheduleFormat.readPeriods(buffer, sectionOffset[BinaryScheduleFormat.PERIOD_SECTION]);
+      BinaryScheduleFormat.linkDays(buffer, sectionOffset[BinaryScheduleFormat.DAY_PERIOD_SECTION], day, period);
+      activity = BinaryScheduleFormat.readActivities(buffer, sectionOffset[BinaryScheduleFormat.ACTIVITY_SECTION]);
+      person = BinaryScheduleFormat.readPersons(buffer, sectionOffset[BinaryScheduleFormat.PERSON_SECTION]);
+
+      this.buffer = buffer;
+      this.dayIndex = new OrdinalIndex<Day>(day);
+      this.periodIndex = new OrdinalIndex<Period>(period);
+      this.personIndex = new OrdinalIndex<Person>(person);
+      this.slotPosition = sectionOffset[BinaryScheduleFormat.PERSON_SLOT_SECTION];
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the activity in which the specified person takes part during the specified period of the specified day.
+    *
+    * @param person the person, as returned by <code>getPerson</code>
+    * @param day the day, as returned by <code>getDay</code>
+    * @param period the period, as returned by <code>getPeriod</code> of the day
+    * @return the activity in which the person takes part during the period of the day, or <code>null</code> if there is none
+    */
+   public Activity getActivity(Person person, Day day, Period period)
+   {
+      int personOrdinal = personIndex.getOrdinal(person);
+      int dayOrdinal = dayIndex.getOrdinal(day);
+      int periodOrdinal = periodIndex.getOrdinal(period);
+      if (personOrdinal == OrdinalIndex.MISSING || dayOrdinal == OrdinalIndex.MISSING || periodOrdinal == OrdinalIndex.MISSING) return null;
+
+      int rows = buffer.getInt(slotPosition);
+      int slots = slotPosition + 8 + rows * 4;
+      int from = buffer.getInt(slotPosition + 4 + personOrdinal * 4);
+      int to = buffer.getInt(slotPosition + 8 + personOrdinal * 4);
+      for (int i = from; i < to; i += BinaryScheduleFormat.SLOT_LENGTH)
+      {
+         int slot = slots + i * 4;
+         if (buffer.getInt(slot) == dayOrdinal && buffer.getInt(slot + 4) == periodOrdinal) return activity.get(buffer.getInt(slot + 8));
+      }
+
+      return null;
+   }
+
+   /**
+    * Returns the days of the schedule cycle, with their periods.
+    *
+    * @return the days of the schedule cycle
+    */
+   public ArrayList<Day> getDay()
+   {
+      return day;
+   }
+
+   /**
+    * Returns the persons of the schedule cycle.
+    *
+    * @return the persons of the schedule cycle
+    */
+   public ArrayList<Person> getPerson()
+   {
+      return person;
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Reads the index of the slots of each person from the specified file.
+    * Binary files are mapped into memory; compressed files have their blocks inflated.
+    *
+    * @param file the file from which the index is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the index which was read, or <code>null</code> if the file was written without an index (or in the text format)
+    * @throws IOException if the file cannot be read
+    * @throws RuntimeException if the contents of the file are malformed
+    */
+   public static PersonScheduleIndex read(File file) throws IOException
+   {
+      ScheduleCodec format = ScheduleCodecRegistry.detect(file);
+
+      ByteBuffer buffer;
+      int[] sectionOffset;
+      if (format == ScheduleFormat.BINARY)
+      {
+         FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+         try
+         {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+         }
+         finally
+         {
+            channel.close();
+         }
+         sectionOffset = BinaryScheduleFormat.readSectionOffsets(buffer);
+      }
+      else if (format == ScheduleFormat.COMPRESSED)
+      {
+         sectionOffset = new int[BinaryScheduleFormat.PERSON_SLOT_SECTION + 1];
+         buffer = CompressedScheduleFormat.inflateSections(Files.readAllBytes(file.toPath()), sectionOffset, false);
+      }
+      else
+      {
+         return null;
+      }
+
+      if (sectionOffset[BinaryScheduleFormat.PERSON_SLOT_SECTION] < 0) return null;
+      return new PersonScheduleIndex(buffer, sectionOffset);
+   }
+}
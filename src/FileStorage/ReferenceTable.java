@@ -0,0 +1,119 @@
+package FileStorage;
+
+import java.util.Arrays;
+
+/**
+ * A growable table of rows of ordinals stored in two primitive arrays (the offset at which each row starts and the ordinals of all rows one after another),
+ * used to hold the references between sections of a schedule file until every section has been read.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ReferenceTable
+{
+   // class variables
+   private static final int INITIAL_CAPACITY = 16;
+
+   // instance fields
+   private int[] offset;
+   private int rows;
+   private int[] value;
+   private int values;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs an empty table.
+    */
+   public ReferenceTable()
+   {
+      this(INITIAL_CAPACITY, INITIAL_CAPACITY);
+   }
+
+   /**
+    * Constructs an empty table with room for the specified number of rows and ordinals.
+    *
+    * @param rowCapacity the number of rows for which there is to be room
+    * @param valueCapacity the number of ordinals for which there is to be room
+    */
+   public ReferenceTable(int rowCapacity, int valueCapacity)
+   {
+      offset = new int[Math.max(rowCapacity, 1) + 1];
+      value = new int[Math.max(valueCapacity, 1)];
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the ordinal at the specified position (as per <code>getRowStart</code> and <code>getRowEnd</code>).
+    *
+    * @param index the position of the ordinal
+    * @return the ordinal at the specified position
+    */
+   public int get(int index)
+   {
+      return value[index];
+   }
+
+   /**
+    * Returns the position just past the last ordinal of the specified row.
+    *
+    * @param row the index of the row<br><i>pre-condition:</i> must be less than <code>getRowCount()</code>
+    * @return the position just past the last ordinal of the specified row
+    */
+   public int getRowEnd(int row)
+   {
+      return offset[row + 1];
+   }
+
+   /**
+    * Returns the number of complete rows in this table.
+    *
+    * @return the number of complete rows in this table
+    */
+   public int getRowCount()
+   {
+      return rows;
+   }
+
+   /**
+    * Returns the position of the first ordinal of the specified row.
+    *
+    * @param row the index of the row<br><i>pre-condition:</i> must be less than <code>getRowCount()</code>
+    * @return the position of the first ordinal of the specified row
+    */
+   public int getRowStart(int row)
+   {
+      return offset[row];
+   }
+
+   /*
+      mutators
+   */
+
+   /**
+    * Appends an ordinal to the row currently being built.
+    *
+    * @param ordinal the ordinal to append
+    */
+   public void add(int ordinal)
+   {
+      if (values == value.length) value = Arrays.copyOf(value, value.length * 2);
+
+      value[values++] = ordinal;
+   }
+
+   /**
+    * Completes the row currently being built, so that following ordinals are appended to a new row.
+    */
+   public void endRow()
+   {
+      if (rows + 1 == offset.length) offset = Arrays.copyOf(offset, offset.length * 2);
+
+      offset[++rows] = values;
+   }
+}
@@ -0,0 +1,141 @@
+package FileStorage;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import Schedule.Cycle;
+
+/**
+ * A codec which reads and writes schedule cycles in one file format.
+ * The built-in formats are the constants of <code>ScheduleFormat</code>; other codecs are discovered through <code>ServiceLoader</code>
+ * (by listing their class names in <code>META-INF/services/FileStorage.ScheduleCodec</code> on the class path) and are looked up through <code>ScheduleCodecRegistry</code>.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public interface ScheduleCodec
+{
+   /*
+      accessors
+   */
+
+   /**
+    * Returns a short human-readable description of the format of this codec.
+    *
+    * @return a short human-readable description of the format of this codec
+    */
+   String getDescription();
+
+   /**
+    * Returns the extension (without the dot) of the files which this codec writes.
+    *
+    * @return the extension of the files which this codec writes
+    */
+   String getFileExtension();
+
+   /**
+    * Returns whether this codec supports partial loading, in which <code>readLazily</code> decodes only part of a file straight away and the rest when it is materialized.
+    *
+    * @return <code>true</code> if this codec supports partial loading; <code>false</code> if <code>readLazily</code> reads the whole file
+    */
+   boolean isLazy();
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Returns whether the specified header (the first bytes of a file) shows that the file is in the format of this codec.
+    *
+    * @param header the first bytes of a file (at most <code>ScheduleCodecRegistry.HEADER_LENGTH</code>)
+    * @param length the number of valid bytes in the header
+    * @return <code>true</code> if the file is in the format of this codec; <code>false</code> otherwise
+    */
+   boolean matches(byte[] header, int length);
+
+   /**
+    * Reads a schedule cycle from the specified file.
+    * By default, the file is read as a stream; codecs can read files in a faster way (such as by mapping them into memory).
+    *
+    * @param file the file from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the schedule cycle which was read
+    * @throws IOException if the file cannot be read
+    * @throws RuntimeException if the contents of the file are malformed
+    */
+   default Cycle read(File file) throws IOException
+   {
+      InputStream input = new BufferedInputStream(new FileInputStream(file));
+      try
+      {
+         return read(input);
+      }
+      finally
+      {
+         input.close();
+      }
+   }
+
+   /**
+    * Reads a schedule cycle from the specified input stream, up to its end.
+    *
+    * @param input the input stream from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the schedule cycle which was read
+    * @throws IOException if the input stream fails
+    * @throws RuntimeException if the contents of the input stream are malformed
+    */
+   Cycle read(InputStream input) throws IOException;
+
+   /**
+    * Reads a schedule cycle from the specified file, decoding only part of it straight away if this codec supports partial loading (see <code>isLazy</code>).
+    * By default, the whole file is read.
+    *
+    * @param file the file from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the schedule cycle which was read
+    * @throws IOException if the file cannot be read
+    * @throws RuntimeException if the contents of the file are malformed
+    */
+   default LazyCycle readLazily(File file) throws IOException
+   {
+      return new LazyCycle(read(file));
+   }
+
+   /**
+    * Writes the specified snapshot of a schedule cycle to the specified file.
+    * The snapshot is written to a temporary file which is forced to the storage device and then renamed over the file, so that the file is never left partially written.
+    *
+    * @param file the file to which the snapshot is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param snapshot the snapshot to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isIndexed whether the index of the slots of each person is to be written as well (see <code>PersonScheduleIndex</code>), which codecs without room for it ignore
+    * @return the CRC-32 checksum of the contents written to the file
+    * @throws IOException if the file cannot be written (in which case it is left as it was)
+    */
+   default long write(File file, ScheduleSnapshot snapshot, boolean isIndexed) throws IOException
+   {
+      AtomicFile atomicFile = new AtomicFile(file);
+      try
+      {
+         write(atomicFile.startWrite(), snapshot, isIndexed);
+         long checksum = atomicFile.finishWrite();
+         atomicFile.commit();
+
+         return checksum;
+      }
+      finally
+      {
+         atomicFile.abort();
+      }
+   }
+
+   /**
+    * Writes the specified snapshot of a schedule cycle to the specified output stream, without closing it.
+    *
+    * @param output the output stream to which the snapshot is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param snapshot the snapshot to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param isIndexed whether the index of the slots of each person is to be written as well, which codecs without room for it ignore
+    * @throws IOException if the output stream fails
+    */
+   void write(OutputStream output, ScheduleSnapshot snapshot, boolean isIndexed) throws IOException;
+}
@@ -0,0 +1,115 @@
+package FileStorage;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * The registry of the codecs in which schedule cycles can be stored: the built-in formats of <code>ScheduleFormat</code>,
+ * followed by the codecs discovered through <code>ServiceLoader</code> the first time the registry is used.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ScheduleCodecRegistry
+{
+   // class variables
+   /**
+    * Number of bytes at the start of a file from which its codec is determined.
+    */
+   public static final int HEADER_LENGTH = 16;
+
+   private static List<ScheduleCodec> codec;
+
+   /*
+      constructors
+   */
+
+   private ScheduleCodecRegistry() { }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns all registered codecs, with the built-in formats first (in the order of <code>ScheduleFormat</code>) and then the discovered codecs (in the order in which they were found).
+    *
+    * @return an unmodifiable list of all registered codecs
+    */
+   public static synchronized List<ScheduleCodec> getCodecs()
+   {
+      if (codec == null)
+      {
+         ArrayList<ScheduleCodec> registered = new ArrayList<ScheduleCodec>(Arrays.<ScheduleCodec>asList(ScheduleFormat.values()));
+         for (ScheduleCodec discovered : ServiceLoader.load(ScheduleCodec.class)) registered.add(discovered);
+         codec = Collections.unmodifiableList(registered);
+      }
+
+      return codec;
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Determines the codec of the specified file from its first bytes.
+    * The first registered codec which matches them is used, so the built-in formats take precedence over discovered codecs.
+    *
+    * @param file the file whose codec is to be determined<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the codec of the specified file (<code>ScheduleFormat.TEXT</code> if no codec matches it)
+    * @throws IOException if the file cannot be read
+    */
+   public static ScheduleCodec detect(File file) throws IOException
+   {
+      byte[] header = readHeader(file);
+      for (ScheduleCodec registered : getCodecs())
+      {
+         if (registered.matches(header, header.length)) return registered;
+      }
+
+      return ScheduleFormat.TEXT;
+   }
+
+   /**
+    * Returns the registered codec with the specified description, ignoring case.
+    *
+    * @param description the description of the codec<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the first registered codec with the specified description, or <code>null</code> if there is none
+    */
+   public static ScheduleCodec forDescription(String description)
+   {
+      for (ScheduleCodec registered : getCodecs())
+      {
+         if (registered.getDescription().equalsIgnoreCase(description)) return registered;
+      }
+
+      return null;
+   }
+
+   // reads the first bytes of the file (up to HEADER_LENGTH, fewer if the file is shorter)
+   private static byte[] readHeader(File file) throws IOException
+   {
+      byte[] header = new byte[HEADER_LENGTH];
+      int length = 0;
+
+      InputStream input = new FileInputStream(file);
+      try
+      {
+         int read;
+         while (length < HEADER_LENGTH && (read = input.read(header, length, HEADER_LENGTH - length)) != -1) length += read;
+      }
+      finally
+      {
+         input.close();
+      }
+
+      return Arrays.copyOf(header, length);
+   }
+}
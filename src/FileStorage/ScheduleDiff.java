@@ -0,0 +1,315 @@
+package FileStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import Schedule.Cycle;
+
+/**
+ * The differences between two schedule cycles, with entities matched by identifier (see <code>KeyedCycle</code>) rather than by position:
+ * the days, periods, activities and persons which were added, removed or changed, and the references (memberships) of each which were added or removed.
+ * Each section is joined on a hash table of ids, so comparing two schedule cycles takes time linear in their size.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ScheduleDiff
+{
+   // class variables
+   /**
+    * Kind of change in which an entity is only in the newer schedule cycle.
+    */
+   public static final int ADDED = 1;
+
+   /**
+    * Kind of change in which an entity is only in the older schedule cycle.
+    */
+   public static final int REMOVED = 2;
+
+   /**
+    * Kind of change in which an entity is in both schedule cycles, with different fields or references.
+    */
+   public static final int CHANGED = 3;
+
+   // instance fields
+   private ArrayList<Change> change;
+
+   /*
+      constructors
+   */
+
+   private ScheduleDiff(ArrayList<Change> change)
+   {
+      this.change = change;
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the changes, section by section; within a section, added and changed entities in their order in the newer schedule cycle, followed by removed entities in their order in the older one.
+    *
+    * @return an unmodifiable list of the changes
+    */
+   public List<Change> getChanges()
+   {
+      return Collections.unmodifiableList(change);
+   }
+
+   /**
+    * Returns whether the two schedule cycles are the same.
+    *
+    * @return <code>true</code> if there are no changes; <code>false</code> otherwise
+    */
+   public boolean isEmpty()
+   {
+      return change.isEmpty();
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Compares two schedule cycles.
+    *
+    * @param older the older schedule cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param newer the newer schedule cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the differences from the older schedule cycle to the newer one
+    */
+   public static ScheduleDiff compare(Cycle older, Cycle newer)
+   {
+      return compare(new KeyedCycle(older), new KeyedCycle(newer));
+   }
+
+   static ScheduleDiff compare(KeyedCycle older, KeyedCycle newer)
+   {
+      ArrayList<Change> change = new ArrayList<Change>();
+      for (int section = Edit.DAY; section <= Edit.PERSON; section++)
+      {
+         for (int i = 0; i < newer.getRecordCount(section); i++)
+         {
+            int olderOrdinal = older.getOrdinal(section, newer.getId(section, i));
+            if (olderOrdinal == -1)
+            {
+               change.add(new Change(ADDED, section, newer.getId(section, i), new String[0], new String[0], new String[0], false));
+               continue;
+            }
+
+            Change changed = compareRecord(section, older, olderOrdinal, newer, i);
+            if (changed != null) change.add(changed);
+         }
+
+         for (int i = 0; i < older.getRecordCount(section); i++)
+         {
+            if (newer.getOrdinal(section, older.getId(section, i)) == -1) change.add(new Change(REMOVED, section, older.getId(section, i), new String[0], new String[0], new String[0], false));
+         }
+      }
+
+      return new ScheduleDiff(change);
+   }
+
+   private static Change compareRecord(int section, KeyedCycle older, int olderOrdinal, KeyedCycle newer, int newerOrdinal)
+   {
+      String[] olderField = older.getField(section, olderOrdinal);
+      String[] newerField = newer.getField(section, newerOrdinal);
+      ArrayList<String> changedField = new ArrayList<String>();
+      for (int i = 0; i < olderField.length; i++)
+      {
+         if (!olderField[i].equals(newerField[i])) changedField.add(KeyedCycle.getFieldNames(section)[i]);
+      }
+
+      String[] addedReference = new String[0];
+      String[] removedReference = new String[0];
+      boolean isReordered = false;
+      if (section != Edit.PERSON)
+      {
+         String[] olderReference = older.getReferences(section, olderOrdinal);
+         String[] newerReference = newer.getReferences(section, newerOrdinal);
+         if (!Arrays.equals(olderReference, newerReference))
+         {
+            addedReference = subtract(newerReference, olderReference);
+            removedReference = subtract(olderReference, newerReference);
+            isReordered = addedReference.length == 0 && removedReference.length == 0;
+         }
+      }
+
+      if (changedField.isEmpty() && addedReference.length == 0 && removedReference.length == 0 && !isReordered) return null;
+      return new Change(CHANGED, section, newer.getId(section, newerOrdinal), changedField.toArray(new String[0]), addedReference, removedReference, isReordered);
+   }
+
+   // returns the elements of the minuend which are not in the subtrahend, in order
+   static String[] subtract(String[] minuend, String[] subtrahend)
+   {
+      HashSet<String> excluded = new HashSet<String>(Arrays.asList(subtrahend));
+      ArrayList<String> difference = new ArrayList<String>();
+      for (String element : minuend)
+      {
+         if (!excluded.contains(element)) difference.add(element);
+      }
+
+      return difference.toArray(new String[0]);
+   }
+
+   /**
+    * Returns the changes, one per line.
+    *
+    * @return the changes, one per line
+    */
+   public String toString()
+   {
+      StringBuilder line = new StringBuilder();
+      for (Change changeElement : change) line.append(changeElement).append('\n');
+
+      return line.toString();
+   }
+
+   /*
+      inner classes
+   */
+
+   /**
+    * A change to one entity.
+    */
+   public static class Change
+   {
+      // instance fields
+      private String[] addedReference;
+      private String[] changedField;
+      private String id;
+      private boolean isReordered;
+      private int kind;
+      private String[] removedReference;
+      private int section;
+
+      /*
+         constructors
+      */
+
+      /**
+       * Constructs a change.
+       *
+       * @param kind the kind of the change (one of the kinds of <code>ScheduleDiff</code>)
+       * @param section the section of the entity (one of the sections of <code>Edit</code>)
+       * @param id the id of the entity<br><i>pre-condition:</i> cannot be <code>null</code>
+       * @param changedField the names of the fields which changed<br><i>pre-condition:</i> cannot be <code>null</code>
+       * @param addedReference the ids of the entities of the next section which the entity now refers to<br><i>pre-condition:</i> cannot be <code>null</code>
+       * @param removedReference the ids of the entities of the next section which the entity no longer refers to<br><i>pre-condition:</i> cannot be <code>null</code>
+       * @param isReordered whether the entity refers to the same entities in a different order (or a different number of times)
+       */
+      public Change(int kind, int section, String id, String[] changedField, String[] addedReference, String[] removedReference, boolean isReordered)
+      {
+         this.addedReference = addedReference;
+         this.changedField = changedField;
+         this.id = id;
+         this.isReordered = isReordered;
+         this.kind = kind;
+         this.removedReference = removedReference;
+         this.section = section;
+      }
+
+      /*
+         accessors
+      */
+
+      /**
+       * Returns the ids of the entities of the next section which the entity now refers to.
+       *
+       * @return the ids of the added references
+       */
+      public String[] getAddedReferences()
+      {
+         return addedReference;
+      }
+
+      /**
+       * Returns the names of the fields of the entity which changed.
+       *
+       * @return the names of the changed fields
+       */
+      public String[] getChangedFields()
+      {
+         return changedField;
+      }
+
+      /**
+       * Returns the id of the entity.
+       *
+       * @return the id of the entity
+       */
+      public String getId()
+      {
+         return id;
+      }
+
+      /**
+       * Returns the kind of this change.
+       *
+       * @return the kind of this change (one of the kinds of <code>ScheduleDiff</code>)
+       */
+      public int getKind()
+      {
+         return kind;
+      }
+
+      /**
+       * Returns the ids of the entities of the next section which the entity no longer refers to.
+       *
+       * @return the ids of the removed references
+       */
+      public String[] getRemovedReferences()
+      {
+         return removedReference;
+      }
+
+      /**
+       * Returns the section of the entity.
+       *
+       * @return the section of the entity (one of the sections of <code>Edit</code>)
+       */
+      public int getSection()
+      {
+         return section;
+      }
+
+      /**
+       * Returns whether the entity refers to the same entities in a different order (or a different number of times).
+       *
+       * @return <code>true</code> if only the order of the references changed; <code>false</code> otherwise
+       */
+      public boolean isReordered()
+      {
+         return isReordered;
+      }
+
+      /**
+       * {@inheritDoc}
+       */
+      public String toString()
+      {
+         StringBuilder description = new StringBuilder();
+         description.append(kind == ADDED ? "+ " : kind == REMOVED ? "- " : "~ ");
+         description.append(KeyedCycle.getSectionName(section)).append(' ').append(id);
+         if (kind != CHANGED) return description.toString();
+
+         String separator = ": ";
+         for (String changedFieldElement : changedField)
+         {
+            description.append(separator).append(changedFieldElement);
+            separator = ", ";
+         }
+         if (addedReference.length > 0 || removedReference.length > 0)
+         {
+            description.append(separator).append(KeyedCycle.getSectionName(section + 1)).append('s');
+            for (String addedReferenceElement : addedReference) description.append(" +").append(addedReferenceElement);
+            for (String removedReferenceElement : removedReference) description.append(" -").append(removedReferenceElement);
+         }
+         if (isReordered) description.append(separator).append(KeyedCycle.getSectionName(section + 1)).append("s reordered");
+
+         return description.toString();
+      }
+   }
+}
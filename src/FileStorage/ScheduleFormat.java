@@ -0,0 +1,219 @@
+package FileStorage;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import Schedule.Cycle;
+
+/**
+ * The built-in formats in which schedule cycles can be stored, all of which use the same file extension.
+ * Each format is a <code>ScheduleCodec</code>, registered ahead of any codecs discovered through <code>ServiceLoader</code> (see <code>ScheduleCodecRegistry</code>).
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public enum ScheduleFormat implements ScheduleCodec
+{
+   /**
+    * The line-based text format (see <code>TextScheduleFormat</code>).
+    */
+   TEXT("Text"),
+
+   /**
+    * The versioned binary format (see <code>BinaryScheduleFormat</code>).
+    */
+   BINARY("Binary"),
+
+   /**
+    * The compressed container format, with each section of the binary format compressed separately (see <code>CompressedScheduleFormat</code>).
+    */
+   COMPRESSED("Compressed");
+
+   // class variables
+   /**
+    * File extension shared by all formats.
+    */
+   public static final String FILE_EXTENSION = "scdl";
+
+   /**
+    * Size (in bytes) from which files are read with their sections parsed in parallel, if more than one processor is available.
+    */
+   public static final long PARALLEL_THRESHOLD = 1 << 20;
+
+   // instance fields
+   private String description;
+
+   /*
+      constructors
+   */
+
+   private ScheduleFormat(String description)
+   {
+      this.description = description;
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * {@inheritDoc}
+    */
+   public String getDescription()
+   {
+      return description;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public String getFileExtension()
+   {
+      return FILE_EXTENSION;
+   }
+
+   /**
+    * Returns whether this format supports partial loading, which the binary formats do.
+    *
+    * @return <code>true</code> if this format supports partial loading; <code>false</code> if it is the text format
+    */
+   public boolean isLazy()
+   {
+      return this != TEXT;
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Returns whether the specified header starts with the magic number of this format.
+    * The text format has no magic number, so it never matches; files which match no other format are taken to be text.
+    *
+    * @param header the first bytes of a file
+    * @param length the number of valid bytes in the header
+    * @return <code>true</code> if the header starts with the magic number of this format; <code>false</code> otherwise
+    */
+   public boolean matches(byte[] header, int length)
+   {
+      if (this == BINARY) return BinaryScheduleFormat.matches(header, length);
+      if (this == COMPRESSED) return CompressedScheduleFormat.matches(header, length);
+      return false;
+   }
+
+   /**
+    * Reads a schedule cycle in this format from the specified file.
+    * Files of at least <code>PARALLEL_THRESHOLD</code> bytes have their sections parsed in parallel.
+    *
+    * @param file the file from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the schedule cycle which was read
+    * @throws IOException if the file cannot be read
+    * @throws RuntimeException if the contents of the file are malformed
+    */
+   public Cycle read(File file) throws IOException
+   {
+      boolean isParallel = file.length() >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1;
+
+      if (this == BINARY) return BinaryScheduleFormat.read(file, isParallel);
+      if (this == COMPRESSED) return CompressedScheduleFormat.read(file, isParallel);
+
+      Reader reader = new FileReader(file);
+      try
+      {
+         if (isParallel) return TextScheduleFormat.readParallel(reader, file.length());
+         return TextScheduleFormat.read(reader);
+      }
+      finally
+      {
+         reader.close();
+      }
+   }
+
+   /**
+    * Reads a schedule cycle in this format from the specified input stream.
+    * The binary formats read the whole stream into memory first.
+    *
+    * @param input the input stream from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the schedule cycle which was read
+    * @throws IOException if the input stream fails
+    * @throws RuntimeException if the contents of the input stream are malformed
+    */
+   public Cycle read(InputStream input) throws IOException
+   {
+      if (this == BINARY) return BinaryScheduleFormat.read(ByteBuffer.wrap(input.readAllBytes()), false);
+      if (this == COMPRESSED) return CompressedScheduleFormat.read(input.readAllBytes(), false);
+
+      return TextScheduleFormat.read(new InputStreamReader(input));
+   }
+
+   /**
+    * Reads a schedule cycle in this format from the specified file, decoding only its days and periods straight away where the format allows it
+    * (the binary formats do; text files are read in full).
+    *
+    * @param file the file from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the schedule cycle which was read
+    * @throws IOException if the file cannot be read
+    * @throws RuntimeException if the contents of the file are malformed
+    */
+   public LazyCycle readLazily(File file) throws IOException
+   {
+      if (this == BINARY) return BinaryScheduleFormat.readLazily(file);
+      if (this == COMPRESSED) return CompressedScheduleFormat.readLazily(file, file.length() >= PARALLEL_THRESHOLD && Runtime.getRuntime().availableProcessors() > 1);
+
+      return new LazyCycle(read(file));
+   }
+
+   /**
+    * Writes the specified snapshot of a schedule cycle in this format to the specified file, without an index of the slots of each person (as per <code>ScheduleCodec.write</code>).
+    *
+    * @param file the file to which the snapshot is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param snapshot the snapshot to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the CRC-32 checksum of the contents written to the file
+    * @throws IOException if the file cannot be written (in which case it is left as it was)
+    */
+   public long write(File file, ScheduleSnapshot snapshot) throws IOException
+   {
+      return write(file, snapshot, false);
+   }
+
+   /**
+    * Writes the specified snapshot of a schedule cycle in this format to the specified output stream.
+    *
+    * @param output the output stream to which the snapshot is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param snapshot the snapshot to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the output stream fails
+    */
+   public void write(OutputStream output, ScheduleSnapshot snapshot) throws IOException
+   {
+      write(output, snapshot, false);
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public void write(OutputStream output, ScheduleSnapshot snapshot, boolean isIndexed) throws IOException
+   {
+      if (this == BINARY)
+      {
+         BinaryScheduleFormat.write(output, snapshot, isIndexed);
+         return;
+      }
+      if (this == COMPRESSED)
+      {
+         CompressedScheduleFormat.write(output, snapshot, isIndexed);
+         return;
+      }
+
+      Writer writer = new BufferedWriter(new OutputStreamWriter(output));
+      TextScheduleFormat.write(writer, snapshot);
+      writer.flush();
+   }
+}
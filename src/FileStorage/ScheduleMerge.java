@@ -0,0 +1,313 @@
+package FileStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import Schedule.Cycle;
+
+/**
+ * A three-way merge of two schedule cycles which were both edited from a common base, with entities matched by identifier (see <code>KeyedCycle</code>).
+ * Each field of an entity takes the value of whichever side changed it, and each side's added and removed references (memberships) are both applied.
+ * Where both sides changed the same field differently, or one side deleted an entity which the other changed, ours wins and the conflict is reported.
+ * Each section is joined on hash tables of ids, so merging takes time linear in the size of the schedule cycles.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ScheduleMerge
+{
+   // instance fields
+   private ArrayList<Conflict> conflict;
+   private Cycle cycle;
+
+   /*
+      constructors
+   */
+
+   private ScheduleMerge(Cycle cycle, ArrayList<Conflict> conflict)
+   {
+      this.conflict = conflict;
+      this.cycle = cycle;
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the conflicts which were resolved in favour of ours, in the order of the merged schedule cycle.
+    *
+    * @return an unmodifiable list of the conflicts
+    */
+   public List<Conflict> getConflicts()
+   {
+      return Collections.unmodifiableList(conflict);
+   }
+
+   /**
+    * Returns the merged schedule cycle, whose entities are new (neither ours nor theirs).
+    * Entities are in our order, followed by the entities which only they added, in their order.
+    *
+    * @return the merged schedule cycle
+    */
+   public Cycle getCycle()
+   {
+      return cycle;
+   }
+
+   /**
+    * Returns whether any conflict was found.
+    *
+    * @return <code>true</code> if any conflict was found; <code>false</code> otherwise
+    */
+   public boolean hasConflicts()
+   {
+      return !conflict.isEmpty();
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Merges two schedule cycles which were both edited from a common base.
+    *
+    * @param base the schedule cycle from which both were edited<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param ours our schedule cycle, which wins conflicts<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param theirs their schedule cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the merge
+    */
+   public static ScheduleMerge merge(Cycle base, Cycle ours, Cycle theirs)
+   {
+      KeyedCycle keyedBase = new KeyedCycle(base);
+      KeyedCycle keyedOurs = new KeyedCycle(ours);
+      KeyedCycle keyedTheirs = new KeyedCycle(theirs);
+
+      ArrayList<Conflict> conflict = new ArrayList<Conflict>();
+      ArrayList<ArrayList<String>> mergedId = new ArrayList<ArrayList<String>>();
+      ArrayList<ArrayList<String[]>> mergedField = new ArrayList<ArrayList<String[]>>();
+      ArrayList<ArrayList<String[]>> mergedReference = new ArrayList<ArrayList<String[]>>();
+      for (int section = 0; section <= Edit.PERSON; section++)
+      {
+         mergedId.add(new ArrayList<String>());
+         mergedField.add(new ArrayList<String[]>());
+         mergedReference.add(new ArrayList<String[]>());
+         if (section == 0) continue;
+
+         for (int i = 0; i < keyedOurs.getRecordCount(section); i++)
+         {
+            mergeRecord(section, keyedOurs.getId(section, i), keyedBase, keyedOurs, keyedTheirs, mergedId.get(section), mergedField.get(section), mergedReference.get(section), conflict);
+         }
+         for (int i = 0; i < keyedTheirs.getRecordCount(section); i++)
+         {
+            if (keyedOurs.getOrdinal(section, keyedTheirs.getId(section, i)) != -1) continue;
+            mergeRecord(section, keyedTheirs.getId(section, i), keyedBase, keyedOurs, keyedTheirs, mergedId.get(section), mergedField.get(section), mergedReference.get(section), conflict);
+         }
+      }
+
+      Cycle merged = new Cycle();
+      for (int section = Edit.DAY; section <= Edit.PERSON; section++)
+      {
+         for (String[] field : mergedField.get(section))
+         {
+            Object entity = Edit.newEntity(section);
+            Edit.setFields(entity, field);
+            Edit.addTo(Edit.listOf(merged, section), entity);
+         }
+      }
+
+      // references are linked once every section is merged, so a reference to an entity which was deleted (by the side which did not add the reference) is dropped
+      for (int section = Edit.DAY; section < Edit.PERSON; section++)
+      {
+         HashMap<String, Integer> targetOrdinal = new HashMap<String, Integer>(mergedId.get(section + 1).size() * 2);
+         for (int i = 0; i < mergedId.get(section + 1).size(); i++) targetOrdinal.put(mergedId.get(section + 1).get(i), i);
+
+         for (int i = 0; i < mergedId.get(section).size(); i++)
+         {
+            for (String referenceId : mergedReference.get(section).get(i))
+            {
+               Integer ordinal = targetOrdinal.get(referenceId);
+               if (ordinal != null) Edit.addedTo(section + 1, i, ordinal).apply(merged);
+               else conflict.add(new Conflict(section, mergedId.get(section).get(i), describe(section, mergedId.get(section).get(i)) + " refers to " + KeyedCycle.getSectionName(section + 1) + " " + referenceId
+                  + ", which was deleted; the reference was dropped."));
+            }
+         }
+      }
+
+      return new ScheduleMerge(merged, conflict);
+   }
+
+   private static String describe(int section, String id)
+   {
+      String sectionName = KeyedCycle.getSectionName(section);
+      return Character.toUpperCase(sectionName.charAt(0)) + sectionName.substring(1) + " " + id;
+   }
+
+   private static String[] mergeFields(int section, String id, String[] base, String[] ours, String[] theirs, ArrayList<Conflict> conflict)
+   {
+      String[] merged = ours.clone();
+      for (int i = 0; i < ours.length; i++)
+      {
+         if (ours[i].equals(theirs[i]) || (base != null && theirs[i].equals(base[i]))) continue;
+         if (base != null && ours[i].equals(base[i]))
+         {
+            merged[i] = theirs[i];
+            continue;
+         }
+
+         conflict.add(new Conflict(section, id, describe(section, id) + ": the " + KeyedCycle.getFieldNames(section)[i] + " was changed to \"" + ours[i] + "\" by us and to \"" + theirs[i] + "\" by them; ours was kept."));
+      }
+
+      return merged;
+   }
+
+   private static void mergeRecord(int section, String id, KeyedCycle base, KeyedCycle ours, KeyedCycle theirs, ArrayList<String> mergedId, ArrayList<String[]> mergedField, ArrayList<String[]> mergedReference,
+      ArrayList<Conflict> conflict)
+   {
+      int baseOrdinal = base.getOrdinal(section, id);
+      int ourOrdinal = ours.getOrdinal(section, id);
+      int theirOrdinal = theirs.getOrdinal(section, id);
+      String[] baseField = baseOrdinal != -1 ? base.getField(section, baseOrdinal) : null;
+      String[] baseReference = baseOrdinal != -1 ? referencesOf(section, base, baseOrdinal) : null;
+
+      if (ourOrdinal == -1 || theirOrdinal == -1)
+      {
+         KeyedCycle side = ourOrdinal != -1 ? ours : theirs;
+         int sideOrdinal = ourOrdinal != -1 ? ourOrdinal : theirOrdinal;
+         String[] sideField = side.getField(section, sideOrdinal);
+         String[] sideReference = referencesOf(section, side, sideOrdinal);
+
+         // an entity which only one side has was either added by it, or deleted by the other
+         if (baseOrdinal != -1)
+         {
+            if (Arrays.equals(sideField, baseField) && Arrays.equals(sideReference, baseReference)) return;
+            conflict.add(new Conflict(section, id, describe(section, id) + " was deleted by " + (ourOrdinal == -1 ? "us" : "them") + " but changed by " + (ourOrdinal == -1 ? "them" : "us") + "; it was kept."));
+         }
+
+         mergedId.add(id);
+         mergedField.add(sideField);
+         mergedReference.add(sideReference);
+         return;
+      }
+
+      mergedId.add(id);
+      mergedField.add(mergeFields(section, id, baseField, ours.getField(section, ourOrdinal), theirs.getField(section, theirOrdinal), conflict));
+      mergedReference.add(mergeReferences(section, id, baseReference, referencesOf(section, ours, ourOrdinal), referencesOf(section, theirs, theirOrdinal), conflict));
+   }
+
+   private static String[] mergeReferences(int section, String id, String[] base, String[] ours, String[] theirs, ArrayList<Conflict> conflict)
+   {
+      if (Arrays.equals(ours, theirs)) return ours;
+      if (base != null && Arrays.equals(ours, base)) return theirs;
+      if (base != null && Arrays.equals(theirs, base)) return ours;
+
+      // both sides changed the references, so each side's additions and removals are applied to ours
+      String[] baseOrEmpty = base != null ? base : new String[0];
+      HashSet<String> removedByThem = new HashSet<String>(Arrays.asList(ScheduleDiff.subtract(baseOrEmpty, theirs)));
+      ArrayList<String> merged = new ArrayList<String>(ours.length);
+      for (String reference : ours)
+      {
+         if (!removedByThem.contains(reference)) merged.add(reference);
+      }
+      merged.addAll(Arrays.asList(ScheduleDiff.subtract(ScheduleDiff.subtract(theirs, baseOrEmpty), ours)));
+
+      if (section == Edit.DAY) conflict.add(new Conflict(section, id, describe(section, id) + ": the periods were changed by both; our order was kept, with the periods which they added at the end."));
+      return merged.toArray(new String[0]);
+   }
+
+   private static String[] referencesOf(int section, KeyedCycle cycle, int ordinal)
+   {
+      return section != Edit.PERSON ? cycle.getReferences(section, ordinal) : new String[0];
+   }
+
+   /**
+    * Returns the conflicts, one per line.
+    *
+    * @return the conflicts, one per line
+    */
+   public String toString()
+   {
+      StringBuilder line = new StringBuilder();
+      for (Conflict conflictElement : conflict) line.append(conflictElement).append('\n');
+
+      return line.toString();
+   }
+
+   /*
+      inner classes
+   */
+
+   /**
+    * A conflict between our and their changes to one entity, which was resolved in favour of ours.
+    */
+   public static class Conflict
+   {
+      // instance fields
+      private String id;
+      private String message;
+      private int section;
+
+      /*
+         constructors
+      */
+
+      /**
+       * Constructs a conflict.
+       *
+       * @param section the section of the entity (one of the sections of <code>Edit</code>)
+       * @param id the id of the entity<br><i>pre-condition:</i> cannot be <code>null</code>
+       * @param message a human-readable description of the conflict and how it was resolved<br><i>pre-condition:</i> cannot be <code>null</code>
+       */
+      public Conflict(int section, String id, String message)
+      {
+         this.id = id;
+         this.message = message;
+         this.section = section;
+      }
+
+      /*
+         accessors
+      */
+
+      /**
+       * Returns the id of the entity.
+       *
+       * @return the id of the entity
+       */
+      public String getId()
+      {
+         return id;
+      }
+
+      /**
+       * Returns a human-readable description of this conflict and how it was resolved.
+       *
+       * @return a human-readable description of this conflict
+       */
+      public String getMessage()
+      {
+         return message;
+      }
+
+      /**
+       * Returns the section of the entity.
+       *
+       * @return the section of the entity (one of the sections of <code>Edit</code>)
+       */
+      public int getSection()
+      {
+         return section;
+      }
+
+      /**
+       * {@inheritDoc}
+       */
+      public String toString()
+      {
+         return message;
+      }
+   }
+}
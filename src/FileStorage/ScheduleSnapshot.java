@@ -0,0 +1,434 @@
+package FileStorage;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * An immutable copy of the contents of a schedule cycle, in which every section is held as parallel arrays of field values
+ * and the links between sections are held as <code>ReferenceTable</code>s of ordinals.
+ * A snapshot holds no references to the entities it was taken from, so it can be written out on another thread while the schedule cycle keeps being edited.
+ * The sections encoded when a snapshot is written are kept with it, and shared with later snapshots in which the section has not changed,
+ * so that each save only encodes (and compresses) the sections which changed since the previous one.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ScheduleSnapshot
+{
+   // class variables
+   /**
+    * Value of <code>changedSections</code> which marks every section as changed.
+    */
+   public static final int ALL_SECTIONS = ~0;
+
+   private static final int MINUTES_PER_HOUR = 60;
+
+   // the link sections which the person slot section of BinaryScheduleFormat is built from (along with the number of persons)
+   private static final int PERSON_SLOT_SOURCE_SECTIONS = 1 << BinaryScheduleFormat.DAY_PERIOD_SECTION | 1 << BinaryScheduleFormat.PERIOD_ACTIVITY_SECTION | 1 << BinaryScheduleFormat.ACTIVITY_PERSON_SECTION;
+
+   // instance fields
+   private String[] activityIdentifier;
+   private ReferenceTable activityPerson;
+   private String[] activityType;
+   private String[] dayIdentifier;
+   private ReferenceTable dayPeriod;
+   private int[] dayStartTime;
+   private EncodedSection[] encodedSection;
+   private ReferenceTable periodActivity;
+   private long[] periodDuration;
+   private String[] periodIdentifier;
+   private String[] personFirstName;
+   private String[] personIdentifier;
+   private String[] personLastName;
+   private String[] personRole;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Takes a snapshot of the specified schedule cycle.
+    * References to entities which are not in the schedule cycle are recorded as <code>OrdinalIndex.MISSING</code>.
+    *
+    * @param cycle the schedule cycle of which a snapshot is to be taken<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public ScheduleSnapshot(Cycle cycle)
+   {
+      this(cycle, null, ALL_SECTIONS);
+   }
+
+   /**
+    * Takes a snapshot of the specified schedule cycle, sharing the arrays of the sections which have not changed since the specified previous snapshot (copy-on-write).
+    * Only the changed sections are copied, so a snapshot after a small edit takes time proportional to the sections it touched.
+    *
+    * @param cycle the schedule cycle of which a snapshot is to be taken<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param previous the previous snapshot of the same schedule cycle, or <code>null</code> if every section is to be copied
+    * @param changedSections the sections which have changed since the previous snapshot (a bit <code>1 &lt;&lt; id</code> for each section id of <code>BinaryScheduleFormat</code>, as returned by <code>Edit.getChangedSections</code>)
+    */
+   public ScheduleSnapshot(Cycle cycle, ScheduleSnapshot previous, int changedSections)
+   {
+      if (previous == null) changedSections = ALL_SECTIONS;
+
+      if (isChanged(changedSections, BinaryScheduleFormat.DAY_SECTION)) takeDays(cycle.getDay());
+      else copyDays(previous);
+
+      if (isChanged(changedSections, BinaryScheduleFormat.PERIOD_SECTION)) takePeriods(cycle.getPeriod());
+      else copyPeriods(previous);
+
+      if (isChanged(changedSections, BinaryScheduleFormat.ACTIVITY_SECTION)) takeActivities(cycle.getActivity());
+      else copyActivities(previous);
+
+      if (isChanged(changedSections, BinaryScheduleFormat.PERSON_SECTION)) takePersons(cycle.getPerson());
+      else copyPersons(previous);
+
+      if (isChanged(changedSections, BinaryScheduleFormat.DAY_PERIOD_SECTION))
+      {
+         OrdinalIndex<Period> periodIndex = new OrdinalIndex<Period>(cycle.getPeriod());
+         dayPeriod = new ReferenceTable(cycle.getDay().size(), cycle.getPeriod().size());
+         for (Day dayElement : cycle.getDay()) addRow(dayPeriod, dayElement.getPeriod(), periodIndex);
+      }
+      else
+      {
+         dayPeriod = previous.dayPeriod;
+      }
+
+      if (isChanged(changedSections, BinaryScheduleFormat.PERIOD_ACTIVITY_SECTION))
+      {
+         OrdinalIndex<Activity> activityIndex = new OrdinalIndex<Activity>(cycle.getActivity());
+         periodActivity = new ReferenceTable(cycle.getPeriod().size(), cycle.getActivity().size());
+         for (Period periodElement : cycle.getPeriod()) addRow(periodActivity, periodElement.getActivity(), activityIndex);
+      }
+      else
+      {
+         periodActivity = previous.periodActivity;
+      }
+
+      if (isChanged(changedSections, BinaryScheduleFormat.ACTIVITY_PERSON_SECTION))
+      {
+         OrdinalIndex<Person> personIndex = new OrdinalIndex<Person>(cycle.getPerson());
+         activityPerson = new ReferenceTable(cycle.getActivity().size(), cycle.getPerson().size());
+         for (Activity activityElement : cycle.getActivity()) addRow(activityPerson, activityElement.getPerson(), personIndex);
+      }
+      else
+      {
+         activityPerson = previous.activityPerson;
+      }
+
+      encodedSection = new EncodedSection[BinaryScheduleFormat.PERSON_SLOT_SECTION + 1];
+      for (int i = 1; i < encodedSection.length; i++)
+      {
+         boolean isSectionChanged = isChanged(changedSections, i);
+         if (i == BinaryScheduleFormat.PERSON_SLOT_SECTION) isSectionChanged = (changedSections & PERSON_SLOT_SOURCE_SECTIONS) != 0 || personIdentifier.length != previous.personIdentifier.length;
+         encodedSection[i] = isSectionChanged ? new EncodedSection() : previous.encodedSection[i];
+      }
+   }
+
+   /**
+    * Constructs a snapshot of the specified sections, of a schedule cycle which is not held as entities (see <code>ColumnarCycle</code>).
+    * The arrays and tables are shared with the snapshot, so they must not be changed afterwards.
+    */
+   ScheduleSnapshot(String[] activityIdentifier, ReferenceTable activityPerson, String[] activityType, String[] dayIdentifier, ReferenceTable dayPeriod, int[] dayStartTime,
+      ReferenceTable periodActivity, long[] periodDuration, String[] periodIdentifier, String[] personFirstName, String[] personIdentifier, String[] personLastName, String[] personRole)
+   {
+      this.activityIdentifier = activityIdentifier;
+      this.activityPerson = activityPerson;
+      this.activityType = activityType;
+      this.dayIdentifier = dayIdentifier;
+      this.dayPeriod = dayPeriod;
+      this.dayStartTime = dayStartTime;
+      this.periodActivity = periodActivity;
+      this.periodDuration = periodDuration;
+      this.periodIdentifier = periodIdentifier;
+      this.personFirstName = personFirstName;
+      this.personIdentifier = personIdentifier;
+      this.personLastName = personLastName;
+      this.personRole = personRole;
+
+      encodedSection = new EncodedSection[BinaryScheduleFormat.PERSON_SLOT_SECTION + 1];
+      for (int i = 1; i < encodedSection.length; i++) encodedSection[i] = new EncodedSection();
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the identifiers of the activities.
+    *
+    * @return the identifiers of the activities (in the order of the activities)
+    */
+   public String[] getActivityIdentifier()
+   {
+      return activityIdentifier;
+   }
+
+   /**
+    * Returns the ordinals of the persons participating in each activity.
+    *
+    * @return the ordinals of the persons participating in each activity (one row per activity)
+    */
+   public ReferenceTable getActivityPerson()
+   {
+      return activityPerson;
+   }
+
+   /**
+    * Returns the types of the activities.
+    *
+    * @return the types of the activities (in the order of the activities)
+    */
+   public String[] getActivityType()
+   {
+      return activityType;
+   }
+
+   /**
+    * Returns the identifiers of the days.
+    *
+    * @return the identifiers of the days (in the order of the days)
+    */
+   public String[] getDayIdentifier()
+   {
+      return dayIdentifier;
+   }
+
+   /**
+    * Returns the ordinals of the periods taking place on each day.
+    *
+    * @return the ordinals of the periods taking place on each day (one row per day, in the order that the periods take place)
+    */
+   public ReferenceTable getDayPeriod()
+   {
+      return dayPeriod;
+   }
+
+   /**
+    * Returns the times at which the days start.
+    *
+    * @return the times at which the days start, in minutes since midnight (in the order of the days)
+    */
+   public int[] getDayStartTime()
+   {
+      return dayStartTime;
+   }
+
+   /**
+    * Returns the encoded form of the specified section, which is shared with every other snapshot in which the section is the same.
+    *
+    * @param section the section identifier of <code>BinaryScheduleFormat</code><br><i>pre-condition:</i> must be a valid section identifier
+    * @return the encoded form of the section (which is empty until the section is first encoded)
+    */
+   EncodedSection getEncodedSection(int section)
+   {
+      return encodedSection[section];
+   }
+
+   /**
+    * Returns the ordinals of the activities taking place during each period.
+    *
+    * @return the ordinals of the activities taking place during each period (one row per period)
+    */
+   public ReferenceTable getPeriodActivity()
+   {
+      return periodActivity;
+   }
+
+   /**
+    * Returns the durations of the periods.
+    *
+    * @return the durations of the periods, in minutes (in the order of the periods)
+    */
+   public long[] getPeriodDuration()
+   {
+      return periodDuration;
+   }
+
+   /**
+    * Returns the identifiers of the periods.
+    *
+    * @return the identifiers of the periods (in the order of the periods)
+    */
+   public String[] getPeriodIdentifier()
+   {
+      return periodIdentifier;
+   }
+
+   /**
+    * Returns the first names of the persons.
+    *
+    * @return the first names of the persons (in the order of the persons)
+    */
+   public String[] getPersonFirstName()
+   {
+      return personFirstName;
+   }
+
+   /**
+    * Returns the identifiers of the persons.
+    *
+    * @return the identifiers of the persons (in the order of the persons)
+    */
+   public String[] getPersonIdentifier()
+   {
+      return personIdentifier;
+   }
+
+   /**
+    * Returns the last names of the persons.
+    *
+    * @return the last names of the persons (in the order of the persons)
+    */
+   public String[] getPersonLastName()
+   {
+      return personLastName;
+   }
+
+   /**
+    * Returns the roles of the persons.
+    *
+    * @return the roles of the persons (in the order of the persons)
+    */
+   public String[] getPersonRole()
+   {
+      return personRole;
+   }
+
+   /*
+      helper methods
+   */
+
+   private static <E> void addRow(ReferenceTable table, Collection<E> row, OrdinalIndex<E> index)
+   {
+      for (E element : row) table.add(index.getOrdinal(element));
+      table.endRow();
+   }
+
+   private void copyActivities(ScheduleSnapshot previous)
+   {
+      activityIdentifier = previous.activityIdentifier;
+      activityType = previous.activityType;
+   }
+
+   private void copyDays(ScheduleSnapshot previous)
+   {
+      dayIdentifier = previous.dayIdentifier;
+      dayStartTime = previous.dayStartTime;
+   }
+
+   private void copyPeriods(ScheduleSnapshot previous)
+   {
+      periodDuration = previous.periodDuration;
+      periodIdentifier = previous.periodIdentifier;
+   }
+
+   private void copyPersons(ScheduleSnapshot previous)
+   {
+      personFirstName = previous.personFirstName;
+      personIdentifier = previous.personIdentifier;
+      personLastName = previous.personLastName;
+      personRole = previous.personRole;
+   }
+
+   private static boolean isChanged(int changedSections, int section)
+   {
+      return (changedSections & (1 << section)) != 0;
+   }
+
+   private void takeActivities(ArrayList<Activity> activity)
+   {
+      activityIdentifier = new String[activity.size()];
+      activityType = new String[activity.size()];
+      for (int i = 0; i < activity.size(); i++)
+      {
+         activityIdentifier[i] = activity.get(i).getIdentifier();
+         activityType[i] = activity.get(i).getType();
+      }
+   }
+
+   private void takeDays(ArrayList<Day> day)
+   {
+      dayIdentifier = new String[day.size()];
+      dayStartTime = new int[day.size()];
+      for (int i = 0; i < day.size(); i++)
+      {
+         LocalTime startTime = day.get(i).getStartTime();
+         dayIdentifier[i] = day.get(i).getIdentifier();
+         dayStartTime[i] = startTime.getHour() * MINUTES_PER_HOUR + startTime.getMinute();
+      }
+   }
+
+   private void takePeriods(ArrayList<Period> period)
+   {
+      periodDuration = new long[period.size()];
+      periodIdentifier = new String[period.size()];
+      for (int i = 0; i < period.size(); i++)
+      {
+         periodDuration[i] = period.get(i).getDuration().toMinutes();
+         periodIdentifier[i] = period.get(i).getIdentifier();
+      }
+   }
+
+   private void takePersons(ArrayList<Person> person)
+   {
+      personFirstName = new String[person.size()];
+      personIdentifier = new String[person.size()];
+      personLastName = new String[person.size()];
+      personRole = new String[person.size()];
+      for (int i = 0; i < person.size(); i++)
+      {
+         personFirstName[i] = person.get(i).getFirstName();
+         personIdentifier[i] = person.get(i).getIdentifier();
+         personLastName[i] = person.get(i).getLastName();
+         personRole[i] = person.get(i).getRole();
+      }
+   }
+
+   /*
+      inner classes
+   */
+
+   /**
+    * The encoded form of one section of a snapshot in <code>BinaryScheduleFormat</code>, and its compressed block in <code>CompressedScheduleFormat</code>,
+    * each filled in when first written (possibly by several threads writing snapshots which share it).
+    */
+   static class EncodedSection
+   {
+      // instance fields
+      private byte[] block;
+      private byte[] section;
+
+      /*
+         accessors
+      */
+
+      public synchronized byte[] getBlock()
+      {
+         return block;
+      }
+
+      public synchronized byte[] getSection()
+      {
+         return section;
+      }
+
+      /*
+         mutators
+      */
+
+      public synchronized void setBlock(byte[] block)
+      {
+         this.block = block;
+      }
+
+      public synchronized void setSection(byte[] section)
+      {
+         this.section = section;
+      }
+   }
+}
@@ -0,0 +1,303 @@
+package FileStorage;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * A validator of the integrity of schedule files in the built-in formats, which checks the ordinals by which records refer to each other before they are followed.
+ * Each section is checked by its own task in the common <code>ForkJoinPool</code>, and every problem found is listed in a <code>ValidationReport</code>
+ * (instead of loading stopping at the first one).
+ * Files with broken references can still be loaded by skipping those references (see <code>readTolerantly</code>).
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ScheduleValidator
+{
+   // class variables
+   private static final int MINUTES_PER_DAY = 24 * 60;
+   private static final int MINUTES_PER_HOUR = 60;
+   private static final String[] SECTION_NAME = {"", "day", "period", "activity", "person"};
+
+   /*
+      constructors
+   */
+
+   private ScheduleValidator() { }
+
+   /*
+      helper methods
+   */
+
+   private static ArrayList<ValidationReport.Problem> checkDays(UnlinkedCycle cycle)
+   {
+      ArrayList<ValidationReport.Problem> problem = new ArrayList<ValidationReport.Problem>();
+      ArrayList<Day> day = cycle.getDay();
+      ArrayList<Period> period = cycle.getPeriod();
+      ReferenceTable dayPeriod = cycle.getDayPeriod();
+
+      for (int i = 0; i < Math.min(day.size(), dayPeriod.getRowCount()); i++)
+      {
+         HashSet<Integer> seenPeriod = new HashSet<Integer>();
+         long endMinute = day.get(i).getStartTime().getHour() * MINUTES_PER_HOUR + day.get(i).getStartTime().getMinute();
+         for (int j = dayPeriod.getRowStart(i); j < dayPeriod.getRowEnd(i); j++)
+         {
+            int ordinal = dayPeriod.get(j);
+            if (ordinal < 0 || ordinal >= period.size()) continue;
+
+            if (!seenPeriod.add(ordinal)) problem.add(new ValidationReport.Problem(ValidationReport.DUPLICATE_PERIOD, BinaryScheduleFormat.DAY_SECTION, i,
+               "Day " + (i + 1) + " (" + day.get(i).getIdentifier() + ") has period " + (ordinal + 1) + " (" + period.get(ordinal).getIdentifier() + ") more than once."));
+            endMinute += period.get(ordinal).getDuration().toMinutes();
+         }
+
+         if (endMinute > MINUTES_PER_DAY) problem.add(new ValidationReport.Problem(ValidationReport.PAST_MIDNIGHT, BinaryScheduleFormat.DAY_SECTION, i,
+            "Day " + (i + 1) + " (" + day.get(i).getIdentifier() + ") ends at " + endMinute / MINUTES_PER_HOUR + ":" + String.format("%02d", endMinute % MINUTES_PER_HOUR) + ", past midnight."));
+      }
+
+      return problem;
+   }
+
+   private static ArrayList<ValidationReport.Problem> checkIdentifiers(int section, String[] identifier)
+   {
+      ArrayList<ValidationReport.Problem> problem = new ArrayList<ValidationReport.Problem>();
+      HashMap<String, Integer> firstRecord = new HashMap<String, Integer>(identifier.length * 2);
+      for (int i = 0; i < identifier.length; i++)
+      {
+         // new entities have empty identifiers until they are edited, so those are not reported
+         if (identifier[i].isEmpty()) continue;
+
+         Integer first = firstRecord.putIfAbsent(identifier[i], i);
+         if (first != null) problem.add(new ValidationReport.Problem(ValidationReport.DUPLICATE_IDENTIFIER, section, i,
+            nameOf(section) + " " + (i + 1) + " has the same identifier (" + identifier[i] + ") as " + SECTION_NAME[section] + " " + (first + 1) + "."));
+      }
+
+      return problem;
+   }
+
+   private static ArrayList<ValidationReport.Problem> checkReferences(int section, int records, ReferenceTable table, int targetSection, int targetRecords)
+   {
+      ArrayList<ValidationReport.Problem> problem = new ArrayList<ValidationReport.Problem>();
+      if (table.getRowCount() != records) problem.add(new ValidationReport.Problem(ValidationReport.REFERENCE_OUT_OF_BOUNDS, section, -1,
+         "There are " + records + " " + SECTION_NAME[section] + " records, but " + table.getRowCount() + " lists of their " + SECTION_NAME[targetSection] + " references."));
+
+      for (int i = 0; i < table.getRowCount(); i++)
+      {
+         for (int j = table.getRowStart(i); j < table.getRowEnd(i); j++)
+         {
+            int ordinal = table.get(j);
+            if (ordinal < 0 || ordinal >= targetRecords) problem.add(new ValidationReport.Problem(ValidationReport.REFERENCE_OUT_OF_BOUNDS, section, i,
+               nameOf(section) + " " + (i + 1) + " refers to " + SECTION_NAME[targetSection] + " " + ordinal + ", but there are only " + targetRecords + " " + SECTION_NAME[targetSection] + " records (numbered from 0)."));
+         }
+      }
+
+      return problem;
+   }
+
+   private static <E> ArrayList<E> linkRow(ReferenceTable table, int row, ArrayList<E> target)
+   {
+      ArrayList<E> linked = new ArrayList<E>();
+      if (row >= table.getRowCount()) return linked;
+
+      for (int i = table.getRowStart(row); i < table.getRowEnd(row); i++)
+      {
+         int ordinal = table.get(i);
+         if (ordinal >= 0 && ordinal < target.size()) linked.add(target.get(ordinal));
+      }
+
+      return linked;
+   }
+
+   private static String nameOf(int section)
+   {
+      return Character.toUpperCase(SECTION_NAME[section].charAt(0)) + SECTION_NAME[section].substring(1);
+   }
+
+   /**
+    * Reads a schedule cycle from the specified file, skipping references to records which the file does not have (along with the lists of references of records which it does not have).
+    * Every record is kept, so edits in a journal next to the file still refer to the right records.
+    *
+    * @param file the file from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>, must be in a built-in format
+    * @return the schedule cycle which was read
+    * @throws IOException if the file cannot be read
+    * @throws RuntimeException if the contents of the file are malformed (so that the report of <code>validate</code> is not recoverable)
+    */
+   public static Cycle readTolerantly(File file) throws IOException
+   {
+      UnlinkedCycle cycle = readUnlinked(file);
+
+      for (int i = 0; i < cycle.getDay().size(); i++) cycle.getDay().get(i).setPeriod(linkRow(cycle.getDayPeriod(), i, cycle.getPeriod()));
+      for (int i = 0; i < cycle.getPeriod().size(); i++) cycle.getPeriod().get(i).setActivity(linkRow(cycle.getPeriodActivity(), i, cycle.getActivity()));
+      for (int i = 0; i < cycle.getActivity().size(); i++) cycle.getActivity().get(i).setPerson(linkRow(cycle.getActivityPerson(), i, cycle.getPerson()));
+
+      return new Cycle(cycle.getActivity(), cycle.getDay(), cycle.getPeriod(), cycle.getPerson());
+   }
+
+   private static UnlinkedCycle readUnlinked(File file) throws IOException
+   {
+      ScheduleCodec format = ScheduleCodecRegistry.detect(file);
+      if (format == ScheduleFormat.BINARY)
+      {
+         FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+         try
+         {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return BinaryScheduleFormat.readUnlinked(buffer, BinaryScheduleFormat.readSectionOffsets(buffer));
+         }
+         finally
+         {
+            channel.close();
+         }
+      }
+      if (format == ScheduleFormat.COMPRESSED)
+      {
+         int[] sectionOffset = new int[BinaryScheduleFormat.PERSON_SLOT_SECTION + 1];
+         ByteBuffer buffer = CompressedScheduleFormat.inflateSections(Files.readAllBytes(file.toPath()), sectionOffset, false);
+         return BinaryScheduleFormat.readUnlinked(buffer, sectionOffset);
+      }
+
+      Reader reader = new FileReader(file);
+      try
+      {
+         return TextScheduleFormat.readUnlinked(reader);
+      }
+      finally
+      {
+         reader.close();
+      }
+   }
+
+   /**
+    * Checks the integrity of the specified file: that every reference is within the bounds of the section it refers to, that no two records of a section have the same identifier,
+    * that no day has the same period more than once and that no day ends past midnight.
+    *
+    * @param file the file to check<br><i>pre-condition:</i> cannot be <code>null</code>, must be in a built-in format
+    * @return the report of the problems found (with a single <code>MALFORMED</code> error if the file cannot be read or decoded at all)
+    */
+   public static ValidationReport validate(File file)
+   {
+      UnlinkedCycle cycle;
+      try
+      {
+         cycle = readUnlinked(file);
+      }
+      catch (IOException | RuntimeException exception)
+      {
+         ArrayList<ValidationReport.Problem> problem = new ArrayList<ValidationReport.Problem>();
+         problem.add(new ValidationReport.Problem(ValidationReport.MALFORMED, 0, -1, "The file cannot be decoded: " + (exception.getMessage() != null ? exception.getMessage() : exception.toString())));
+         return new ValidationReport(problem);
+      }
+
+      return validate(cycle);
+   }
+
+   static ValidationReport validate(final UnlinkedCycle cycle)
+   {
+      ArrayList<Callable<ArrayList<ValidationReport.Problem>>> check = new ArrayList<Callable<ArrayList<ValidationReport.Problem>>>();
+      check.add(
+         new Callable<ArrayList<ValidationReport.Problem>>()
+         {
+            public ArrayList<ValidationReport.Problem> call()
+            {
+               return checkReferences(BinaryScheduleFormat.DAY_SECTION, cycle.getDay().size(), cycle.getDayPeriod(), BinaryScheduleFormat.PERIOD_SECTION, cycle.getPeriod().size());
+            }
+         }
+      );
+      check.add(
+         new Callable<ArrayList<ValidationReport.Problem>>()
+         {
+            public ArrayList<ValidationReport.Problem> call()
+            {
+               return checkReferences(BinaryScheduleFormat.PERIOD_SECTION, cycle.getPeriod().size(), cycle.getPeriodActivity(), BinaryScheduleFormat.ACTIVITY_SECTION, cycle.getActivity().size());
+            }
+         }
+      );
+      check.add(
+         new Callable<ArrayList<ValidationReport.Problem>>()
+         {
+            public ArrayList<ValidationReport.Problem> call()
+            {
+               return checkReferences(BinaryScheduleFormat.ACTIVITY_SECTION, cycle.getActivity().size(), cycle.getActivityPerson(), BinaryScheduleFormat.PERSON_SECTION, cycle.getPerson().size());
+            }
+         }
+      );
+      check.add(
+         new Callable<ArrayList<ValidationReport.Problem>>()
+         {
+            public ArrayList<ValidationReport.Problem> call()
+            {
+               return checkDays(cycle);
+            }
+         }
+      );
+      check.add(
+         new Callable<ArrayList<ValidationReport.Problem>>()
+         {
+            public ArrayList<ValidationReport.Problem> call()
+            {
+               String[] identifier = new String[cycle.getDay().size()];
+               for (int i = 0; i < identifier.length; i++) identifier[i] = cycle.getDay().get(i).getIdentifier();
+               return checkIdentifiers(BinaryScheduleFormat.DAY_SECTION, identifier);
+            }
+         }
+      );
+      check.add(
+         new Callable<ArrayList<ValidationReport.Problem>>()
+         {
+            public ArrayList<ValidationReport.Problem> call()
+            {
+               String[] identifier = new String[cycle.getPeriod().size()];
+               for (int i = 0; i < identifier.length; i++) identifier[i] = cycle.getPeriod().get(i).getIdentifier();
+               return checkIdentifiers(BinaryScheduleFormat.PERIOD_SECTION, identifier);
+            }
+         }
+      );
+      check.add(
+         new Callable<ArrayList<ValidationReport.Problem>>()
+         {
+            public ArrayList<ValidationReport.Problem> call()
+            {
+               String[] identifier = new String[cycle.getActivity().size()];
+               for (int i = 0; i < identifier.length; i++) identifier[i] = cycle.getActivity().get(i).getIdentifier();
+               return checkIdentifiers(BinaryScheduleFormat.ACTIVITY_SECTION, identifier);
+            }
+         }
+      );
+      check.add(
+         new Callable<ArrayList<ValidationReport.Problem>>()
+         {
+            public ArrayList<ValidationReport.Problem> call()
+            {
+               String[] identifier = new String[cycle.getPerson().size()];
+               for (int i = 0; i < identifier.length; i++) identifier[i] = cycle.getPerson().get(i).getIdentifier();
+               return checkIdentifiers(BinaryScheduleFormat.PERSON_SECTION, identifier);
+            }
+         }
+      );
+
+      ArrayList<ForkJoinTask<ArrayList<ValidationReport.Problem>>> task = new ArrayList<ForkJoinTask<ArrayList<ValidationReport.Problem>>>();
+      for (Callable<ArrayList<ValidationReport.Problem>> checkElement : check) task.add(ForkJoinPool.commonPool().submit(checkElement));
+
+      // the problems are reported in the order of the checks, however the tasks are scheduled
+      ArrayList<ValidationReport.Problem> problem = new ArrayList<ValidationReport.Problem>();
+      for (ForkJoinTask<ArrayList<ValidationReport.Problem>> taskElement : task) problem.addAll(taskElement.join());
+
+      return new ValidationReport(problem);
+   }
+}
@@ -0,0 +1,284 @@
+package FileStorage;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * A read-only view of a schedule file for looking up a few things in it, which decodes only what each lookup needs.
+ * Binary files are mapped into memory (and compressed files inflated), each section is decoded the first time it is used,
+ * and the references of one period or activity are read straight from the file instead of linking every section;
+ * files in other codecs are read in full.
+ * <br>
+ * The entities of a binary or compressed file are not linked to each other beyond the periods of each day, so the references of periods and activities are to be looked up through this view.
+ * Like <code>PersonScheduleIndex</code>, the view reflects the file as it was last written in full, so edits which are only in the journal next to it are not included.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ScheduleView
+{
+   // instance fields
+   private ArrayList<Activity> activity;
+   private OrdinalIndex<Activity> activityIndex;
+   private ByteBuffer buffer;
+   private Cycle cycle;
+   private ArrayList<Day> day;
+   private OrdinalIndex<Day> dayIndex;
+   private ArrayList<Period> period;
+   private OrdinalIndex<Period> periodIndex;
+   private ArrayList<Person> person;
+   private OrdinalIndex<Person> personIndex;
+   private int[] sectionOffset;
+
+   /*
+      constructors
+   */
+
+   private ScheduleView(ByteBuffer buffer, int[] sectionOffset)
+   {
+      this.buffer = buffer;
+      this.sectionOffset = sectionOffset;
+   }
+
+   private ScheduleView(Cycle cycle)
+   {
+      this.activity = cycle.getActivity();
+      this.cycle = cycle;
+      this.day = cycle.getDay();
+      this.period = cycle.getPeriod();
+      this.person = cycle.getPerson();
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the activities of the schedule cycle, decoding them the first time.
+    *
+    * @return the activities of the schedule cycle (with empty sets of persons if the file is binary or compressed)
+    */
+   public synchronized ArrayList<Activity> getActivity()
+   {
+      if (activity == null) activity = BinaryScheduleFormat.readActivities(buffer, sectionOffset[BinaryScheduleFormat.ACTIVITY_SECTION]);
+      return activity;
+   }
+
+   /**
+    * Returns the activity in which the specified person takes part during the specified period of the specified day.
+    * If the file has an index of the slots of each person, the slots of the person are read from it; otherwise only the persons of the activities of the period are read.
+    *
+    * @param person the person, as returned by <code>getPerson</code><br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param day the day, as returned by <code>getDay</code><br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param period the period, as returned by <code>getPeriod</code> of the day<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the activity in which the person takes part during the period of the day, or <code>null</code> if there is none
+    */
+   public synchronized Activity getActivity(Person person, Day day, Period period)
+   {
+      if (buffer == null)
+      {
+         for (Activity activityElement : period.getActivity())
+         {
+            if (activityElement.getPerson().contains(person)) return activityElement;
+         }
+
+         return null;
+      }
+
+      if (personIndex == null) personIndex = new OrdinalIndex<Person>(getPerson());
+      int personOrdinal = personIndex.getOrdinal(person);
+      if (personOrdinal == OrdinalIndex.MISSING) return null;
+
+      int slotPosition = sectionOffset[BinaryScheduleFormat.PERSON_SLOT_SECTION];
+      if (slotPosition >= 0)
+      {
+         if (dayIndex == null) dayIndex = new OrdinalIndex<Day>(getDay());
+         int dayOrdinal = dayIndex.getOrdinal(day);
+         int periodOrdinal = getPeriodIndex().getOrdinal(period);
+         int[] slot = readRow(slotPosition, personOrdinal);
+         for (int i = 0; i < slot.length; i += BinaryScheduleFormat.SLOT_LENGTH)
+         {
+            if (slot[i] == dayOrdinal && slot[i + 1] == periodOrdinal) return getActivity().get(slot[i + 2]);
+         }
+
+         return null;
+      }
+
+      int periodOrdinal = getPeriodIndex().getOrdinal(period);
+      if (periodOrdinal == OrdinalIndex.MISSING) return null;
+      for (int activityOrdinal : readRow(sectionOffset[BinaryScheduleFormat.PERIOD_ACTIVITY_SECTION], periodOrdinal))
+      {
+         for (int memberOrdinal : readRow(sectionOffset[BinaryScheduleFormat.ACTIVITY_PERSON_SECTION], activityOrdinal))
+         {
+            if (memberOrdinal == personOrdinal) return getActivity().get(activityOrdinal);
+         }
+      }
+
+      return null;
+   }
+
+   /**
+    * Returns the activities of the specified period.
+    *
+    * @param period the period, as returned by <code>getPeriod</code><br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the activities of the period, in the order of their section
+    */
+   public synchronized ArrayList<Activity> getActivityOf(Period period)
+   {
+      if (buffer == null) return inSectionOrder(period.getActivity(), activity);
+
+      ArrayList<Activity> periodActivity = new ArrayList<Activity>();
+      int periodOrdinal = getPeriodIndex().getOrdinal(period);
+      if (periodOrdinal == OrdinalIndex.MISSING) return periodActivity;
+
+      for (int activityOrdinal : readRow(sectionOffset[BinaryScheduleFormat.PERIOD_ACTIVITY_SECTION], periodOrdinal)) periodActivity.add(getActivity().get(activityOrdinal));
+      return periodActivity;
+   }
+
+   /**
+    * Returns the days of the schedule cycle with their periods, decoding them the first time.
+    *
+    * @return the days of the schedule cycle
+    */
+   public synchronized ArrayList<Day> getDay()
+   {
+      if (day == null)
+      {
+         day = BinaryScheduleFormat.readDays(buffer, sectionOffset[BinaryScheduleFormat.DAY_SECTION]);
+         BinaryScheduleFormat.linkDays(buffer, sectionOffset[BinaryScheduleFormat.DAY_PERIOD_SECTION], day, getPeriod());
+      }
+
+      return day;
+   }
+
+   /**
+    * Returns the periods of the schedule cycle, decoding them the first time.
+    *
+    * @return the periods of the schedule cycle (with empty sets of activities if the file is binary or compressed)
+    */
+   public synchronized ArrayList<Period> getPeriod()
+   {
+      if (period == null) period = BinaryScheduleFormat.readPeriods(buffer, sectionOffset[BinaryScheduleFormat.PERIOD_SECTION]);
+      return period;
+   }
+
+   private OrdinalIndex<Period> getPeriodIndex()
+   {
+      if (periodIndex == null) periodIndex = new OrdinalIndex<Period>(getPeriod());
+      return periodIndex;
+   }
+
+   /**
+    * Returns the persons of the schedule cycle, decoding them the first time.
+    *
+    * @return the persons of the schedule cycle
+    */
+   public synchronized ArrayList<Person> getPerson()
+   {
+      if (person == null) person = BinaryScheduleFormat.readPersons(buffer, sectionOffset[BinaryScheduleFormat.PERSON_SECTION]);
+      return person;
+   }
+
+   /**
+    * Returns the persons taking part in the specified activity.
+    *
+    * @param activity the activity, as returned by <code>getActivity</code><br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the persons taking part in the activity, in the order of their section
+    */
+   public synchronized ArrayList<Person> getPersonOf(Activity activity)
+   {
+      if (buffer == null) return inSectionOrder(activity.getPerson(), person);
+
+      ArrayList<Person> activityPerson = new ArrayList<Person>();
+      if (activityIndex == null) activityIndex = new OrdinalIndex<Activity>(getActivity());
+      int activityOrdinal = activityIndex.getOrdinal(activity);
+      if (activityOrdinal == OrdinalIndex.MISSING) return activityPerson;
+
+      for (int personOrdinal : readRow(sectionOffset[BinaryScheduleFormat.ACTIVITY_PERSON_SECTION], activityOrdinal)) activityPerson.add(getPerson().get(personOrdinal));
+      return activityPerson;
+   }
+
+   /**
+    * Returns whether the view decodes only what is looked up, which it does for binary and compressed files.
+    *
+    * @return <code>true</code> if the file is decoded as it is looked up; <code>false</code> if it was read in full
+    */
+   public boolean isPartial()
+   {
+      return cycle == null;
+   }
+
+   /*
+      helper methods
+   */
+
+   // the references of periods and activities are sets, so they are listed in the order in which a binary file has them
+   private static <E> ArrayList<E> inSectionOrder(Collection<E> reference, ArrayList<E> section)
+   {
+      ArrayList<E> ordered = new ArrayList<E>(reference.size());
+      for (E element : section)
+      {
+         if (reference.contains(element)) ordered.add(element);
+      }
+
+      return ordered;
+   }
+
+   /**
+    * Opens a view of the specified file, by the fastest way available for its codec.
+    *
+    * @param file the schedule file<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the view of the file
+    * @throws IOException if the file cannot be read
+    * @throws RuntimeException if the contents of the file are malformed
+    */
+   public static ScheduleView open(File file) throws IOException
+   {
+      ScheduleCodec codec = ScheduleCodecRegistry.detect(file);
+      if (codec == ScheduleFormat.BINARY)
+      {
+         FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+         try
+         {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ScheduleView(buffer, BinaryScheduleFormat.readSectionOffsets(buffer));
+         }
+         finally
+         {
+            channel.close();
+         }
+      }
+      if (codec == ScheduleFormat.COMPRESSED)
+      {
+         int[] sectionOffset = new int[BinaryScheduleFormat.PERSON_SLOT_SECTION + 1];
+         ByteBuffer buffer = CompressedScheduleFormat.inflateSections(Files.readAllBytes(file.toPath()), sectionOffset, true);
+         return new ScheduleView(buffer, sectionOffset);
+      }
+
+      return new ScheduleView(codec.read(file));
+   }
+
+   private int[] readRow(int position, int row)
+   {
+      int rows = buffer.getInt(position);
+      int values = position + 8 + rows * 4;
+      int from = buffer.getInt(position + 4 + row * 4);
+      int to = buffer.getInt(position + 8 + row * 4);
+
+      int[] value = new int[to - from];
+      for (int i = 0; i < value.length; i++) value[i] = buffer.getInt(values + (from + i) * 4);
+
+      return value;
+   }
+}
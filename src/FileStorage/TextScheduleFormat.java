@@ -0,0 +1,576 @@
+package FileStorage;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * The line-based text format in which schedule cycles are stored.
+ * A file consists of four sections (days, periods, activities and persons), each being a line with the number of records followed by one line per record.
+ * Records refer to each other by their ordinal within their section.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class TextScheduleFormat
+{
+   // class variables
+   /**
+    * Separator between the fields of a record.
+    */
+   public static final String FIELDS_SEPARATOR = "|:|";
+
+   /**
+    * Separator between the elements of a list field of a record.
+    */
+   public static final String LIST_SEPARATOR = ",";
+
+   private static final int MINUTES_PER_HOUR = 60;
+
+   /*
+      constructors
+   */
+
+   private TextScheduleFormat() { }
+
+   /*
+      helper methods
+   */
+
+   private static void linkActivities(Section<Activity> activity, ArrayList<Person> person)
+   {
+      for (int i = 0; i < activity.element.size(); i++)
+      {
+         ArrayList<Person> personList = new ArrayList<Person>(activity.reference.getRowEnd(i) - activity.reference.getRowStart(i));
+         for (int j = activity.reference.getRowStart(i); j < activity.reference.getRowEnd(i); j++) personList.add(person.get(activity.reference.get(j)));
+         activity.element.get(i).setPerson(personList);
+      }
+   }
+
+   private static void linkDays(Section<Day> day, ArrayList<Period> period)
+   {
+      for (int i = 0; i < day.element.size(); i++)
+      {
+         ArrayList<Period> periodList = new ArrayList<Period>(day.reference.getRowEnd(i) - day.reference.getRowStart(i));
+         for (int j = day.reference.getRowStart(i); j < day.reference.getRowEnd(i); j++) periodList.add(period.get(day.reference.get(j)));
+         day.element.get(i).setPeriod(periodList);
+      }
+   }
+
+   private static void linkPeriods(Section<Period> period, ArrayList<Activity> activity)
+   {
+      for (int i = 0; i < period.element.size(); i++)
+      {
+         ArrayList<Activity> activityList = new ArrayList<Activity>(period.reference.getRowEnd(i) - period.reference.getRowStart(i));
+         for (int j = period.reference.getRowStart(i); j < period.reference.getRowEnd(i); j++) activityList.add(activity.get(period.reference.get(j)));
+         period.element.get(i).setActivity(activityList);
+      }
+   }
+
+   /**
+    * Reads a schedule cycle from the specified reader.
+    * The contents are tokenized a character at a time straight into primitive buffers, so no intermediate strings or boxed integers are created.
+    *
+    * @param reader the reader from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the schedule cycle which was read
+    * @throws IOException if the reader fails
+    * @throws RuntimeException if the contents of the reader are malformed
+    */
+   public static Cycle read(Reader reader) throws IOException
+   {
+      Tokenizer tokenizer = new Tokenizer(reader);
+
+      Section<Day> day = readDays(tokenizer);
+      Section<Period> period = readPeriods(tokenizer);
+      Section<Activity> activity = readActivities(tokenizer);
+      Section<Person> person = readPersons(tokenizer);
+
+      linkDays(day, period.element);
+      linkPeriods(period, activity.element);
+      linkActivities(activity, person.element);
+
+      return new Cycle(activity.element, day.element, period.element, person.element);
+   }
+
+   private static Section<Activity> readActivities(Tokenizer tokenizer) throws IOException
+   {
+      tokenizer.nextLine();
+      Section<Activity> activity = new Section<Activity>(tokenizer.intField());
+      for (int i = 0; i < activity.size; i++)
+      {
+         tokenizer.nextLine();
+         String identifier = tokenizer.field();
+         activity.element.add(new Activity(identifier, tokenizer.field()));
+
+         tokenizer.intListField(activity.reference);
+      }
+
+      return activity;
+   }
+
+   private static Section<Day> readDays(Tokenizer tokenizer) throws IOException
+   {
+      tokenizer.nextLine();
+      Section<Day> day = new Section<Day>(tokenizer.intField());
+      for (int i = 0; i < day.size; i++)
+      {
+         tokenizer.nextLine();
+         String identifier = tokenizer.field();
+         int hour = tokenizer.intField();
+         int minute = tokenizer.intField();
+         day.element.add(new Day(identifier, LocalTime.of(hour, minute)));
+
+         tokenizer.intListField(day.reference);
+      }
+
+      return day;
+   }
+
+   /**
+    * Reads a schedule cycle from the specified reader, parsing its sections in parallel.
+    * The whole contents are read into memory and the boundaries of the sections are found by counting lines.
+    * Each section is then parsed by its own task in the common <code>ForkJoinPool</code>, after which the sections are linked (also in parallel).
+    * The resulting schedule cycle is the same as that of <code>read</code>.
+    *
+    * @param reader the reader from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param sizeHint the expected number of characters in the reader (used to size the buffer)
+    * @return the schedule cycle which was read
+    * @throws IOException if the reader fails
+    * @throws RuntimeException if the contents of the reader are malformed
+    */
+   public static Cycle readParallel(Reader reader, long sizeHint) throws IOException
+   {
+      char[] content = new char[(int) Math.max(1, Math.min(sizeHint + 1, Integer.MAX_VALUE - 8))];
+      int length = 0;
+      int read;
+      while ((read = reader.read(content, length, content.length - length)) != -1)
+      {
+         length += read;
+         if (length == content.length) content = Arrays.copyOf(content, (int) Math.min(content.length * 2L, Integer.MAX_VALUE - 8));
+      }
+
+      final char[] finalContent = content;
+      final int[] boundary = new int[5];
+      Tokenizer scanner = new Tokenizer(content, 0, length);
+      for (int i = 0; i < 4; i++)
+      {
+         boundary[i] = scanner.getPosition();
+         scanner.nextLine();
+         int count = scanner.intField();
+         for (int j = 0; j < count; j++) scanner.nextLine();
+      }
+      boundary[4] = scanner.getPosition();
+
+      ForkJoinPool pool = ForkJoinPool.commonPool();
+      ForkJoinTask<Section<Day>> dayTask = pool.submit(
+         new Callable<Section<Day>>()
+         {
+            public Section<Day> call() throws IOException
+            {
+               return readDays(new Tokenizer(finalContent, boundary[0], boundary[1]));
+            }
+         }
+      );
+      ForkJoinTask<Section<Period>> periodTask = pool.submit(
+         new Callable<Section<Period>>()
+         {
+            public Section<Period> call() throws IOException
+            {
+               return readPeriods(new Tokenizer(finalContent, boundary[1], boundary[2]));
+            }
+         }
+      );
+      ForkJoinTask<Section<Activity>> activityTask = pool.submit(
+         new Callable<Section<Activity>>()
+         {
+            public Section<Activity> call() throws IOException
+            {
+               return readActivities(new Tokenizer(finalContent, boundary[2], boundary[3]));
+            }
+         }
+      );
+      final Section<Person> person = readPersons(new Tokenizer(content, boundary[3], boundary[4]));
+      final Section<Day> day = dayTask.join();
+      final Section<Period> period = periodTask.join();
+      final Section<Activity> activity = activityTask.join();
+
+      ForkJoinTask<?> dayLinkTask = pool.submit(
+         new Runnable()
+         {
+            public void run()
+            {
+               linkDays(day, period.element);
+            }
+         }
+      );
+      ForkJoinTask<?> periodLinkTask = pool.submit(
+         new Runnable()
+         {
+            public void run()
+            {
+               linkPeriods(period, activity.element);
+            }
+         }
+      );
+      linkActivities(activity, person.element);
+      dayLinkTask.join();
+      periodLinkTask.join();
+
+      return new Cycle(activity.element, day.element, period.element, person.element);
+   }
+
+   private static Section<Period> readPeriods(Tokenizer tokenizer) throws IOException
+   {
+      tokenizer.nextLine();
+      Section<Period> period = new Section<Period>(tokenizer.intField());
+      for (int i = 0; i < period.size; i++)
+      {
+         tokenizer.nextLine();
+         String identifier = tokenizer.field();
+         period.element.add(new Period(Duration.ofMinutes(tokenizer.longField()), identifier));
+
+         tokenizer.intListField(period.reference);
+      }
+
+      return period;
+   }
+
+   private static Section<Person> readPersons(Tokenizer tokenizer) throws IOException
+   {
+      tokenizer.nextLine();
+      Section<Person> person = new Section<Person>(tokenizer.intField());
+      for (int i = 0; i < person.size; i++)
+      {
+         tokenizer.nextLine();
+         String identifier = tokenizer.field();
+         String firstName = tokenizer.field();
+         String lastName = tokenizer.field();
+         person.element.add(new Person(firstName, identifier, lastName, tokenizer.field()));
+      }
+
+      return person;
+   }
+
+   /**
+    * Reads the sections of a schedule cycle from the specified reader without linking them, so that their references can be checked first.
+    *
+    * @param reader the reader from which the schedule cycle is to be read<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the unlinked schedule cycle which was read
+    * @throws IOException if the reader fails
+    * @throws RuntimeException if the contents of the reader are malformed
+    */
+   static UnlinkedCycle readUnlinked(Reader reader) throws IOException
+   {
+      Tokenizer tokenizer = new Tokenizer(reader);
+
+      Section<Day> day = readDays(tokenizer);
+      Section<Period> period = readPeriods(tokenizer);
+      Section<Activity> activity = readActivities(tokenizer);
+      Section<Person> person = readPersons(tokenizer);
+
+      return new UnlinkedCycle(activity.element, activity.reference, day.element, day.reference, period.element, period.reference, person.element);
+   }
+
+   /**
+    * Writes the specified schedule cycle to the specified writer.
+    *
+    * @param writer the writer to which the schedule cycle is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param cycle the schedule cycle to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the writer fails
+    */
+   public static void write(Writer writer, Cycle cycle) throws IOException
+   {
+      write(writer, new ScheduleSnapshot(cycle));
+   }
+
+   /**
+    * Writes the specified snapshot of a schedule cycle to the specified writer.
+    * References have already been resolved to ordinals when the snapshot was taken, so writing takes time linear in the size of the output.
+    *
+    * @param writer the writer to which the snapshot is to be written<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param snapshot the snapshot to write<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @throws IOException if the writer fails
+    */
+   public static void write(Writer writer, ScheduleSnapshot snapshot) throws IOException
+   {
+      String[] dayIdentifier = snapshot.getDayIdentifier();
+      writeLine(writer, String.valueOf(dayIdentifier.length));
+      for (int i = 0; i < dayIdentifier.length; i++)
+      {
+         writer.write(dayIdentifier[i]);
+         writer.write(FIELDS_SEPARATOR);
+         writer.write(String.valueOf(snapshot.getDayStartTime()[i] / MINUTES_PER_HOUR));
+         writer.write(FIELDS_SEPARATOR);
+         writer.write(String.valueOf(snapshot.getDayStartTime()[i] % MINUTES_PER_HOUR));
+         writer.write(FIELDS_SEPARATOR);
+         writeOrdinalList(writer, snapshot.getDayPeriod(), i);
+         writeLine(writer, "");
+      }
+
+      String[] periodIdentifier = snapshot.getPeriodIdentifier();
+      writeLine(writer, String.valueOf(periodIdentifier.length));
+      for (int i = 0; i < periodIdentifier.length; i++)
+      {
+         writer.write(periodIdentifier[i]);
+         writer.write(FIELDS_SEPARATOR);
+         writer.write(String.valueOf(snapshot.getPeriodDuration()[i]));
+         writer.write(FIELDS_SEPARATOR);
+         writeOrdinalList(writer, snapshot.getPeriodActivity(), i);
+         writeLine(writer, "");
+      }
+
+      String[] activityIdentifier = snapshot.getActivityIdentifier();
+      writeLine(writer, String.valueOf(activityIdentifier.length));
+      for (int i = 0; i < activityIdentifier.length; i++)
+      {
+         writer.write(activityIdentifier[i]);
+         writer.write(FIELDS_SEPARATOR);
+         writer.write(snapshot.getActivityType()[i]);
+         writer.write(FIELDS_SEPARATOR);
+         writeOrdinalList(writer, snapshot.getActivityPerson(), i);
+         writeLine(writer, "");
+      }
+
+      String[] personIdentifier = snapshot.getPersonIdentifier();
+      writeLine(writer, String.valueOf(personIdentifier.length));
+      for (int i = 0; i < personIdentifier.length; i++)
+      {
+         writer.write(personIdentifier[i]);
+         writer.write(FIELDS_SEPARATOR);
+         writer.write(snapshot.getPersonFirstName()[i]);
+         writer.write(FIELDS_SEPARATOR);
+         writer.write(snapshot.getPersonLastName()[i]);
+         writer.write(FIELDS_SEPARATOR);
+         writeLine(writer, snapshot.getPersonRole()[i]);
+      }
+   }
+
+   private static void writeLine(Writer writer, String line) throws IOException
+   {
+      writer.write(line);
+      writer.write(System.lineSeparator());
+   }
+
+   private static void writeOrdinalList(Writer writer, ReferenceTable table, int row) throws IOException
+   {
+      for (int i = table.getRowStart(row); i < table.getRowEnd(row); i++)
+      {
+         if (i != table.getRowStart(row)) writer.write(LIST_SEPARATOR);
+         writer.write(String.valueOf(table.get(i)));
+      }
+   }
+
+   /*
+      inner classes
+   */
+
+   private static class Section<E>
+   {
+      // instance fields
+      private ArrayList<E> element;
+      private ReferenceTable reference;
+      private int size;
+
+      /*
+         constructors
+      */
+
+      public Section(int size)
+      {
+         this.element = new ArrayList<E>(Math.max(size, 0));
+         this.reference = new ReferenceTable();
+         this.size = size;
+      }
+   }
+
+   private static class Tokenizer
+   {
+      // class variables
+      private static final int BUFFER_SIZE = 1 << 16;
+
+      // instance fields
+      private char[] buffer;
+      private int cursor;
+      private int limit;
+      private int lineEnd;
+      private int position;
+      private Reader reader;
+
+      /*
+         constructors
+      */
+
+      public Tokenizer(Reader reader)
+      {
+         this.buffer = new char[BUFFER_SIZE];
+         this.reader = reader;
+      }
+
+      public Tokenizer(char[] buffer, int fromIndex, int toIndex)
+      {
+         this.buffer = buffer;
+         this.limit = toIndex;
+         this.position = fromIndex;
+         this.reader = null;
+      }
+
+      /*
+         accessors
+      */
+
+      public int getPosition()
+      {
+         return position;
+      }
+
+      /*
+         helper methods
+      */
+
+      public String field()
+      {
+         int end = separatorFrom(cursor);
+         String field = new String(buffer, cursor, end - cursor);
+         skipSeparator(end);
+
+         return field;
+      }
+
+      private boolean fill() throws IOException
+      {
+         if (reader == null) return false;
+
+         if (position > 0)
+         {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            position = 0;
+         }
+         if (limit == buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+
+         int read = reader.read(buffer, limit, buffer.length - limit);
+         if (read == -1)
+         {
+            reader = null;
+            return false;
+         }
+
+         limit += read;
+         return true;
+      }
+
+      public int intField()
+      {
+         return toInt(longField());
+      }
+
+      public void intListField(ReferenceTable table)
+      {
+         int end = separatorFrom(cursor);
+         while (cursor < end)
+         {
+            table.add(toInt(parseLong(cursor, end)));
+
+            if (cursor < end && buffer[cursor] != LIST_SEPARATOR.charAt(0)) throw new NumberFormatException("Malformed number.");
+            cursor++;
+         }
+         skipSeparator(end);
+
+         table.endRow();
+      }
+
+      public long longField()
+      {
+         int end = separatorFrom(cursor);
+         long value = parseLong(cursor, end);
+         if (cursor != end) throw new NumberFormatException("Malformed number.");
+         skipSeparator(end);
+
+         return value;
+      }
+
+      public void nextLine() throws IOException
+      {
+         int scanned = 0;
+         int end;
+         while (true)
+         {
+            end = position + scanned;
+            while (end < limit && buffer[end] != '\n' && buffer[end] != '\r') end++;
+            if ((end < limit && (buffer[end] == '\n' || end + 1 < limit)) || reader == null) break;
+
+            scanned = end - position;
+            fill();
+         }
+         if (position == limit) throw new IllegalArgumentException("Unexpected end of file.");
+
+         cursor = position;
+         lineEnd = end;
+
+         position = end;
+         if (position < limit && buffer[position] == '\r') position++;
+         if (position < limit && buffer[position] == '\n' && (position == end || buffer[end] == '\r')) position++;
+      }
+
+      private long parseLong(int from, int to)
+      {
+         int index = from;
+         boolean isNegative = false;
+         if (index < to && (buffer[index] == '-' || buffer[index] == '+'))
+         {
+            isNegative = buffer[index] == '-';
+            index++;
+         }
+         if (index == to || buffer[index] < '0' || buffer[index] > '9') throw new NumberFormatException("Malformed number.");
+
+         long value = 0;
+         while (index < to && buffer[index] >= '0' && buffer[index] <= '9')
+         {
+            int digit = buffer[index] - '0';
+            if (value > (Long.MAX_VALUE - digit) / 10) throw new NumberFormatException("Number out of range.");
+            value = value * 10 + digit;
+            index++;
+         }
+
+         cursor = index;
+         return isNegative ? -value : value;
+      }
+
+      private int separatorFrom(int from)
+      {
+         if (from > lineEnd) throw new IllegalArgumentException("Missing field on line.");
+
+         int last = lineEnd - FIELDS_SEPARATOR.length();
+         for (int i = from; i <= last; i++)
+         {
+            if (buffer[i] == '|' && buffer[i + 1] == ':' && buffer[i + 2] == '|') return i;
+         }
+
+         return lineEnd;
+      }
+
+      private void skipSeparator(int end)
+      {
+         cursor = end == lineEnd ? lineEnd + 1 : end + FIELDS_SEPARATOR.length();
+      }
+
+      private int toInt(long value)
+      {
+         if (value != (int) value) throw new NumberFormatException("Number out of range.");
+
+         return (int) value;
+      }
+   }
+}
@@ -0,0 +1,92 @@
+package FileStorage;
+
+import java.util.ArrayList;
+import Schedule.Activity;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * The sections of a schedule cycle as they are decoded from a file, before they are linked: the entities of each section,
+ * and the ordinals by which each day refers to its periods, each period to its activities and each activity to its persons.
+ * Ordinals are kept as they are in the file, so they can be checked before they are followed (see <code>ScheduleValidator</code>).
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+class UnlinkedCycle
+{
+   // instance fields
+   private ArrayList<Activity> activity;
+   private ReferenceTable activityPerson;
+   private ArrayList<Day> day;
+   private ReferenceTable dayPeriod;
+   private ArrayList<Period> period;
+   private ReferenceTable periodActivity;
+   private ArrayList<Person> person;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs an unlinked schedule cycle from the specified sections.
+    *
+    * @param activity the activities<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param activityPerson the ordinals of the persons of each activity<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param day the days<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param dayPeriod the ordinals of the periods of each day<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param period the periods<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param periodActivity the ordinals of the activities of each period<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param person the persons<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public UnlinkedCycle(ArrayList<Activity> activity, ReferenceTable activityPerson, ArrayList<Day> day, ReferenceTable dayPeriod, ArrayList<Period> period, ReferenceTable periodActivity, ArrayList<Person> person)
+   {
+      this.activity = activity;
+      this.activityPerson = activityPerson;
+      this.day = day;
+      this.dayPeriod = dayPeriod;
+      this.period = period;
+      this.periodActivity = periodActivity;
+      this.person = person;
+   }
+
+   /*
+      accessors
+   */
+
+   public ArrayList<Activity> getActivity()
+   {
+      return activity;
+   }
+
+   public ReferenceTable getActivityPerson()
+   {
+      return activityPerson;
+   }
+
+   public ArrayList<Day> getDay()
+   {
+      return day;
+   }
+
+   public ReferenceTable getDayPeriod()
+   {
+      return dayPeriod;
+   }
+
+   public ArrayList<Period> getPeriod()
+   {
+      return period;
+   }
+
+   public ReferenceTable getPeriodActivity()
+   {
+      return periodActivity;
+   }
+
+   public ArrayList<Person> getPerson()
+   {
+      return person;
+   }
+}
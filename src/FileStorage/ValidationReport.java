@@ -0,0 +1,236 @@
+package FileStorage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The problems found by <code>ScheduleValidator</code> in a schedule file.
+ * Errors (malformed contents and references out of bounds) stop the file from being loaded as it is;
+ * warnings (duplicate identifiers, periods which a day has more than once and days which end past midnight) do not.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ValidationReport
+{
+   // class variables
+   /**
+    * Kind of error in which the contents of a file cannot be decoded at all.
+    */
+   public static final int MALFORMED = 1;
+
+   /**
+    * Kind of error in which a record refers to an ordinal outside of the section it refers to.
+    */
+   public static final int REFERENCE_OUT_OF_BOUNDS = 2;
+
+   /**
+    * Kind of warning in which a record has the same identifier as an earlier record of its section.
+    */
+   public static final int DUPLICATE_IDENTIFIER = 3;
+
+   /**
+    * Kind of warning in which a day has the same period more than once.
+    */
+   public static final int DUPLICATE_PERIOD = 4;
+
+   /**
+    * Kind of warning in which the periods of a day end past midnight.
+    */
+   public static final int PAST_MIDNIGHT = 5;
+
+   // instance fields
+   private ArrayList<Problem> problem;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs a report of the specified problems.
+    *
+    * @param problem the problems which were found (in the order in which they are to be reported)<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public ValidationReport(List<Problem> problem)
+   {
+      this.problem = new ArrayList<Problem>(problem);
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the number of problems which are errors.
+    *
+    * @return the number of problems which are errors
+    */
+   public int getErrorCount()
+   {
+      int errors = 0;
+      for (Problem problemElement : problem)
+      {
+         if (problemElement.isError()) errors++;
+      }
+
+      return errors;
+   }
+
+   /**
+    * Returns the problems which were found.
+    *
+    * @return an unmodifiable list of the problems which were found
+    */
+   public List<Problem> getProblems()
+   {
+      return Collections.unmodifiableList(problem);
+   }
+
+   /**
+    * Returns whether any problem is an error.
+    *
+    * @return <code>true</code> if any problem is an error; <code>false</code> otherwise
+    */
+   public boolean hasErrors()
+   {
+      return getErrorCount() > 0;
+   }
+
+   /**
+    * Returns whether the file can be loaded by skipping its broken references (as per <code>ScheduleValidator.readTolerantly</code>), which it cannot if it is malformed.
+    *
+    * @return <code>true</code> if the file can be loaded by skipping its broken references; <code>false</code> otherwise
+    */
+   public boolean isRecoverable()
+   {
+      for (Problem problemElement : problem)
+      {
+         if (problemElement.getKind() == MALFORMED) return false;
+      }
+
+      return true;
+   }
+
+   /**
+    * Returns a summary of the report, followed by each problem on its own line (up to the specified number of problems).
+    *
+    * @param maximumProblems the maximum number of problems to list
+    * @return a summary of the report
+    */
+   public String toString(int maximumProblems)
+   {
+      StringBuilder summary = new StringBuilder();
+      summary.append(getErrorCount() + " errors and " + (problem.size() - getErrorCount()) + " warnings.");
+      for (int i = 0; i < Math.min(problem.size(), maximumProblems); i++) summary.append("\n" + problem.get(i));
+      if (problem.size() > maximumProblems) summary.append("\n(" + (problem.size() - maximumProblems) + " more)");
+
+      return summary.toString();
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public String toString()
+   {
+      return toString(problem.size());
+   }
+
+   /*
+      inner classes
+   */
+
+   /**
+    * A problem with one record of a schedule file.
+    */
+   public static class Problem
+   {
+      // instance fields
+      private int kind;
+      private String message;
+      private int record;
+      private int section;
+
+      /*
+         constructors
+      */
+
+      /**
+       * Constructs a problem.
+       *
+       * @param kind the kind of the problem (one of the kinds of <code>ValidationReport</code>)
+       * @param section the section identifier of <code>BinaryScheduleFormat</code> of the record, or <code>0</code> if the problem is not with one section
+       * @param record the ordinal of the record within its section, or <code>-1</code> if the problem is not with one record
+       * @param message a human-readable description of the problem<br><i>pre-condition:</i> cannot be <code>null</code>
+       */
+      public Problem(int kind, int section, int record, String message)
+      {
+         this.kind = kind;
+         this.message = message;
+         this.record = record;
+         this.section = section;
+      }
+
+      /*
+         accessors
+      */
+
+      /**
+       * Returns the kind of this problem.
+       *
+       * @return the kind of this problem (one of the kinds of <code>ValidationReport</code>)
+       */
+      public int getKind()
+      {
+         return kind;
+      }
+
+      /**
+       * Returns a human-readable description of this problem.
+       *
+       * @return a human-readable description of this problem
+       */
+      public String getMessage()
+      {
+         return message;
+      }
+
+      /**
+       * Returns the ordinal of the record with this problem within its section.
+       *
+       * @return the ordinal of the record, or <code>-1</code> if the problem is not with one record
+       */
+      public int getRecord()
+      {
+         return record;
+      }
+
+      /**
+       * Returns the section of the record with this problem.
+       *
+       * @return the section identifier of <code>BinaryScheduleFormat</code>, or <code>0</code> if the problem is not with one section
+       */
+      public int getSection()
+      {
+         return section;
+      }
+
+      /**
+       * Returns whether this problem is an error, which stops the file from being loaded as it is.
+       *
+       * @return <code>true</code> if this problem is an error; <code>false</code> if it is a warning
+       */
+      public boolean isError()
+      {
+         return kind == MALFORMED || kind == REFERENCE_OUT_OF_BOUNDS;
+      }
+
+      /**
+       * {@inheritDoc}
+       */
+      public String toString()
+      {
+         return (isError() ? "Error: " : "Warning: ") + message;
+      }
+   }
+}
@@ -11,20 +11,40 @@ import java.awt.event.KeyEvent;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.text.DateFormat;
 import java.time.Duration;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
-import java.util.StringJoiner;
-import java.util.regex.Pattern;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.prefs.Preferences;
 import javax.swing.BorderFactory;
 import javax.swing.BoxLayout;
 import javax.swing.ImageIcon;
 import javax.swing.JButton;
+import javax.swing.JCheckBoxMenuItem;
 import javax.swing.JFileChooser;
 import javax.swing.JFrame;
 import javax.swing.JLabel;
@@ -40,15 +60,33 @@ import javax.swing.JTextField;
 import javax.swing.KeyStroke;
 import javax.swing.ListSelectionModel;
 import javax.swing.SpinnerNumberModel;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
 import javax.swing.event.ListDataEvent;
 import javax.swing.event.ListDataListener;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.filechooser.FileNameExtensionFilter;
+import FileStorage.BinaryScheduleFormat;
+import FileStorage.ColumnarCycle;
+import FileStorage.CsvImporter;
+import FileStorage.Edit;
+import FileStorage.EditJournal;
+import FileStorage.LazyCycle;
+import FileStorage.OrdinalIndex;
+import FileStorage.ScheduleCodec;
+import FileStorage.ScheduleCodecRegistry;
+import FileStorage.ScheduleFormat;
+import FileStorage.ScheduleMerge;
+import FileStorage.ScheduleSnapshot;
+import FileStorage.ScheduleValidator;
+import FileStorage.ValidationReport;
 import Schedule.Activity;
+import Schedule.Cycle;
 import Schedule.Day;
 import Schedule.Period;
 import Schedule.Person;
+import Schedule.Timetable;
 
 /**
  * A graphical user interface for managing schedules.
@@ -60,9 +98,16 @@ import Schedule.Person;
 public class MainFrame extends JFrame
 {
    // class variables
+   private static final File AUTOSAVE_DIRECTORY = new File(System.getProperty("user.home"), ".ScheduleManager" + File.separator + "recovery");
+   private static final int DEFAULT_AUTOSAVE_EDIT_COUNT = 50;
+   private static final int DEFAULT_AUTOSAVE_INTERVAL = 5;
    private static final char ELLIPSIS = '\u2026';
-   private static final String FILE_FORMAT = "scdl";
    private static final String ICON_FILE = "icon.png";
+   private static final long JOURNAL_COMPACTION_THRESHOLD = 1 << 20;
+   private static final String LOCK_EXTENSION = "lock";
+   private static final int MAXIMUM_REPORTED_PROBLEMS = 20;
+   private static final int MILLISECONDS_PER_MINUTE = 60 * 1000;
+   private static final int RELOAD_DELAY = 500;
    private static final int SECTION_LIST_ROW_COUNT = 50;
    private static final int SECTION_PANEL_PADDING = 5;
    private static final int SCHEDULE_PANEL_VERTICAL_GAP = 15;
@@ -73,15 +118,42 @@ public class MainFrame extends JFrame
    // instance fields
    private ActivitiesPanel activitiesPanel;
    private ArrayListModel<Activity> activity;
+   private int autosaveEditCount;
+   private int autosaveInterval;
+   private Timer autosaveTimer;
+   private SwingWorker<Void, Void> autosaving;
+   private int changeCount;
+   private int changedSections;
+   private SwingWorker<Void, Void> compaction;
    private File currentFile;
+   private ScheduleCodec currentFormat;
    private ArrayListModel<Day> day;
    private DaysPanel daysPanel;
+   private int editsSinceAutosave;
    private FileManager fileManager;
+   private FileWatcher fileWatcher;
+   private boolean hasAutosaveFailed;
    private boolean hasChanged;
+   private boolean isJournalMode;
+   private boolean isPersonIndexed;
+   private boolean isSavePending;
+   private boolean isWatchMode;
+   private EditJournal journal;
+   private LazyCycle lazyCycle;
+   private SwingWorker<ScheduleMerge, Void> merging;
    private ArrayListModel<Period> period;
    private PeriodsPanel periodsPanel;
    private ArrayListModel<Person> person;
    private PersonsPanel personsPanel;
+   private File recoveryFile;
+   private FileLock recoveryLock;
+   private SwingWorker<Cycle, Void> reloading;
+   private Timer reloadTimer;
+   private SaveWorker saving;
+   private ScheduleSnapshot snapshot;
+   private HashMap<File, FileLock> staleRecoveryFile;
+   private long watchedLength;
+   private long watchedModified;
 
    /*
       constructors
@@ -95,6 +167,33 @@ public class MainFrame extends JFrame
       super();
 
       fileManager = new FileManager();
+      lockRecoveryFile();
+      autosaveTimer = new Timer(MILLISECONDS_PER_MINUTE,
+         new ActionListener()
+         {
+            public void actionPerformed(ActionEvent event)
+            {
+               if (editsSinceAutosave > 0) autosave();
+            }
+         }
+      );
+
+      // bursts of changes to the watched file (such as a script writing it in several steps) are reloaded once they settle
+      reloadTimer = new Timer(RELOAD_DELAY,
+         new ActionListener()
+         {
+            public void actionPerformed(ActionEvent event)
+            {
+               reloadIfChanged();
+            }
+         }
+      );
+      reloadTimer.setRepeats(false);
+
+      Preferences preferences = Preferences.userNodeForPackage(MainFrame.class);
+      setAutosave(preferences.getInt("autosaveInterval", DEFAULT_AUTOSAVE_INTERVAL), preferences.getInt("autosaveEditCount", DEFAULT_AUTOSAVE_EDIT_COUNT));
+      isPersonIndexed = preferences.getBoolean("isPersonIndexed", false);
+      isWatchMode = preferences.getBoolean("isWatchMode", false);
 
       setTitle(TITLE);
       getClass().getClassLoader().getResource(ICON_FILE);
@@ -134,15 +233,30 @@ public class MainFrame extends JFrame
 
       setHasChanged(false);
       createNew();
+      offerToRestore();
    }
 
    /*
       mutators
    */
 
+   private void setAutosave(int autosaveInterval, int autosaveEditCount)
+   {
+      this.autosaveEditCount = autosaveEditCount;
+      this.autosaveInterval = autosaveInterval;
+
+      autosaveTimer.stop();
+      if (autosaveInterval > 0)
+      {
+         autosaveTimer.setDelay(autosaveInterval * MILLISECONDS_PER_MINUTE);
+         autosaveTimer.start();
+      }
+   }
+
    private void setHasChanged(boolean hasChanged)
    {
       this.hasChanged = hasChanged;
+      if (hasChanged) changeCount++;
       updateTitle();
    }
 
@@ -161,9 +275,153 @@ public class MainFrame extends JFrame
       JOptionPane.showMessageDialog(this, aboutPanel, "About", JOptionPane.INFORMATION_MESSAGE);
    }
 
+   private void applyExternalChanges(Cycle loaded, ScheduleCodec format)
+   {
+      // the journal no longer applies to the file, so the next save rewrites it in full
+      closeJournal();
+      if (hasChanged && !promptToReload()) return;
+      if (!ensureMaterialized()) return;
+
+      changedSections |= reconcileCycle(loaded);
+
+      currentFormat = format;
+      setHasChanged(false);
+      discardRecoveryFile();
+   }
+
+   private void autosave()
+   {
+      if (autosaving != null || !ensureMaterialized()) return;
+
+      final ScheduleSnapshot autosaveSnapshot = takeSnapshot();
+      editsSinceAutosave = 0;
+
+      autosaving = new SwingWorker<Void, Void>()
+      {
+         protected Void doInBackground() throws Exception
+         {
+            AUTOSAVE_DIRECTORY.mkdirs();
+            ScheduleFormat.BINARY.write(recoveryFile, autosaveSnapshot);
+            return null;
+         }
+
+         protected void done()
+         {
+            if (autosaving == this) autosaving = null;
+
+            try
+            {
+               get();
+               hasAutosaveFailed = false;
+               releaseStaleRecoveryFiles(true);
+            }
+            catch (Exception exception)
+            {
+               // reported once until an autosave succeeds again, rather than after every edit
+               if (!hasAutosaveFailed) showError("Failed to autosave to " + recoveryFile + ". Changes will not be recoverable if the program quits unexpectedly.");
+               hasAutosaveFailed = true;
+            }
+         }
+      };
+      autosaving.execute();
+   }
+
+   private void closeJournal()
+   {
+      if (journal == null) return;
+
+      waitForCompaction();
+      try
+      {
+         journal.close();
+      }
+      catch (Exception exception) { }
+      journal = null;
+   }
+
+   private boolean commitJournal()
+   {
+      try
+      {
+         journal.commit();
+         if (compaction == null && journal.length() >= JOURNAL_COMPACTION_THRESHOLD) compactJournal();
+      }
+      catch (Exception exception)
+      {
+         return false;
+      }
+
+      return true;
+   }
+
+   private void compactJournal() throws Exception
+   {
+      final EditJournal compactedJournal = journal;
+      final ScheduleCodec format = currentFormat;
+      final boolean isIndexed = isPersonIndexed;
+      final ScheduleSnapshot snapshot = takeSnapshot();
+      final long offset = journal.length();
+
+      compaction = new SwingWorker<Void, Void>()
+      {
+         protected Void doInBackground() throws Exception
+         {
+            compactedJournal.compact(format, snapshot, offset, isIndexed);
+            return null;
+         }
+
+         protected void done()
+         {
+            if (compaction == this) compaction = null;
+
+            try
+            {
+               get();
+               if (journal == compactedJournal) updateWatchedStamp();
+            }
+            catch (Exception exception)
+            {
+               if (journal == compactedJournal)
+               {
+                  closeJournal();
+                  setHasChanged(true);
+               }
+               showError("Failed to compact the journal. The next save will rewrite the whole file.");
+            }
+         }
+      };
+      compaction.execute();
+   }
+
+   private void configureAutosave()
+   {
+      JPanel autosavePanel = new JPanel();
+      autosavePanel.setLayout(new GridLayout(2, 2));
+
+      autosavePanel.add(new JLabel("Autosave every (minutes, 0 for never): "));
+      JSpinner intervalSpinner = new JSpinner(new SpinnerNumberModel(autosaveInterval, 0, Integer.MAX_VALUE / MILLISECONDS_PER_MINUTE, 1));
+      autosavePanel.add(intervalSpinner);
+
+      autosavePanel.add(new JLabel("Autosave after (changes, 0 for never): "));
+      JSpinner editCountSpinner = new JSpinner(new SpinnerNumberModel(autosaveEditCount, 0, Integer.MAX_VALUE, 1));
+      autosavePanel.add(editCountSpinner);
+
+      int response = JOptionPane.showOptionDialog(this, autosavePanel, "Autosave", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, new String[]{"Save", "Cancel"}, null);
+      if (response != 0) return;
+
+      setAutosave(((SpinnerNumberModel) intervalSpinner.getModel()).getNumber().intValue(), ((SpinnerNumberModel) editCountSpinner.getModel()).getNumber().intValue());
+
+      Preferences preferences = Preferences.userNodeForPackage(MainFrame.class);
+      preferences.putInt("autosaveInterval", autosaveInterval);
+      preferences.putInt("autosaveEditCount", autosaveEditCount);
+   }
+
    private void createNew()
    {
+      waitForSave();
       if (hasChanged && !promptToSave()) return;
+      closeJournal();
+      discardRecoveryFile();
 
       day = new ArrayListModel<Day>();
       daysPanel.setAllListData(day);
@@ -178,7 +436,89 @@ public class MainFrame extends JFrame
       personsPanel.setAllListData(person);
 
       currentFile = null;
+      currentFormat = ScheduleFormat.TEXT;
+      lazyCycle = null;
+      snapshot = null;
       setHasChanged(false);
+      watchCurrentFile();
+   }
+
+   private void discardJournal()
+   {
+      if (journal == null) return;
+
+      waitForCompaction();
+      try
+      {
+         journal.discardUncommitted();
+      }
+      catch (Exception exception) { }
+      closeJournal();
+   }
+
+   private void discardRecoveryFile()
+   {
+      waitForAutosave();
+      recoveryFile.delete();
+      editsSinceAutosave = 0;
+   }
+
+   private void edited(Edit edit)
+   {
+      setHasChanged(true);
+      changedSections |= edit.getChangedSections();
+      editsSinceAutosave++;
+      if (autosaveEditCount > 0 && editsSinceAutosave >= autosaveEditCount) autosave();
+
+      if (journal == null) return;
+
+      try
+      {
+         journal.append(edit);
+      }
+      catch (Exception exception)
+      {
+         closeJournal();
+         showError("Failed to record the change in the journal. The next save will rewrite the whole file.");
+      }
+   }
+
+   // records changes made in bulk, which are too many to journal one at a time, so the next save rewrites the whole file
+   private void editedInBulk(int sections, int edits)
+   {
+      closeJournal();
+      setHasChanged(true);
+      changedSections |= sections;
+      editsSinceAutosave += edits;
+      if (autosaveEditCount > 0 && editsSinceAutosave >= autosaveEditCount) autosave();
+   }
+
+   private boolean ensureMaterialized()
+   {
+      if (lazyCycle == null) return true;
+
+      try
+      {
+         Cycle cycle = lazyCycle.getCycle();
+         lazyCycle = null;
+
+         activity = new ArrayListModel<Activity>(cycle.getActivity());
+         activitiesPanel.setAllListData(activity);
+
+         person = new ArrayListModel<Person>(cycle.getPerson());
+         personsPanel.setAllListData(person);
+      }
+      catch (Exception exception)
+      {
+         // nothing can be saved over the file, since only part of it was loaded
+         lazyCycle = null;
+         hasChanged = false;
+         createNew();
+         showError("Failed to load activities and persons from the file. It might be corrupted.");
+         return false;
+      }
+
+      return true;
    }
 
    private void howToUse()
@@ -195,6 +535,105 @@ public class MainFrame extends JFrame
       JOptionPane.showMessageDialog(MainFrame.this, howToUsePanel, "How to use", JOptionPane.INFORMATION_MESSAGE);
    }
 
+   private void importMemberships()
+   {
+      File file = fileManager.getImportFile("Import memberships (" + CsvImporter.MEMBERSHIP_HEADER + ")");
+      if (file == null || !ensureMaterialized()) return;
+
+      CsvImporter importer = new CsvImporter(activity, person);
+      int added = 0;
+      boolean didFail = false;
+      try
+      {
+         Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+         try
+         {
+            added = importer.readMemberships(reader);
+         }
+         finally
+         {
+            reader.close();
+         }
+      }
+      catch (Exception exception)
+      {
+         didFail = true;
+      }
+
+      // memberships read before a failure have already been added, so they are recorded either way
+      HashSet<Activity> changedActivity = importer.getChangedActivity();
+      if (!changedActivity.isEmpty())
+      {
+         editedInBulk(1 << BinaryScheduleFormat.ACTIVITY_PERSON_SECTION, changedActivity.size());
+         if (changedActivity.contains(activitiesPanel.getSelectedElement())) activitiesPanel.listElementSelectEvent(activitiesPanel.getSelectedElement(), null);
+      }
+
+      if (didFail) showError("Failed to import all memberships from specified file. The memberships read before the failure were imported.");
+      else showImportResult(added + " memberships", importer.getSkippedRows());
+   }
+
+   private void importPersons()
+   {
+      File file = fileManager.getImportFile("Import persons (" + CsvImporter.PERSON_HEADER + ")");
+      if (file == null || !ensureMaterialized()) return;
+
+      CsvImporter importer = new CsvImporter(activity, person);
+      ArrayList<Person> imported;
+      try
+      {
+         Reader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+         try
+         {
+            imported = importer.readPersons(reader);
+         }
+         finally
+         {
+            reader.close();
+         }
+      }
+      catch (Exception exception)
+      {
+         showError("Failed to import persons from specified file. No persons were imported.");
+         return;
+      }
+
+      // all persons are added at once, so the list is notified of them with one event
+      if (!imported.isEmpty())
+      {
+         person.addAll(imported);
+         editedInBulk(1 << Edit.PERSON, imported.size());
+      }
+
+      showImportResult(imported.size() + " persons", importer.getSkippedRows());
+   }
+
+   private static File lockFileOf(File recoveryFile)
+   {
+      return new File(recoveryFile.getPath() + "." + LOCK_EXTENSION);
+   }
+
+   // gives this instance a recovery file of its own, whose lock is held for as long as the instance runs so that other instances do not offer to restore it
+   private void lockRecoveryFile()
+   {
+      AUTOSAVE_DIRECTORY.mkdirs();
+      for (long stamp = System.currentTimeMillis(); ; stamp++)
+      {
+         recoveryFile = new File(AUTOSAVE_DIRECTORY, "recovery-" + stamp + "." + ScheduleFormat.FILE_EXTENSION);
+         if (recoveryFile.exists()) continue;
+
+         try
+         {
+            recoveryLock = tryLock(recoveryFile);
+            if (recoveryLock != null) return;
+         }
+         catch (IOException exception)
+         {
+            // the directory cannot be written to, so autosaving fails (and is reported) anyway
+            return;
+         }
+      }
+   }
+
    private JPanel makeDataControlPanel()
    {
       JPanel dataControlPanel = new JPanel();
@@ -275,6 +714,99 @@ public class MainFrame extends JFrame
          }
       );
 
+      final JCheckBoxMenuItem journalModeItem = new JCheckBoxMenuItem("Journal mode");
+      fileMenu.add(journalModeItem);
+      journalModeItem.setToolTipText("Save changes by appending them to a journal next to the file, instead of rewriting the whole file");
+      journalModeItem.addActionListener(
+         new ActionListener()
+         {
+            public void actionPerformed(ActionEvent e)
+            {
+               isJournalMode = journalModeItem.isSelected();
+            }
+         }
+      );
+
+      final JCheckBoxMenuItem personIndexItem = new JCheckBoxMenuItem("Index persons' schedules", isPersonIndexed);
+      fileMenu.add(personIndexItem);
+      personIndexItem.setToolTipText("Save binary and compressed files with an index from which one person's schedule can be looked up without loading the whole file");
+      personIndexItem.addActionListener(
+         new ActionListener()
+         {
+            public void actionPerformed(ActionEvent e)
+            {
+               isPersonIndexed = personIndexItem.isSelected();
+               Preferences.userNodeForPackage(MainFrame.class).putBoolean("isPersonIndexed", isPersonIndexed);
+            }
+         }
+      );
+
+      final JCheckBoxMenuItem watchModeItem = new JCheckBoxMenuItem("Watch for external changes", isWatchMode);
+      fileMenu.add(watchModeItem);
+      watchModeItem.setToolTipText("Reload changes made to the open file by other programs as soon as they are saved");
+      watchModeItem.addActionListener(
+         new ActionListener()
+         {
+            public void actionPerformed(ActionEvent e)
+            {
+               isWatchMode = watchModeItem.isSelected();
+               Preferences.userNodeForPackage(MainFrame.class).putBoolean("isWatchMode", isWatchMode);
+               watchCurrentFile();
+            }
+         }
+      );
+
+      JMenuItem importPersonsItem = new JMenuItem("Import Persons" + ELLIPSIS);
+      fileMenu.add(importPersonsItem);
+      importPersonsItem.setToolTipText("Add the persons of a CSV file with the columns " + CsvImporter.PERSON_HEADER + ", skipping identifiers which already exist");
+      importPersonsItem.addActionListener(
+         new ActionListener()
+         {
+            public void actionPerformed(ActionEvent e)
+            {
+               importPersons();
+            }
+         }
+      );
+
+      JMenuItem importMembershipsItem = new JMenuItem("Import Memberships" + ELLIPSIS);
+      fileMenu.add(importMembershipsItem);
+      importMembershipsItem.setToolTipText("Add persons to activities as listed in a CSV file with the columns " + CsvImporter.MEMBERSHIP_HEADER + " (by identifier)");
+      importMembershipsItem.addActionListener(
+         new ActionListener()
+         {
+            public void actionPerformed(ActionEvent e)
+            {
+               importMemberships();
+            }
+         }
+      );
+
+      JMenuItem mergeItem = new JMenuItem("Merge" + ELLIPSIS);
+      fileMenu.add(mergeItem);
+      mergeItem.setToolTipText("Merge the changes made to another copy of this schedule since a common base into this schedule (matching entities by identifier)");
+      mergeItem.addActionListener(
+         new ActionListener()
+         {
+            public void actionPerformed(ActionEvent e)
+            {
+               merge();
+            }
+         }
+      );
+
+      JMenuItem autosaveItem = new JMenuItem("Autosave" + ELLIPSIS);
+      fileMenu.add(autosaveItem);
+      autosaveItem.addActionListener(
+         new ActionListener()
+         {
+            public void actionPerformed(ActionEvent e)
+            {
+               configureAutosave();
+            }
+         }
+      );
+
       JMenuItem quitItem = new JMenuItem("Quit");
       fileMenu.add(quitItem);
       quitItem.setAccelerator(KeyStroke.getKeyStroke(KeyEvent.VK_Q, SHORTCUT_MASK));
@@ -303,107 +835,655 @@ public class MainFrame extends JFrame
          }
       );
 
-      JMenuItem aboutItem = new JMenuItem("About " + TITLE + ELLIPSIS);
-      helpMenu.add(aboutItem);
-      aboutItem.addActionListener(
-         new ActionListener()
-         {
-            public void actionPerformed(ActionEvent e)
-            {
-               about();
-            }
-         }
-      );
+      JMenuItem aboutItem = new JMenuItem("About " + TITLE + ELLIPSIS);
+      helpMenu.add(aboutItem);
+      aboutItem.addActionListener(
+         new ActionListener()
+         {
+            public void actionPerformed(ActionEvent e)
+            {
+               about();
+            }
+         }
+      );
+
+      return menuBar;
+   }
+
+   private void materializeInBackground()
+   {
+      final LazyCycle materializedCycle = lazyCycle;
+
+      SwingWorker<Void, Void> materializing = new SwingWorker<Void, Void>()
+      {
+         protected Void doInBackground()
+         {
+            materializedCycle.materialize();
+            return null;
+         }
+
+         protected void done()
+         {
+            if (lazyCycle == materializedCycle) ensureMaterialized();
+         }
+      };
+      materializing.execute();
+   }
+
+   private void merge()
+   {
+      if (merging != null || !ensureMaterialized()) return;
+
+      final File baseFile = fileManager.getOpenFile("Merge: select the copy from which both this schedule and the other copy were edited");
+      if (baseFile == null) return;
+      final File theirFile = fileManager.getOpenFile("Merge: select the other copy, whose changes are to be merged into this schedule");
+      if (theirFile == null) return;
+
+      // this schedule is merged as it is now, from a snapshot which the worker can read while it is edited
+      final ScheduleSnapshot ourSnapshot = takeSnapshot();
+      merging = new SwingWorker<ScheduleMerge, Void>()
+      {
+         protected ScheduleMerge doInBackground() throws Exception
+         {
+            return ScheduleMerge.merge(fileManager.readFromFile(baseFile), new ColumnarCycle(ourSnapshot).toCycle(), fileManager.readFromFile(theirFile));
+         }
+
+         protected void done()
+         {
+            merging = null;
+
+            ScheduleMerge merge;
+            try
+            {
+               merge = get();
+            }
+            catch (Exception exception)
+            {
+               showError("Failed to merge with specified files. They might be corrupted.");
+               return;
+            }
+
+            // the merge would undo any edit made since the snapshot (or replace another schedule which was opened), so it is only applied to the schedule it was made from
+            if (snapshot != ourSnapshot || changedSections != 0)
+            {
+               showError("The schedule was changed while merging, so nothing was merged. Please merge again.");
+               return;
+            }
+
+            // the merged entities are matched by position, so entities which neither copy changed (and their selections) are kept
+            int changed = reconcileCycle(merge.getCycle());
+            if (changed != 0) editedInBulk(changed, 1);
+
+            if (!merge.hasConflicts())
+            {
+               JOptionPane.showMessageDialog(MainFrame.this, changed != 0 ? "Merged without conflicts." : "There were no changes to merge.", "Merge", JOptionPane.INFORMATION_MESSAGE);
+               return;
+            }
+
+            JPanel conflictPanel = new JPanel();
+            conflictPanel.setLayout(new BoxLayout(conflictPanel, BoxLayout.Y_AXIS));
+            conflictPanel.add(new JLabel("Merged with " + merge.getConflicts().size() + " conflicts, which were resolved by keeping this schedule's version:"));
+            JList<ScheduleMerge.Conflict> conflictList = new JList<ScheduleMerge.Conflict>(merge.getConflicts().toArray(new ScheduleMerge.Conflict[0]));
+            conflictList.setVisibleRowCount(Math.min(merge.getConflicts().size(), MAXIMUM_REPORTED_PROBLEMS));
+            conflictPanel.add(new JScrollPane(conflictList));
+            JOptionPane.showMessageDialog(MainFrame.this, conflictPanel, "Merge", JOptionPane.WARNING_MESSAGE);
+         }
+      };
+      merging.execute();
+   }
+
+   private void offerToRestore()
+   {
+      File[] autosaveFiles = AUTOSAVE_DIRECTORY.listFiles();
+      if (autosaveFiles == null) return;
+
+      // only the recovery files of instances which are no longer running (whose locks can be taken) are offered, and their locks are held until they are deleted
+      HashMap<File, FileLock> orphanedRecoveryFile = new HashMap<File, FileLock>();
+      File newestRecoveryFile = null;
+      for (File autosaveFile : autosaveFiles)
+      {
+         String name = autosaveFile.getName();
+         boolean isLockFile = name.endsWith("." + LOCK_EXTENSION);
+         File recoveryFileElement = isLockFile ? new File(AUTOSAVE_DIRECTORY, name.substring(0, name.length() - LOCK_EXTENSION.length() - 1)) : autosaveFile;
+         if (isLockFile ? recoveryFileElement.exists() : !name.endsWith("." + ScheduleFormat.FILE_EXTENSION)) continue;
+         if (recoveryFileElement.equals(recoveryFile)) continue;
+
+         FileLock lock;
+         try
+         {
+            lock = tryLock(recoveryFileElement);
+         }
+         catch (IOException exception)
+         {
+            continue;
+         }
+         if (lock == null) continue;
+
+         // a lock file without its recovery file is left by an instance which quit unexpectedly before autosaving
+         if (!recoveryFileElement.exists())
+         {
+            unlock(recoveryFileElement, lock, true);
+            continue;
+         }
+
+         orphanedRecoveryFile.put(recoveryFileElement, lock);
+         if (newestRecoveryFile == null || recoveryFileElement.lastModified() > newestRecoveryFile.lastModified()) newestRecoveryFile = recoveryFileElement;
+      }
+      if (newestRecoveryFile == null) return;
+
+      JPanel restorePromptDialogPanel = new JPanel();
+      restorePromptDialogPanel.setLayout(new GridLayout(2, 1));
+      restorePromptDialogPanel.add(new JLabel("A schedule which was autosaved on " + DateFormat.getDateTimeInstance().format(new Date(newestRecoveryFile.lastModified())) + " was found (the program might have quit unexpectedly)."));
+      restorePromptDialogPanel.add(new JLabel("Would you like to restore it?"));
+
+      int response = JOptionPane.showOptionDialog(this, restorePromptDialogPanel, "Restore Autosave?", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, new String[]{"Restore", "Discard"}, null);
+      staleRecoveryFile = orphanedRecoveryFile;
+      if (response != 0)
+      {
+         releaseStaleRecoveryFiles(true);
+         return;
+      }
+
+      if (fileManager.loadFromFile(newestRecoveryFile, false))
+      {
+         showLoadedCycle();
+
+         currentFile = null;
+         currentFormat = ScheduleFormat.TEXT;
+         setHasChanged(true);
+
+         // the recovery files are deleted once the restored schedule has been autosaved again
+         autosave();
+      }
+      else
+      {
+         releaseStaleRecoveryFiles(false);
+         showError("Failed to restore the autosaved schedule. It might be corrupted.");
+      }
+   }
+
+   private void open()
+   {
+      waitForSave();
+      if (hasChanged && !promptToSave()) return;
+
+      File file = fileManager.getOpenFile(null);
+      if (file != null)
+      {
+         closeJournal();
+         discardRecoveryFile();
+         boolean didLoad = fileManager.loadFromFile(file, false);
+         ValidationReport report = null;
+         if (!didLoad)
+         {
+            report = fileManager.validate(file);
+            if (report != null && report.hasErrors() && report.isRecoverable())
+            {
+               if (!promptToLoadTolerantly(report)) return;
+               didLoad = fileManager.loadFromFile(file, true);
+            }
+         }
+
+         if (didLoad)
+         {
+            showLoadedCycle();
+
+            currentFile = file;
+            setHasChanged(journal != null && !journal.getUncommitted().isEmpty());
+            updateWatchedStamp();
+            watchCurrentFile();
+
+            // the skipped references are only gone from the file once every link section is rewritten
+            if (report != null) editedInBulk(1 << BinaryScheduleFormat.DAY_PERIOD_SECTION | 1 << BinaryScheduleFormat.PERIOD_ACTIVITY_SECTION | 1 << BinaryScheduleFormat.ACTIVITY_PERSON_SECTION, 0);
+         }
+         else
+         {
+            showError("Failed to load from specified file. It might be corrupted." + (report != null ? "\n\n" + report.toString(MAXIMUM_REPORTED_PROBLEMS) : ""));
+         }
+      }
+   }
+
+   private boolean promptToSave()
+   {
+      JPanel savePromptDialogPanel = new JPanel();
+      savePromptDialogPanel.setLayout(new GridLayout(2, 1));
+      savePromptDialogPanel.add(new JLabel("What would you like to do before exiting?"));
+      savePromptDialogPanel.add(new JLabel("Any unsaved changes will be lost."));
+
+      int response = JOptionPane.showOptionDialog(this, savePromptDialogPanel, "Save Changes?", JOptionPane.DEFAULT_OPTION, JOptionPane.WARNING_MESSAGE, null, new String[]{"Save", "Don't Save", "Cancel"}, null);
+      if (response == 2) return false;
+      if (response == 0)
+      {
+         save();
+         waitForSave();
+      }
+      if (response == 1) discardJournal();
+      return true;
+   }
+
+   private void quit()
+   {
+      waitForSave();
+      if (hasChanged && !promptToSave()) return;
+      closeJournal();
+      discardRecoveryFile();
+      if (recoveryLock != null) unlock(recoveryFile, recoveryLock, true);
+      if (fileWatcher != null) fileWatcher.close();
+
+      setVisible(false);
+      dispose();
+      System.exit(0);
+   }
+
+   // makes the list hold entities with the same fields as the loaded list (firing an event for each range which changed), returning the sections which changed
+   private static <E> int reconcile(ArrayListModel<E> list, ArrayList<E> loaded, int section, Cycle cycle)
+   {
+      int prefix = 0;
+      while (prefix < list.size() && prefix < loaded.size() && Arrays.equals(Edit.fieldsOf(list.get(prefix)), Edit.fieldsOf(loaded.get(prefix)))) prefix++;
+
+      int suffix = 0;
+      while (suffix < list.size() - prefix && suffix < loaded.size() - prefix
+         && Arrays.equals(Edit.fieldsOf(list.get(list.size() - 1 - suffix)), Edit.fieldsOf(loaded.get(loaded.size() - 1 - suffix)))) suffix++;
+
+      int changed = 0;
+      int listEnd = list.size() - suffix;
+      int loadedEnd = loaded.size() - suffix;
+      for (int i = prefix; i < Math.min(listEnd, loadedEnd); i++)
+      {
+         if (Arrays.equals(Edit.fieldsOf(list.get(i)), Edit.fieldsOf(loaded.get(i)))) continue;
+
+         Edit.edited(section, i, loaded.get(i)).apply(cycle);
+         list.fireContentsChangedEvent(i, i);
+         changed |= 1 << section;
+      }
+
+      // entities inserted or removed in the middle shift the ordinals of the following ones, so every link section referring to the section changes
+      if (listEnd != loadedEnd)
+      {
+         for (int i = listEnd - 1; i >= loadedEnd; i--) list.remove(i);
+         if (loadedEnd > listEnd) list.addAll(listEnd, loaded.subList(listEnd, loadedEnd));
+         changed |= ScheduleSnapshot.ALL_SECTIONS;
+      }
+
+      return changed;
+   }
+
+   // replaces the entities of every section with those of the loaded schedule cycle, returning the changed sections
+   private int reconcileCycle(Cycle loaded)
+   {
+      // entities are matched by position, which is how the file refers to them, so that selections and the entities of unchanged positions are kept
+      Cycle cycle = new Cycle(activity, day, period, person);
+      int changed = reconcile(day, loaded.getDay(), Edit.DAY, cycle) | reconcile(period, loaded.getPeriod(), Edit.PERIOD, cycle)
+         | reconcile(activity, loaded.getActivity(), Edit.ACTIVITY, cycle) | reconcile(person, loaded.getPerson(), Edit.PERSON, cycle);
+
+      OrdinalIndex<Period> loadedPeriodIndex = new OrdinalIndex<Period>(loaded.getPeriod());
+      OrdinalIndex<Activity> loadedActivityIndex = new OrdinalIndex<Activity>(loaded.getActivity());
+      OrdinalIndex<Person> loadedPersonIndex = new OrdinalIndex<Person>(loaded.getPerson());
+
+      HashSet<Day> relinkedDay = new HashSet<Day>();
+      for (int i = 0; i < day.size(); i++)
+      {
+         ArrayList<Period> dayPeriod = relink(loaded.getDay().get(i).getPeriod(), loadedPeriodIndex, period);
+         if (!dayPeriod.equals(day.get(i).getPeriod()))
+         {
+            day.get(i).setPeriod(dayPeriod);
+            relinkedDay.add(day.get(i));
+         }
+      }
+
+      HashSet<Period> relinkedPeriod = new HashSet<Period>();
+      for (int i = 0; i < period.size(); i++)
+      {
+         HashSet<Activity> periodActivity = new HashSet<Activity>(relink(loaded.getPeriod().get(i).getActivity(), loadedActivityIndex, activity));
+         if (!periodActivity.equals(period.get(i).getActivity()))
+         {
+            period.get(i).setActivity(periodActivity);
+            relinkedPeriod.add(period.get(i));
+         }
+      }
+
+      HashSet<Activity> relinkedActivity = new HashSet<Activity>();
+      for (int i = 0; i < activity.size(); i++)
+      {
+         HashSet<Person> activityPerson = new HashSet<Person>(relink(loaded.getActivity().get(i).getPerson(), loadedPersonIndex, person));
+         if (!activityPerson.equals(activity.get(i).getPerson()))
+         {
+            activity.get(i).setPerson(activityPerson);
+            relinkedActivity.add(activity.get(i));
+         }
+      }
+
+      // entities which were dropped, or loaded but not kept, still have their references, which would otherwise still be listed in the reverse references of the entities which are kept
+      OrdinalIndex<Day> dayIndex = new OrdinalIndex<Day>(day);
+      for (Period periodElement : period)
+      {
+         for (Day dayElement : new ArrayList<Day>(periodElement.getDay()))
+         {
+            if (dayIndex.getOrdinal(dayElement) == OrdinalIndex.MISSING) dayElement.getPeriod().removeAll(Collections.singleton(periodElement));
+         }
+      }
+      OrdinalIndex<Period> periodIndex = new OrdinalIndex<Period>(period);
+      for (Activity activityElement : activity)
+      {
+         for (Period periodElement : new ArrayList<Period>(activityElement.getPeriod()))
+         {
+            if (periodIndex.getOrdinal(periodElement) == OrdinalIndex.MISSING) periodElement.getActivity().remove(activityElement);
+         }
+      }
+      OrdinalIndex<Activity> activityIndex = new OrdinalIndex<Activity>(activity);
+      for (Person personElement : person)
+      {
+         for (Activity activityElement : new ArrayList<Activity>(personElement.getActivity()))
+         {
+            if (activityIndex.getOrdinal(activityElement) == OrdinalIndex.MISSING) activityElement.getPerson().remove(personElement);
+         }
+      }
+
+      if (!relinkedDay.isEmpty()) changed |= 1 << BinaryScheduleFormat.DAY_PERIOD_SECTION;
+      if (!relinkedPeriod.isEmpty()) changed |= 1 << BinaryScheduleFormat.PERIOD_ACTIVITY_SECTION;
+      if (!relinkedActivity.isEmpty()) changed |= 1 << BinaryScheduleFormat.ACTIVITY_PERSON_SECTION;
+
+      // filtered lists are copies of the links of the selected entity, so they are only refreshed (losing their selection) if those links changed
+      if (relinkedDay.contains(daysPanel.getSelectedElement())) daysPanel.listElementSelectEvent(daysPanel.getSelectedElement(), null);
+      if (relinkedPeriod.contains(periodsPanel.getSelectedElement())) periodsPanel.listElementSelectEvent(periodsPanel.getSelectedElement(), null);
+      if (relinkedActivity.contains(activitiesPanel.getSelectedElement())) activitiesPanel.listElementSelectEvent(activitiesPanel.getSelectedElement(), null);
+      repaint();
+
+      return changed;
+   }
+
+   // returns the entities of the list at the ordinals at which the loaded entities are in their loaded list
+   private static <E> ArrayList<E> relink(Collection<E> loaded, OrdinalIndex<E> loadedIndex, ArrayList<E> list)
+   {
+      ArrayList<E> relinked = new ArrayList<E>(loaded.size());
+      for (E element : loaded) relinked.add(list.get(loadedIndex.getOrdinal(element)));
+
+      return relinked;
+   }
+
+   private void releaseStaleRecoveryFiles(boolean isDeleted)
+   {
+      if (staleRecoveryFile == null) return;
+
+      for (Map.Entry<File, FileLock> staleRecoveryFileEntry : staleRecoveryFile.entrySet()) unlock(staleRecoveryFileEntry.getKey(), staleRecoveryFileEntry.getValue(), isDeleted);
+      staleRecoveryFile = null;
+   }
+
+   private void reloadIfChanged()
+   {
+      if (fileWatcher == null || currentFile == null) return;
+
+      // the file is checked again once its own saves are done, so that they are not mistaken for changes made by another program
+      if (saving != null || compaction != null || reloading != null)
+      {
+         reloadTimer.restart();
+         return;
+      }
+      if (!currentFile.exists() || (currentFile.lastModified() == watchedModified && currentFile.length() == watchedLength)) return;
+
+      final File file = currentFile;
+      final long modified = file.lastModified();
+      final long length = file.length();
+      reloading = new SwingWorker<Cycle, Void>()
+      {
+         private ScheduleCodec format;
+
+         protected Cycle doInBackground() throws Exception
+         {
+            format = ScheduleCodecRegistry.detect(file);
+            return format.read(file);
+         }
+
+         protected void done()
+         {
+            reloading = null;
+            if (file != currentFile) return;
+
+            Cycle loaded;
+            try
+            {
+               loaded = get();
+            }
+            catch (Exception exception)
+            {
+               // most likely the file is still being written, in which case it is reloaded once it is done
+               return;
+            }
+
+            watchedModified = modified;
+            watchedLength = length;
+            applyExternalChanges(loaded, format);
+         }
+      };
+      reloading.execute();
+   }
+
+   private void save()
+   {
+      if (!ensureMaterialized()) return;
+
+      if (saving != null)
+      {
+         isSavePending = true;
+      }
+      else if (currentFile == null)
+      {
+         saveAs();
+      }
+      else if (isJournalMode && journal != null)
+      {
+         if (commitJournal())
+         {
+            setHasChanged(false);
+            discardRecoveryFile();
+         }
+         else
+         {
+            showError("Failed to save to file.");
+         }
+      }
+      else
+      {
+         startSave(currentFile, currentFormat);
+      }
+   }
+
+   private void saveAs()
+   {
+      if (!ensureMaterialized()) return;
+      waitForSave();
+
+      File file = fileManager.getSaveFile();
+      if (file != null) startSave(file, fileManager.getSelectedFormat());
+   }
+
+   private void showError(String error)
+   {
+      JOptionPane.showMessageDialog(this, error, "Error", JOptionPane.ERROR_MESSAGE);
+   }
+
+   private void showImportResult(String imported, int skippedRows)
+   {
+      JOptionPane.showMessageDialog(this, "Imported " + imported + ". " + skippedRows + " rows were skipped (duplicates, missing identifiers or unknown activities and persons).", "Import", JOptionPane.INFORMATION_MESSAGE);
+   }
+
+   private boolean promptToLoadTolerantly(ValidationReport report)
+   {
+      JPanel loadPromptDialogPanel = new JPanel();
+      loadPromptDialogPanel.setLayout(new BoxLayout(loadPromptDialogPanel, BoxLayout.Y_AXIS));
+      loadPromptDialogPanel.add(new JLabel("This file refers to records which it does not have, so it cannot be loaded as it is."));
+      loadPromptDialogPanel.add(new JLabel("Would you like to open it without those references? Saving will then remove them from the file."));
+      JList<ValidationReport.Problem> problemList = new JList<ValidationReport.Problem>(report.getProblems().toArray(new ValidationReport.Problem[0]));
+      problemList.setVisibleRowCount(Math.min(report.getProblems().size(), MAXIMUM_REPORTED_PROBLEMS));
+      loadPromptDialogPanel.add(new JScrollPane(problemList));
+
+      int response = JOptionPane.showOptionDialog(this, loadPromptDialogPanel, "Open Damaged File?", JOptionPane.DEFAULT_OPTION, JOptionPane.WARNING_MESSAGE, null, new String[]{"Open Without Broken References", "Cancel"}, null);
+      return response == 0;
+   }
+
+   private boolean promptToRecover()
+   {
+      JPanel recoverPromptDialogPanel = new JPanel();
+      recoverPromptDialogPanel.setLayout(new GridLayout(2, 1));
+      recoverPromptDialogPanel.add(new JLabel("This file has changes which were never saved (the program might have quit unexpectedly)."));
+      recoverPromptDialogPanel.add(new JLabel("Would you like to recover them?"));
+
+      int response = JOptionPane.showOptionDialog(this, recoverPromptDialogPanel, "Recover Changes?", JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, new String[]{"Recover", "Discard"}, null);
+      return response == 0;
+   }
+
+   private boolean promptToReload()
+   {
+      JPanel reloadPromptDialogPanel = new JPanel();
+      reloadPromptDialogPanel.setLayout(new GridLayout(2, 1));
+      reloadPromptDialogPanel.add(new JLabel("The file has been changed by another program."));
+      reloadPromptDialogPanel.add(new JLabel("Would you like to reload it? Any unsaved changes will be lost."));
+
+      int response = JOptionPane.showOptionDialog(this, reloadPromptDialogPanel, "Reload File?", JOptionPane.DEFAULT_OPTION, JOptionPane.WARNING_MESSAGE, null, new String[]{"Reload", "Keep My Changes"}, null);
+      return response == 0;
+   }
+
+   private void showLoadedCycle()
+   {
+      daysPanel.setAllListData(day);
+      periodsPanel.setAllListData(period);
+      activitiesPanel.setAllListData(activity);
+      personsPanel.setAllListData(person);
+
+      if (lazyCycle != null && !lazyCycle.isMaterialized())
+      {
+         // activities and persons are decoded in the background once the days and periods are shown
+         activitiesPanel.setLoading();
+         personsPanel.setLoading();
+         materializeInBackground();
+      }
+      else
+      {
+         ensureMaterialized();
+      }
+   }
+
+   private void startSave(File file, ScheduleCodec format)
+   {
+      closeJournal();
 
-      return menuBar;
+      saving = new SaveWorker(file, format);
+      saving.execute();
+      updateTitle();
    }
 
-   private void open()
+   private ScheduleSnapshot takeSnapshot()
    {
-      if (hasChanged && !promptToSave()) return;
+      ensureMaterialized();
+      snapshot = new ScheduleSnapshot(new Cycle(activity, day, period, person), snapshot, changedSections);
+      changedSections = 0;
 
-      File file = fileManager.getOpenFile();
-      if (file != null)
+      return snapshot;
+   }
+
+   // returns the lock on the lock file next to the specified recovery file, or null if another instance holds it
+   private static FileLock tryLock(File recoveryFile) throws IOException
+   {
+      FileChannel channel = FileChannel.open(lockFileOf(recoveryFile).toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      FileLock lock = null;
+      try
       {
-         boolean didLoad = fileManager.loadFromFile(file);
-         if (didLoad)
-         {
-            daysPanel.setAllListData(day);
-            periodsPanel.setAllListData(period);
-            activitiesPanel.setAllListData(activity);
-            personsPanel.setAllListData(person);
+         lock = channel.tryLock();
+      }
+      catch (OverlappingFileLockException exception)
+      {
+         // held by another instance in this process
+      }
+      finally
+      {
+         if (lock == null) channel.close();
+      }
 
-            currentFile = file;
-            setHasChanged(false);
-         }
-         else
-         {
-            showError("Failed to load from specified file. It might be corrupted.");
-         }
+      return lock;
+   }
+
+   // releases the specified lock on a recovery file, deleting the recovery file and then its lock file if they are no longer needed
+   private static void unlock(File recoveryFile, FileLock lock, boolean isDeleted)
+   {
+      if (isDeleted) recoveryFile.delete();
+      try
+      {
+         lock.channel().close();
       }
+      catch (IOException exception) { }
+      if (isDeleted) lockFileOf(recoveryFile).delete();
    }
 
-   private boolean promptToSave()
+   private void updateTitle()
    {
-      JPanel savePromptDialogPanel = new JPanel();
-      savePromptDialogPanel.setLayout(new GridLayout(2, 1));
-      savePromptDialogPanel.add(new JLabel("What would you like to do before exiting?"));
-      savePromptDialogPanel.add(new JLabel("Any unsaved changes will be lost."));
+      String savingStatus = saving != null ? " - Saving to " + saving.getFile().getName() + ELLIPSIS : "";
 
-      int response = JOptionPane.showOptionDialog(this, savePromptDialogPanel, "Save Changes?", JOptionPane.DEFAULT_OPTION, JOptionPane.WARNING_MESSAGE, null, new String[]{"Save", "Don't Save", "Cancel"}, null);
-      if (response == 2) return false;
-      if (response == 0) save();
-      return true;
+      if (currentFile != null) setTitle(TITLE + " - " + currentFile.getName() + (hasChanged ? " *" : "") + " (" + currentFile.getAbsolutePath() + ")" + savingStatus);
+      else setTitle(TITLE + (hasChanged ? " - *" : "") + savingStatus);
    }
 
-   private void quit()
+   private void updateWatchedStamp()
    {
-      if (hasChanged && !promptToSave()) return;
+      if (currentFile == null) return;
 
-      setVisible(false);
-      dispose();
-      System.exit(0);
+      watchedModified = currentFile.lastModified();
+      watchedLength = currentFile.length();
    }
 
-   private void save()
+   private void waitForAutosave()
    {
-      if (currentFile == null)
+      if (autosaving == null) return;
+
+      try
       {
-         saveAs();
+         autosaving.get();
       }
-      else
+      catch (Exception exception) { }
+      autosaving = null;
+   }
+
+   private void waitForCompaction()
+   {
+      if (compaction == null) return;
+
+      try
       {
-         if (fileManager.saveToFile(currentFile)) setHasChanged(false);
-         else showError("Failed to save to file.");
+         compaction.get();
       }
+      catch (Exception exception) { }
    }
 
-   private void saveAs()
+   private void waitForSave()
    {
-      File file = fileManager.getSaveFile();
-      if (file != null)
+      while (saving != null)
       {
-         if (fileManager.saveToFile(file))
-         {
-            currentFile = file;
-            setHasChanged(false);
-         }
-         else
+         try
          {
-            showError("Failed to save to file");
+            saving.get();
          }
+         catch (Exception exception) { }
+         saving.finish();
       }
    }
 
-   private void showError(String error)
+   private void watchCurrentFile()
    {
-      JOptionPane.showMessageDialog(this, error, "Error", JOptionPane.ERROR_MESSAGE);
-   }
+      if (fileWatcher != null)
+      {
+         fileWatcher.close();
+         fileWatcher = null;
+      }
+      if (!isWatchMode || currentFile == null) return;
 
-   private void updateTitle()
-   {
-      if (currentFile != null) setTitle(TITLE + " - " + currentFile.getName() + (hasChanged ? " *" : "") + " (" + currentFile.getAbsolutePath() + ")");
-      else setTitle(TITLE + (hasChanged ? " - *" : ""));
+      try
+      {
+         fileWatcher = new FileWatcher(currentFile);
+         fileWatcher.execute();
+      }
+      catch (Exception exception)
+      {
+         showError("Failed to watch the file for changes made by other programs.");
+      }
    }
 
    /*
@@ -418,7 +1498,7 @@ public class MainFrame extends JFrame
 
       public ActivitiesPanel()
       {
-         super(activity, "Activities", "activity", "period", false, true);
+         super(activity, Edit.ACTIVITY, "Activities", "activity", "period", false, true);
       }
 
       /*
@@ -438,7 +1518,8 @@ public class MainFrame extends JFrame
 
       protected void delete(Activity activity)
       {
-         for (Period periodElement : period) periodElement.getActivity().remove(activity);
+         for (Period periodElement : new ArrayList<Period>(activity.getPeriod())) periodElement.getActivity().remove(activity);
+         activity.getPerson().clear();
       }
 
       protected boolean edit(Activity activity)
@@ -468,7 +1549,7 @@ public class MainFrame extends JFrame
 
          if (activity != null)
          {
-            if (toAdd != null) activity.getPerson().add(toAdd);
+            if (toAdd != null && activity.getPerson().add(toAdd)) edited(Edit.addedTo(Edit.PERSON, MainFrame.this.activity.indexOf(activity), person.indexOf(toAdd)));
             personsPanel.setFilter(activity.getIdentifier(), activity.getPerson());
          }
          else
@@ -479,7 +1560,8 @@ public class MainFrame extends JFrame
 
       protected void removeFromPrevious(Activity activity)
       {
-         periodsPanel.getSelectedElement().getActivity().remove(activity);
+         Period selectedPeriod = periodsPanel.getSelectedElement();
+         if (selectedPeriod.getActivity().remove(activity)) edited(Edit.removedFrom(Edit.ACTIVITY, period.indexOf(selectedPeriod), MainFrame.this.activity.indexOf(activity)));
       }
 
       protected void swapListElements(int currentIndex, int newIndex) { }
@@ -493,7 +1575,7 @@ public class MainFrame extends JFrame
 
       public DaysPanel()
       {
-         super(day, "Days", "day", null, true, false);
+         super(day, Edit.DAY, "Days", "day", null, true, false);
          setIsListElementSelectedInPrevious(true);
       }
 
@@ -509,7 +1591,10 @@ public class MainFrame extends JFrame
          return edit(newDay) ? newDay : null;
       }
 
-      protected void delete(Day day) { }
+      protected void delete(Day day)
+      {
+         day.getPeriod().clear();
+      }
 
       protected boolean edit(Day day)
       {
@@ -546,7 +1631,7 @@ public class MainFrame extends JFrame
 
          if (day != null)
          {
-            if (toAdd != null) day.getPeriod().add(toAdd);
+            if (toAdd != null && day.getPeriod().add(toAdd)) edited(Edit.addedTo(Edit.PERIOD, MainFrame.this.day.indexOf(day), period.indexOf(toAdd)));
             periodsPanel.setFilter(day.getIdentifier(), day.getPeriod());
          }
          else
@@ -557,15 +1642,19 @@ public class MainFrame extends JFrame
 
       protected void removeFromPrevious(Day day) { }
 
-      protected void swapListElements(int currentIndex, int newIndex) { }
+      protected void swapListElements(int currentIndex, int newIndex)
+      {
+         edited(Edit.swapped(Edit.DAY, -1, currentIndex, newIndex));
+      }
    }
 
    private class FileManager
    {
       // instance fields
-      private final String FIELDS_SEPARATOR = "|:|";
+      private List<ScheduleCodec> codec;
+      private JFileChooser csvFileChooser;
       private JFileChooser fileChooser;
-      private final String LIST_SEPARATOR = ",";
+      private FileNameExtensionFilter[] formatFilter;
       private MainFrame parent;
 
       /*
@@ -575,7 +1664,16 @@ public class MainFrame extends JFrame
       private FileManager()
       {
          fileChooser = new JFileChooser(System.getProperty("user.dir"));
-         fileChooser.setFileFilter(new FileNameExtensionFilter(TITLE + " File (." + FILE_FORMAT + ")", FILE_FORMAT));
+         codec = ScheduleCodecRegistry.getCodecs();
+         formatFilter = new FileNameExtensionFilter[codec.size()];
+         for (int i = 0; i < codec.size(); i++)
+         {
+            formatFilter[i] = new FileNameExtensionFilter(TITLE + " " + codec.get(i).getDescription() + " File (." + codec.get(i).getFileExtension() + ")", codec.get(i).getFileExtension());
+            fileChooser.addChoosableFileFilter(formatFilter[i]);
+         }
+         fileChooser.setFileFilter(formatFilter[codec.indexOf(ScheduleFormat.TEXT)]);
+         csvFileChooser = new JFileChooser(System.getProperty("user.dir"));
+         csvFileChooser.setFileFilter(new FileNameExtensionFilter("CSV File (.csv)", "csv"));
          parent = MainFrame.this;
       }
 
@@ -583,8 +1681,17 @@ public class MainFrame extends JFrame
          helper methods
       */
 
-      private File getOpenFile()
+      private File getImportFile(String title)
+      {
+         csvFileChooser.setDialogTitle(title);
+         if (csvFileChooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) return null;
+
+         return csvFileChooser.getSelectedFile();
+      }
+
+      private File getOpenFile(String title)
       {
+         fileChooser.setDialogTitle(title);
          if (fileChooser.showOpenDialog(parent) != JFileChooser.APPROVE_OPTION) return null;
 
          return fileChooser.getSelectedFile();
@@ -592,104 +1699,69 @@ public class MainFrame extends JFrame
 
       private File getSaveFile()
       {
+         fileChooser.setFileFilter(formatFilter[Math.max(codec.indexOf(currentFormat), 0)]);
          if (fileChooser.showSaveDialog(parent) != JFileChooser.APPROVE_OPTION) return null;
 
          File file = fileChooser.getSelectedFile();
          String filePath = file.getAbsolutePath();
-         if (!filePath.endsWith("." + FILE_FORMAT)) file = new File(filePath + "." + FILE_FORMAT);
+         String fileExtension = getSelectedFormat().getFileExtension();
+         if (!filePath.endsWith("." + fileExtension)) file = new File(filePath + "." + fileExtension);
 
          return file;
       }
 
-      private boolean loadFromFile(File file)
+      private ScheduleCodec getSelectedFormat()
       {
-         try
+         for (int i = 0; i < codec.size(); i++)
          {
-            BufferedReader reader = new BufferedReader(new FileReader(file));
-
-            try
-            {
-               int numberOfDays = Integer.parseInt(reader.readLine());
-               day = new ArrayListModel<Day>();
-               ArrayList<ArrayList<Integer>> dayPeriodList = new ArrayList<ArrayList<Integer>>();
-               for (int i = 0; i < numberOfDays; i++)
-               {
-                  String[] dayInfo = reader.readLine().split(Pattern.quote(FIELDS_SEPARATOR), -1);
-                  day.add(new Day(dayInfo[0], LocalTime.of(Integer.parseInt(dayInfo[1]), Integer.parseInt(dayInfo[2]))));
+            if (fileChooser.getFileFilter() == formatFilter[i]) return codec.get(i);
+         }
 
-                  dayPeriodList.add(new ArrayList<Integer>());
-                  if (!dayInfo[3].equals(""))
-                  {
-                     String[] dayPeriodInfo = dayInfo[3].split(Pattern.quote(LIST_SEPARATOR));
-                     for (int j = 0; j < dayPeriodInfo.length; j++) dayPeriodList.get(i).add(Integer.valueOf(dayPeriodInfo[j]));
-                  }
-               }
+         return ScheduleFormat.TEXT;
+      }
 
-               int numberOfPeriods = Integer.parseInt(reader.readLine());
-               period = new ArrayListModel<Period>();
-               ArrayList<ArrayList<Integer>> periodActivityList = new ArrayList<ArrayList<Integer>>();
-               for (int i = 0; i < numberOfPeriods; i++)
+      private boolean loadFromFile(File file, boolean isTolerant)
+      {
+         try
+         {
+            // codecs which cannot load partially read the whole file here, so it is not handed to a background worker to materialize
+            ScheduleCodec format = ScheduleCodecRegistry.detect(file);
+            LazyCycle loadedCycle;
+            if (isTolerant) loadedCycle = new LazyCycle(ScheduleValidator.readTolerantly(file));
+            else loadedCycle = format.isLazy() ? format.readLazily(file) : new LazyCycle(format.read(file));
+
+            EditJournal fileJournal = EditJournal.open(file);
+            if (fileJournal != null && !(fileJournal.getCommitted().isEmpty() && fileJournal.getUncommitted().isEmpty()))
+            {
+               try
                {
-                  String[] periodInfo = reader.readLine().split(Pattern.quote(FIELDS_SEPARATOR), -1);
-                  period.add(new Period(Duration.ofMinutes(Long.parseLong(periodInfo[1])), periodInfo[0]));
-
-                  periodActivityList.add(new ArrayList<Integer>());
-                  if (!periodInfo[2].equals(""))
+                  // edits refer to entities of every section by ordinal, so they can only be replayed on a materialized schedule cycle
+                  Cycle cycle = loadedCycle.getCycle();
+                  for (Edit edit : fileJournal.getCommitted()) edit.apply(cycle);
+                  if (!fileJournal.getUncommitted().isEmpty() && promptToRecover())
                   {
-                     String[] periodActivityInfo = periodInfo[2].split(Pattern.quote(LIST_SEPARATOR));
-                     for (int j = 0; j < periodActivityInfo.length; j++) periodActivityList.get(i).add(Integer.valueOf(periodActivityInfo[j]));
+                     for (Edit edit : fileJournal.getUncommitted()) edit.apply(cycle);
                   }
-               }
-
-               int numberOfActivities = Integer.parseInt(reader.readLine());
-               activity = new ArrayListModel<Activity>();
-               ArrayList<ArrayList<Integer>> activityPersonList = new ArrayList<ArrayList<Integer>>();
-               for (int i = 0; i < numberOfActivities; i++)
-               {
-                  String[] activityInfo = reader.readLine().split(Pattern.quote(FIELDS_SEPARATOR), -1);
-                  activity.add(new Activity(activityInfo[0], activityInfo[1]));
-
-                  activityPersonList.add(new ArrayList<Integer>());
-                  if (!activityInfo[2].equals(""))
+                  else
                   {
-                     String[] activityPersonInfo = activityInfo[2].split(Pattern.quote(LIST_SEPARATOR));
-                     for (int j = 0; j < activityPersonInfo.length; j++) activityPersonList.get(i).add(Integer.valueOf(activityPersonInfo[j]));
+                     fileJournal.discardUncommitted();
                   }
                }
-
-               int numberOfPersons = Integer.parseInt(reader.readLine());
-               person = new ArrayListModel<Person>();
-               for (int i = 0; i < numberOfPersons; i++)
-               {
-                  String[] personInfo = reader.readLine().split(Pattern.quote(FIELDS_SEPARATOR), -1);
-                  person.add(new Person(personInfo[1], personInfo[0], personInfo[2], personInfo[3]));
-               }
-
-               for (int i = 0; i < numberOfDays; i++)
-               {
-                  ArrayListModel<Period> periodList = new ArrayListModel<Period>();
-                  for (int j = 0; j < dayPeriodList.get(i).size(); j++) periodList.add(period.get(dayPeriodList.get(i).get(j)));
-                  day.get(i).setPeriod(periodList);
-               }
-
-               for (int i = 0; i < numberOfPeriods; i++)
-               {
-                  HashSet<Activity> activitySet = new HashSet<Activity>();
-                  for (int j = 0; j < periodActivityList.get(i).size(); j++) activitySet.add(activity.get(periodActivityList.get(i).get(j)));
-                  period.get(i).setActivity(activitySet);
-               }
-
-               for (int i = 0; i < numberOfActivities; i++)
+               catch (Exception exception)
                {
-                  HashSet<Person> personSet = new HashSet<Person>();
-                  for (int j = 0; j < activityPersonList.get(i).size(); j++) personSet.add(person.get(activityPersonList.get(i).get(j)));
-                  activity.get(i).setPerson(personSet);
+                  fileJournal.close();
+                  throw exception;
                }
             }
-            finally
-            {
-               reader.close();
-            }
+
+            day = new ArrayListModel<Day>(loadedCycle.getDay());
+            period = new ArrayListModel<Period>(loadedCycle.getPeriod());
+            activity = new ArrayListModel<Activity>();
+            person = new ArrayListModel<Person>();
+            currentFormat = format;
+            journal = fileJournal;
+            lazyCycle = loadedCycle;
+            snapshot = null;
          }
          catch (Exception exception)
          {
@@ -701,97 +1773,100 @@ public class MainFrame extends JFrame
          return true;
       }
 
-      private boolean saveToFile(File file)
+      private Cycle readFromFile(File file) throws Exception
       {
-         try
-         {
-            if (!file.exists()) file.createNewFile();
-
-            BufferedWriter writer = new BufferedWriter(new FileWriter(file));
-
-            try
-            {
-               writer.write(String.valueOf(day.size()));
-               writer.newLine();
-
-               for (Day dayElement : day)
-               {
-                  StringJoiner dayLine = new StringJoiner(FIELDS_SEPARATOR);
-                  dayLine.add(dayElement.getIdentifier());
-                  dayLine.add(String.valueOf(dayElement.getStartTime().getHour()));
-                  dayLine.add(String.valueOf(dayElement.getStartTime().getMinute()));
-
-                  StringJoiner periodList = new StringJoiner(LIST_SEPARATOR);
-                  for (Period periodElement : dayElement.getPeriod()) periodList.add(String.valueOf(period.indexOf(periodElement)));
-
-                  dayLine.add(periodList.toString());
+         return ScheduleCodecRegistry.detect(file).read(file);
+      }
 
-                  writer.write(dayLine.toString());
-                  writer.newLine();
-               }
+      private EditJournal saveToFile(File file, ScheduleCodec format, ScheduleSnapshot snapshot, boolean isJournalled, boolean isIndexed) throws Exception
+      {
+         long checksum = format.write(file, snapshot, isIndexed);
+         EditJournal.getJournalFile(file).delete();
 
-               writer.write(String.valueOf(period.size()));
-               writer.newLine();
+         return isJournalled ? EditJournal.create(file, checksum) : null;
+      }
 
-               for (Period periodElement : period)
-               {
-                  StringJoiner periodLine = new StringJoiner(FIELDS_SEPARATOR);
-                  periodLine.add(periodElement.getIdentifier());
-                  periodLine.add(String.valueOf(periodElement.getDuration().toMinutes()));
+      private ValidationReport validate(File file)
+      {
+         try
+         {
+            // only the built-in formats can be checked, since the codecs discovered through ServiceLoader are opaque
+            return ScheduleCodecRegistry.detect(file) instanceof ScheduleFormat ? ScheduleValidator.validate(file) : null;
+         }
+         catch (Exception exception)
+         {
+            return null;
+         }
+      }
+   }
 
-                  StringJoiner activityList = new StringJoiner(LIST_SEPARATOR);
-                  for (Activity activityElement : periodElement.getActivity()) activityList.add(String.valueOf(activity.indexOf(activityElement)));
+   private class FileWatcher extends SwingWorker<Void, WatchEvent<?>>
+   {
+      // instance fields
+      private File file;
+      private WatchService watchService;
 
-                  periodLine.add(activityList.toString());
+      /*
+         constructors
+      */
 
-                  writer.write(periodLine.toString());
-                  writer.newLine();
-               }
+      public FileWatcher(File file) throws IOException
+      {
+         super();
 
-               writer.write(String.valueOf(activity.size()));
-               writer.newLine();
+         this.file = file;
+         this.watchService = FileSystems.getDefault().newWatchService();
 
-               for (Activity activityElement : activity)
-               {
-                  StringJoiner activityLine = new StringJoiner(FIELDS_SEPARATOR);
-                  activityLine.add(activityElement.getIdentifier());
-                  activityLine.add(activityElement.getType());
+         // the directory is watched rather than the file, as saving (by this program or others) often replaces the file by renaming another one over it
+         file.getAbsoluteFile().getParentFile().toPath().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+      }
 
-                  StringJoiner personList = new StringJoiner(LIST_SEPARATOR);
-                  for (Person personElement : activityElement.getPerson()) personList.add(String.valueOf(person.indexOf(personElement)));
+      /*
+         accessors
+      */
 
-                  activityLine.add(personList.toString());
+      public File getFile()
+      {
+         return file;
+      }
 
-                  writer.write(activityLine.toString());
-                  writer.newLine();
-               }
+      /*
+         helper methods
+      */
 
-               writer.write(String.valueOf(person.size()));
-               writer.newLine();
+      public void close()
+      {
+         try
+         {
+            watchService.close();
+         }
+         catch (Exception exception) { }
+      }
 
-               for (Person personElement : person)
+      protected Void doInBackground()
+      {
+         try
+         {
+            while (true)
+            {
+               WatchKey key = watchService.take();
+               for (WatchEvent<?> event : key.pollEvents())
                {
-                  StringJoiner personLine = new StringJoiner(FIELDS_SEPARATOR);
-                  personLine.add(personElement.getIdentifier());
-                  personLine.add(personElement.getFirstName());
-                  personLine.add(personElement.getLastName());
-                  personLine.add(personElement.getRole());
-
-                  writer.write(personLine.toString());
-                  writer.newLine();
+                  if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getName().equals(String.valueOf(event.context()))) publish(event);
                }
-            }
-            finally
-            {
-               writer.close();
+               if (!key.reset()) return null;
             }
          }
          catch (Exception exception)
          {
-            return false;
+            // the watch service was closed
+            return null;
          }
+      }
 
-         return true;
+      protected void process(List<WatchEvent<?>> events)
+      {
+         if (fileWatcher == this) reloadTimer.restart();
       }
    }
 
@@ -803,7 +1878,7 @@ public class MainFrame extends JFrame
 
       public PeriodsPanel()
       {
-         super(period, "Periods", "period", "day", true, true);
+         super(period, Edit.PERIOD, "Periods", "period", "day", true, true);
       }
 
       /*
@@ -823,11 +1898,8 @@ public class MainFrame extends JFrame
 
       protected void delete(Period period)
       {
-         for (Day dayElement : day)
-         {
-            ArrayList<Period> dayElementPeriod = dayElement.getPeriod();
-            while (dayElementPeriod.indexOf(period) != -1) dayElementPeriod.remove(period);
-         }
+         for (Day dayElement : new ArrayList<Day>(period.getDay())) dayElement.getPeriod().removeAll(Collections.singleton(period));
+         period.getActivity().clear();
       }
 
       protected boolean edit(Period period)
@@ -861,11 +1933,12 @@ public class MainFrame extends JFrame
 
       protected void listElementSelectEvent(Period period, Activity toAdd)
       {
+         ensureMaterialized();
          activitiesPanel.setIsListElementSelectedInPrevious(period != null);
 
          if (period != null)
          {
-            if (toAdd != null) period.getActivity().add(toAdd);
+            if (toAdd != null && period.getActivity().add(toAdd)) edited(Edit.addedTo(Edit.ACTIVITY, MainFrame.this.period.indexOf(period), activity.indexOf(toAdd)));
             activitiesPanel.setFilter(period.getIdentifier(), period.getActivity());
          }
          else
@@ -876,7 +1949,8 @@ public class MainFrame extends JFrame
 
       protected void removeFromPrevious(Period period)
       {
-         daysPanel.getSelectedElement().getPeriod().remove(period);
+         Day selectedDay = daysPanel.getSelectedElement();
+         if (selectedDay.getPeriod().remove(period)) edited(Edit.removedFrom(Edit.PERIOD, day.indexOf(selectedDay), MainFrame.this.period.indexOf(period)));
       }
 
       protected void swapListElements(int currentIndex, int newIndex)
@@ -886,6 +1960,8 @@ public class MainFrame extends JFrame
          Period selectedPeriod = dayPeriod.get(currentIndex);
          dayPeriod.set(currentIndex, dayPeriod.get(newIndex));
          dayPeriod.set(newIndex, selectedPeriod);
+
+         edited(Edit.swapped(Edit.PERIOD, day.indexOf(daysPanel.getSelectedElement()), currentIndex, newIndex));
       }
    }
 
@@ -897,7 +1973,7 @@ public class MainFrame extends JFrame
 
       public PersonsPanel()
       {
-         super(person, "Persons", "person", "activity", false, true);
+         super(person, Edit.PERSON, "Persons", "person", "activity", false, true);
       }
 
       /*
@@ -917,7 +1993,7 @@ public class MainFrame extends JFrame
 
       protected void delete(Person person)
       {
-         for (Activity activityElement : activity) activityElement.getPerson().remove(person);
+         for (Activity activityElement : new ArrayList<Activity>(person.getActivity())) activityElement.getPerson().remove(person);
       }
 
       protected boolean edit(Person person)
@@ -955,12 +2031,109 @@ public class MainFrame extends JFrame
 
       protected void removeFromPrevious(Person person)
       {
-         activitiesPanel.getSelectedElement().getPerson().remove(person);
+         Activity selectedActivity = activitiesPanel.getSelectedElement();
+         if (selectedActivity.getPerson().remove(person)) edited(Edit.removedFrom(Edit.PERSON, activity.indexOf(selectedActivity), MainFrame.this.person.indexOf(person)));
       }
 
       protected void swapListElements(int currentIndex, int newIndex) { }
    }
 
+   private class SaveWorker extends SwingWorker<EditJournal, Void>
+   {
+      // instance fields
+      private int changeCount;
+      private File file;
+      private ScheduleCodec format;
+      private boolean isIndexed;
+      private boolean isJournalled;
+      private ScheduleSnapshot snapshot;
+
+      /*
+         constructors
+      */
+
+      public SaveWorker(File file, ScheduleCodec format)
+      {
+         super();
+
+         this.changeCount = MainFrame.this.changeCount;
+         this.file = file;
+         this.format = format;
+         this.isIndexed = isPersonIndexed;
+         this.isJournalled = isJournalMode;
+         this.snapshot = takeSnapshot();
+      }
+
+      /*
+         accessors
+      */
+
+      public File getFile()
+      {
+         return file;
+      }
+
+      /*
+         helper methods
+      */
+
+      protected EditJournal doInBackground() throws Exception
+      {
+         return fileManager.saveToFile(file, format, snapshot, isJournalled, isIndexed);
+      }
+
+      protected void done()
+      {
+         if (saving == this) finish();
+      }
+
+      // called on the event dispatch thread once the save is done, either from done or from waitForSave (whichever comes first)
+      private void finish()
+      {
+         saving = null;
+
+         try
+         {
+            EditJournal savedJournal = get();
+            currentFile = file;
+            currentFormat = format;
+            updateWatchedStamp();
+            if (fileWatcher == null || fileWatcher.getFile() != file) watchCurrentFile();
+
+            if (MainFrame.this.changeCount == changeCount)
+            {
+               journal = savedJournal;
+               setHasChanged(false);
+               discardRecoveryFile();
+            }
+            else
+            {
+               // changes made during the save are not in the file, nor in the journal created for it
+               if (savedJournal != null)
+               {
+                  try
+                  {
+                     savedJournal.close();
+                  }
+                  catch (Exception exception) { }
+               }
+               updateTitle();
+            }
+         }
+         catch (Exception exception)
+         {
+            updateTitle();
+            showError("Failed to save to file.");
+         }
+
+         if (isSavePending)
+         {
+            isSavePending = false;
+            save();
+         }
+      }
+   }
+
    private class ScheduleGeneratorPanel extends JPanel
    {
       /*
@@ -992,12 +2165,14 @@ public class MainFrame extends JFrame
 
       private void generateForPerson(Person person)
       {
+         ensureMaterialized();
          if (person == null)
          {
             showError("No person is selected.");
             return;
          }
 
+         Timetable timetable = new Timetable(person, new Cycle(activity, day, period, MainFrame.this.person));
          JPanel schedulePanel = new JPanel();
          schedulePanel.setLayout(new GridLayout(day.size(), 2, 0, SCHEDULE_PANEL_VERTICAL_GAP));
 
@@ -1007,23 +2182,10 @@ public class MainFrame extends JFrame
             JPanel dayPanel = new JPanel();
             dayPanel.setLayout(new BoxLayout(dayPanel, BoxLayout.Y_AXIS));
 
-            LocalTime currentTime = day.get(i).getStartTime();
-
             for (int j = 0; j < day.get(i).getPeriod().size(); j++)
             {
-               LocalTime periodStartTime = currentTime;
-               currentTime = currentTime.plusMinutes(day.get(i).getPeriod().get(j).getDuration().toMinutes());
-
-               Activity periodActivity = null;
-               for (Activity activityElement : day.get(i).getPeriod().get(j).getActivity())
-               {
-                  if (activityElement.getPerson().contains(person))
-                  {
-                     periodActivity = activityElement;
-                     break;
-                  }
-               }
-               dayPanel.add(new JLabel("[" + periodStartTime + " -> " + currentTime + "] Period " + day.get(i).getPeriod().get(j).getIdentifier() + ": " + (periodActivity != null ? periodActivity : "")));
+               Activity periodActivity = timetable.getActivity(i, j);
+               dayPanel.add(new JLabel("[" + timetable.getStartTime(i, j) + " -> " + timetable.getEndTime(i, j) + "] Period " + day.get(i).getPeriod().get(j).getIdentifier() + ": " + (periodActivity != null ? periodActivity : "")));
             }
 
             schedulePanel.add(dayPanel);
@@ -1049,6 +2211,7 @@ public class MainFrame extends JFrame
       private JButton newButton;
       private String previousSectionTitle;
       private JButton removeFromPreviousButton;
+      private int section;
       private String sectionTitle;
       private String sectionTitleSingular;
       private JLabel statusLabel;
@@ -1058,7 +2221,7 @@ public class MainFrame extends JFrame
          constructors
       */
 
-      public SectionPanel(ArrayListModel<E> allListData, String sectionTitle, String sectionTitleSingular, String previousSectionTitle, boolean orderingFunctionality, boolean previousFunctionality)
+      public SectionPanel(ArrayListModel<E> allListData, int section, String sectionTitle, String sectionTitleSingular, String previousSectionTitle, boolean orderingFunctionality, boolean previousFunctionality)
       {
          super();
 
@@ -1081,6 +2244,7 @@ public class MainFrame extends JFrame
             }
          };
          this.previousSectionTitle = previousSectionTitle;
+         this.section = section;
          this.sectionTitle = sectionTitle;
          this.sectionTitleSingular = sectionTitleSingular;
          this.toAdd = null;
@@ -1208,7 +2372,11 @@ public class MainFrame extends JFrame
                public void actionPerformed(ActionEvent event)
                {
                   E element = createNew();
-                  if (element != null) allListData.add(element);
+                  if (element != null)
+                  {
+                     allListData.add(element);
+                     edited(Edit.created(section, allListData.size() - 1, element));
+                  }
                }
             }
          );
@@ -1221,7 +2389,12 @@ public class MainFrame extends JFrame
             {
                public void actionPerformed(ActionEvent event)
                {
-                  if (edit(list.getSelectedValue())) ((ArrayListModel<E>) list.getModel()).fireContentsChangedEvent(list.getSelectedIndex(), list.getSelectedIndex());
+                  E element = list.getSelectedValue();
+                  if (edit(element))
+                  {
+                     ((ArrayListModel<E>) list.getModel()).fireContentsChangedEvent(list.getSelectedIndex(), list.getSelectedIndex());
+                     edited(Edit.edited(section, allListData.indexOf(element), element));
+                  }
                }
             }
          );
@@ -1248,8 +2421,10 @@ public class MainFrame extends JFrame
                      if (selectedIndex < list.getModel().getSize()) list.setSelectedIndex(selectedIndex);
                      else list.setSelectedIndex(selectedIndex - 1);
 
+                     int index = allListData.indexOf(element);
                      allListData.remove(element);
                      delete(element);
+                     edited(Edit.deleted(section, index));
                   }
                }
             }
@@ -1392,7 +2567,7 @@ public class MainFrame extends JFrame
          filteredListData.addListDataListener(listModificationListener);
       }
 
-      public void setFilter(String filter, HashSet<E> filteredListData)
+      public void setFilter(String filter, Set<E> filteredListData)
       {
          setFilter(filter, new ArrayListModel<E>(filteredListData));
       }
@@ -1425,6 +2600,12 @@ public class MainFrame extends JFrame
          }
       }
 
+      public void setLoading()
+      {
+         newButton.setEnabled(false);
+         statusLabel.setText("Loading " + sectionTitle.toLowerCase() + ELLIPSIS);
+      }
+
       public void setToAdd(T toAdd)
       {
          if (toAdd != null)
@@ -1,18 +1,30 @@
 package Schedule;
 
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
 
 /**
  * An activity which knows its type, identifier and the <code>Person</code>s participating in it.
+ * Each person knows the activities it participates in as well (see <code>Person.getActivity</code>), which is kept in step by the set of persons of each activity,
+ * and each activity knows the <code>Period</code>s during which it takes place (see <code>getPeriod</code>).
  *
  * @author Shazz Amin
  * @version 1.0 2017-01-31
  */
-public class Activity
+public class Activity implements Entity
 {
+   // class variables
+   /*
+    * Ids of activities, from which each activity is given one when it is constructed.
+    */
+   private static final IdRegistry IDS = new IdRegistry("activities");
+
    // instance fields
+   private int id;
    private String identifier;
-   private HashSet<Person> person;
+   private CompactEntitySet<Period> period;
+   private ReferenceSet<Person> person;
    private String type;
 
    /*
@@ -45,13 +57,26 @@ public class Activity
     * @param person the set of <code>Person</code>s participating in this activity<br><i>pre-condition:</i> cannot be <code>null</code>
     * @param type the type for this activity<br><i>pre-condition:</i> cannot be <code>null</code>
     */
-   public Activity(String identifier, HashSet<Person> person, String type)
+   public Activity(String identifier, Collection<Person> person, String type)
    {
+      id = IDS.allocate();
+
       if (identifier != null) this.identifier = identifier;
       else this.identifier = "";
 
-      if (person != null) this.person = person;
-      else this.person = new HashSet<Person>();
+      this.person = new ReferenceSet<Person>()
+      {
+         protected void referred(Person element)
+         {
+            element.addActivity(Activity.this);
+         }
+
+         protected void unreferred(Person element)
+         {
+            element.removeActivity(Activity.this);
+         }
+      };
+      if (person != null) this.person.addAll(person);
 
       if (type != null) this.type = type;
       else this.type = "";
@@ -61,6 +86,28 @@ public class Activity
       accessors
    */
 
+   /**
+    * Returns whether the specified object is this activity.
+    * Activities are told apart by their ids rather than their characteristics, which change as they are edited.
+    *
+    * @param object the object to compare with this activity
+    * @return <code>true</code> if the object is this activity; <code>false</code> otherwise
+    */
+   public boolean equals(Object object)
+   {
+      return object instanceof Activity && ((Activity) object).id == id;
+   }
+
+   /**
+    * Returns the id of this activity, which is unique among activities and never changes (see <code>Entity</code>).
+    *
+    * @return the id of this activity
+    */
+   public int getId()
+   {
+      return id;
+   }
+
    /**
     * Returns the identifier for this activity.
     *
@@ -71,12 +118,24 @@ public class Activity
       return identifier;
    }
 
+   /**
+    * Returns the set of <code>Period</code>s during which this activity takes place, which is kept up to date as activities are added to and removed from periods.
+    *
+    * @return an unmodifiable view of the set of <code>Period</code>s during which this activity takes place
+    */
+   public Set<Period> getPeriod()
+   {
+      if (period == null) return Collections.emptySet();
+      return Collections.unmodifiableSet(period);
+   }
+
    /**
     * Returns the set of <code>Person</code>s participating in this activity.
+    * Adding persons to it or removing persons from it updates the activities of those persons.
     *
     * @return the set of <code>Person</code>s participating in this activity
     */
-   public HashSet<Person> getPerson()
+   public CompactEntitySet<Person> getPerson()
    {
       return person;
    }
@@ -91,6 +150,16 @@ public class Activity
       return type;
    }
 
+   /**
+    * Returns a hash code for this activity, which is its id.
+    *
+    * @return a hash code for this activity
+    */
+   public int hashCode()
+   {
+      return id;
+   }
+
    /**
     * Returns a string representation of this activity.
     *
@@ -105,6 +174,17 @@ public class Activity
       mutators
    */
 
+   void addPeriod(Period period)
+   {
+      if (this.period == null) this.period = new CompactEntitySet<Period>();
+      this.period.add(period);
+   }
+
+   void removePeriod(Period period)
+   {
+      if (this.period != null) this.period.remove(period);
+   }
+
    /**
     * Sets the identifier for this activity.
     *
@@ -119,14 +199,15 @@ public class Activity
 
    /**
     * Sets the set of <code>Person</code>s participating in this activity.
+    * The persons are copied into the set of this activity (rather than the set being kept), so that their activities stay up to date.
     *
     * @param person the new set of <code>Person</code>s participating in this activity<br><i>pre-condition:</i> cannot be <code>null</code>
     */
-   public void setPerson(HashSet<Person> person)
+   public void setPerson(Collection<Person> person)
    {
       if (person == null) return;
 
-      this.person = person;
+      this.person.replaceWith(person);
    }
 
    /**
@@ -0,0 +1,505 @@
+package Schedule;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A set of entities of one class which is kept in arrays ordered by id (see <code>Entity</code>), instead of a hash table with an entry object per entity.
+ * Sets of a few entities keep their ids in a sorted <code>int</code> array (looked up by binary search) next to the entities themselves,
+ * and sets which cover most of a range of ids keep a bitmap of the range next to an array of the entities indexed by id;
+ * either way a set takes a few bytes per entity, and looking through it reads consecutive memory.
+ * <br>
+ * Entities are iterated in the order of their ids. The union and intersection of two sets are found by merging their arrays (or combining their bitmaps word by word) in linear time.
+ *
+ * @param <E> the class of the entities of this set
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class CompactEntitySet<E extends Entity> extends AbstractSet<E>
+{
+   // class variables
+   /*
+    * Order of entities by id.
+    */
+   private static final Comparator<Object> BY_ID = new Comparator<Object>()
+   {
+      public int compare(Object entity, Object otherEntity)
+      {
+         return Integer.compare(((Entity) entity).getId(), ((Entity) otherEntity).getId());
+      }
+   };
+
+   /*
+    * Smallest number of entities which are kept in a bitmap.
+    */
+   private static final int DENSE_MINIMUM_SIZE = 64;
+
+   /*
+    * A set is kept in a bitmap once its ids cover at least one in this many of the ids in their range, and stops being kept in one once they cover less than one in this many times two,
+    * so that a set near either bound is not converted back and forth.
+    */
+   private static final int DENSE_SPREAD = 2;
+
+   private static final Object[] EMPTY_ELEMENT = new Object[0];
+   private static final int[] EMPTY_ID = new int[0];
+   private static final int ID_BITS_PER_WORD = 6;
+
+   // instance fields
+   private long[] bits;
+   private Object[] element;
+   private int firstId;
+   private int[] id;
+   private int size;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs an empty set.
+    */
+   public CompactEntitySet()
+   {
+      element = EMPTY_ELEMENT;
+      id = EMPTY_ID;
+   }
+
+   /**
+    * Constructs a set of the specified entities.
+    *
+    * @param element the entities of this set (in any order, possibly more than once)<br><i>pre-condition:</i> cannot be <code>null</code> and cannot contain <code>null</code>
+    */
+   public CompactEntitySet(Collection<? extends E> element)
+   {
+      this();
+      merge(element);
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean contains(Object object)
+   {
+      if (!(object instanceof Entity)) return false;
+
+      Object found = find(((Entity) object).getId());
+      return found != null && found.equals(object);
+   }
+
+   /**
+    * Returns the set of the entities which are in both this set and the specified collection.
+    * If both are kept in bitmaps, the bitmaps are combined word by word; otherwise the smaller is looked through, looking up each entity in the larger.
+    *
+    * @param other the other collection<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return a new set of the entities in both
+    */
+   public CompactEntitySet<E> intersection(Collection<? extends E> other)
+   {
+      CompactEntitySet<E> common = new CompactEntitySet<E>();
+      if (other instanceof CompactEntitySet && bits != null && ((CompactEntitySet<?>) other).bits != null)
+      {
+         CompactEntitySet<?> otherSet = (CompactEntitySet<?>) other;
+         int fromId = Math.max(firstId, otherSet.firstId);
+         int toId = Math.min(firstId + element.length, otherSet.firstId + otherSet.element.length);
+         if (fromId >= toId) return common;
+
+         long[] commonBits = new long[(toId - fromId) >> ID_BITS_PER_WORD];
+         Object[] commonElement = new Object[toId - fromId];
+         int commonSize = 0;
+         for (int i = 0; i < commonBits.length; i++)
+         {
+            commonBits[i] = bits[((fromId - firstId) >> ID_BITS_PER_WORD) + i] & otherSet.bits[((fromId - otherSet.firstId) >> ID_BITS_PER_WORD) + i];
+            for (long word = commonBits[i]; word != 0; word &= word - 1)
+            {
+               int offset = (i << ID_BITS_PER_WORD) + Long.numberOfTrailingZeros(word);
+               commonElement[offset] = element[fromId - firstId + offset];
+               commonSize++;
+            }
+         }
+
+         common.bits = commonBits;
+         common.element = commonElement;
+         common.firstId = fromId;
+         common.size = commonSize;
+         if (commonSize * DENSE_SPREAD * 2 < commonElement.length) common.toSorted();
+         return common;
+      }
+
+      ArrayList<E> found = new ArrayList<E>();
+      if (other.size() < size)
+      {
+         for (E otherElement : other)
+         {
+            if (contains(otherElement)) found.add(otherElement);
+         }
+      }
+      else
+      {
+         for (E thisElement : this)
+         {
+            if (other.contains(thisElement)) found.add(thisElement);
+         }
+      }
+      common.merge(found);
+
+      return common;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public Iterator<E> iterator()
+   {
+      return new Iterator<E>()
+      {
+         // instance fields
+         private int current = -1;
+         private int next = bits != null ? nextOffset(0) : 0;
+
+         /*
+            accessors
+         */
+
+         public boolean hasNext()
+         {
+            return next < (bits != null ? element.length : size);
+         }
+
+         /*
+            mutators
+         */
+
+         @SuppressWarnings("unchecked")
+         public E next()
+         {
+            if (!hasNext()) throw new NoSuchElementException();
+
+            current = next;
+            next = bits != null ? nextOffset(current + 1) : current + 1;
+            return (E) element[current];
+         }
+
+         public void remove()
+         {
+            if (current == -1) throw new IllegalStateException();
+
+            // the set is not repacked while it is being iterated, so that the positions of the iterator stay valid
+            if (bits != null) removeOffset(current);
+            else
+            {
+               removeIndex(current);
+               next--;
+            }
+            current = -1;
+         }
+      };
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public int size()
+   {
+      return size;
+   }
+
+   /**
+    * Returns the set of the entities which are in either this set or the specified collection.
+    *
+    * @param other the other collection<br><i>pre-condition:</i> cannot be <code>null</code> and cannot contain <code>null</code>
+    * @return a new set of the entities in either
+    */
+   public CompactEntitySet<E> union(Collection<? extends E> other)
+   {
+      CompactEntitySet<E> union = new CompactEntitySet<E>(this);
+      union.merge(other);
+
+      return union;
+   }
+
+   /*
+      mutators
+   */
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean add(E element)
+   {
+      int elementId = element.getId();
+      if (find(elementId) != null) return false;
+
+      if (bits != null)
+      {
+         if (elementId < firstId || elementId - firstId >= this.element.length) growDense(elementId);
+         if (bits != null)
+         {
+            int offset = elementId - firstId;
+            bits[offset >> ID_BITS_PER_WORD] |= 1L << offset;
+            this.element[offset] = element;
+            size++;
+            return true;
+         }
+      }
+
+      int index = -Arrays.binarySearch(id, 0, size, elementId) - 1;
+      if (size == id.length)
+      {
+         int capacity = Math.max(4, size + (size >> 1));
+         id = Arrays.copyOf(id, capacity);
+         this.element = Arrays.copyOf(this.element, capacity);
+      }
+      System.arraycopy(id, index, id, index + 1, size - index);
+      System.arraycopy(this.element, index, this.element, index + 1, size - index);
+      id[index] = elementId;
+      this.element[index] = element;
+      size++;
+
+      toDenseIfCovering();
+      return true;
+   }
+
+   /**
+    * Adds the specified entities to this set by merging them into it, which takes linear time (once they are sorted by id).
+    *
+    * @param element the entities to add<br><i>pre-condition:</i> cannot be <code>null</code> and cannot contain <code>null</code>
+    * @return <code>true</code> if this set changed; <code>false</code> otherwise
+    */
+   public boolean addAll(Collection<? extends E> element)
+   {
+      return merge(element);
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public void clear()
+   {
+      bits = null;
+      element = EMPTY_ELEMENT;
+      id = EMPTY_ID;
+      size = 0;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean remove(Object object)
+   {
+      if (!contains(object)) return false;
+
+      int objectId = ((Entity) object).getId();
+      if (bits != null)
+      {
+         removeOffset(objectId - firstId);
+         if (size * DENSE_SPREAD * 2 < element.length) toSorted();
+      }
+      else removeIndex(Arrays.binarySearch(id, 0, size, objectId));
+
+      return true;
+   }
+
+   /**
+    * Removes the entities which are not in the specified collection from this set; if it is a <code>CompactEntitySet</code>, its intersection with this set is found in linear time.
+    *
+    * @param other the collection of the entities to keep<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return <code>true</code> if this set changed; <code>false</code> otherwise
+    */
+   @SuppressWarnings("unchecked")
+   public boolean retainAll(Collection<?> other)
+   {
+      if (!(other instanceof CompactEntitySet)) return super.retainAll(other);
+
+      CompactEntitySet<E> common = intersection((CompactEntitySet<E>) other);
+      if (common.size == size) return false;
+
+      bits = common.bits;
+      element = common.element;
+      firstId = common.firstId;
+      id = common.id;
+      size = common.size;
+      return true;
+   }
+
+   /*
+      helper methods
+   */
+
+   // returns the entity of this set with the id, if any
+   private Object find(int entityId)
+   {
+      if (bits != null) return entityId >= firstId && entityId - firstId < element.length ? element[entityId - firstId] : null;
+
+      int index = Arrays.binarySearch(id, 0, size, entityId);
+      return index >= 0 ? element[index] : null;
+   }
+
+   // widens the bitmap to the id (with room to grow further the same way) if the set would still cover enough of it, or keeps the set sorted instead
+   private void growDense(int entityId)
+   {
+      int fromId = Math.min(firstId, (entityId >> ID_BITS_PER_WORD) << ID_BITS_PER_WORD);
+      int toId = Math.max(firstId + element.length, ((entityId >> ID_BITS_PER_WORD) + 1) << ID_BITS_PER_WORD);
+      if ((long) (size + 1) * DENSE_SPREAD * 2 < (long) toId - fromId)
+      {
+         toSorted();
+         return;
+      }
+
+      // the room is at most what keeps the set covering more than it must to stay in a bitmap, so removing a few entities afterwards does not convert it
+      int maximumLength = (size + 1) * (DENSE_SPREAD * 2 - 1);
+      int room = Math.min((toId - fromId) >> 1, maximumLength - (toId - fromId));
+      room = Math.max(0, (room >> ID_BITS_PER_WORD) << ID_BITS_PER_WORD);
+      if (fromId < firstId) fromId = Math.max(0, fromId - room);
+      else toId += room;
+
+      long[] grownBits = new long[(toId - fromId) >> ID_BITS_PER_WORD];
+      Object[] grownElement = new Object[toId - fromId];
+      System.arraycopy(bits, 0, grownBits, (firstId - fromId) >> ID_BITS_PER_WORD, bits.length);
+      System.arraycopy(element, 0, grownElement, firstId - fromId, element.length);
+      bits = grownBits;
+      element = grownElement;
+      firstId = fromId;
+   }
+
+   @SuppressWarnings("unchecked")
+   private boolean merge(Collection<? extends E> other)
+   {
+      if (other.isEmpty()) return false;
+
+      // the other entities are sorted by id (unless they already are) and merged with those of this set, skipping those it already has
+      Object[] otherElement;
+      int otherSize;
+      if (other instanceof CompactEntitySet)
+      {
+         otherElement = ((CompactEntitySet<E>) other).toSortedElements();
+         otherSize = otherElement.length;
+      }
+      else
+      {
+         otherElement = other.toArray();
+         Arrays.sort(otherElement, BY_ID);
+         otherSize = 0;
+         for (int i = 0; i < otherElement.length; i++)
+         {
+            if (otherSize == 0 || ((Entity) otherElement[i]).getId() != ((Entity) otherElement[otherSize - 1]).getId()) otherElement[otherSize++] = otherElement[i];
+         }
+      }
+
+      Object[] thisElement = toSortedElements();
+      int[] mergedId = new int[size + otherSize];
+      Object[] mergedElement = new Object[size + otherSize];
+      int mergedSize = 0;
+      int i = 0;
+      int j = 0;
+      while (i < thisElement.length || j < otherSize)
+      {
+         int thisId = i < thisElement.length ? ((Entity) thisElement[i]).getId() : Integer.MAX_VALUE;
+         int otherId = j < otherSize ? ((Entity) otherElement[j]).getId() : Integer.MAX_VALUE;
+         if (thisId <= otherId)
+         {
+            mergedId[mergedSize] = thisId;
+            mergedElement[mergedSize++] = thisElement[i++];
+            if (thisId == otherId) j++;
+         }
+         else
+         {
+            mergedId[mergedSize] = otherId;
+            mergedElement[mergedSize++] = otherElement[j++];
+         }
+      }
+      if (mergedSize == size) return false;
+
+      bits = null;
+      element = mergedElement;
+      id = mergedId;
+      size = mergedSize;
+      toDenseIfCovering();
+      return true;
+   }
+
+   // returns the offset of the first entity of the bitmap at or after the offset, or the length of the bitmap if there is none
+   private int nextOffset(int offset)
+   {
+      int word = offset >> ID_BITS_PER_WORD;
+      if (word >= bits.length) return element.length;
+
+      long remaining = bits[word] & (-1L << offset);
+      while (remaining == 0)
+      {
+         if (++word == bits.length) return element.length;
+         remaining = bits[word];
+      }
+
+      return (word << ID_BITS_PER_WORD) + Long.numberOfTrailingZeros(remaining);
+   }
+
+   private void removeIndex(int index)
+   {
+      System.arraycopy(id, index + 1, id, index, size - index - 1);
+      System.arraycopy(element, index + 1, element, index, size - index - 1);
+      element[--size] = null;
+   }
+
+   private void removeOffset(int offset)
+   {
+      bits[offset >> ID_BITS_PER_WORD] &= ~(1L << offset);
+      element[offset] = null;
+      size--;
+   }
+
+   // keeps the set in a bitmap if it is large enough and covers enough of the range of its ids
+   private void toDenseIfCovering()
+   {
+      if (bits != null || size < DENSE_MINIMUM_SIZE) return;
+
+      int fromId = (id[0] >> ID_BITS_PER_WORD) << ID_BITS_PER_WORD;
+      int toId = ((id[size - 1] >> ID_BITS_PER_WORD) + 1) << ID_BITS_PER_WORD;
+      if ((long) size * DENSE_SPREAD < (long) toId - fromId) return;
+
+      long[] denseBits = new long[(toId - fromId) >> ID_BITS_PER_WORD];
+      Object[] denseElement = new Object[toId - fromId];
+      for (int i = 0; i < size; i++)
+      {
+         int offset = id[i] - fromId;
+         denseBits[offset >> ID_BITS_PER_WORD] |= 1L << offset;
+         denseElement[offset] = element[i];
+      }
+
+      bits = denseBits;
+      element = denseElement;
+      firstId = fromId;
+      id = EMPTY_ID;
+   }
+
+   private void toSorted()
+   {
+      Object[] sortedElement = toSortedElements();
+      int[] sortedId = new int[sortedElement.length];
+      for (int i = 0; i < sortedElement.length; i++) sortedId[i] = ((Entity) sortedElement[i]).getId();
+
+      bits = null;
+      element = sortedElement;
+      id = sortedId;
+   }
+
+   // returns the entities of this set in the order of their ids, in an array of their number
+   private Object[] toSortedElements()
+   {
+      if (bits == null) return Arrays.copyOf(element, size);
+
+      Object[] sortedElement = new Object[size];
+      int i = 0;
+      for (int offset = nextOffset(0); offset < element.length; offset = nextOffset(offset + 1)) sortedElement[i++] = element[offset];
+
+      return sortedElement;
+   }
+}
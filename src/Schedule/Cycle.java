@@ -0,0 +1,149 @@
+package Schedule;
+
+import java.util.ArrayList;
+
+/**
+ * A schedule cycle which knows all of its <code>Day</code>s (in the order that they take place), <code>Period</code>s, <code>Activity</code>-ies and <code>Person</code>s.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class Cycle
+{
+   // instance fields
+   private ArrayList<Activity> activity;
+   private ArrayList<Day> day;
+   private ArrayList<Period> period;
+   private ArrayList<Person> person;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs an empty schedule cycle.
+    */
+   public Cycle()
+   {
+      this(null, null, null, null);
+   }
+
+   /**
+    * Constructs a schedule cycle with the specified <code>Day</code>s, <code>Period</code>s, <code>Activity</code>-ies and <code>Person</code>s.
+    *
+    * @param activity the list of all <code>Activity</code>-ies in this cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param day the list of all <code>Day</code>s in this cycle (in the order that they take place)<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param period the list of all <code>Period</code>s in this cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param person the list of all <code>Person</code>s in this cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public Cycle(ArrayList<Activity> activity, ArrayList<Day> day, ArrayList<Period> period, ArrayList<Person> person)
+   {
+      if (activity != null) this.activity = activity;
+      else this.activity = new ArrayList<Activity>();
+
+      if (day != null) this.day = day;
+      else this.day = new ArrayList<Day>();
+
+      if (period != null) this.period = period;
+      else this.period = new ArrayList<Period>();
+
+      if (person != null) this.person = person;
+      else this.person = new ArrayList<Person>();
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the list of all <code>Activity</code>-ies in this cycle.
+    *
+    * @return the list of all <code>Activity</code>-ies in this cycle
+    */
+   public ArrayList<Activity> getActivity()
+   {
+      return activity;
+   }
+
+   /**
+    * Returns the list of all <code>Day</code>s in this cycle.
+    *
+    * @return the list of all <code>Day</code>s in this cycle (in the order that they take place)
+    */
+   public ArrayList<Day> getDay()
+   {
+      return day;
+   }
+
+   /**
+    * Returns the list of all <code>Period</code>s in this cycle.
+    *
+    * @return the list of all <code>Period</code>s in this cycle
+    */
+   public ArrayList<Period> getPeriod()
+   {
+      return period;
+   }
+
+   /**
+    * Returns the list of all <code>Person</code>s in this cycle.
+    *
+    * @return the list of all <code>Person</code>s in this cycle
+    */
+   public ArrayList<Person> getPerson()
+   {
+      return person;
+   }
+
+   /*
+      mutators
+   */
+
+   /**
+    * Sets the list of all <code>Activity</code>-ies in this cycle.
+    *
+    * @param activity the new list of all <code>Activity</code>-ies in this cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public void setActivity(ArrayList<Activity> activity)
+   {
+      if (activity == null) return;
+
+      this.activity = activity;
+   }
+
+   /**
+    * Sets the list of all <code>Day</code>s in this cycle.
+    *
+    * @param day the new list of all <code>Day</code>s in this cycle (in the order that they take place)<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public void setDay(ArrayList<Day> day)
+   {
+      if (day == null) return;
+
+      this.day = day;
+   }
+
+   /**
+    * Sets the list of all <code>Period</code>s in this cycle.
+    *
+    * @param period the new list of all <code>Period</code>s in this cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public void setPeriod(ArrayList<Period> period)
+   {
+      if (period == null) return;
+
+      this.period = period;
+   }
+
+   /**
+    * Sets the list of all <code>Person</code>s in this cycle.
+    *
+    * @param person the new list of all <code>Person</code>s in this cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public void setPerson(ArrayList<Person> person)
+   {
+      if (person == null) return;
+
+      this.person = person;
+   }
+}
@@ -5,11 +5,12 @@ import java.util.ArrayList;
 
 /**
  * A day which knows its identifier, the time at which it starts and the <code>Period</code>s taking place on it (in the order that they take place).
+ * Each period knows the days it takes place on as well (see <code>Period.getDay</code>), which is kept in step by the list of periods of each day.
  *
  * @author Shazz Amin
  * @version 1.0 2017-02-06
  */
-public class Day
+public class Day implements Entity
 {
    // class variables
    /*
@@ -17,9 +18,15 @@ public class Day
     */
    public static final LocalTime DEFAULT_START_TIME = LocalTime.MIN;
 
+   /*
+    * Ids of days, from which each day is given one when it is constructed.
+    */
+   private static final IdRegistry IDS = new IdRegistry("days");
+
    // instance fields
+   private int id;
    private String identifier;
-   private ArrayList<Period> period;
+   private ReferenceList<Period> period;
    private LocalTime startTime;
 
    /*
@@ -54,11 +61,24 @@ public class Day
     */
    public Day(String identifier, ArrayList<Period> period, LocalTime startTime)
    {
+      id = IDS.allocate();
+
       if (identifier != null) this.identifier = identifier;
       else this.identifier = "";
 
-      if (period != null) this.period = period;
-      else this.period = new ArrayList<Period>();
+      this.period = new ReferenceList<Period>()
+      {
+         protected void referred(Period element)
+         {
+            element.addDay(Day.this);
+         }
+
+         protected void unreferred(Period element)
+         {
+            element.removeDay(Day.this);
+         }
+      };
+      if (period != null) this.period.addAll(period);
 
       if (startTime != null) this.startTime = startTime;
       else this.startTime = DEFAULT_START_TIME;
@@ -68,6 +88,28 @@ public class Day
       accessors
    */
 
+   /**
+    * Returns whether the specified object is this day.
+    * Days are told apart by their ids rather than their characteristics, which change as they are edited.
+    *
+    * @param object the object to compare with this day
+    * @return <code>true</code> if the object is this day; <code>false</code> otherwise
+    */
+   public boolean equals(Object object)
+   {
+      return object instanceof Day && ((Day) object).id == id;
+   }
+
+   /**
+    * Returns the id of this day, which is unique among days and never changes (see <code>Entity</code>).
+    *
+    * @return the id of this day
+    */
+   public int getId()
+   {
+      return id;
+   }
+
    /**
     * Returns the identifier for this day.
     *
@@ -80,6 +122,7 @@ public class Day
 
    /**
     * Returns the set of <code>Period</code>s taking place on this day.
+    * Adding periods to it or removing periods from it updates the days of those periods.
     *
     * @return the set of <code>Period</code>s taking place on this day (in the order that they take place)
     */
@@ -98,6 +141,16 @@ public class Day
       return startTime;
    }
 
+   /**
+    * Returns a hash code for this day, which is its id.
+    *
+    * @return a hash code for this day
+    */
+   public int hashCode()
+   {
+      return id;
+   }
+
    /**
     * Returns a string representation of this day.
     *
@@ -126,6 +179,7 @@ public class Day
 
    /**
     * Sets the set of <code>Period</code>s taking place in this day.
+    * The periods are copied into the list of this day (rather than the list being kept), so that their days stay up to date.
     *
     * @param period the new set of <code>Period</code>s taking place on this day (in the order that they take place)<br><i>pre-condition:</i> cannot be <code>null</code>
     */
@@ -133,7 +187,7 @@ public class Day
    {
       if (period == null) return;
 
-      this.period = period;
+      this.period.replaceWith(period);
    }
 
    /**
@@ -0,0 +1,27 @@
+package Schedule;
+
+/**
+ * An entity of a schedule cycle (a <code>Day</code>, <code>Period</code>, <code>Activity</code> or <code>Person</code>), which has an id as well as its identifier.
+ * The id is assigned when the entity is constructed, counting up from <code>0</code> separately for each class of entity, and never changes or is given to another entity
+ * (constructing an entity fails once every id of its class has been given out); so the entities of a schedule cycle which was read at once have nearly consecutive ids,
+ * and can be looked up in arrays indexed by id (see <code>EntityRegistry</code>). Ids are not saved in schedule files, and are only unique within one run of the program.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public interface Entity
+{
+   /**
+    * Returns the id of this entity, which is unique among the entities of its class.
+    *
+    * @return the id of this entity
+    */
+   int getId();
+
+   /**
+    * Returns the identifier for this entity, which need not be unique.
+    *
+    * @return the identifier for this entity
+    */
+   String getIdentifier();
+}
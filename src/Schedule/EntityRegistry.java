@@ -0,0 +1,116 @@
+package Schedule;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A lookup of the entities of a list (of one class of entity) by id and by identifier, in constant time.
+ * Entities are kept in an array indexed by id if their ids are close enough together (as those of a schedule cycle which was read at once are), and in a hash table otherwise.
+ * The registry reflects the list and the identifiers of its entities as they were when it was built.
+ *
+ * @param <E> the class of entity which this registry looks up
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class EntityRegistry<E extends Entity>
+{
+   // class variables
+   /*
+    * Ids may be spread over at most this many times the number of entities before the hash table is used instead of an array.
+    */
+   private static final int MAXIMUM_SPREAD = 4;
+
+   // instance fields
+   private Object[] byId;
+   private HashMap<String, E> byIdentifier;
+   private HashMap<Integer, E> bySparseId;
+   private int firstId;
+   private int size;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs a registry of the entities of the specified list.
+    * If several entities have the same identifier, the first of them is looked up by it.
+    *
+    * @param list the entities to register<br><i>pre-condition:</i> cannot be <code>null</code> and cannot contain <code>null</code>
+    */
+   public EntityRegistry(List<? extends E> list)
+   {
+      size = list.size();
+      byIdentifier = new HashMap<String, E>(size * 2);
+
+      int lastId = -1;
+      firstId = Integer.MAX_VALUE;
+      for (E element : list)
+      {
+         firstId = Math.min(firstId, element.getId());
+         lastId = Math.max(lastId, element.getId());
+         if (!byIdentifier.containsKey(element.getIdentifier())) byIdentifier.put(element.getIdentifier(), element);
+      }
+
+      if (size == 0 || (long) lastId - firstId < (long) size * MAXIMUM_SPREAD)
+      {
+         byId = new Object[size == 0 ? 0 : lastId - firstId + 1];
+         for (E element : list) byId[element.getId() - firstId] = element;
+      }
+      else
+      {
+         bySparseId = new HashMap<Integer, E>(size * 2);
+         for (E element : list) bySparseId.put(element.getId(), element);
+      }
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns whether the specified entity is registered.
+    *
+    * @param element the entity
+    * @return <code>true</code> if the entity is in the registered list; <code>false</code> otherwise
+    */
+   public boolean contains(E element)
+   {
+      return element != null && get(element.getId()) == element;
+   }
+
+   /**
+    * Returns the registered entity with the specified id.
+    *
+    * @param id the id of the entity
+    * @return the registered entity with the id, or <code>null</code> if there is none
+    */
+   @SuppressWarnings("unchecked")
+   public E get(int id)
+   {
+      if (bySparseId != null) return bySparseId.get(id);
+      if (id < firstId || id - firstId >= byId.length) return null;
+
+      return (E) byId[id - firstId];
+   }
+
+   /**
+    * Returns the first registered entity with the specified identifier.
+    *
+    * @param identifier the identifier of the entity
+    * @return the first registered entity with the identifier, or <code>null</code> if there is none
+    */
+   public E get(String identifier)
+   {
+      return byIdentifier.get(identifier);
+   }
+
+   /**
+    * Returns the number of registered entities.
+    *
+    * @return the number of registered entities
+    */
+   public int size()
+   {
+      return size;
+   }
+}
@@ -0,0 +1,47 @@
+package Schedule;
+
+/**
+ * The ids of one class of entity (see <code>Entity</code>), from which each entity of the class is given one when it is constructed.
+ * Ids are given out counting up from <code>0</code> and are never given out again, so an id names the same entity for the whole run of the program;
+ * once every id has been given out, constructing another entity fails instead of giving out an id which is already in use.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+class IdRegistry
+{
+   // instance fields
+   private String entityName;
+   private int next;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs a registry of ids of which none has been given out.
+    *
+    * @param entityName the name of the class of entity, in the plural (used in the message of the failure to give out an id)<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public IdRegistry(String entityName)
+   {
+      this.entityName = entityName;
+   }
+
+   /*
+      mutators
+   */
+
+   /**
+    * Gives out the next id.
+    *
+    * @return the id, which is never given out again
+    * @throws IllegalStateException if every id has been given out
+    */
+   public synchronized int allocate()
+   {
+      if (next == Integer.MAX_VALUE) throw new IllegalStateException("Every id of " + entityName + " has been given out, so no more can be constructed.");
+
+      return next++;
+   }
+}
@@ -1,15 +1,20 @@
 package Schedule;
 
 import java.time.Duration;
-import java.util.HashSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Set;
 
 /**
  * A period which knows its duration, identifier and the <code>Activity</code>-ies taking place during it.
+ * Each activity knows the periods it takes place during as well (see <code>Activity.getPeriod</code>), which is kept in step by the set of activities of each period,
+ * and each period knows the <code>Day</code>s it takes place on (see <code>getDay</code>).
  *
  * @author Shazz Amin
  * @version 1.0 2017-01-18
  */
-public class Period
+public class Period implements Entity
 {
    // class variables
    /*
@@ -19,9 +24,16 @@ public class Period
 
    private static final int MINUTES_PER_HOUR = 60;
 
+   /*
+    * Ids of periods, from which each period is given one when it is constructed.
+    */
+   private static final IdRegistry IDS = new IdRegistry("periods");
+
    // instance fields
-   private HashSet<Activity> activity;
+   private ReferenceSet<Activity> activity;
+   private HashMap<Day, Integer> day;
    private Duration duration;
+   private int id;
    private String identifier;
 
    /*
@@ -54,10 +66,23 @@ public class Period
     * @param duration the duration this period lasts for<br><i>pre-condition:</i> cannot be <code>null</code>
     * @param identifier the identifier for this period<br><i>pre-condition:</i> cannot be <code>null</code>
     */
-   public Period(HashSet<Activity> activity, Duration duration, String identifier)
+   public Period(Collection<Activity> activity, Duration duration, String identifier)
    {
-      if (activity != null) this.activity = activity;
-      else this.activity = new HashSet<Activity>();
+      id = IDS.allocate();
+
+      this.activity = new ReferenceSet<Activity>()
+      {
+         protected void referred(Activity element)
+         {
+            element.addPeriod(Period.this);
+         }
+
+         protected void unreferred(Activity element)
+         {
+            element.removePeriod(Period.this);
+         }
+      };
+      if (activity != null) this.activity.addAll(activity);
 
       if (duration != null) this.duration = duration;
       else this.duration = DEFAULT_DURATION;
@@ -70,16 +95,41 @@ public class Period
       accessors
    */
 
+   /**
+    * Returns whether the specified object is this period.
+    * Periods are told apart by their ids rather than their characteristics, which change as they are edited.
+    *
+    * @param object the object to compare with this period
+    * @return <code>true</code> if the object is this period; <code>false</code> otherwise
+    */
+   public boolean equals(Object object)
+   {
+      return object instanceof Period && ((Period) object).id == id;
+   }
+
    /**
     * Returns the set of <code>Activity</code>-ies taking place during this period.
+    * Adding activities to it or removing activities from it updates the periods of those activities.
     *
     * @return the set of <code>Activity</code>-ies taking place during this period
     */
-   public HashSet<Activity> getActivity()
+   public CompactEntitySet<Activity> getActivity()
    {
       return activity;
    }
 
+   /**
+    * Returns the set of <code>Day</code>s this period takes place on, which is kept up to date as periods are added to and removed from days.
+    * The positions of this period on one of them are found by looking through the periods of that day only.
+    *
+    * @return an unmodifiable view of the set of <code>Day</code>s this period takes place on
+    */
+   public Set<Day> getDay()
+   {
+      if (day == null) return Collections.emptySet();
+      return Collections.unmodifiableSet(day.keySet());
+   }
+
    /**
     * Returns the duration this period lasts for.
     *
@@ -90,6 +140,16 @@ public class Period
       return duration;
    }
 
+   /**
+    * Returns the id of this period, which is unique among periods and never changes (see <code>Entity</code>).
+    *
+    * @return the id of this period
+    */
+   public int getId()
+   {
+      return id;
+   }
+
    /**
     * Returns the identifier for this period.
     *
@@ -100,6 +160,16 @@ public class Period
       return identifier;
    }
 
+   /**
+    * Returns a hash code for this period, which is its id.
+    *
+    * @return a hash code for this period
+    */
+   public int hashCode()
+   {
+      return id;
+   }
+
    /**
     * Returns a string representation of this period.
     *
@@ -114,16 +184,35 @@ public class Period
       mutators
    */
 
+   void addDay(Day day)
+   {
+      // a period can take place more than once on the same day, so each day is counted until it no longer has this period
+      if (this.day == null) this.day = new HashMap<Day, Integer>();
+      Integer count = this.day.get(day);
+      this.day.put(day, count == null ? 1 : count + 1);
+   }
+
+   void removeDay(Day day)
+   {
+      if (this.day == null) return;
+
+      Integer count = this.day.get(day);
+      if (count == null) return;
+      if (count == 1) this.day.remove(day);
+      else this.day.put(day, count - 1);
+   }
+
    /**
     * Sets the set of <code>Activity</code>-ies taking place during this period.
+    * The activities are copied into the set of this period (rather than the set being kept), so that their periods stay up to date.
     *
     * @param activity the new set of <code>Activity</code>-ies taking place during this period<br><i>pre-condition:</i> cannot be <code>null</code>
     */
-   public void setActivity(HashSet<Activity> activity)
+   public void setActivity(Collection<Activity> activity)
    {
       if (activity == null) return;
 
-      this.activity = activity;
+      this.activity.replaceWith(activity);
    }
 
    /**
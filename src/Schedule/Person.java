@@ -1,15 +1,26 @@
 package Schedule;
 
+import java.util.Collections;
+import java.util.Set;
+
 /**
- * A person which knows its first name, last name, role and an identifier.
+ * A person which knows its first name, last name, role and an identifier, and the <code>Activity</code>-ies it participates in.
  *
  * @author Shazz Amin
  * @version 1.0 2017-01-18
  */
-public class Person
+public class Person implements Entity
 {
+   // class variables
+   /*
+    * Ids of persons, from which each person is given one when it is constructed.
+    */
+   private static final IdRegistry IDS = new IdRegistry("persons");
+
    // instance fields
+   private CompactEntitySet<Activity> activity;
    private String firstName;
+   private int id;
    private String identifier;
    private String lastName;
    private String role;
@@ -36,6 +47,8 @@ public class Person
     */
    public Person(String firstName, String identifier, String lastName, String role)
    {
+      id = IDS.allocate();
+
       if (firstName != null) this.firstName = firstName;
       else this.firstName = "";
 
@@ -53,6 +66,30 @@ public class Person
       accessors
    */
 
+   /**
+    * Returns whether the specified object is this person.
+    * Persons are told apart by their ids rather than their characteristics, which change as they are edited.
+    *
+    * @param object the object to compare with this person
+    * @return <code>true</code> if the object is this person; <code>false</code> otherwise
+    */
+   public boolean equals(Object object)
+   {
+      return object instanceof Person && ((Person) object).id == id;
+   }
+
+   /**
+    * Returns the set of <code>Activity</code>-ies this person participates in, which is kept up to date as persons are added to and removed from activities.
+    * Looking up the activities of a person this way takes time proportional to their number, instead of looking through every activity.
+    *
+    * @return an unmodifiable view of the set of <code>Activity</code>-ies this person participates in
+    */
+   public Set<Activity> getActivity()
+   {
+      if (activity == null) return Collections.emptySet();
+      return Collections.unmodifiableSet(activity);
+   }
+
    /**
     * Returns the first name of this person.
     *
@@ -63,6 +100,16 @@ public class Person
       return firstName;
    }
 
+   /**
+    * Returns the id of this person, which is unique among persons and never changes (see <code>Entity</code>).
+    *
+    * @return the id of this person
+    */
+   public int getId()
+   {
+      return id;
+   }
+
    /**
     * Returns the identifier for this person.
     *
@@ -93,6 +140,16 @@ public class Person
       return role;
    }
 
+   /**
+    * Returns a hash code for this person, which is its id.
+    *
+    * @return a hash code for this person
+    */
+   public int hashCode()
+   {
+      return id;
+   }
+
    /**
     * Returns a string representation of this person.
     *
@@ -107,6 +164,18 @@ public class Person
       mutators
    */
 
+   void addActivity(Activity activity)
+   {
+      // most persons participate in a few activities, so the set is only created for those which participate in any
+      if (this.activity == null) this.activity = new CompactEntitySet<Activity>();
+      this.activity.add(activity);
+   }
+
+   void removeActivity(Activity activity)
+   {
+      if (this.activity != null) this.activity.remove(activity);
+   }
+
    /**
     * Sets the first name of this person.
     *
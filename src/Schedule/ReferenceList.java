@@ -0,0 +1,304 @@
+package Schedule;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * A list of the entities which one entity refers to (in order, possibly more than once), which tells each entity every time it is added to or removed from the list, so that it can keep the reverse reference.
+ * Like <code>ReferenceSet</code>, every way of changing the list goes through <code>referred</code> and <code>unreferred</code>; this includes its iterators and sub-lists, whose own ways of changing the list are overridden here
+ * since those of <code>ArrayList</code> change its elements directly.
+ *
+ * @param <E> the type of the referred entities
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+@SuppressWarnings("serial")
+abstract class ReferenceList<E> extends ArrayList<E>
+{
+   /*
+      accessors
+   */
+
+   /**
+    * {@inheritDoc}
+    */
+   public List<E> subList(int fromIndex, int toIndex)
+   {
+      if (fromIndex < 0 || toIndex > size() || fromIndex > toIndex) throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", size: " + size());
+
+      return new SubList(fromIndex, toIndex);
+   }
+
+   /*
+      mutators
+   */
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean add(E element)
+   {
+      super.add(element);
+      referred(element);
+      return true;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public void add(int index, E element)
+   {
+      super.add(index, element);
+      referred(element);
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean addAll(Collection<? extends E> element)
+   {
+      return addAll(size(), element);
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean addAll(int index, Collection<? extends E> element)
+   {
+      // the elements are copied first, in case they are those of this list
+      ArrayList<E> added = new ArrayList<E>(element);
+      if (!super.addAll(index, added)) return false;
+
+      for (E addedElement : added) referred(addedElement);
+      return true;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public void clear()
+   {
+      for (E element : this) unreferred(element);
+      super.clear();
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public E remove(int index)
+   {
+      E removed = super.remove(index);
+      unreferred(removed);
+      return removed;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @SuppressWarnings("unchecked")
+   public boolean remove(Object element)
+   {
+      if (!super.remove(element)) return false;
+
+      unreferred((E) element);
+      return true;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean removeAll(final Collection<?> element)
+   {
+      return removeIf(
+         new Predicate<E>()
+         {
+            public boolean test(E elementElement)
+            {
+               return element.contains(elementElement);
+            }
+         }
+      );
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean removeIf(final Predicate<? super E> filter)
+   {
+      final ArrayList<E> removed = new ArrayList<E>();
+      super.removeIf(
+         new Predicate<E>()
+         {
+            public boolean test(E element)
+            {
+               if (!filter.test(element)) return false;
+
+               removed.add(element);
+               return true;
+            }
+         }
+      );
+
+      for (E removedElement : removed) unreferred(removedElement);
+      return !removed.isEmpty();
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   protected void removeRange(int fromIndex, int toIndex)
+   {
+      for (int i = fromIndex; i < toIndex; i++) unreferred(get(i));
+      super.removeRange(fromIndex, toIndex);
+   }
+
+   /**
+    * Replaces the elements of this list with the specified elements.
+    *
+    * @param element the new elements of this list, in order<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public void replaceWith(Collection<E> element)
+   {
+      if (element == this) return;
+
+      clear();
+      addAll(element);
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public void replaceAll(UnaryOperator<E> operator)
+   {
+      for (int i = 0; i < size(); i++) set(i, operator.apply(get(i)));
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean retainAll(final Collection<?> element)
+   {
+      return removeIf(
+         new Predicate<E>()
+         {
+            public boolean test(E elementElement)
+            {
+               return !element.contains(elementElement);
+            }
+         }
+      );
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public E set(int index, E element)
+   {
+      E replaced = super.set(index, element);
+      unreferred(replaced);
+      referred(element);
+      return replaced;
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Called once the specified entity has been added to this list (once for each time it is added).
+    *
+    * @param element the entity which is now referred to once more
+    */
+   protected abstract void referred(E element);
+
+   /**
+    * Called once the specified entity has been removed from this list (once for each time it is removed).
+    *
+    * @param element the entity which is now referred to once less
+    */
+   protected abstract void unreferred(E element);
+
+   /*
+      inner classes
+   */
+
+   // a view of a range of this list, which changes this list only through the methods above
+   private class SubList extends AbstractList<E>
+   {
+      // instance fields
+      private int offset;
+      private int size;
+
+      /*
+         constructors
+      */
+
+      SubList(int fromIndex, int toIndex)
+      {
+         this.offset = fromIndex;
+         this.size = toIndex - fromIndex;
+      }
+
+      /*
+         accessors
+      */
+
+      public E get(int index)
+      {
+         checkIndex(index, size);
+         return ReferenceList.this.get(offset + index);
+      }
+
+      public int size()
+      {
+         return size;
+      }
+
+      /*
+         mutators
+      */
+
+      public void add(int index, E element)
+      {
+         checkIndex(index, size + 1);
+         ReferenceList.this.add(offset + index, element);
+         size++;
+         modCount++;
+      }
+
+      public E remove(int index)
+      {
+         checkIndex(index, size);
+         E removed = ReferenceList.this.remove(offset + index);
+         size--;
+         modCount++;
+         return removed;
+      }
+
+      protected void removeRange(int fromIndex, int toIndex)
+      {
+         ReferenceList.this.removeRange(offset + fromIndex, offset + toIndex);
+         size -= toIndex - fromIndex;
+         modCount++;
+      }
+
+      public E set(int index, E element)
+      {
+         checkIndex(index, size);
+         return ReferenceList.this.set(offset + index, element);
+      }
+
+      /*
+         helper methods
+      */
+
+      private void checkIndex(int index, int bound)
+      {
+         if (index < 0 || index >= bound) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+   }
+}
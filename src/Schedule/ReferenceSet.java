@@ -0,0 +1,155 @@
+package Schedule;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.function.Predicate;
+
+/**
+ * A set of the entities which one entity refers to, which tells each entity when it starts or stops being referred to, so that it can keep the reverse reference.
+ * Every way of changing the set (including removing through its iterator, and so <code>removeAll</code>, <code>retainAll</code> and <code>removeIf</code>) tells each entity which was added or removed,
+ * including <code>addAll</code>, which merges the entities into the set at once before telling them.
+ *
+ * @param <E> the type of the referred entities
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+abstract class ReferenceSet<E extends Entity> extends CompactEntitySet<E>
+{
+   /*
+      accessors
+   */
+
+   /**
+    * {@inheritDoc}
+    */
+   public Iterator<E> iterator()
+   {
+      final Iterator<E> iterator = super.iterator();
+      return new Iterator<E>()
+      {
+         // instance fields
+         private E current;
+
+         /*
+            accessors
+         */
+
+         public boolean hasNext()
+         {
+            return iterator.hasNext();
+         }
+
+         /*
+            mutators
+         */
+
+         public E next()
+         {
+            current = iterator.next();
+            return current;
+         }
+
+         public void remove()
+         {
+            iterator.remove();
+            unreferred(current);
+         }
+      };
+   }
+
+   /*
+      mutators
+   */
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean add(E element)
+   {
+      if (!super.add(element)) return false;
+
+      referred(element);
+      return true;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean addAll(Collection<? extends E> element)
+   {
+      CompactEntitySet<E> added = new CompactEntitySet<E>(element);
+      added.removeAll(this);
+      if (!super.addAll(added)) return false;
+
+      for (E addedElement : added) referred(addedElement);
+      return true;
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public void clear()
+   {
+      for (E element : this) unreferred(element);
+      super.clear();
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   @SuppressWarnings("unchecked")
+   public boolean remove(Object element)
+   {
+      if (!super.remove(element)) return false;
+
+      unreferred((E) element);
+      return true;
+   }
+
+   /**
+    * Replaces the elements of this set with the specified elements.
+    *
+    * @param element the new elements of this set<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public void replaceWith(Collection<? extends E> element)
+   {
+      if (element == this) return;
+
+      clear();
+      addAll(element);
+   }
+
+   /**
+    * {@inheritDoc}
+    */
+   public boolean retainAll(final Collection<?> element)
+   {
+      return removeIf(
+         new Predicate<E>()
+         {
+            public boolean test(E elementElement)
+            {
+               return !element.contains(elementElement);
+            }
+         }
+      );
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Called once the specified entity has been added to this set.
+    *
+    * @param element the entity which is now referred to
+    */
+   protected abstract void referred(E element);
+
+   /**
+    * Called once the specified entity has been removed from this set.
+    *
+    * @param element the entity which is no longer referred to
+    */
+   protected abstract void unreferred(E element);
+}
@@ -0,0 +1,216 @@
+package Schedule;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * The timetable of a <code>Person</code>, which knows the <code>Activity</code> they take part in during each <code>Period</code> of each <code>Day</code> of a schedule cycle
+ * and the time at which each of those periods starts and ends.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class Timetable
+{
+   // instance fields
+   private Activity[][] activity;
+   private ArrayList<Day> day;
+   private Person person;
+   private LocalTime[][] time;
+
+   /*
+      constructors
+   */
+
+   /**
+    * Constructs the timetable of the specified <code>Person</code> of the specified schedule cycle by looking for its <code>Activity</code>-ies in every <code>Period</code> of every <code>Day</code>.
+    * If the person takes part in more than one activity during a period, the one which comes first in the list of all activities of the schedule cycle is used.
+    *
+    * @param person the person whose timetable is to be constructed<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param cycle the schedule cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public Timetable(Person person, Cycle cycle)
+   {
+      this(person, cycle.getDay(), new Activity[cycle.getDay().size()][], timesOf(cycle.getDay()));
+
+      HashMap<Activity, Integer> ordinal = ordinalsOf(cycle.getActivity());
+      for (int i = 0; i < day.size(); i++)
+      {
+         ArrayList<Period> dayPeriod = day.get(i).getPeriod();
+         activity[i] = new Activity[dayPeriod.size()];
+         for (int j = 0; j < dayPeriod.size(); j++)
+         {
+            for (Activity common : dayPeriod.get(j).getActivity().intersection(person.getActivity()))
+            {
+               if (isBefore(common, activity[i][j], ordinal)) activity[i][j] = common;
+            }
+         }
+      }
+   }
+
+   /**
+    * Constructs the timetable of the specified <code>Person</code> from the <code>Activity</code> they take part in during each <code>Period</code> of each <code>Day</code>, as found elsewhere (such as by <code>ColumnarCycle</code>).
+    *
+    * @param person the person whose timetable is to be constructed<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param day the list of all <code>Day</code>s of the schedule cycle (in the order that they take place)<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @param activity the activity the person takes part in during each period of each day (one row per day, holding <code>null</code> for each period in which they take part in none)
+    *    <br><i>pre-condition:</i> cannot be <code>null</code>, and each row must have one element for each period of its day
+    */
+   public Timetable(Person person, ArrayList<Day> day, Activity[][] activity)
+   {
+      this(person, day, activity, timesOf(day));
+   }
+
+   private Timetable(Person person, ArrayList<Day> day, Activity[][] activity, LocalTime[][] time)
+   {
+      this.activity = activity;
+      this.day = day;
+      this.person = person;
+      this.time = time;
+   }
+
+   /*
+      accessors
+   */
+
+   /**
+    * Returns the <code>Activity</code> the person takes part in during the specified period of the specified day.
+    *
+    * @param day the index of the day<br><i>pre-condition:</i> must be less than the number of days
+    * @param period the position of the period within the day<br><i>pre-condition:</i> must be less than the number of periods of the day
+    * @return the activity the person takes part in during the period, or <code>null</code> if there is none
+    */
+   public Activity getActivity(int day, int period)
+   {
+      return activity[day] != null ? activity[day][period] : null;
+   }
+
+   /**
+    * Returns the list of all <code>Day</code>s of the schedule cycle.
+    *
+    * @return the list of all <code>Day</code>s of the schedule cycle (in the order that they take place)
+    */
+   public ArrayList<Day> getDay()
+   {
+      return day;
+   }
+
+   /**
+    * Returns the time at which the specified period of the specified day ends.
+    *
+    * @param day the index of the day<br><i>pre-condition:</i> must be less than the number of days
+    * @param period the position of the period within the day<br><i>pre-condition:</i> must be less than the number of periods of the day
+    * @return the time at which the period ends
+    */
+   public LocalTime getEndTime(int day, int period)
+   {
+      return time[day][period + 1];
+   }
+
+   /**
+    * Returns the <code>Person</code> whose timetable this is.
+    *
+    * @return the person whose timetable this is
+    */
+   public Person getPerson()
+   {
+      return person;
+   }
+
+   /**
+    * Returns the time at which the specified period of the specified day starts.
+    *
+    * @param day the index of the day<br><i>pre-condition:</i> must be less than the number of days
+    * @param period the position of the period within the day<br><i>pre-condition:</i> must be less than the number of periods of the day
+    * @return the time at which the period starts
+    */
+   public LocalTime getStartTime(int day, int period)
+   {
+      return time[day][period];
+   }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Constructs the timetable of every <code>Person</code> of the specified schedule cycle in one pass over its <code>Activity</code>-ies,
+    * instead of looking through every activity once for each person.
+    * If a person takes part in more than one activity during a period, the one which comes first in the list of all activities of the schedule cycle is used.
+    * The timetables are the same as those constructed one at a time, and share the times of the periods.
+    *
+    * @param cycle the schedule cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the timetable of each person (in the order of the persons of the schedule cycle)
+    */
+   public static ArrayList<Timetable> ofAll(Cycle cycle)
+   {
+      ArrayList<Day> day = cycle.getDay();
+      ArrayList<Person> person = cycle.getPerson();
+
+      HashMap<Person, Integer> ordinal = new HashMap<Person, Integer>();
+      for (int i = person.size() - 1; i >= 0; i--) ordinal.put(person.get(i), i);
+      HashMap<Activity, Integer> activityOrdinal = ordinalsOf(cycle.getActivity());
+
+      Activity[][][] activity = new Activity[person.size()][][];
+      for (int i = 0; i < day.size(); i++)
+      {
+         ArrayList<Period> dayPeriod = day.get(i).getPeriod();
+         for (int j = 0; j < dayPeriod.size(); j++)
+         {
+            for (Activity periodActivity : dayPeriod.get(j).getActivity())
+            {
+               for (Person activityPerson : periodActivity.getPerson())
+               {
+                  Integer personOrdinal = ordinal.get(activityPerson);
+                  if (personOrdinal == null) continue;
+
+                  Activity[][] personActivity = activity[personOrdinal];
+                  if (personActivity == null) personActivity = activity[personOrdinal] = new Activity[day.size()][];
+                  if (personActivity[i] == null) personActivity[i] = new Activity[dayPeriod.size()];
+                  if (isBefore(periodActivity, personActivity[i][j], activityOrdinal)) personActivity[i][j] = periodActivity;
+               }
+            }
+         }
+      }
+
+      LocalTime[][] time = timesOf(day);
+      ArrayList<Timetable> timetable = new ArrayList<Timetable>(person.size());
+      for (int i = 0; i < person.size(); i++) timetable.add(new Timetable(person.get(i), day, activity[i] != null ? activity[i] : new Activity[day.size()][], time));
+
+      return timetable;
+   }
+
+   // returns whether the specified activity comes before the other (which may be null, in which case it comes first) in the list of all activities
+   private static boolean isBefore(Activity activity, Activity otherActivity, HashMap<Activity, Integer> ordinal)
+   {
+      if (otherActivity == null) return true;
+
+      // an activity which is not in the list comes after those which are
+      Integer activityOrdinal = ordinal.get(activity);
+      Integer otherOrdinal = ordinal.get(otherActivity);
+      return activityOrdinal != null && (otherOrdinal == null || activityOrdinal < otherOrdinal);
+   }
+
+   private static HashMap<Activity, Integer> ordinalsOf(ArrayList<Activity> activity)
+   {
+      HashMap<Activity, Integer> ordinal = new HashMap<Activity, Integer>(activity.size() * 2);
+      for (int i = activity.size() - 1; i >= 0; i--) ordinal.put(activity.get(i), i);
+
+      return ordinal;
+   }
+
+   private static LocalTime[][] timesOf(ArrayList<Day> day)
+   {
+      LocalTime[][] time = new LocalTime[day.size()][];
+      for (int i = 0; i < day.size(); i++)
+      {
+         ArrayList<Period> dayPeriod = day.get(i).getPeriod();
+         time[i] = new LocalTime[dayPeriod.size() + 1];
+         time[i][0] = day.get(i).getStartTime();
+         for (int j = 0; j < dayPeriod.size(); j++) time[i][j + 1] = time[i][j].plusMinutes(dayPeriod.get(j).getDuration().toMinutes());
+      }
+
+      return time;
+   }
+}
@@ -0,0 +1,13 @@
+#!/bin/bash
+cd "$(dirname "$0")"
+javac -d test/build/ $(find src/ test/ -name "*.java" -type f) || exit 1
+
+status=0
+for test in test/*Test.java; do
+   name="$(basename "$test" .java)"
+   echo "$name"
+   java -cp test/build/ "$name" || status=1
+done
+
+rm -rf test/build/
+exit $status
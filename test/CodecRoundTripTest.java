@@ -0,0 +1,121 @@
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import FileStorage.BinaryScheduleFormat;
+import FileStorage.CompressedScheduleFormat;
+import FileStorage.JsonScheduleFormat;
+import FileStorage.OrdinalIndex;
+import FileStorage.ScheduleFormat;
+import FileStorage.ScheduleSnapshot;
+import FileStorage.TextScheduleFormat;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * Writes a random schedule cycle with every codec and reads it back in every way the codec can be read, checking that the contents are the same
+ * and that the sets of each schedule cycle which was read iterate in the order of the file.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class CodecRoundTripTest
+{
+   /*
+      constructors
+   */
+
+   private CodecRoundTripTest() { }
+
+   /*
+      helper methods
+   */
+
+   private static void checkRead(String name, Cycle cycle, Cycle read)
+   {
+      TestCycles.check(TestCycles.describe(read).equals(TestCycles.describe(cycle)), name + ": the contents differ from those written");
+
+      // the entities of each section are constructed in the order of the file, so every set iterates in increasing ordinal
+      OrdinalIndex<Activity> activityIndex = new OrdinalIndex<Activity>(read.getActivity());
+      OrdinalIndex<Person> personIndex = new OrdinalIndex<Person>(read.getPerson());
+      for (Period period : read.getPeriod())
+      {
+         int last = OrdinalIndex.MISSING;
+         for (Activity activity : period.getActivity())
+         {
+            TestCycles.check(activityIndex.getOrdinal(activity) > last, name + ": the activities of period " + period.getIdentifier() + " are not in the order of the file");
+            last = activityIndex.getOrdinal(activity);
+         }
+      }
+      for (Activity activity : read.getActivity())
+      {
+         int last = OrdinalIndex.MISSING;
+         for (Person person : activity.getPerson())
+         {
+            TestCycles.check(personIndex.getOrdinal(person) > last, name + ": the persons of activity " + activity.getIdentifier() + " are not in the order of the file");
+            last = personIndex.getOrdinal(person);
+         }
+      }
+      for (Person person : read.getPerson())
+      {
+         int last = OrdinalIndex.MISSING;
+         for (Activity activity : person.getActivity())
+         {
+            TestCycles.check(activityIndex.getOrdinal(activity) > last, name + ": the activities of person " + person.getIdentifier() + " are not in the order of the file");
+            last = activityIndex.getOrdinal(activity);
+         }
+      }
+   }
+
+   /*
+      main method
+   */
+
+   /**
+    * Runs the test.
+    *
+    * @param argument not used
+    * @throws IOException if a temporary file cannot be written or read
+    */
+   public static void main(String[] argument) throws IOException
+   {
+      Cycle cycle = TestCycles.randomCycle(1, 5, 8, 150, 400);
+      ScheduleSnapshot snapshot = new ScheduleSnapshot(cycle);
+
+      for (ScheduleFormat format : ScheduleFormat.values())
+      {
+         ByteArrayOutputStream output = new ByteArrayOutputStream();
+         format.write(output, snapshot);
+         byte[] content = output.toByteArray();
+         checkRead(format + " stream", cycle, format.read(new ByteArrayInputStream(content)));
+
+         File file = File.createTempFile("round-trip", "." + ScheduleFormat.FILE_EXTENSION);
+         try
+         {
+            Files.write(file.toPath(), content);
+            checkRead(format + " file", cycle, format.read(file));
+            checkRead(format + " lazy", cycle, format.readLazily(file).getCycle());
+         }
+         finally
+         {
+            file.delete();
+         }
+
+         if (format == ScheduleFormat.TEXT) checkRead(format + " parallel", cycle, TextScheduleFormat.readParallel(new StringReader(new String(content)), content.length));
+         if (format == ScheduleFormat.BINARY) checkRead(format + " parallel", cycle, BinaryScheduleFormat.read(ByteBuffer.wrap(content), true));
+         if (format == ScheduleFormat.COMPRESSED) checkRead(format + " parallel", cycle, CompressedScheduleFormat.read(content, true));
+      }
+
+      StringWriter json = new StringWriter();
+      JsonScheduleFormat.write(json, cycle);
+      checkRead("JSON", cycle, JsonScheduleFormat.read(new StringReader(json.toString())));
+
+      System.out.println("Every codec read back what it wrote, in the order of the file.");
+   }
+}
@@ -0,0 +1,90 @@
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import FileStorage.ColumnarCycle;
+import FileStorage.ScheduleFormat;
+import FileStorage.ScheduleSnapshot;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Timetable;
+
+/**
+ * Checks that the timetables constructed from the columns of a <code>ColumnarCycle</code> are the same as those constructed from the linked schedule cycle,
+ * both for a schedule cycle whose ids are not in the order of its sections and for one read from a file, in which persons often take part in more than one activity during a period.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class ColumnarTimetableTest
+{
+   /*
+      constructors
+   */
+
+   private ColumnarTimetableTest() { }
+
+   /*
+      helper methods
+   */
+
+   private static void checkSame(String name, Cycle cycle, ColumnarCycle columnar)
+   {
+      ArrayList<Timetable> timetable = Timetable.ofAll(cycle);
+      TestCycles.check(timetable.size() == columnar.getPersonCount(), name + ": has " + columnar.getPersonCount() + " persons instead of " + timetable.size());
+
+      for (int i = 0; i < timetable.size(); i++)
+      {
+         String expected = describe(timetable.get(i));
+         TestCycles.check(describe(columnar.getTimetable(i)).equals(expected), name + ": the timetable of person " + i + " differs from that of the schedule cycle");
+         TestCycles.check(describe(new Timetable(cycle.getPerson().get(i), cycle)).equals(expected), name + ": the timetable of person " + i + " differs from that constructed alone");
+      }
+   }
+
+   private static String describe(Timetable timetable)
+   {
+      StringBuilder description = new StringBuilder(timetable.getPerson().getIdentifier() + "\n");
+      for (int i = 0; i < timetable.getDay().size(); i++)
+      {
+         for (int j = 0; j < timetable.getDay().get(i).getPeriod().size(); j++)
+         {
+            Activity activity = timetable.getActivity(i, j);
+            description.append(timetable.getDay().get(i).getIdentifier() + " " + timetable.getStartTime(i, j) + " " + timetable.getEndTime(i, j) + " "
+               + timetable.getDay().get(i).getPeriod().get(j).getIdentifier() + " " + (activity != null ? activity.getIdentifier() : "-") + "\n");
+         }
+      }
+
+      return description.toString();
+   }
+
+   /*
+      main method
+   */
+
+   /**
+    * Runs the test.
+    *
+    * @param argument not used
+    * @throws IOException if a temporary file cannot be written or read
+    */
+   public static void main(String[] argument) throws IOException
+   {
+      Cycle cycle = TestCycles.randomCycle(3, 5, 8, 60, 300);
+      checkSame("shuffled cycle", cycle, new ColumnarCycle(new ScheduleSnapshot(cycle)));
+
+      for (ScheduleFormat format : ScheduleFormat.values())
+      {
+         File file = File.createTempFile("columnar", "." + ScheduleFormat.FILE_EXTENSION);
+         try
+         {
+            format.write(file, new ScheduleSnapshot(cycle));
+            checkSame(format + " file", format.read(file), ColumnarCycle.read(file));
+         }
+         finally
+         {
+            file.delete();
+         }
+      }
+
+      System.out.println("Every timetable of the columns matched that of the schedule cycle.");
+   }
+}
@@ -0,0 +1,118 @@
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeMap;
+import Schedule.CompactEntitySet;
+import Schedule.Person;
+
+/**
+ * Checks the sets of <code>CompactEntitySet</code> against sorted maps of the same persons, for sets of sizes on both sides of the bound between the array and bitmap layouts,
+ * drawn sparsely and densely from ranges of ids which start at different offsets.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class CompactEntitySetTest
+{
+   // class variables
+   private static final int POOL_SIZE = 400;
+   private static final int[] SIZES = {0, 1, 5, 31, 63, 64, 65, 130, 200, 399, 400};
+
+   /*
+      constructors
+   */
+
+   private CompactEntitySetTest() { }
+
+   /*
+      helper methods
+   */
+
+   private static void checkSame(String name, CompactEntitySet<Person> set, TreeMap<Integer, Person> expected)
+   {
+      TestCycles.check(set.size() == expected.size(), name + ": has " + set.size() + " persons instead of " + expected.size());
+
+      // iterating in id order means iterating in the order of the sorted map
+      Iterator<Person> expectedPerson = expected.values().iterator();
+      for (Person person : set) TestCycles.check(person == expectedPerson.next(), name + ": is not iterated in the order of ids");
+      for (Person person : expected.values()) TestCycles.check(set.contains(person), name + ": does not contain person " + person.getId());
+   }
+
+   private static TreeMap<Integer, Person> randomMembers(Random random, ArrayList<Person> pool, int size, boolean isDense)
+   {
+      TreeMap<Integer, Person> member = new TreeMap<Integer, Person>();
+      // dense members are drawn from a run of the pool just long enough for them, sparse members from the whole pool
+      int range = isDense ? Math.min(pool.size(), size + size / 4) : pool.size();
+      int from = random.nextInt(pool.size() - range + 1);
+      while (member.size() < size)
+      {
+         Person person = pool.get(from + random.nextInt(range));
+         member.put(person.getId(), person);
+      }
+
+      return member;
+   }
+
+   /*
+      main method
+   */
+
+   /**
+    * Runs the test.
+    *
+    * @param argument not used
+    */
+   public static void main(String[] argument)
+   {
+      Random random = new Random(2);
+      int checks = 0;
+      for (int offset = 0; offset < 70; offset += 23)
+      {
+         // persons constructed before the pool shift where the ids of the pool start relative to the words of a bitmap
+         for (int i = 0; i < offset; i++) new Person();
+         ArrayList<Person> pool = new ArrayList<Person>();
+         for (int i = 0; i < POOL_SIZE; i++) pool.add(new Person());
+
+         for (int size : SIZES)
+         {
+            for (int otherSize : SIZES)
+            {
+               TreeMap<Integer, Person> member = randomMembers(random, pool, size, random.nextBoolean());
+               TreeMap<Integer, Person> otherMember = randomMembers(random, pool, otherSize, random.nextBoolean());
+               CompactEntitySet<Person> set = new CompactEntitySet<Person>(member.values());
+               CompactEntitySet<Person> otherSet = new CompactEntitySet<Person>(otherMember.values());
+               String name = "sets of " + size + " and " + otherSize + " at offset " + offset;
+
+               TreeMap<Integer, Person> union = new TreeMap<Integer, Person>(member);
+               union.putAll(otherMember);
+               TreeMap<Integer, Person> common = new TreeMap<Integer, Person>(member);
+               common.keySet().retainAll(otherMember.keySet());
+
+               checkSame(name + ", union", set.union(otherSet), union);
+               checkSame(name + ", union with a list", set.union(new ArrayList<Person>(otherMember.values())), union);
+               checkSame(name + ", intersection", set.intersection(otherSet), common);
+               checkSame(name + ", intersection with a list", set.intersection(new ArrayList<Person>(otherMember.values())), common);
+
+               CompactEntitySet<Person> added = new CompactEntitySet<Person>(member.values());
+               added.addAll(otherSet);
+               checkSame(name + ", addAll", added, union);
+
+               CompactEntitySet<Person> retained = new CompactEntitySet<Person>(member.values());
+               retained.retainAll(otherSet);
+               checkSame(name + ", retainAll", retained, common);
+
+               CompactEntitySet<Person> removed = new CompactEntitySet<Person>(member.values());
+               TreeMap<Integer, Person> remaining = new TreeMap<Integer, Person>(member);
+               for (Person person : otherMember.values())
+               {
+                  TestCycles.check(removed.remove(person) == (remaining.remove(person.getId()) != null), name + ": remove reported the wrong result");
+               }
+               checkSame(name + ", remove", removed, remaining);
+               checks += 7;
+            }
+         }
+      }
+
+      System.out.println("Passed " + checks + " checks of unions, intersections and removals.");
+   }
+}
@@ -0,0 +1,149 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import FileStorage.Edit;
+import FileStorage.EditJournal;
+import FileStorage.ScheduleFormat;
+import FileStorage.ScheduleSnapshot;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Person;
+
+/**
+ * Writes edits to the journal of a schedule file, then checks what is recovered from it as it is left intact, torn at the end (as by a crash while appending),
+ * corrupted inside a committed record and made stale by the file changing, and that compacting it writes the edits to the file without changing the permissions of the file.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class EditJournalRecoveryTest
+{
+   // class variables
+   private static final int RECORD_HEADER_LENGTH = 8;
+
+   /*
+      constructors
+   */
+
+   private EditJournalRecoveryTest() { }
+
+   /*
+      helper methods
+   */
+
+   private static void checkRecovered(String name, File file, ArrayList<Edit> committed, ArrayList<Edit> uncommitted) throws IOException
+   {
+      EditJournal journal = EditJournal.open(file);
+      TestCycles.check(journal != null, name + ": the journal was not opened");
+      try
+      {
+         checkSame(name + ", committed edits", journal.getCommitted(), committed);
+         checkSame(name + ", uncommitted edits", journal.getUncommitted(), uncommitted);
+      }
+      finally
+      {
+         journal.close();
+      }
+   }
+
+   private static void checkSame(String name, ArrayList<Edit> edit, ArrayList<Edit> expected)
+   {
+      TestCycles.check(edit.size() == expected.size(), name + ": " + edit.size() + " edits were recovered instead of " + expected.size());
+      for (int i = 0; i < edit.size(); i++)
+      {
+         Edit editElement = edit.get(i);
+         Edit expectedElement = expected.get(i);
+         TestCycles.check(editElement.getKind() == expectedElement.getKind() && editElement.getSection() == expectedElement.getSection()
+            && editElement.getParentIndex() == expectedElement.getParentIndex() && editElement.getIndex() == expectedElement.getIndex()
+            && editElement.getOtherIndex() == expectedElement.getOtherIndex() && Arrays.equals(editElement.getField(), expectedElement.getField()), name + ": edit " + i + " differs");
+      }
+   }
+
+   /*
+      main method
+   */
+
+   /**
+    * Runs the test.
+    *
+    * @param argument not used
+    * @throws IOException if a temporary file cannot be written or read
+    */
+   public static void main(String[] argument) throws IOException
+   {
+      Cycle cycle = TestCycles.randomCycle(4, 3, 6, 40, 120);
+      File file = File.createTempFile("journal", "." + ScheduleFormat.FILE_EXTENSION);
+      File journalFile = EditJournal.getJournalFile(file);
+      try
+      {
+         long checksum = ScheduleFormat.TEXT.write(file, new ScheduleSnapshot(cycle));
+
+         ArrayList<Edit> edit = new ArrayList<Edit>();
+         edit.add(Edit.created(Edit.PERSON, cycle.getPerson().size(), new Person("New", "N1", "Person", "Role")));
+         edit.add(Edit.addedTo(Edit.PERSON, 3, cycle.getPerson().size()));
+         edit.add(Edit.edited(Edit.ACTIVITY, 5, new Activity("Renamed", "T9")));
+         edit.add(Edit.deleted(Edit.PERSON, 7));
+         edit.add(Edit.swapped(Edit.DAY, -1, 0, 2));
+         edit.add(Edit.edited(Edit.PERSON, 0, new Person("Never", "U1", "Saved", "Role")));
+
+         EditJournal journal = EditJournal.create(file, checksum);
+         for (int i = 0; i < 3; i++) journal.append(edit.get(i));
+         journal.commit();
+         long firstCommitLength = journal.length();
+         for (int i = 3; i < 5; i++) journal.append(edit.get(i));
+         journal.commit();
+         long secondCommitLength = journal.length();
+         journal.append(edit.get(5));
+         journal.close();
+
+         ArrayList<Edit> firstCommit = new ArrayList<Edit>(edit.subList(0, 3));
+         ArrayList<Edit> secondCommit = new ArrayList<Edit>(edit.subList(0, 5));
+         ArrayList<Edit> none = new ArrayList<Edit>();
+         checkRecovered("intact journal", file, secondCommit, new ArrayList<Edit>(edit.subList(5, 6)));
+
+         // a crash while appending leaves part of the last record, which is ignored and cut off
+         RandomAccessFile journalData = new RandomAccessFile(journalFile, "rw");
+         journalData.setLength(journalData.length() - 3);
+         journalData.close();
+         checkRecovered("torn journal", file, secondCommit, none);
+         TestCycles.check(journalFile.length() == secondCommitLength, "torn journal: the torn record was not cut off");
+
+         // a record whose checksum does not match ends the journal, dropping the edits of its commit
+         journalData = new RandomAccessFile(journalFile, "rw");
+         journalData.seek(firstCommitLength + RECORD_HEADER_LENGTH + 2);
+         int changed = journalData.read() ^ 1;
+         journalData.seek(firstCommitLength + RECORD_HEADER_LENGTH + 2);
+         journalData.write(changed);
+         journalData.close();
+         checkRecovered("corrupted journal", file, firstCommit, none);
+         TestCycles.check(journalFile.length() == firstCommitLength, "corrupted journal: the corrupted records were not cut off");
+
+         // compacting writes the committed edits into the file, which keeps its permissions
+         boolean isPosix = Files.getFileStore(file.toPath()).supportsFileAttributeView("posix");
+         if (isPosix) Files.setPosixFilePermissions(file.toPath(), PosixFilePermissions.fromString("rw-r-----"));
+         Cycle edited = ScheduleFormat.TEXT.read(file);
+         for (Edit editElement : firstCommit) editElement.apply(edited);
+         journal = EditJournal.open(file);
+         journal.compact(ScheduleFormat.TEXT, new ScheduleSnapshot(edited), journal.length(), false);
+         journal.close();
+         checkRecovered("compacted journal", file, none, none);
+         TestCycles.check(TestCycles.describe(ScheduleFormat.TEXT.read(file)).equals(TestCycles.describe(edited)), "compacted journal: the file does not have the committed edits");
+         if (isPosix) TestCycles.check(PosixFilePermissions.toString(Files.getPosixFilePermissions(file.toPath())).equals("rw-r-----"), "compacted journal: the permissions of the file changed");
+
+         // a journal does not apply to a file which was written in full without it
+         ScheduleFormat.TEXT.write(file, new ScheduleSnapshot(cycle));
+         TestCycles.check(EditJournal.open(file) == null, "stale journal: the journal was opened for a file which it does not apply to");
+      }
+      finally
+      {
+         file.delete();
+         journalFile.delete();
+      }
+
+      System.out.println("Every journal recovered the edits which it should have.");
+   }
+}
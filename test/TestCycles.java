@@ -0,0 +1,130 @@
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Random;
+import FileStorage.OrdinalIndex;
+import Schedule.Activity;
+import Schedule.Cycle;
+import Schedule.Day;
+import Schedule.Period;
+import Schedule.Person;
+
+/**
+ * Schedule cycles and checks shared by the tests.
+ *
+ * @author Shazz Amin
+ * @version 1.0 2026-10-17
+ */
+public class TestCycles
+{
+   /*
+      constructors
+   */
+
+   private TestCycles() { }
+
+   /*
+      helper methods
+   */
+
+   /**
+    * Fails with the specified message if the specified condition does not hold.
+    *
+    * @param condition the condition which is to hold
+    * @param message the message of the failure<br><i>pre-condition:</i> cannot be <code>null</code>
+    */
+   public static void check(boolean condition, String message)
+   {
+      if (!condition) throw new AssertionError(message);
+   }
+
+   /**
+    * Describes the specified schedule cycle with every reference given as an ordinal, and the members of each set sorted, so that two schedule cycles with the same contents
+    * have the same description however the entities of their sets are ordered.
+    *
+    * @param cycle the schedule cycle<br><i>pre-condition:</i> cannot be <code>null</code>
+    * @return the description of the schedule cycle
+    */
+   public static String describe(Cycle cycle)
+   {
+      OrdinalIndex<Period> periodIndex = new OrdinalIndex<Period>(cycle.getPeriod());
+      OrdinalIndex<Activity> activityIndex = new OrdinalIndex<Activity>(cycle.getActivity());
+      OrdinalIndex<Person> personIndex = new OrdinalIndex<Person>(cycle.getPerson());
+
+      StringBuilder description = new StringBuilder();
+      for (Day day : cycle.getDay())
+      {
+         description.append("day " + day.getIdentifier() + " " + day.getStartTime() + " [");
+         for (Period period : day.getPeriod()) description.append(" " + periodIndex.getOrdinal(period));
+         description.append(" ]\n");
+      }
+      for (Period period : cycle.getPeriod())
+      {
+         ArrayList<Integer> activity = new ArrayList<Integer>();
+         for (Activity activityElement : period.getActivity()) activity.add(activityIndex.getOrdinal(activityElement));
+         Collections.sort(activity);
+         description.append("period " + period.getIdentifier() + " " + period.getDuration() + " " + activity + "\n");
+      }
+      for (Activity activity : cycle.getActivity())
+      {
+         ArrayList<Integer> person = new ArrayList<Integer>();
+         for (Person personElement : activity.getPerson()) person.add(personIndex.getOrdinal(personElement));
+         Collections.sort(person);
+         description.append("activity " + activity.getIdentifier() + " " + activity.getType() + " " + person + "\n");
+      }
+      for (Person person : cycle.getPerson()) description.append("person " + person.getIdentifier() + " " + person.getFirstName() + " " + person.getLastName() + " " + person.getRole() + "\n");
+
+      return description.toString();
+   }
+
+   /**
+    * Constructs a random schedule cycle in which persons often take part in more than one activity during a period, and whose first activity has most of the persons.
+    * The sections are shuffled after their entities are constructed, so that the order of the ids of each section differs from the order of the section.
+    *
+    * @param seed the seed of the random choices
+    * @param days the number of days<br><i>pre-condition:</i> must be positive
+    * @param periodsPerDay the number of periods of each day<br><i>pre-condition:</i> must be positive
+    * @param activities the number of activities<br><i>pre-condition:</i> must be positive
+    * @param persons the number of persons<br><i>pre-condition:</i> must be greater than <code>2</code>
+    * @return the schedule cycle
+    */
+   public static Cycle randomCycle(long seed, int days, int periodsPerDay, int activities, int persons)
+   {
+      Random random = new Random(seed);
+
+      ArrayList<Person> person = new ArrayList<Person>();
+      // two pairs of persons have the same identifier, and one has characters which need escaping
+      for (int i = 0; i < persons; i++) person.add(new Person(i == 1 ? "Quote \"x\", \\ \t" : "First" + i, "P" + (i % (persons - 2)), "Last" + i, "Role" + (i % 5)));
+
+      ArrayList<Activity> activity = new ArrayList<Activity>();
+      for (int i = 0; i < activities; i++)
+      {
+         Activity activityElement = new Activity("A" + i, "T" + (i % 4));
+         activity.add(activityElement);
+         int members = i == 0 ? persons * 3 / 4 : random.nextInt(13);
+         for (int j = 0; j < members; j++) activityElement.getPerson().add(person.get(random.nextInt(persons)));
+      }
+
+      ArrayList<Period> period = new ArrayList<Period>();
+      ArrayList<Day> day = new ArrayList<Day>();
+      for (int i = 0; i < days; i++)
+      {
+         ArrayList<Period> dayPeriod = new ArrayList<Period>();
+         for (int j = 0; j < periodsPerDay; j++)
+         {
+            Period periodElement = new Period(Duration.ofMinutes(30 + random.nextInt(30)), "D" + i + "P" + j);
+            for (int k = random.nextInt(9); k > 0; k--) periodElement.getActivity().add(activity.get(random.nextInt(activities)));
+            dayPeriod.add(periodElement);
+            period.add(periodElement);
+         }
+         day.add(new Day("D" + i, dayPeriod, LocalTime.of(8, random.nextInt(60))));
+      }
+
+      Collections.shuffle(activity, random);
+      Collections.shuffle(period, random);
+      Collections.shuffle(person, random);
+
+      return new Cycle(activity, day, period, person);
+   }
+}